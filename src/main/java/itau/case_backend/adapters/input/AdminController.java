@@ -0,0 +1,113 @@
+package itau.case_backend.adapters.input;
+
+import itau.case_backend.adapters.input.limit.ConcurrencyLimitInterceptor;
+import itau.case_backend.adapters.input.replication.ReplicationNode;
+import itau.case_backend.domain.deadline.DeadlineMetrics;
+import itau.case_backend.domain.dtos.ConcurrencyLimitDTO;
+import itau.case_backend.domain.dtos.DeadlineStatsDTO;
+import itau.case_backend.domain.dtos.MemoryReportDTO;
+import itau.case_backend.domain.dtos.ReplicationStatusDTO;
+import itau.case_backend.domain.dtos.TierStatsDTO;
+import itau.case_backend.ports.input.UserInputPort;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Controlador REST com endpoints administrativos de observação do serviço.
+ */
+@RestController
+@RequestMapping("/admin")
+public class AdminController {
+
+    private final MemoryFootprintMonitor memoryFootprintMonitor;
+    private final UserInputPort userInputPort;
+    private final ObjectProvider<ReplicationNode> replicationNode;
+    private final ObjectProvider<ConcurrencyLimitInterceptor> concurrencyLimits;
+    private final DeadlineMetrics deadlineMetrics;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param memoryFootprintMonitor Monitor da memória estimada dos usuários.
+     * @param userInputPort          Porta de entrada para operações de usuários.
+     * @param replicationNode        Líder ou seguidor da replicação, se configurado.
+     * @param concurrencyLimits      Limites adaptativos de requisições simultâneas, se ativos.
+     * @param deadlineMetrics        Métricas dos prazos de requisições.
+     */
+    @Autowired
+    public AdminController(MemoryFootprintMonitor memoryFootprintMonitor, UserInputPort userInputPort,
+                           ObjectProvider<ReplicationNode> replicationNode,
+                           ObjectProvider<ConcurrencyLimitInterceptor> concurrencyLimits,
+                           DeadlineMetrics deadlineMetrics) {
+        this.memoryFootprintMonitor = memoryFootprintMonitor;
+        this.userInputPort = userInputPort;
+        this.replicationNode = replicationNode;
+        this.concurrencyLimits = concurrencyLimits;
+        this.deadlineMetrics = deadlineMetrics;
+    }
+
+    /**
+     * Recupera a estimativa de memória ocupada pelos usuários: a quantidade, os bytes por
+     * usuário, os bytes de cada estrutura (mapa principal, índices, caches e buffers) e o
+     * crescimento por hora desde a amostra mais antiga retida.
+     *
+     * @return Relatório de memória.
+     */
+    @GetMapping("/memory")
+    public ResponseEntity<MemoryReportDTO> getMemoryReport() {
+        return ResponseEntity.ok(memoryFootprintMonitor.report());
+    }
+
+    /**
+     * Recupera as métricas da camada em memória do armazenamento em camadas
+     * ({@code users.storage=tiered}): usuários e bytes em memória, orçamento, acertos, faltas,
+     * remoções e taxa de acertos.
+     *
+     * @return Métricas da camada quente, ou 404 se o armazenamento não tiver camadas.
+     */
+    @GetMapping("/storage/tiers")
+    public ResponseEntity<TierStatsDTO> getTierStatistics() {
+        return ResponseEntity.of(userInputPort.getTierStatistics());
+    }
+
+    /**
+     * Recupera o estado da replicação ({@code users.replication.role}): no líder, os seguidores
+     * conectados e a menor sequência enviada; no seguidor, a conexão, a sequência aplicada e o
+     * atraso em relação ao líder.
+     *
+     * @return Estado da replicação, ou 404 se a instância não participa de replicação.
+     */
+    @GetMapping("/replication")
+    public ResponseEntity<ReplicationStatusDTO> getReplicationStatus() {
+        return ResponseEntity.of(Optional.ofNullable(replicationNode.getIfAvailable()).map(ReplicationNode::status));
+    }
+
+    /**
+     * Recupera o estado dos limites adaptativos de requisições simultâneas de leitura e de
+     * escrita: limite atual, requisições em andamento, menor latência, admitidas e recusadas.
+     *
+     * @return Estado de cada limite, ou 404 se os limites estiverem desativados.
+     */
+    @GetMapping("/limits")
+    public ResponseEntity<Map<String, ConcurrencyLimitDTO>> getConcurrencyLimits() {
+        return ResponseEntity.of(Optional.ofNullable(concurrencyLimits.getIfAvailable()).map(ConcurrencyLimitInterceptor::limits));
+    }
+
+    /**
+     * Recupera as métricas de prazos de requisições: as etapas que deixaram de ser executadas
+     * porque o prazo já havia terminado, por etapa, e as requisições concluídas depois do prazo.
+     *
+     * @return Métricas de prazos.
+     */
+    @GetMapping("/deadlines")
+    public ResponseEntity<DeadlineStatsDTO> getDeadlineStatistics() {
+        return ResponseEntity.ok(deadlineMetrics.snapshot());
+    }
+}
@@ -0,0 +1,133 @@
+package itau.case_backend.adapters.input;
+
+import itau.case_backend.domain.dtos.UserDTO;
+import itau.case_backend.domain.dtos.UserPartialUpdateDTO;
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.ports.input.AsyncUserInputPort;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Controlador REST assíncrono para as operações básicas de usuários, em {@code /async/users}.
+ *
+ * Cada método delega ao {@link AsyncUserInputPort} e devolve o {@link CompletableFuture}, de
+ * modo que a thread do contêiner é liberada enquanto a porta de saída trabalha e a resposta é
+ * escrita quando o futuro é concluído. As respostas e os erros são os mesmos de
+ * {@link UserController}.
+ */
+@RestController
+@RequestMapping("/async/users")
+public class AsyncUserController {
+
+    private final AsyncUserInputPort asyncUserInputPort;
+    private final UserResponseCache userResponseCache;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param asyncUserInputPort Porta de entrada assíncrona para operações de usuários.
+     * @param userResponseCache  Cache da representação codificada dos usuários.
+     */
+    @Autowired
+    public AsyncUserController(AsyncUserInputPort asyncUserInputPort, UserResponseCache userResponseCache) {
+        this.asyncUserInputPort = asyncUserInputPort;
+        this.userResponseCache = userResponseCache;
+    }
+
+    /**
+     * Recupera todos os usuários.
+     *
+     * @return Futuro com a lista de usuários.
+     */
+    @GetMapping
+    public CompletableFuture<ResponseEntity<List<User>>> getAllUsers() {
+        return asyncUserInputPort.getAllUsers().thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Busca usuários pelo nome, completo ou parcial.
+     *
+     * @param q     Nome completo ou parcial.
+     * @param limit Quantidade máxima de usuários.
+     * @return Futuro com os usuários encontrados, em ordem de relevância.
+     */
+    @GetMapping("/search")
+    public CompletableFuture<ResponseEntity<List<User>>> searchUsers(
+            @RequestParam @NotBlank(message = "O texto da busca não pode estar vazio") String q,
+            @RequestParam(defaultValue = "10") @Min(value = 1, message = "O limite deve ser maior que 0")
+            @Max(value = 100, message = "O limite deve ser no máximo 100") int limit) {
+        return asyncUserInputPort.searchUsersByName(q, limit).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Recupera um usuário pelo ID.
+     *
+     * @param id ID do usuário.
+     * @return Futuro com o usuário correspondente ao ID.
+     */
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<User>> getUserById(@PathVariable long id) {
+        return asyncUserInputPort.getUserById(id).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Cria um novo usuário.
+     *
+     * @param userDTO Dados do novo usuário.
+     * @return Futuro com o usuário criado.
+     */
+    @PostMapping
+    public CompletableFuture<ResponseEntity<User>> createUser(@RequestBody UserDTO userDTO) {
+        UserRequestValidator.validate(userDTO);
+        return asyncUserInputPort.createUser(userDTO).thenApply(user -> ResponseEntity.status(HttpStatus.CREATED).body(user));
+    }
+
+    /**
+     * Atualiza os dados de um usuário existente.
+     *
+     * @param id      ID do usuário a ser atualizado.
+     * @param userDTO Dados atualizados do usuário.
+     * @return Futuro com o usuário atualizado.
+     */
+    @PutMapping("/{id}")
+    public CompletableFuture<ResponseEntity<User>> updateUser(@PathVariable long id, @RequestBody UserDTO userDTO) {
+        UserRequestValidator.validate(userDTO);
+        userResponseCache.invalidate(id);
+        return asyncUserInputPort.updateUser(id, userDTO).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Atualiza parcialmente os dados de um usuário existente.
+     *
+     * @param id                   ID do usuário a ser atualizado.
+     * @param userPartialUpdateDTO Campos a serem atualizados.
+     * @return Futuro com o usuário com os campos atualizados.
+     */
+    @PatchMapping("/{id}")
+    public CompletableFuture<ResponseEntity<User>> partialUpdateUser(@PathVariable long id,
+                                                                     @RequestBody UserPartialUpdateDTO userPartialUpdateDTO) {
+        UserRequestValidator.validate(userPartialUpdateDTO);
+        userResponseCache.invalidate(id);
+        return asyncUserInputPort.partialUpdateUser(id, userPartialUpdateDTO).thenApply(ResponseEntity::ok);
+    }
+
+    /**
+     * Exclui um usuário pelo ID.
+     *
+     * @param id ID do usuário a ser excluído.
+     * @return Futuro com a confirmação de exclusão (sem conteúdo no corpo da resposta).
+     */
+    @DeleteMapping("/{id}")
+    public CompletableFuture<ResponseEntity<Void>> deleteUser(@PathVariable long id) {
+        userResponseCache.invalidate(id);
+        return asyncUserInputPort.deleteUser(id).thenApply(ignored -> ResponseEntity.noContent().build());
+    }
+}
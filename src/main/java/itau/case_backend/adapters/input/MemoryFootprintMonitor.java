@@ -0,0 +1,112 @@
+package itau.case_backend.adapters.input;
+
+import itau.case_backend.domain.dtos.MemoryFootprintDTO;
+import itau.case_backend.domain.dtos.MemoryReportDTO;
+import itau.case_backend.domain.dtos.MemorySampleDTO;
+import itau.case_backend.ports.input.UserInputPort;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calcula a estimativa de memória dos usuários e acompanha a sua tendência.
+ *
+ * <p>A estimativa soma contadores mantidos pelas próprias estruturas, sem percorrer os usuários
+ * nem caminhar pelo heap, de modo que pode ser consultada em produção. Uma thread de fundo
+ * registra uma amostra a cada intervalo e retém as mais recentes; o crescimento por hora é
+ * calculado entre a amostra mais antiga retida e a estimativa atual.</p>
+ */
+@Component
+public class MemoryFootprintMonitor {
+
+    private static final double MILLIS_PER_HOUR = 3_600_000.0;
+
+    private final UserInputPort userInputPort;
+    private final UserResponseCache userResponseCache;
+    private final int maxSamples;
+    private final Deque<MemorySampleDTO> samples = new ArrayDeque<>();
+    private final ScheduledExecutorService sampler;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param userInputPort          porta de entrada que estima a memória do domínio.
+     * @param userResponseCache      cache de respostas, somado à estimativa.
+     * @param sampleIntervalMillis   intervalo, em milissegundos, entre amostras.
+     * @param maxSamples             quantidade de amostras retidas.
+     */
+    public MemoryFootprintMonitor(UserInputPort userInputPort, UserResponseCache userResponseCache,
+                                  @Value("${users.memory.sample-interval-ms:60000}") long sampleIntervalMillis,
+                                  @Value("${users.memory.max-samples:60}") int maxSamples) {
+        this.userInputPort = userInputPort;
+        this.userResponseCache = userResponseCache;
+        this.maxSamples = maxSamples;
+        this.sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-memory-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sampler.scheduleWithFixedDelay(this::sample, sampleIntervalMillis, sampleIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Calcula a estimativa atual, incluindo o cache de respostas.
+     *
+     * @return a estimativa de memória
+     */
+    public MemoryFootprintDTO footprint() {
+        return userInputPort.getMemoryFootprint().plus("responseCache", userResponseCache.estimatedBytes());
+    }
+
+    /**
+     * Monta o relatório com a estimativa atual, as amostras retidas e o crescimento por hora.
+     *
+     * @return o relatório de memória
+     */
+    public MemoryReportDTO report() {
+        MemoryFootprintDTO current = footprint();
+        long now = System.currentTimeMillis();
+        List<MemorySampleDTO> retained;
+        synchronized (samples) {
+            retained = new ArrayList<>(samples);
+        }
+        if (retained.isEmpty() || now <= retained.get(0).getTimestamp()) {
+            return new MemoryReportDTO(current, retained, null, null);
+        }
+        MemorySampleDTO oldest = retained.get(0);
+        double hours = (now - oldest.getTimestamp()) / MILLIS_PER_HOUR;
+        return new MemoryReportDTO(current, retained,
+                (current.getTotalBytes() - oldest.getTotalBytes()) / hours,
+                (current.getUserCount() - oldest.getUserCount()) / hours);
+    }
+
+    /**
+     * Registra uma amostra da estimativa atual, descartando a mais antiga se necessário.
+     */
+    public void sample() {
+        MemoryFootprintDTO current = footprint();
+        MemorySampleDTO sample = new MemorySampleDTO(System.currentTimeMillis(), current.getUserCount(), current.getTotalBytes());
+        synchronized (samples) {
+            samples.addLast(sample);
+            while (samples.size() > maxSamples) {
+                samples.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * Encerra a thread de amostragem.
+     */
+    @PreDestroy
+    public void shutdown() {
+        sampler.shutdownNow();
+    }
+}
@@ -1,17 +1,37 @@
 package itau.case_backend.adapters.input;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import itau.case_backend.config.exception.InvalidUserDataException;
+import itau.case_backend.domain.dtos.UserChangesDTO;
 import itau.case_backend.domain.dtos.UserDTO;
 import itau.case_backend.domain.dtos.UserPartialUpdateDTO;
+import itau.case_backend.domain.dtos.UserProjectionDTO;
+import itau.case_backend.domain.dtos.UserStatsDTO;
 import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.query.UserField;
+import itau.case_backend.domain.query.UserQuery;
+import itau.case_backend.domain.query.UserQueryResult;
+import itau.case_backend.domain.query.UserSort;
 import itau.case_backend.ports.input.UserInputPort;
 
-import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Controlador REST para gerenciar operações relacionadas a usuários.
@@ -23,37 +43,164 @@ import java.util.List;
 @RequestMapping("/users")
 public class UserController {
 
+    /** Cabeçalho com a quantidade total de usuários que atendem a uma consulta paginada. */
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
+    /** Quantidade máxima de usuários criados por {@code POST /users/bulk}. */
+    public static final int MAX_BULK_USERS = 1000;
+
+    private static final String FIELDS_PATTERN = "\\s*(id|name|email|age)\\s*(,\\s*(id|name|email|age)\\s*)*";
+    private static final String FIELDS_MESSAGE = "Os campos devem estar entre id, name, email e age, separados por vírgula";
+
     private final UserInputPort userInputPort;
+    private final UserResponseCache userResponseCache;
 
     /**
      * Construtor para injeção de dependência.
      *
      * @param userInputPort Porta de entrada para operações de usuários.
+     * @param userResponseCache Cache da representação codificada dos usuários.
      */
     @Autowired
-    public UserController(UserInputPort userInputPort) {
+    public UserController(UserInputPort userInputPort, UserResponseCache userResponseCache) {
         this.userInputPort = userInputPort;
+        this.userResponseCache = userResponseCache;
     }
 
     /**
-     * Recupera todos os usuários.
+     * Recupera todos os usuários ou, se informado algum filtro ou ordenação, uma página dos usuários
+     * que atendem a todos os filtros. A consulta usa o índice mais seletivo entre os filtros
+     * informados ou, sem filtros, a visão ordenada pelo campo, e devolve o total no cabeçalho
+     * {@value #TOTAL_COUNT_HEADER}. Com {@code explain=true}, a resposta traz o
+     * plano executado (caminho de acesso, estimativas e usuários examinados) em vez dos usuários.
+     * Com {@code fields}, cada usuário é escrito apenas com os campos informados.
      *
-     * @return Lista de todos os usuários cadastrados.
+     * <p>A resposta traz um ETag formado pela versão do conjunto de usuários e pelos parâmetros da
+     * requisição. Se o cabeçalho {@code If-None-Match} trouxer o mesmo ETag, a resposta é 304 sem
+     * que nenhum usuário seja lido ou serializado.</p>
+     *
+     * @param namePrefix  Prefixo de alguma palavra do nome.
+     * @param emailDomain Domínio do e-mail, com ou sem {@code @} inicial.
+     * @param minAge      Idade mínima, inclusiva.
+     * @param maxAge      Idade máxima, inclusiva.
+     * @param offset      Quantidade de usuários a pular.
+     * @param limit       Quantidade máxima de usuários na página.
+     * @param sort        Campo de ordenação: {@code id}, {@code name} ou {@code age}.
+     * @param order       Direção da ordenação: {@code asc} ou {@code desc}.
+     * @param explain     Indica se deve ser devolvido o plano da consulta.
+     * @param fields      Campos de cada usuário a serem devolvidos, separados por vírgula.
+     * @param request     Requisição, usada para validar o ETag.
+     * @return Lista de usuários ou plano da consulta.
      */
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
-        return ResponseEntity.ok(userInputPort.getAllUsers());
+    public ResponseEntity<?> getAllUsers(
+            @RequestParam(required = false) String namePrefix,
+            @RequestParam(required = false) String emailDomain,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(defaultValue = "0") @Min(value = 0, message = "O deslocamento não pode ser negativo") int offset,
+            @RequestParam(defaultValue = "100") @Min(value = 1, message = "O limite deve ser maior que 0")
+            @Max(value = 1000, message = "O limite deve ser no máximo 1000") int limit,
+            @RequestParam(required = false) @Pattern(regexp = "id|name|age", message = "A ordenação deve ser id, name ou age") String sort,
+            @RequestParam(required = false) @Pattern(regexp = "asc|desc", message = "A direção deve ser asc ou desc") String order,
+            @RequestParam(defaultValue = "false") boolean explain,
+            @RequestParam(required = false) @Pattern(regexp = FIELDS_PATTERN, message = FIELDS_MESSAGE) String fields,
+            WebRequest request) {
+        long version = userInputPort.getStoreVersion();
+        if (version >= 0 && request.checkNotModified(listETag(version, request))) {
+            return null;
+        }
+
+        UserQuery query = new UserQuery(namePrefix, emailDomain, minAge, maxAge, offset, limit,
+                sort == null ? null : UserSort.valueOf(sort.toUpperCase(Locale.ROOT)), "desc".equals(order));
+        if (query.filterCount() == 0 && sort == null && order == null && !explain) {
+            return ResponseEntity.ok(project(userInputPort.getAllUsers(), fields));
+        }
+
+        UserQueryResult result = userInputPort.queryUsers(query);
+        if (explain) {
+            return ResponseEntity.ok(result.getPlan());
+        }
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, Long.toString(result.getTotal()))
+                .body(project(result.getUsers(), fields));
+    }
+
+    /**
+     * Conta os usuários de cada domínio de e-mail.
+     *
+     * @param offset Quantidade de domínios a pular.
+     * @param limit  Quantidade máxima de domínios.
+     * @return Quantidade de usuários por domínio, em ordem alfabética de domínio.
+     */
+    @GetMapping("/domains")
+    public ResponseEntity<Map<String, Long>> countUsersByEmailDomain(
+            @RequestParam(defaultValue = "0") @Min(value = 0, message = "O deslocamento não pode ser negativo") int offset,
+            @RequestParam(defaultValue = "100") @Min(value = 1, message = "O limite deve ser maior que 0")
+            @Max(value = 1000, message = "O limite deve ser no máximo 1000") int limit) {
+        return ResponseEntity.ok(userInputPort.countUsersByEmailDomain(offset, limit));
+    }
+
+    /**
+     * Busca usuários pelo nome, para autocompletar e buscas tolerantes a erros de digitação.
+     *
+     * @param q     Nome completo ou parcial.
+     * @param limit Quantidade máxima de usuários.
+     * @return Usuários encontrados, em ordem de relevância.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<User>> searchUsers(
+            @RequestParam @NotBlank(message = "O texto da busca não pode estar vazio") String q,
+            @RequestParam(defaultValue = "10") @Min(value = 1, message = "O limite deve ser maior que 0")
+            @Max(value = 100, message = "O limite deve ser no máximo 100") int limit) {
+        return ResponseEntity.ok(userInputPort.searchUsersByName(q, limit));
     }
 
     /**
-     * Recupera um usuário pelo ID.
+     * Recupera as alterações de usuários ocorridas após uma sequência.
      *
-     * @param id ID do usuário.
+     * @param since Última sequência recebida pelo cliente (0 para a primeira sincronização).
+     * @return Usuários alterados e IDs removidos desde a sequência.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<UserChangesDTO> getUserChanges(@RequestParam(defaultValue = "0") long since) {
+        return ResponseEntity.ok(userInputPort.getChangesSince(since));
+    }
+
+    /**
+     * Recupera as estatísticas agregadas dos usuários.
+     *
+     * @param topDomains Quantidade de domínios de e-mail mais frequentes a incluir.
+     * @return Contagem, histograma e extremos de idade e domínios mais frequentes.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<UserStatsDTO> getUserStatistics(@RequestParam(defaultValue = "10") int topDomains) {
+        return ResponseEntity.ok(userInputPort.getUserStatistics(topDomains));
+    }
+
+    /**
+     * Recupera um usuário pelo ID, em JSON ou, se preferido pelo cabeçalho {@code Accept}, em CBOR.
+     * Sem {@code fields}, o corpo é escrito a partir dos bytes guardados para a versão atual do
+     * usuário, sem serializá-lo novamente.
+     *
+     * @param id     ID do usuário.
+     * @param fields Campos do usuário a serem devolvidos, separados por vírgula.
+     * @param accept Cabeçalho {@code Accept} da requisição.
      * @return Usuário correspondente ao ID.
+     * @throws JsonProcessingException Se a serialização do usuário falhar.
      */
-    @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable long id) {
-        return ResponseEntity.ok(userInputPort.getUserById(id));
+    @GetMapping(value = "/{id}", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    public ResponseEntity<?> getUserById(@PathVariable long id,
+                                         @RequestParam(required = false) @Pattern(regexp = FIELDS_PATTERN, message = FIELDS_MESSAGE) String fields,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept)
+            throws JsonProcessingException {
+        if (fields != null) {
+            return ResponseEntity.ok(new UserProjectionDTO(userInputPort.getUserById(id), UserField.parse(fields)));
+        }
+        MediaType format = preferredFormat(accept);
+        return ResponseEntity.ok()
+                .contentType(format)
+                .body(userResponseCache.bytesOf(userInputPort.getUserById(id), format));
     }
 
 
@@ -64,10 +211,27 @@ public class UserController {
      * @return Usuário criado com sucesso.
      */
     @PostMapping
-    public ResponseEntity<User> createUser(@Valid @RequestBody UserDTO userDTO) {
+    public ResponseEntity<User> createUser(@RequestBody UserDTO userDTO) {
+        UserRequestValidator.validate(userDTO);
         return ResponseEntity.status(HttpStatus.CREATED).body(userInputPort.createUser(userDTO));
     }
 
+    /**
+     * Cria vários usuários em uma única operação. Os dados de todos os usuários são validados
+     * antes de qualquer gravação.
+     *
+     * @param userDTOs Dados dos novos usuários, no máximo {@value #MAX_BULK_USERS}.
+     * @return Usuários criados, na mesma ordem.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<User>> createUsers(@RequestBody List<UserDTO> userDTOs) {
+        if (userDTOs == null || userDTOs.isEmpty() || userDTOs.size() > MAX_BULK_USERS) {
+            throw new InvalidUserDataException(List.of("O lote deve ter entre 1 e " + MAX_BULK_USERS + " usuários"));
+        }
+        userDTOs.forEach(UserRequestValidator::validate);
+        return ResponseEntity.status(HttpStatus.CREATED).body(userInputPort.createUsers(userDTOs));
+    }
+
     /**
      * Atualiza os dados de um usuário existente.
      *
@@ -76,7 +240,9 @@ public class UserController {
      * @return Usuário atualizado.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable long id, @Valid @RequestBody UserDTO userDTO) {
+    public ResponseEntity<User> updateUser(@PathVariable long id, @RequestBody UserDTO userDTO) {
+        UserRequestValidator.validate(userDTO);
+        userResponseCache.invalidate(id);
         return ResponseEntity.ok(userInputPort.updateUser(id, userDTO));
     }
 
@@ -88,7 +254,9 @@ public class UserController {
      * @return Usuário com os campos atualizados.
      */
     @PatchMapping("/{id}")
-    public ResponseEntity<User> partialUpdateUser(@PathVariable long id, @Valid @RequestBody UserPartialUpdateDTO userPartialUpdateDTO) {
+    public ResponseEntity<User> partialUpdateUser(@PathVariable long id, @RequestBody UserPartialUpdateDTO userPartialUpdateDTO) {
+        UserRequestValidator.validate(userPartialUpdateDTO);
+        userResponseCache.invalidate(id);
         return ResponseEntity.ok(userInputPort.partialUpdateUser(id, userPartialUpdateDTO));
     }
 
@@ -100,7 +268,41 @@ public class UserController {
      */
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUser(@PathVariable long id) {
+        userResponseCache.invalidate(id);
         userInputPort.deleteUser(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Monta o ETag de uma listagem. A versão é lida antes dos usuários, de modo que o ETag nunca
+     * é mais novo que o conteúdo; parâmetros e formato diferentes geram ETags diferentes.
+     */
+    private static String listETag(long version, WebRequest request) {
+        String representation = request.getParameterMap().entrySet().stream()
+                .map(entry -> entry.getKey() + '=' + String.join(",", entry.getValue()))
+                .sorted()
+                .collect(Collectors.joining("&")) + '|' + request.getHeader(HttpHeaders.ACCEPT);
+        return '"' + Long.toString(version) + '-' + Integer.toHexString(representation.hashCode()) + '"';
+    }
+
+    private static List<?> project(List<User> users, String fields) {
+        return fields == null ? users : UserProjectionDTO.of(users, UserField.parse(fields));
+    }
+
+    private static MediaType preferredFormat(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType type : accepted) {
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return MediaType.APPLICATION_JSON;
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return MediaType.APPLICATION_CBOR;
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
 }
@@ -0,0 +1,180 @@
+package itau.case_backend.adapters.input;
+
+import itau.case_backend.domain.events.UserChangeEvent;
+import itau.case_backend.domain.events.UserChangeRingBuffer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Distribui os eventos do {@link UserChangeRingBuffer} para os assinantes Server-Sent Events.
+ *
+ * <p>Cada assinante guarda apenas o seu cursor no buffer; não existem filas por assinante.
+ * Um despachante verifica periodicamente se há eventos novos e agenda, no máximo, uma tarefa
+ * de envio por assinante de cada vez, o que limita o trabalho em andamento (backpressure).
+ * Um assinante lento que fica mais de uma volta atrás do buffer recebe um evento
+ * {@code DROPPED} e tem a conexão encerrada. Um cliente que reconecta com um
+ * {@code Last-Event-ID} fora do buffer recebe um evento {@code RESYNC}.</p>
+ */
+@Component
+public class UserEventBroadcaster {
+
+    private static final int BATCH_SIZE = 256;
+
+    private final UserChangeRingBuffer changeEvents;
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService senders;
+    private final long emitterTimeoutMillis;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param changeEvents           buffer de alterações de usuários.
+     * @param senderThreads          quantidade de threads que enviam eventos aos assinantes.
+     * @param dispatchIntervalMillis intervalo, em milissegundos, entre verificações de eventos novos.
+     * @param emitterTimeoutMillis   tempo máximo de uma assinatura, em milissegundos (0 para ilimitado).
+     */
+    public UserEventBroadcaster(UserChangeRingBuffer changeEvents,
+                                @Value("${users.events.sender-threads:4}") int senderThreads,
+                                @Value("${users.events.dispatch-interval-ms:20}") long dispatchIntervalMillis,
+                                @Value("${users.events.emitter-timeout-ms:0}") long emitterTimeoutMillis) {
+        this.changeEvents = changeEvents;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.senders = Executors.newFixedThreadPool(senderThreads, daemonThreads("user-events-sender"));
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(daemonThreads("user-events-dispatcher"));
+        this.dispatcher.scheduleWithFixedDelay(this::dispatch, dispatchIntervalMillis, dispatchIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registra um novo assinante.
+     *
+     * <p>Se os eventos seguintes a {@code lastEventId} já saíram do buffer, ou se a sequência é
+     * posterior à última publicada (por exemplo, após uma reinicialização), o assinante recebe
+     * primeiro um evento {@code RESYNC} e passa a receber os eventos a partir da sequência mais
+     * antiga disponível, ou apenas os novos no segundo caso. O cliente deve recarregar os
+     * usuários ao receber esse evento.</p>
+     *
+     * @param lastEventId última sequência recebida pelo cliente, ou {@code null} para receber apenas eventos novos.
+     * @return o emissor SSE associado ao assinante.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        long next = changeEvents.nextSequence();
+        long oldest = changeEvents.oldestSequence();
+        long start = lastEventId == null ? next : lastEventId + 1;
+
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        if (start < oldest || start > next) {
+            start = start < oldest ? oldest : next;
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(Long.toString(start - 1))
+                        .name("RESYNC")
+                        .data("Eventos anteriores à sequência " + start + " não estão mais disponíveis; recarregue os usuários."));
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+                return emitter;
+            }
+        }
+        Subscription subscription = new Subscription(emitter, start);
+        emitter.onCompletion(() -> subscriptions.remove(subscription));
+        emitter.onTimeout(() -> subscriptions.remove(subscription));
+        emitter.onError(error -> subscriptions.remove(subscription));
+        subscriptions.add(subscription);
+        return emitter;
+    }
+
+    /**
+     * Obtém a quantidade de assinantes ativos.
+     *
+     * @return a quantidade de assinantes.
+     */
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Encerra as assinaturas e as threads de distribuição.
+     */
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        senders.shutdownNow();
+        subscriptions.forEach(subscription -> subscription.emitter.complete());
+        subscriptions.clear();
+    }
+
+    private void dispatch() {
+        long published = changeEvents.nextSequence();
+        for (Subscription subscription : subscriptions) {
+            if (subscription.cursor < published && subscription.scheduled.compareAndSet(false, true)) {
+                senders.execute(() -> drain(subscription));
+            }
+        }
+    }
+
+    private void drain(Subscription subscription) {
+        List<UserChangeEvent> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            if (changeEvents.drainTo(subscription.cursor, batch, BATCH_SIZE) == UserChangeRingBuffer.LOST) {
+                drop(subscription);
+                return;
+            }
+            for (UserChangeEvent event : batch) {
+                subscription.emitter.send(SseEmitter.event()
+                        .id(Long.toString(event.getSequence()))
+                        .name(event.getType().name())
+                        .data(event));
+                subscription.cursor = event.getSequence() + 1;
+            }
+        } catch (Exception e) {
+            subscriptions.remove(subscription);
+            subscription.emitter.completeWithError(e);
+        } finally {
+            subscription.scheduled.set(false);
+        }
+    }
+
+    private void drop(Subscription subscription) throws Exception {
+        subscriptions.remove(subscription);
+        subscription.emitter.send(SseEmitter.event()
+                .name("DROPPED")
+                .data("Assinante descartado por não acompanhar o ritmo dos eventos."));
+        subscription.emitter.complete();
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Estado de um assinante: o emissor SSE e o cursor no buffer.
+     */
+    private static final class Subscription {
+        final SseEmitter emitter;
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile long cursor;
+
+        Subscription(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package itau.case_backend.adapters.input;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controlador REST que publica as alterações de usuários via Server-Sent Events.
+ *
+ * Permite que outros serviços acompanhem criações, atualizações e exclusões sem
+ * precisar consultar periodicamente a listagem de usuários.
+ */
+@RestController
+@RequestMapping("/users/events")
+public class UserEventController {
+
+    private final UserEventBroadcaster userEventBroadcaster;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param userEventBroadcaster Distribuidor dos eventos de usuários.
+     */
+    @Autowired
+    public UserEventController(UserEventBroadcaster userEventBroadcaster) {
+        this.userEventBroadcaster = userEventBroadcaster;
+    }
+
+    /**
+     * Abre um fluxo de eventos de alteração de usuários.
+     *
+     * @param lastEventId Última sequência recebida, enviada pelo cliente ao reconectar.
+     * @return Emissor SSE que recebe os eventos {@code CREATED}, {@code UPDATED} e {@code DELETED}.
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUserEvents(@RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return userEventBroadcaster.subscribe(lastEventId);
+    }
+}
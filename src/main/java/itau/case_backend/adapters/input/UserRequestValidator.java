@@ -0,0 +1,186 @@
+package itau.case_backend.adapters.input;
+
+import itau.case_backend.config.exception.InvalidUserDataException;
+import itau.case_backend.domain.dtos.UserDTO;
+import itau.case_backend.domain.dtos.UserPartialUpdateDTO;
+import itau.case_backend.domain.entities.User;
+import jakarta.validation.constraints.Email;
+
+import java.net.IDN;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Validação dos corpos de requisição de usuários sem Bean Validation.
+ *
+ * <p>Aplica diretamente as mesmas regras declaradas nas anotações de {@link UserDTO} e
+ * {@link UserPartialUpdateDTO}, com as mesmas mensagens, sem percorrer metadados por reflexão
+ * nem criar objetos de violação a cada requisição. O formato do e-mail é conferido localmente com a
+ * mesma regra do {@link Email} do Hibernate Validator: parte local de até 64 caracteres, domínio
+ * (ou IP entre colchetes) de até 255 caracteres após a conversão IDN, separados pela última
+ * arroba. Nenhuma lista é alocada quando os dados são válidos.</p>
+ *
+ * <p>As anotações continuam nos DTOs como documentação das regras; ao alterá-las, ou ao atualizar
+ * o Hibernate Validator, esta classe deve ser revista. O teste de paridade compara as duas
+ * validações.</p>
+ */
+public final class UserRequestValidator {
+
+    private static final int MAX_LOCAL_PART_LENGTH = 64;
+    private static final int MAX_DOMAIN_LENGTH = 255;
+
+    private static final String LOCAL_PART_ATOM = "[a-z0-9!#$%&'*+/=?^_`{|}~\u0080-\uFFFF-]";
+    private static final String LOCAL_PART_INSIDE_QUOTES_ATOM =
+            "(?:[a-z0-9!#$%&'*.(),<>\\[\\]:;  @+/=?^_`{|}~\u0080-\uFFFF-]|\\\\\\\\|\\\\\\\")";
+    private static final String LOCAL_PART_WORD =
+            "(?:" + LOCAL_PART_ATOM + "+|\"" + LOCAL_PART_INSIDE_QUOTES_ATOM + "+\")";
+    private static final Pattern LOCAL_PART_PATTERN = Pattern.compile(
+            LOCAL_PART_WORD + "(?:\\." + LOCAL_PART_WORD + ")*", Pattern.CASE_INSENSITIVE);
+
+    private static final String DOMAIN_CHAR = "[a-z\u0080-\uFFFF0-9!#$%&'*+/=?^_`{|}~]";
+    private static final String DOMAIN_LABEL = "(?:" + DOMAIN_CHAR + "-*)*" + DOMAIN_CHAR + "++";
+    private static final String DOMAIN = DOMAIN_LABEL + "(?:\\." + DOMAIN_LABEL + ")*";
+    private static final String IP_V4 = "[0-9]{1,3}\\.[0-9]{1,3}\\.[0-9]{1,3}\\.[0-9]{1,3}";
+    private static final String IP_V4_OCTETS = "(?:(?:25[0-5]|(?:2[0-4]|1{0,1}[0-9]){0,1}[0-9])\\.){3,3}"
+            + "(?:25[0-5]|(?:2[0-4]|1{0,1}[0-9]){0,1}[0-9])";
+    private static final String IP_V6 = "(?:(?:[0-9a-fA-F]{1,4}:){7,7}[0-9a-fA-F]{1,4}"
+            + "|(?:[0-9a-fA-F]{1,4}:){1,7}:"
+            + "|(?:[0-9a-fA-F]{1,4}:){1,6}:[0-9a-fA-F]{1,4}"
+            + "|(?:[0-9a-fA-F]{1,4}:){1,5}(?::[0-9a-fA-F]{1,4}){1,2}"
+            + "|(?:[0-9a-fA-F]{1,4}:){1,4}(?::[0-9a-fA-F]{1,4}){1,3}"
+            + "|(?:[0-9a-fA-F]{1,4}:){1,3}(?::[0-9a-fA-F]{1,4}){1,4}"
+            + "|(?:[0-9a-fA-F]{1,4}:){1,2}(?::[0-9a-fA-F]{1,4}){1,5}"
+            + "|[0-9a-fA-F]{1,4}:(?:(?::[0-9a-fA-F]{1,4}){1,6})"
+            + "|:(?:(?::[0-9a-fA-F]{1,4}){1,7}|:)"
+            + "|fe80:(?::[0-9a-fA-F]{0,4}){0,4}%[0-9a-zA-Z]{1,}"
+            + "|::(?:ffff(:0{1,4}){0,1}:){0,1}" + IP_V4_OCTETS
+            + "|(?:[0-9a-fA-F]{1,4}:){1,4}:" + IP_V4_OCTETS + ")";
+    private static final Pattern DOMAIN_PATTERN = Pattern.compile(
+            DOMAIN + "|\\[" + IP_V4 + "\\]|\\[IPv6:" + IP_V6 + "\\]", Pattern.CASE_INSENSITIVE);
+
+    private UserRequestValidator() {
+    }
+
+    /**
+     * Valida os dados de criação ou atualização completa de um usuário.
+     *
+     * @param userDTO os dados do usuário
+     * @throws InvalidUserDataException se os dados forem nulos ou alguma regra for violada
+     */
+    public static void validate(UserDTO userDTO) {
+        requireBody(userDTO);
+        throwIfAny(errorsOf(userDTO.getName(), userDTO.getEmail(), userDTO.getAge(), null, ""));
+    }
+
+    /**
+     * Valida usuários recebidos de outra instância do cluster com as mesmas regras de
+     * {@link UserDTO}, além de exigir um ID positivo. Cada mensagem indica o ID do usuário.
+     *
+     * @param users os usuários recebidos
+     * @throws InvalidUserDataException se algum usuário violar alguma regra
+     */
+    public static void validateImported(List<User> users) {
+        List<String> errors = null;
+        for (User user : users) {
+            String prefix = "Usuário " + user.getId() + ": ";
+            if (user.getId() < 1) {
+                errors = add(errors, prefix + "O ID deve ser maior que 0");
+            }
+            errors = errorsOf(user.getName(), user.getEmail(), user.getAge(), errors, prefix);
+        }
+        throwIfAny(errors);
+    }
+
+    /**
+     * Valida os dados de atualização parcial de um usuário. Campos nulos não são validados.
+     *
+     * @param userPartialUpdateDTO os campos a serem atualizados
+     * @throws InvalidUserDataException se os dados forem nulos ou alguma regra for violada
+     */
+    public static void validate(UserPartialUpdateDTO userPartialUpdateDTO) {
+        requireBody(userPartialUpdateDTO);
+        List<String> errors = null;
+        if (userPartialUpdateDTO.getName() != null && userPartialUpdateDTO.getName().isEmpty()) {
+            errors = add(errors, "O nome deve ter pelo menos 1 caractere");
+        }
+        if (userPartialUpdateDTO.getEmail() != null && userPartialUpdateDTO.getEmail().isEmpty()) {
+            errors = add(errors, "O e-mail não pode estar vazio");
+        }
+        if (!isEmail(userPartialUpdateDTO.getEmail())) {
+            errors = add(errors, "Formato de e-mail inválido");
+        }
+        if (userPartialUpdateDTO.getAge() != null && userPartialUpdateDTO.getAge() < 1) {
+            errors = add(errors, "A idade deve ser maior que 0");
+        }
+        throwIfAny(errors);
+    }
+
+    private static List<String> errorsOf(String name, String email, Integer age, List<String> errors, String prefix) {
+        if (isBlank(name)) {
+            errors = add(errors, prefix + "O nome não pode estar vazio");
+        }
+        if (isBlank(email)) {
+            errors = add(errors, prefix + "O e-mail não pode estar vazio");
+        }
+        if (!isEmail(email)) {
+            errors = add(errors, prefix + "Formato de e-mail inválido");
+        }
+        if (age == null) {
+            errors = add(errors, prefix + "A idade não pode ser nula");
+        } else if (age < 1) {
+            errors = add(errors, prefix + "A idade deve ser maior que 0");
+        }
+        return errors;
+    }
+
+    private static void requireBody(Object body) {
+        if (body == null) {
+            throw new InvalidUserDataException(List.of("Os dados do usuário são obrigatórios"));
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    private static boolean isEmail(String value) {
+        if (value == null || value.isEmpty()) {
+            return true;
+        }
+        int at = value.lastIndexOf('@');
+        if (at < 0) {
+            return false;
+        }
+        String localPart = value.substring(0, at);
+        String domain = value.substring(at + 1);
+        return localPart.length() <= MAX_LOCAL_PART_LENGTH
+                && LOCAL_PART_PATTERN.matcher(localPart).matches()
+                && isEmailDomain(domain);
+    }
+
+    private static boolean isEmailDomain(String domain) {
+        if (domain.endsWith(".")) {
+            return false;
+        }
+        String ascii;
+        try {
+            ascii = IDN.toASCII(domain);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return ascii.length() <= MAX_DOMAIN_LENGTH && DOMAIN_PATTERN.matcher(domain).matches();
+    }
+
+    private static List<String> add(List<String> errors, String message) {
+        List<String> result = errors == null ? new ArrayList<>(4) : errors;
+        result.add(message);
+        return result;
+    }
+
+    private static void throwIfAny(List<String> errors) {
+        if (errors != null) {
+            throw new InvalidUserDataException(errors);
+        }
+    }
+}
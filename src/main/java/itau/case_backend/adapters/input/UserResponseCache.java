@@ -0,0 +1,156 @@
+package itau.case_backend.adapters.input;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.memory.MemoryEstimates;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache limitado da representação já codificada de cada usuário, por formato de resposta
+ * (JSON e CBOR).
+ *
+ * <p>As entradas são indexadas pelo ID e guardam a versão a partir da qual os bytes foram
+ * gerados; um acerto exige que a versão do usuário lido coincida, de modo que uma escrita
+ * nunca é mascarada por bytes antigos, mesmo que a invalidação explícita não ocorra. Usuários
+ * sem versão (ainda não salvos) não são guardados. Ao atingir o limite, as entradas mais
+ * antigas de cada formato são descartadas na ordem de inserção.</p>
+ */
+@Component
+public class UserResponseCache {
+
+    /** Um {@link Entry} com o cabeçalho do seu vetor e o nó correspondente na fila de descarte. */
+    private static final long ENTRY_OVERHEAD = 24 + MemoryEstimates.arrayBytes(0) + 24 + MemoryEstimates.BOXED;
+
+    private final Map<MediaType, Segment> segments;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param objectMapper  mapeador JSON usado para gerar os bytes nas faltas do cache.
+     * @param cborConverter conversor CBOR, cujo mapeador gera os bytes binários.
+     * @param maxEntries    quantidade máxima de usuários guardados por formato.
+     */
+    public UserResponseCache(ObjectMapper objectMapper, MappingJackson2CborHttpMessageConverter cborConverter,
+                             @Value("${users.response-cache.max-entries:10000}") int maxEntries) {
+        this.segments = Map.of(
+                MediaType.APPLICATION_JSON, new Segment(objectMapper, maxEntries),
+                MediaType.APPLICATION_CBOR, new Segment(cborConverter.getObjectMapper(), maxEntries));
+    }
+
+    /**
+     * Retorna a representação do usuário no formato informado, gerando-a e guardando-a se necessário.
+     *
+     * @param user   o usuário
+     * @param format {@link MediaType#APPLICATION_JSON} ou {@link MediaType#APPLICATION_CBOR}
+     * @return os bytes do usuário no formato
+     * @throws JsonProcessingException se a serialização falhar
+     */
+    public byte[] bytesOf(User user, MediaType format) throws JsonProcessingException {
+        Segment segment = segments.get(format);
+        if (segment == null) {
+            throw new IllegalArgumentException("Formato sem cache: " + format);
+        }
+        return segment.bytesOf(user);
+    }
+
+    /**
+     * Descarta as representações guardadas de um usuário. As entradas continuam ocupando a sua
+     * posição na ordem de descarte até serem substituídas ou descartadas.
+     *
+     * @param id o ID do usuário
+     */
+    public void invalidate(long id) {
+        segments.values().forEach(segment -> segment.invalidate(id));
+    }
+
+    /**
+     * Retorna a quantidade de usuários guardados em um formato.
+     *
+     * @param format o formato
+     * @return a quantidade de entradas
+     */
+    public int size(MediaType format) {
+        return segments.get(format).entries.size();
+    }
+
+    /**
+     * Estima a memória ocupada pelo cache em todos os formatos, a partir da quantidade de
+     * entradas e do total de bytes guardados, sem percorrer as entradas.
+     *
+     * @return o tamanho estimado, em bytes
+     */
+    public long estimatedBytes() {
+        long total = 0;
+        for (Segment segment : segments.values()) {
+            total += segment.entries.size() * (MemoryEstimates.HASH_ENTRY + MemoryEstimates.BOXED + ENTRY_OVERHEAD)
+                    + segment.payloadBytes.sum();
+        }
+        return total;
+    }
+
+    private static final class Segment {
+
+        private static final Entry INVALID = new Entry(-1, new byte[0]);
+
+        private final ObjectMapper mapper;
+        private final int maxEntries;
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+        private final Queue<Long> insertionOrder = new ConcurrentLinkedQueue<>();
+        private final LongAdder payloadBytes = new LongAdder();
+
+        private Segment(ObjectMapper mapper, int maxEntries) {
+            this.mapper = mapper;
+            this.maxEntries = maxEntries;
+        }
+
+        private byte[] bytesOf(User user) throws JsonProcessingException {
+            Entry entry = entries.get(user.getId());
+            if (entry != null && entry.version() == user.getVersion()) {
+                return entry.bytes();
+            }
+
+            byte[] bytes = mapper.writeValueAsBytes(user);
+            if (user.getVersion() == 0 || maxEntries <= 0) {
+                return bytes;
+            }
+            Entry previous = entries.put(user.getId(), new Entry(user.getVersion(), bytes));
+            payloadBytes.add(bytes.length);
+            if (previous != null) {
+                payloadBytes.add(-previous.bytes().length);
+            } else {
+                insertionOrder.add(user.getId());
+                while (entries.size() > maxEntries) {
+                    Long eldest = insertionOrder.poll();
+                    if (eldest == null) {
+                        break;
+                    }
+                    Entry evicted = entries.remove(eldest);
+                    if (evicted != null) {
+                        payloadBytes.add(-evicted.bytes().length);
+                    }
+                }
+            }
+            return bytes;
+        }
+
+        private void invalidate(long id) {
+            Entry previous = entries.replace(id, INVALID);
+            if (previous != null) {
+                payloadBytes.add(-previous.bytes().length);
+            }
+        }
+    }
+
+    private record Entry(long version, byte[] bytes) {
+    }
+}
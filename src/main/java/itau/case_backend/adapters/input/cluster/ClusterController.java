@@ -0,0 +1,122 @@
+package itau.case_backend.adapters.input.cluster;
+
+import itau.case_backend.adapters.input.UserRequestValidator;
+import itau.case_backend.adapters.input.replication.ReplicationProtocol;
+import itau.case_backend.config.exception.InvalidUserDataException;
+import itau.case_backend.domain.dtos.ClusterStatusDTO;
+import itau.case_backend.domain.dtos.RebalanceReportDTO;
+import itau.case_backend.domain.dtos.UserChangesDTO;
+import itau.case_backend.ports.input.UserInputPort;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Controlador REST do cluster: composição do anel, adição de nós, rebalanceamento e a rota
+ * interna que recebe usuários transferidos por outros nós.
+ *
+ * <p>A rota interna só atende quem apresenta o segredo do cluster e valida cada usuário recebido
+ * com as regras de {@link UserRequestValidator} antes de gravar qualquer um deles.</p>
+ */
+@RestController
+@ConditionalOnProperty(name = "users.cluster.self")
+public class ClusterController {
+
+    private final ClusterMembership membership;
+    private final ClusterRebalancer rebalancer;
+    private final UserInputPort userInputPort;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param membership    Composição do cluster.
+     * @param rebalancer    Responsável por transferir usuários entre nós.
+     * @param userInputPort Porta de entrada para operações de usuários.
+     */
+    public ClusterController(ClusterMembership membership, ClusterRebalancer rebalancer, UserInputPort userInputPort) {
+        this.membership = membership;
+        this.rebalancer = rebalancer;
+        this.userInputPort = userInputPort;
+    }
+
+    /**
+     * Recupera a composição do cluster vista por esta instância.
+     *
+     * @return Nome da instância, nós do anel e modo de encaminhamento.
+     */
+    @GetMapping("/admin/cluster")
+    public ResponseEntity<ClusterStatusDTO> getClusterStatus() {
+        return ResponseEntity.ok(new ClusterStatusDTO(membership.self(), membership.ring().nodes(),
+                membership.redirect() ? "redirect" : "forward"));
+    }
+
+    /**
+     * Adiciona um nó ao anel desta instância e transfere para ele os usuários locais que passaram
+     * a lhe pertencer. Deve ser chamado em cada nó existente.
+     *
+     * @param name Nome do novo nó.
+     * @param url  URL base do novo nó.
+     * @return Resultado do rebalanceamento.
+     */
+    @PostMapping("/admin/cluster/nodes")
+    public ResponseEntity<RebalanceReportDTO> addNode(@RequestParam String name, @RequestParam String url) {
+        membership.addNode(name, url);
+        return ResponseEntity.ok(rebalancer.rebalance());
+    }
+
+    /**
+     * Transfere para os seus donos os usuários locais que pertencem a outros nós.
+     *
+     * @return Resultado do rebalanceamento.
+     */
+    @PostMapping("/admin/cluster/rebalance")
+    public ResponseEntity<RebalanceReportDTO> rebalance() {
+        return ResponseEntity.ok(rebalancer.rebalance());
+    }
+
+    /**
+     * Recebe usuários transferidos por outro nó, preservando os seus IDs. Os usuários que
+     * conflitam com usuários locais não são gravados e os seus IDs são devolvidos à origem.
+     *
+     * @param request Requisição com os usuários no formato de {@link ReplicationProtocol}.
+     * @return IDs recusados por conflito, no formato de {@link ClusterRebalancer#writeIds}, ou
+     *         {@code 403 Forbidden} sem o segredo do cluster em {@value ClusterRebalancer#SECRET_HEADER}.
+     * @throws IOException Se a resposta não puder ser escrita.
+     * @throws InvalidUserDataException Se o corpo estiver malformado ou algum usuário for inválido.
+     */
+    @PostMapping(value = ClusterRebalancer.TRANSFER_PATH, consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+            produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> receiveUsers(HttpServletRequest request) throws IOException {
+        if (!rebalancer.authorizes(request.getHeader(ClusterRebalancer.SECRET_HEADER))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        UserChangesDTO changes;
+        try {
+            changes = ReplicationProtocol.read(new DataInputStream(request.getInputStream())).changes();
+        } catch (IOException exception) {
+            String detail = exception instanceof EOFException ? "dados incompletos" : exception.getMessage();
+            throw new InvalidUserDataException(List.of("Corpo da transferência inválido: " + detail));
+        }
+        if (changes == null) {
+            throw new InvalidUserDataException(List.of("A transferência não contém usuários"));
+        }
+        UserRequestValidator.validateImported(changes.getUsers());
+        List<Long> conflicts = userInputPort.importUsers(changes.getUsers());
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ClusterRebalancer.writeIds(new DataOutputStream(buffer), conflicts);
+        return ResponseEntity.ok(buffer.toByteArray());
+    }
+}
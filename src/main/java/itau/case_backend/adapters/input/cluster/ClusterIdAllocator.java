@@ -0,0 +1,113 @@
+package itau.case_backend.adapters.input.cluster;
+
+import itau.case_backend.config.exception.UserStorageException;
+import itau.case_backend.ports.output.UserIdAllocator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.function.LongPredicate;
+
+/**
+ * Escolhe IDs de novos usuários que pertencem a esta instância no anel do cluster.
+ *
+ * <p>Os candidatos são percorridos em ordem crescente e o primeiro que pertence a esta
+ * instância e ainda não está em uso localmente é escolhido; com {@code n} nós, cerca de
+ * {@code n} candidatos são examinados por ID. Com o anel estável, nós diferentes nunca possuem
+ * o mesmo ID. Durante uma mudança de composição, porém, o novo dono pode escolher um ID que o
+ * dono anterior ainda guarda e não transferiu; a transferência recusa esses conflitos em vez de
+ * sobrescrever o usuário (ver {@link ClusterRebalancer}).</p>
+ *
+ * <p>O próximo candidato é gravado em {@code users.cluster.id-file} em blocos de
+ * {@value #RESERVATION} IDs, para que uma reinicialização continue de onde parou em vez de
+ * examinar de novo todos os IDs já usados. Uma reinicialização perde no máximo um bloco de
+ * candidatos. Com o arquivo vazio, nada é gravado e a contagem recomeça em 1.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "users.cluster.self")
+public class ClusterIdAllocator implements UserIdAllocator {
+
+    /** Quantidade de candidatos reservados a cada gravação do arquivo. */
+    public static final int RESERVATION = 1024;
+
+    private final ClusterMembership membership;
+    private final Path stateFile;
+    private long next;
+    private long reservedUntil;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param membership composição do cluster.
+     * @param idFile     arquivo do próximo candidato, ou vazio para não gravá-lo.
+     */
+    @Autowired
+    public ClusterIdAllocator(ClusterMembership membership,
+                              @Value("${users.cluster.id-file:data/cluster-next-id}") String idFile) {
+        this(membership, idFile.isBlank() ? null : Path.of(idFile));
+    }
+
+    /**
+     * Construtor a partir do arquivo do próximo candidato.
+     *
+     * @param membership composição do cluster.
+     * @param stateFile  arquivo do próximo candidato, ou {@code null} para não gravá-lo.
+     */
+    public ClusterIdAllocator(ClusterMembership membership, Path stateFile) {
+        this.membership = membership;
+        this.stateFile = stateFile;
+        this.next = readNext();
+        this.reservedUntil = next;
+    }
+
+    /**
+     * Escolhe o próximo ID desta instância que ainda não está em uso.
+     *
+     * @param taken indica se um ID já está em uso no repositório local
+     * @return o ID escolhido
+     */
+    @Override
+    public synchronized long nextId(LongPredicate taken) {
+        while (true) {
+            if (next >= reservedUntil) {
+                reserve(next + RESERVATION);
+            }
+            long candidate = next++;
+            if (membership.owns(candidate) && !taken.test(candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    private long readNext() {
+        if (stateFile == null || !Files.exists(stateFile)) {
+            return 1;
+        }
+        try {
+            return Long.parseLong(Files.readString(stateFile, StandardCharsets.US_ASCII).trim());
+        } catch (IOException | NumberFormatException exception) {
+            throw new UserStorageException("Falha ao ler o próximo ID do cluster em " + stateFile, exception);
+        }
+    }
+
+    private void reserve(long until) {
+        if (stateFile != null) {
+            try {
+                Path parent = stateFile.toAbsolutePath().getParent();
+                Files.createDirectories(parent);
+                Path temporary = Files.createTempFile(parent, stateFile.getFileName().toString(), ".tmp");
+                Files.writeString(temporary, Long.toString(until), StandardCharsets.US_ASCII);
+                Files.move(temporary, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException exception) {
+                throw new UserStorageException("Falha ao gravar o próximo ID do cluster em " + stateFile, exception);
+            }
+        }
+        reservedUntil = until;
+    }
+}
@@ -0,0 +1,123 @@
+package itau.case_backend.adapters.input.cluster;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Composição do cluster vista por esta instância: o seu nome, o anel de hash consistente com
+ * todos os nós e o modo de encaminhamento das requisições de IDs de outros nós.
+ *
+ * <p>Ativada quando {@code users.cluster.self} é informado. Os nós vêm da configuração estática
+ * {@code users.cluster.nodes}, no formato {@code nome=url,nome=url}, e novos nós podem ser
+ * adicionados em execução por {@link #addNode(String, String)}.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "users.cluster.self")
+public class ClusterMembership {
+
+    private final String self;
+    private final boolean redirect;
+    private volatile HashRing ring;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param self         nome desta instância, que deve constar em {@code nodes}.
+     * @param nodes        nós do cluster, no formato {@code nome=url,nome=url}.
+     * @param virtualNodes quantidade de pontos de cada nó no anel.
+     * @param routing      {@code forward} para encaminhar as requisições ao dono, ou
+     *                     {@code redirect} para responder com um redirecionamento.
+     */
+    @Autowired
+    public ClusterMembership(@Value("${users.cluster.self}") String self,
+                             @Value("${users.cluster.nodes}") String nodes,
+                             @Value("${users.cluster.virtual-nodes:128}") int virtualNodes,
+                             @Value("${users.cluster.routing:forward}") String routing) {
+        this(self, parseNodes(nodes), virtualNodes, "redirect".equalsIgnoreCase(routing));
+    }
+
+    /**
+     * Construtor a partir dos nós já separados.
+     *
+     * @param self         nome desta instância.
+     * @param nodes        nós do cluster, do nome para a URL base.
+     * @param virtualNodes quantidade de pontos de cada nó no anel.
+     * @param redirect     indica se as requisições de outros nós são redirecionadas em vez de encaminhadas.
+     */
+    public ClusterMembership(String self, Map<String, String> nodes, int virtualNodes, boolean redirect) {
+        if (!nodes.containsKey(self)) {
+            throw new IllegalArgumentException("O nó " + self + " não consta em users.cluster.nodes");
+        }
+        this.self = self;
+        this.redirect = redirect;
+        this.ring = new HashRing(nodes, virtualNodes);
+    }
+
+    /**
+     * Retorna o nome desta instância.
+     *
+     * @return o nome do nó
+     */
+    public String self() {
+        return self;
+    }
+
+    /**
+     * Retorna o anel atual.
+     *
+     * @return o anel de hash consistente
+     */
+    public HashRing ring() {
+        return ring;
+    }
+
+    /**
+     * Indica se esta instância é a dona de um ID.
+     *
+     * @param id o ID do usuário
+     * @return true se o ID pertence a esta instância
+     */
+    public boolean owns(long id) {
+        return self.equals(ring.ownerOf(id));
+    }
+
+    /**
+     * Indica se as requisições de outros nós são redirecionadas em vez de encaminhadas.
+     *
+     * @return true para redirecionar
+     */
+    public boolean redirect() {
+        return redirect;
+    }
+
+    /**
+     * Adiciona um nó ao anel, ou atualiza a sua URL.
+     *
+     * @param node o nome do nó
+     * @param url  a URL base do nó
+     */
+    public synchronized void addNode(String node, String url) {
+        ring = ring.withNode(node, stripTrailingSlash(url));
+    }
+
+    private static Map<String, String> parseNodes(String nodes) {
+        Map<String, String> parsed = new LinkedHashMap<>();
+        for (String entry : nodes.split(",")) {
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Nó inválido em users.cluster.nodes: " + entry.trim());
+            }
+            parsed.put(entry.substring(0, separator).trim(), stripTrailingSlash(entry.substring(separator + 1).trim()));
+        }
+        return parsed;
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
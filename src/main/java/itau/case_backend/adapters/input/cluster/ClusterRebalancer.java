@@ -0,0 +1,254 @@
+package itau.case_backend.adapters.input.cluster;
+
+import itau.case_backend.adapters.input.replication.ReplicationProtocol;
+import itau.case_backend.config.exception.UserNotFoundException;
+import itau.case_backend.domain.dtos.RebalanceReportDTO;
+import itau.case_backend.domain.dtos.UserChangesDTO;
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.ports.input.UserInputPort;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Transfere os usuários locais que pertencem a outros nós para os seus donos.
+ *
+ * <p>Depois que um nó entra no anel, cada nó existente perde para ele cerca de {@code 1/n} dos
+ * seus IDs. O rebalanceamento percorre os usuários locais em uma leitura sequencial, sem
+ * carregá-los todos, e envia cada lote de {@code users.cluster.rebalance-batch-size} usuários de
+ * um mesmo dono para {@code POST /cluster/users} assim que ele enche, no formato binário de
+ * {@link ReplicationProtocol}. Só os lotes em formação ficam em memória. A leitura não bloqueia
+ * as escritas, e os usuários aceitos pelo dono são removidos localmente assim que o lote é
+ * confirmado. Um lote que falha continua local e pode ser transferido por um novo
+ * rebalanceamento.</p>
+ *
+ * <p>A rota interna exige o segredo compartilhado {@code users.cluster.secret} no cabeçalho
+ * {@value #SECRET_HEADER}; sem ele, qualquer cliente poderia gravar usuários com IDs
+ * arbitrários.</p>
+ *
+ * <p>O dono recusa os usuários cujo ID ou e-mail ele já usa para outro usuário, o que acontece
+ * quando ele criou um usuário com um ID que esta instância ainda não tinha transferido. Esses
+ * usuários continuam locais, são contados como conflitos no relatório e não sobrescrevem o
+ * usuário do dono.</p>
+ *
+ * <p>É executado ao iniciar, em segundo plano, e a cada nó adicionado.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "users.cluster.self")
+public class ClusterRebalancer {
+
+    /** Caminho interno que recebe usuários transferidos. */
+    public static final String TRANSFER_PATH = "/cluster/users";
+
+    /** Cabeçalho com o segredo compartilhado pelos nós do cluster. */
+    public static final String SECRET_HEADER = "X-Cluster-Secret";
+
+    private final UserInputPort userInputPort;
+    private final ClusterMembership membership;
+    private final int batchSize;
+    private final Duration timeout;
+    private final HttpClient client;
+    private final byte[] secret;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param userInputPort porta de entrada dos usuários locais.
+     * @param membership    composição do cluster.
+     * @param batchSize     quantidade máxima de usuários por transferência.
+     * @param timeoutMillis tempo máximo, em milissegundos, de cada transferência.
+     * @param secret        segredo compartilhado pelos nós, exigido na rota interna.
+     */
+    @Autowired
+    public ClusterRebalancer(UserInputPort userInputPort, ClusterMembership membership,
+                             @Value("${users.cluster.rebalance-batch-size:1000}") int batchSize,
+                             @Value("${users.cluster.forward-timeout-ms:5000}") long timeoutMillis,
+                             @Value("${users.cluster.secret}") String secret) {
+        if (secret.isBlank()) {
+            throw new IllegalArgumentException("users.cluster.secret não pode estar vazio");
+        }
+        this.userInputPort = userInputPort;
+        this.membership = membership;
+        this.batchSize = batchSize;
+        this.timeout = Duration.ofMillis(timeoutMillis);
+        this.client = HttpClient.newBuilder().connectTimeout(timeout).build();
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Indica se o segredo recebido em uma transferência é o do cluster, com uma comparação de
+     * tempo constante.
+     *
+     * @param received o valor do cabeçalho {@value #SECRET_HEADER}, possivelmente nulo
+     * @return true se o segredo confere
+     */
+    public boolean authorizes(String received) {
+        return received != null && MessageDigest.isEqual(secret, received.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Rebalanceia em segundo plano quando a aplicação termina de iniciar, para os casos em que a
+     * composição configurada mudou desde a última execução.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebalanceOnStartup() {
+        Thread thread = new Thread(this::rebalance, "user-cluster-rebalance");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Transfere para os seus donos os usuários locais que não pertencem a esta instância.
+     *
+     * @return a quantidade de usuários examinados, transferidos por nó e não transferidos
+     */
+    public synchronized RebalanceReportDTO rebalance() {
+        Pass pass = new Pass(membership.ring());
+        userInputPort.forEachUser(pass);
+        pass.pending.forEach(pass::send);
+        return new RebalanceReportDTO(pass.examined, pass.moved, pass.failed, pass.conflicts);
+    }
+
+    /** Estado de um rebalanceamento: lotes em formação por dono e contadores do relatório. */
+    private final class Pass implements Consumer<User> {
+
+        private final HashRing ring;
+        private final Map<String, List<User>> pending = new LinkedHashMap<>();
+        private final Map<String, Long> moved = new LinkedHashMap<>();
+        private long examined;
+        private long failed;
+        private long conflicts;
+
+        private Pass(HashRing ring) {
+            this.ring = ring;
+        }
+
+        @Override
+        public void accept(User user) {
+            examined++;
+            String owner = ring.ownerOf(user.getId());
+            if (owner.equals(membership.self())) {
+                return;
+            }
+            List<User> batch = pending.computeIfAbsent(owner, node -> new ArrayList<>());
+            batch.add(user);
+            if (batch.size() >= batchSize) {
+                send(owner, batch);
+                batch.clear();
+            }
+        }
+
+        private void send(String owner, List<User> batch) {
+            if (batch.isEmpty()) {
+                return;
+            }
+            Set<Long> rejected = transfer(ring.urlOf(owner), batch);
+            if (rejected == null) {
+                failed += batch.size();
+                return;
+            }
+            long count = 0;
+            for (User user : batch) {
+                if (!rejected.contains(user.getId())) {
+                    deleteLocally(user.getId());
+                    count++;
+                }
+            }
+            moved.merge(owner, count, Long::sum);
+            conflicts += batch.size() - count;
+        }
+    }
+
+    /**
+     * Grava uma lista de IDs: a quantidade seguida de cada ID.
+     *
+     * @param out a saída
+     * @param ids os IDs
+     * @throws IOException se a saída falhar
+     */
+    static void writeIds(DataOutputStream out, List<Long> ids) throws IOException {
+        out.writeInt(ids.size());
+        for (long id : ids) {
+            out.writeLong(id);
+        }
+        out.flush();
+    }
+
+    /**
+     * Lê uma lista de IDs gravada por {@link #writeIds(DataOutputStream, List)}.
+     *
+     * @param in a entrada
+     * @return os IDs
+     * @throws IOException se a entrada estiver incompleta
+     */
+    static Set<Long> readIds(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        Set<Long> ids = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            ids.add(in.readLong());
+        }
+        return ids;
+    }
+
+    /**
+     * Envia um lote ao dono.
+     *
+     * @return os IDs recusados pelo dono por conflito, ou {@code null} se a transferência falhou
+     */
+    private Set<Long> transfer(String ownerUrl, List<User> batch) {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            ReplicationProtocol.writeChanges(new DataOutputStream(buffer), 0,
+                    new UserChangesDTO(0, false, batch, List.of()));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(ownerUrl + TRANSFER_PATH))
+                    .timeout(timeout)
+                    .header("Content-Type", MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                    .header(ClusterRoutingInterceptor.FORWARDED_BY, membership.self())
+                    .header(SECRET_HEADER, new String(secret, StandardCharsets.UTF_8))
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(buffer.toByteArray()))
+                    .build();
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                return null;
+            }
+            return readIds(new DataInputStream(new ByteArrayInputStream(response.body())));
+        } catch (IOException exception) {
+            return null;
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private void deleteLocally(long id) {
+        try {
+            userInputPort.deleteUser(id);
+        } catch (UserNotFoundException ignored) {
+            // Removido por outra requisição durante a transferência.
+        }
+    }
+}
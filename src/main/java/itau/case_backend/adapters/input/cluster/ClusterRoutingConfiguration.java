@@ -0,0 +1,35 @@
+package itau.case_backend.adapters.input.cluster;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registra o {@link ClusterRoutingInterceptor} nas rotas de usuários quando o cluster está ativo.
+ */
+@Configuration
+@ConditionalOnProperty(name = "users.cluster.self")
+public class ClusterRoutingConfiguration implements WebMvcConfigurer {
+
+    private final ClusterRoutingInterceptor interceptor;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param interceptor interceptador que encaminha as requisições ao nó dono.
+     */
+    public ClusterRoutingConfiguration(ClusterRoutingInterceptor interceptor) {
+        this.interceptor = interceptor;
+    }
+
+    /**
+     * Registra o interceptador em {@code /users/**} e {@code /async/users/**}.
+     *
+     * @param registry registro de interceptadores do Spring MVC.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/users/**", "/async/users/**");
+    }
+}
@@ -0,0 +1,155 @@
+package itau.case_backend.adapters.input.cluster;
+
+import itau.case_backend.adapters.input.deadline.DeadlineInterceptor;
+import itau.case_backend.config.exception.UserStorageException;
+import itau.case_backend.domain.deadline.RequestDeadline;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Encaminha ao nó dono as requisições de {@code /users/{id}} e {@code /async/users/{id}} cujo ID pertence a outro nó do
+ * cluster.
+ *
+ * <p>No modo {@code forward}, a requisição é repetida no dono, com o mesmo método, corpo e
+ * cabeçalhos de conteúdo e de cache, e a resposta do dono é devolvida ao cliente. No modo
+ * {@code redirect}, o cliente recebe {@code 307 Temporary Redirect} para o dono, que preserva o
+ * método e o corpo. Requisições já encaminhadas por outro nó, marcadas com
+ * {@value #FORWARDED_BY}, são sempre atendidas localmente, o que evita ciclos quando dois nós
+ * ainda têm anéis diferentes.</p>
+ *
+ * <p>A requisição encaminhada leva o tempo restante do {@link RequestDeadline} no cabeçalho
+ * {@value DeadlineInterceptor#TIMEOUT_HEADER} e espera pelo dono no máximo esse tempo, de modo
+ * que o dono também abandona o trabalho quando o cliente desiste.</p>
+ *
+ * <p>As demais rotas (listagens, buscas, estatísticas e criação) usam apenas os dados locais.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "users.cluster.self")
+public class ClusterRoutingInterceptor implements HandlerInterceptor {
+
+    /** Cabeçalho com o nome do nó que encaminhou a requisição. */
+    public static final String FORWARDED_BY = "X-Cluster-Forwarded-By";
+
+    private static final Pattern USER_PATH = Pattern.compile("^(?:/async)?/users/(\\d+)(/.*)?$");
+    private static final List<String> REQUEST_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT, HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MATCH);
+    private static final List<String> RESPONSE_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL, HttpHeaders.LOCATION);
+
+    private final ClusterMembership membership;
+    private final Duration forwardTimeout;
+    private final HttpClient client;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param membership           composição do cluster.
+     * @param forwardTimeoutMillis tempo máximo, em milissegundos, de uma requisição encaminhada.
+     */
+    @Autowired
+    public ClusterRoutingInterceptor(ClusterMembership membership,
+                                     @Value("${users.cluster.forward-timeout-ms:5000}") long forwardTimeoutMillis) {
+        this.membership = membership;
+        this.forwardTimeout = Duration.ofMillis(forwardTimeoutMillis);
+        this.client = HttpClient.newBuilder().connectTimeout(forwardTimeout).build();
+    }
+
+    /**
+     * Atende localmente as requisições de IDs desta instância e encaminha ou redireciona as demais.
+     *
+     * @param request  a requisição
+     * @param response a resposta
+     * @param handler  o controlador escolhido
+     * @return true para seguir com o controlador local, false se a resposta já foi produzida
+     * @throws IOException se a resposta não puder ser escrita
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (request.getHeader(FORWARDED_BY) != null) {
+            return true;
+        }
+        Matcher matcher = USER_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length()));
+        if (!matcher.matches()) {
+            return true;
+        }
+        long id;
+        try {
+            id = Long.parseLong(matcher.group(1));
+        } catch (NumberFormatException exception) {
+            return true;
+        }
+        HashRing ring = membership.ring();
+        String owner = ring.ownerOf(id);
+        if (owner.equals(membership.self())) {
+            return true;
+        }
+
+        String target = ring.urlOf(owner) + request.getRequestURI()
+                + (request.getQueryString() == null ? "" : "?" + request.getQueryString());
+        if (membership.redirect()) {
+            response.setStatus(HttpStatus.TEMPORARY_REDIRECT.value());
+            response.setHeader(HttpHeaders.LOCATION, target);
+            return false;
+        }
+        forward(request, response, owner, target);
+        return false;
+    }
+
+    private void forward(HttpServletRequest request, HttpServletResponse response, String owner, String target) throws IOException {
+        byte[] body = request.getInputStream().readAllBytes();
+        RequestDeadline.check("cluster.forward");
+        long remaining = RequestDeadline.remainingMillis();
+        HttpRequest.Builder forwarded = HttpRequest.newBuilder(URI.create(target))
+                .timeout(remaining < forwardTimeout.toMillis() ? Duration.ofMillis(Math.max(1, remaining)) : forwardTimeout)
+                .header(FORWARDED_BY, membership.self())
+                .method(request.getMethod(), body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        for (String header : REQUEST_HEADERS) {
+            String value = request.getHeader(header);
+            if (value != null) {
+                forwarded.header(header, value);
+            }
+        }
+        if (remaining != Long.MAX_VALUE) {
+            forwarded.header(DeadlineInterceptor.TIMEOUT_HEADER, Long.toString(remaining));
+        }
+
+        HttpResponse<byte[]> ownerResponse;
+        try {
+            ownerResponse = client.send(forwarded.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (HttpTimeoutException exception) {
+            RequestDeadline.check("cluster.forward");
+            throw new UserStorageException("O nó " + owner + ", dono do usuário, não respondeu a tempo: " + exception.getMessage(), exception);
+        } catch (IOException exception) {
+            throw new UserStorageException("O nó " + owner + ", dono do usuário, está indisponível: " + exception.getMessage(), exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new UserStorageException("Interrompido enquanto encaminhava a requisição ao nó " + owner, exception);
+        }
+
+        response.setStatus(ownerResponse.statusCode());
+        for (String header : RESPONSE_HEADERS) {
+            ownerResponse.headers().firstValue(header).ifPresent(value -> response.setHeader(header, value));
+        }
+        response.getOutputStream().write(ownerResponse.body());
+    }
+}
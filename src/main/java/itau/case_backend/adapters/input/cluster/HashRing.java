@@ -0,0 +1,103 @@
+package itau.case_backend.adapters.input.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Anel de hash consistente que atribui cada ID de usuário a um nó do cluster.
+ *
+ * <p>Cada nó ocupa {@code virtualNodes} pontos do anel, derivados do seu nome, e o dono de um
+ * ID é o nó do primeiro ponto igual ou posterior ao hash do ID. Com vários pontos por nó, a
+ * carga fica equilibrada e, quando um nó entra, ele assume apenas cerca de {@code 1/n} dos IDs,
+ * vindos de todos os outros nós; os demais IDs não mudam de dono.</p>
+ *
+ * <p>O anel é imutável: {@link #withNode(String, String)} devolve um novo anel.</p>
+ */
+public final class HashRing {
+
+    private final Map<String, String> nodes;
+    private final int virtualNodes;
+    private final TreeMap<Long, String> points = new TreeMap<>();
+
+    /**
+     * Construtor do anel.
+     *
+     * @param nodes        os nós, do nome para a URL base
+     * @param virtualNodes a quantidade de pontos de cada nó no anel
+     * @throws IllegalArgumentException se não houver nós
+     */
+    public HashRing(Map<String, String> nodes, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("O cluster deve ter pelo menos um nó");
+        }
+        this.nodes = Collections.unmodifiableMap(new LinkedHashMap<>(nodes));
+        this.virtualNodes = virtualNodes;
+        for (String node : nodes.keySet()) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(mix(fnv1a(node + "#" + i)), node);
+            }
+        }
+    }
+
+    /**
+     * Retorna o nó dono de um ID.
+     *
+     * @param id o ID do usuário
+     * @return o nome do nó
+     */
+    public String ownerOf(long id) {
+        Map.Entry<Long, String> point = points.ceilingEntry(mix(id));
+        return (point != null ? point : points.firstEntry()).getValue();
+    }
+
+    /**
+     * Retorna a URL base de um nó.
+     *
+     * @param node o nome do nó
+     * @return a URL base, ou {@code null} se o nó não pertencer ao anel
+     */
+    public String urlOf(String node) {
+        return nodes.get(node);
+    }
+
+    /**
+     * Retorna os nós do anel.
+     *
+     * @return os nós, do nome para a URL base
+     */
+    public Map<String, String> nodes() {
+        return nodes;
+    }
+
+    /**
+     * Retorna um novo anel com um nó a mais, ou com a URL do nó atualizada.
+     *
+     * @param node o nome do nó
+     * @param url  a URL base do nó
+     * @return o novo anel
+     */
+    public HashRing withNode(String node, String url) {
+        Map<String, String> updated = new LinkedHashMap<>(nodes);
+        updated.put(node, url);
+        return new HashRing(updated, virtualNodes);
+    }
+
+    private static long fnv1a(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    private static long mix(long value) {
+        long z = value + 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
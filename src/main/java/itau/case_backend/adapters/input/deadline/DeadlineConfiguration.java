@@ -0,0 +1,38 @@
+package itau.case_backend.adapters.input.deadline;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registra o {@link DeadlineInterceptor} nas rotas de usuários, síncronas e assíncronas, antes dos demais
+ * interceptadores, para que o encaminhamento entre instâncias e os limites de concorrência já
+ * vejam o prazo. O fluxo de eventos ({@code /users/events}) não tem prazo.
+ */
+@Configuration
+public class DeadlineConfiguration implements WebMvcConfigurer {
+
+    private final DeadlineInterceptor interceptor;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param interceptor interceptador que define o prazo das requisições.
+     */
+    public DeadlineConfiguration(DeadlineInterceptor interceptor) {
+        this.interceptor = interceptor;
+    }
+
+    /**
+     * Registra o interceptador em {@code /users/**} e {@code /async/users/**}, exceto
+     * {@code /users/events}.
+     *
+     * @param registry registro de interceptadores do Spring MVC.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/users/**", "/async/users/**").excludePathPatterns("/users/events/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
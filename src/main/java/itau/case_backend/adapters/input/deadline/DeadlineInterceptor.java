@@ -0,0 +1,131 @@
+package itau.case_backend.adapters.input.deadline;
+
+import itau.case_backend.config.exception.InvalidUserDataException;
+import itau.case_backend.domain.deadline.DeadlineMetrics;
+import itau.case_backend.domain.deadline.RequestDeadline;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.List;
+
+/**
+ * Define o {@link RequestDeadline} de cada requisição de usuários.
+ *
+ * <p>O prazo vem do cabeçalho {@value #TIMEOUT_HEADER}, em milissegundos, limitado a
+ * {@code users.deadline.max-ms}; sem o cabeçalho, vale {@code users.deadline.default-ms}
+ * ({@code 0} desativa o prazo padrão). Uma requisição que chega com o prazo já esgotado é
+ * recusada antes do controlador.</p>
+ *
+ * <p>Em requisições assíncronas, o prazo é guardado na requisição e restaurado quando ela volta
+ * ao contêiner, para que não recomece.</p>
+ */
+@Component
+public class DeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    /** Cabeçalho com o tempo, em milissegundos, que o cliente aguardará a resposta. */
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private static final String DEADLINE = DeadlineInterceptor.class.getName() + ".deadline";
+
+    private final DeadlineMetrics metrics;
+    private final long defaultMillis;
+    private final long maxMillis;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param metrics       métricas dos prazos, onde as conclusões tardias são contadas.
+     * @param defaultMillis prazo, em milissegundos, das requisições sem o cabeçalho; 0 para nenhum.
+     * @param maxMillis     maior prazo aceito no cabeçalho, em milissegundos.
+     */
+    public DeadlineInterceptor(DeadlineMetrics metrics,
+                               @Value("${users.deadline.default-ms:30000}") long defaultMillis,
+                               @Value("${users.deadline.max-ms:300000}") long maxMillis) {
+        this.metrics = metrics;
+        this.defaultMillis = defaultMillis;
+        this.maxMillis = maxMillis;
+    }
+
+    /**
+     * Define o prazo da requisição na thread atual e o verifica. Se a verificação falhar, o
+     * prazo é removido da thread antes de a exceção seguir.
+     *
+     * @param request  a requisição
+     * @param response a resposta
+     * @param handler  o controlador escolhido
+     * @return true para seguir com o controlador
+     * @throws InvalidUserDataException se o cabeçalho não for um número de milissegundos
+     * @throws itau.case_backend.config.exception.DeadlineExceededException se o prazo já terminou
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Um prazo deixado por outra requisição na mesma thread do contêiner não vale para esta.
+        RequestDeadline.clear();
+        Long deadline = (Long) request.getAttribute(DEADLINE);
+        if (deadline == null) {
+            Long timeout = timeoutOf(request);
+            if (timeout == null) {
+                return true;
+            }
+            RequestDeadline.start(timeout);
+            request.setAttribute(DEADLINE, RequestDeadline.current());
+        } else {
+            RequestDeadline.restore(deadline);
+        }
+        try {
+            RequestDeadline.check("admission");
+        } catch (RuntimeException exception) {
+            // Sem retorno normal, afterCompletion não é chamado e o prazo ficaria na thread.
+            RequestDeadline.clear();
+            throw exception;
+        }
+        return true;
+    }
+
+    /**
+     * Libera a thread do contêiner quando a requisição segue de forma assíncrona.
+     *
+     * @param request  a requisição
+     * @param response a resposta
+     * @param handler  o controlador escolhido
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestDeadline.clear();
+    }
+
+    /**
+     * Conta as requisições concluídas com sucesso depois do prazo e remove o prazo da thread.
+     *
+     * @param request  a requisição
+     * @param response a resposta
+     * @param handler  o controlador escolhido
+     * @param ex       a exceção não tratada, se houver
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (RequestDeadline.isExpired() && ex == null && response.getStatus() < 400) {
+            metrics.recordCompletedLate();
+        }
+        RequestDeadline.clear();
+    }
+
+    private Long timeoutOf(HttpServletRequest request) {
+        String header = request.getHeader(TIMEOUT_HEADER);
+        if (header == null) {
+            return defaultMillis > 0 ? defaultMillis : null;
+        }
+        try {
+            long timeout = Long.parseLong(header.trim());
+            if (timeout >= 0) {
+                return Math.min(timeout, maxMillis);
+            }
+        } catch (NumberFormatException ignored) {
+            // Tratado abaixo como cabeçalho inválido.
+        }
+        throw new InvalidUserDataException(List.of(TIMEOUT_HEADER + " deve ser um número não negativo de milissegundos"));
+    }
+}
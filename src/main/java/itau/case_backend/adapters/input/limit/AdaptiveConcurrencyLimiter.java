@@ -0,0 +1,168 @@
+package itau.case_backend.adapters.input.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limite adaptativo de requisições simultâneas, no estilo do algoritmo TCP Vegas.
+ *
+ * <p>O limitador mede a latência de cada requisição e guarda a menor observada, que estima a
+ * latência sem fila. A razão entre as duas estima quantas das requisições em andamento estão
+ * apenas esperando: {@code fila = limite × (1 − latênciaMínima / latência)}. Com fila pequena
+ * (abaixo de {@code 3·log10(limite)}) o limite cresce; com fila grande (acima de
+ * {@code 6·log10(limite)}) ou com falhas do servidor, diminui. Assim o limite acompanha a
+ * capacidade real do armazenamento: quando ele fica lento, menos requisições são admitidas e as
+ * excedentes são recusadas de imediato, em vez de esperarem em fila.</p>
+ *
+ * <p>O limite só cresce quando pelo menos metade dele está em uso, para não inflar enquanto a
+ * carga é baixa. A cada {@code probeInterval} amostras a latência mínima é redefinida pela
+ * amostra atual, para que uma mudança permanente na latência do armazenamento seja
+ * reaprendida.</p>
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int probeInterval;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private volatile int limit;
+    private double estimatedLimit;
+    private long minRttNanos = Long.MAX_VALUE;
+    private long samples;
+
+    /**
+     * Construtor do limitador.
+     *
+     * @param name          nome do limitador, usado nas métricas e mensagens.
+     * @param initialLimit  limite inicial de requisições simultâneas.
+     * @param minLimit      limite mínimo.
+     * @param maxLimit      limite máximo.
+     * @param probeInterval quantidade de amostras entre redefinições da latência mínima.
+     */
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit, int probeInterval) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limites inválidos para " + name + ": " + minLimit + " <= " + initialLimit + " <= " + maxLimit);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.probeInterval = probeInterval;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Tenta admitir uma requisição.
+     *
+     * @return true se a requisição foi admitida e deve chamar {@link #release(long, boolean)} ao
+     * terminar; false se o limite foi atingido
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera uma requisição admitida e ajusta o limite com a sua latência.
+     *
+     * @param rttNanos latência da requisição, em nanossegundos
+     * @param failed   indica se a requisição falhou por erro do servidor
+     */
+    public void release(long rttNanos, boolean failed) {
+        int running = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (++samples % probeInterval == 0) {
+                minRttNanos = rttNanos;
+            }
+            minRttNanos = Math.min(minRttNanos, Math.max(1, rttNanos));
+
+            double current = estimatedLimit;
+            double log = Math.max(1, Math.log10(current));
+            double updated;
+            if (failed) {
+                updated = current - log;
+            } else if (running * 2 < current) {
+                return;
+            } else {
+                double queue = current * (1 - (double) minRttNanos / Math.max(1, rttNanos));
+                if (queue <= log) {
+                    updated = current + 6 * log;
+                } else if (queue < 3 * log) {
+                    updated = current + log;
+                } else if (queue > 6 * log) {
+                    updated = current - log;
+                } else {
+                    return;
+                }
+            }
+            estimatedLimit = Math.max(minLimit, Math.min(maxLimit, updated));
+            limit = (int) estimatedLimit;
+        }
+    }
+
+    /**
+     * Retorna o nome do limitador.
+     *
+     * @return o nome
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Retorna o limite atual de requisições simultâneas.
+     *
+     * @return o limite
+     */
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * Retorna a quantidade de requisições em andamento.
+     *
+     * @return as requisições admitidas e ainda não liberadas
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Retorna a menor latência observada desde a última redefinição.
+     *
+     * @return a latência, em nanossegundos, ou {@code -1} se ainda não houve amostras
+     */
+    public synchronized long minRttNanos() {
+        return minRttNanos == Long.MAX_VALUE ? -1 : minRttNanos;
+    }
+
+    /**
+     * Retorna a quantidade de requisições admitidas.
+     *
+     * @return as requisições admitidas
+     */
+    public long accepted() {
+        return accepted.sum();
+    }
+
+    /**
+     * Retorna a quantidade de requisições recusadas.
+     *
+     * @return as requisições recusadas
+     */
+    public long rejected() {
+        return rejected.sum();
+    }
+}
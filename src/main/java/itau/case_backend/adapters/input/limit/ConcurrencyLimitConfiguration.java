@@ -0,0 +1,38 @@
+package itau.case_backend.adapters.input.limit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registra o {@link ConcurrencyLimitInterceptor} nas rotas de usuários, síncronas e assíncronas. O fluxo de eventos
+ * ({@code /users/events}) fica de fora, pois cada assinatura ocupa uma conexão por tempo
+ * indeterminado e não reflete a latência do armazenamento.
+ */
+@Configuration
+@ConditionalOnProperty(name = "users.limits.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfiguration implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitInterceptor interceptor;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param interceptor interceptador que aplica os limites.
+     */
+    public ConcurrencyLimitConfiguration(ConcurrencyLimitInterceptor interceptor) {
+        this.interceptor = interceptor;
+    }
+
+    /**
+     * Registra o interceptador em {@code /users/**} e {@code /async/users/**}, exceto
+     * {@code /users/events}.
+     *
+     * @param registry registro de interceptadores do Spring MVC.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/users/**", "/async/users/**").excludePathPatterns("/users/events/**");
+    }
+}
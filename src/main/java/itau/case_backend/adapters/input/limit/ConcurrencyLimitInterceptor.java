@@ -0,0 +1,128 @@
+package itau.case_backend.adapters.input.limit;
+
+import itau.case_backend.config.exception.ServiceOverloadedException;
+import itau.case_backend.domain.dtos.ConcurrencyLimitDTO;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Admite as requisições de usuários por dois {@link AdaptiveConcurrencyLimiter}, um para
+ * leituras ({@code GET}, {@code HEAD}) e outro para escritas, e recusa com
+ * {@link ServiceOverloadedException} (503) as que excedem o limite.
+ *
+ * <p>Os limites são separados para que uma rajada de escritas lentas não consuma a capacidade
+ * das leituras, e vice-versa. A latência medida vai da admissão até o fim da resposta; em
+ * requisições assíncronas, a vaga é mantida até o fim do processamento assíncrono.</p>
+ *
+ * <p>Ativado por padrão; {@code users.limits.enabled=false} o desativa.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "users.limits.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String LIMITER = ConcurrencyLimitInterceptor.class.getName() + ".limiter";
+    private static final String STARTED = ConcurrencyLimitInterceptor.class.getName() + ".started";
+
+    private final AdaptiveConcurrencyLimiter reads;
+    private final AdaptiveConcurrencyLimiter writes;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param readInitial   limite inicial de leituras simultâneas.
+     * @param readMin       limite mínimo de leituras.
+     * @param readMax       limite máximo de leituras.
+     * @param writeInitial  limite inicial de escritas simultâneas.
+     * @param writeMin      limite mínimo de escritas.
+     * @param writeMax      limite máximo de escritas.
+     * @param probeInterval amostras entre redefinições da latência mínima.
+     */
+    @Autowired
+    public ConcurrencyLimitInterceptor(@Value("${users.limits.reads.initial:100}") int readInitial,
+                                       @Value("${users.limits.reads.min:4}") int readMin,
+                                       @Value("${users.limits.reads.max:1000}") int readMax,
+                                       @Value("${users.limits.writes.initial:50}") int writeInitial,
+                                       @Value("${users.limits.writes.min:2}") int writeMin,
+                                       @Value("${users.limits.writes.max:500}") int writeMax,
+                                       @Value("${users.limits.probe-interval:1000}") int probeInterval) {
+        this(new AdaptiveConcurrencyLimiter("reads", readInitial, readMin, readMax, probeInterval),
+                new AdaptiveConcurrencyLimiter("writes", writeInitial, writeMin, writeMax, probeInterval));
+    }
+
+    /**
+     * Construtor a partir de limitadores já criados.
+     *
+     * @param reads  limitador das leituras.
+     * @param writes limitador das escritas.
+     */
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter reads, AdaptiveConcurrencyLimiter writes) {
+        this.reads = reads;
+        this.writes = writes;
+    }
+
+    /**
+     * Admite a requisição pelo limitador do seu tipo, ou a recusa.
+     *
+     * @param request  a requisição
+     * @param response a resposta
+     * @param handler  o controlador escolhido
+     * @return true se a requisição foi admitida
+     * @throws ServiceOverloadedException se o limite foi atingido
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(LIMITER) != null) {
+            return true;
+        }
+        String method = request.getMethod();
+        AdaptiveConcurrencyLimiter limiter = "GET".equals(method) || "HEAD".equals(method) ? reads : writes;
+        if (!limiter.tryAcquire()) {
+            throw new ServiceOverloadedException(limiter.name(), limiter.limit());
+        }
+        request.setAttribute(LIMITER, limiter);
+        request.setAttribute(STARTED, System.nanoTime());
+        return true;
+    }
+
+    /**
+     * Libera a vaga da requisição, informando a latência e se houve erro do servidor.
+     *
+     * @param request  a requisição
+     * @param response a resposta
+     * @param handler  o controlador escolhido
+     * @param ex       a exceção não tratada, se houver
+     */
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        AdaptiveConcurrencyLimiter limiter = (AdaptiveConcurrencyLimiter) request.getAttribute(LIMITER);
+        if (limiter == null) {
+            return;
+        }
+        request.removeAttribute(LIMITER);
+        long rtt = System.nanoTime() - (Long) request.getAttribute(STARTED);
+        limiter.release(rtt, ex != null || response.getStatus() >= 500);
+    }
+
+    /**
+     * Retorna o estado dos limites de leitura e de escrita.
+     *
+     * @return o estado de cada limite, pelo nome
+     */
+    public Map<String, ConcurrencyLimitDTO> limits() {
+        Map<String, ConcurrencyLimitDTO> limits = new LinkedHashMap<>();
+        for (AdaptiveConcurrencyLimiter limiter : new AdaptiveConcurrencyLimiter[]{reads, writes}) {
+            long minRtt = limiter.minRttNanos();
+            limits.put(limiter.name(), new ConcurrencyLimitDTO(limiter.limit(), limiter.inFlight(),
+                    minRtt < 0 ? -1 : minRtt / 1000, limiter.accepted(), limiter.rejected()));
+        }
+        return limits;
+    }
+}
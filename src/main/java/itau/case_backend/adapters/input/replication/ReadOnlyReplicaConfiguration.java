@@ -0,0 +1,55 @@
+package itau.case_backend.adapters.input.replication;
+
+import itau.case_backend.config.exception.ReadOnlyReplicaException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Set;
+
+/**
+ * Torna a API de usuários somente leitura nas instâncias seguidoras da replicação.
+ *
+ * <p>As requisições a {@code /users/**} e {@code /async/users/**} com métodos que alteram dados são recusadas com
+ * {@link ReadOnlyReplicaException} antes de chegar ao controlador, já que qualquer escrita local
+ * seria sobrescrita pelo líder.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "users.replication.role", havingValue = "follower")
+public class ReadOnlyReplicaConfiguration implements WebMvcConfigurer {
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final ReplicationFollower follower;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param follower seguidor da replicação, de onde vem o endereço do líder.
+     */
+    public ReadOnlyReplicaConfiguration(ReplicationFollower follower) {
+        this.follower = follower;
+    }
+
+    /**
+     * Registra o interceptador que recusa escritas.
+     *
+     * @param registry registro de interceptadores do Spring MVC.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                if (!READ_METHODS.contains(request.getMethod())) {
+                    throw new ReadOnlyReplicaException(follower.leaderAddress());
+                }
+                return true;
+            }
+        }).addPathPatterns("/users/**", "/async/users/**");
+    }
+}
@@ -0,0 +1,185 @@
+package itau.case_backend.adapters.input.replication;
+
+import itau.case_backend.domain.dtos.ReplicationStatusDTO;
+import itau.case_backend.ports.input.UserInputPort;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Seguidor da replicação: recebe do líder, por socket, as alterações de usuários e as aplica ao
+ * armazenamento local, que passa a atender leituras.
+ *
+ * <p>Ativado com {@code users.replication.role=follower}, conectando-se a
+ * {@code users.replication.host}:{@code users.replication.port}. Na primeira conexão o seguidor
+ * pede o estado completo; nas reconexões, informa a época do líder e a última sequência
+ * aplicadas e recebe apenas o que falta, ou o estado completo se o líder não tiver mais essas
+ * alterações ou tiver sido reiniciado com outra época. A época do líder só é adotada depois que
+ * um estado completo dela é aplicado. Uma conexão sem
+ * mensagens por três intervalos de {@code users.replication.heartbeat-ms} é considerada perdida,
+ * e o seguidor tenta reconectar a cada {@code users.replication.retry-ms}.</p>
+ *
+ * <p>As escritas pela API são recusadas por {@link ReadOnlyReplicaConfiguration}.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "users.replication.role", havingValue = "follower")
+public class ReplicationFollower implements ReplicationNode {
+
+    private final UserInputPort userInputPort;
+    private final InetSocketAddress leaderAddress;
+    private final long heartbeatMillis;
+    private final long retryMillis;
+    private final LongAdder snapshots = new LongAdder();
+    private final LongAdder changes = new LongAdder();
+    private final LongAdder reconnects = new LongAdder();
+    private volatile Thread worker;
+    private volatile Socket socket;
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile long appliedEpoch;
+    private volatile long appliedSequence = -1;
+    private volatile long leaderSequence = -1;
+    private volatile long lastFrameDelayMillis;
+    private volatile long lastContactAt;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param userInputPort   porta de entrada onde as alterações são aplicadas.
+     * @param host            endereço de replicação do líder.
+     * @param port            porta de replicação do líder.
+     * @param heartbeatMillis intervalo de mensagens do líder, em milissegundos.
+     * @param retryMillis     intervalo, em milissegundos, entre tentativas de reconexão.
+     */
+    @Autowired
+    public ReplicationFollower(UserInputPort userInputPort,
+                               @Value("${users.replication.host:localhost}") String host,
+                               @Value("${users.replication.port:7070}") int port,
+                               @Value("${users.replication.heartbeat-ms:1000}") long heartbeatMillis,
+                               @Value("${users.replication.retry-ms:1000}") long retryMillis) {
+        this.userInputPort = userInputPort;
+        this.leaderAddress = InetSocketAddress.createUnresolved(host, port);
+        this.heartbeatMillis = heartbeatMillis;
+        this.retryMillis = retryMillis;
+    }
+
+    /**
+     * Inicia a thread que se conecta ao líder e aplica as alterações.
+     */
+    @PostConstruct
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::replicate, "user-replication-follower");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    /**
+     * Retorna o endereço de replicação do líder.
+     *
+     * @return o endereço, no formato {@code host:porta}
+     */
+    public String leaderAddress() {
+        return leaderAddress.getHostString() + ":" + leaderAddress.getPort();
+    }
+
+    /**
+     * Retorna o estado da replicação: conexão, sequências do líder e aplicada, atraso da última
+     * mensagem e tempo desde o último contato.
+     *
+     * @return o estado da replicação
+     */
+    @Override
+    public ReplicationStatusDTO status() {
+        long contact = lastContactAt;
+        return new ReplicationStatusDTO("follower", connected, 0, leaderSequence, appliedSequence, lastFrameDelayMillis,
+                contact == 0 ? -1 : System.currentTimeMillis() - contact,
+                snapshots.sum(), changes.sum(), reconnects.sum());
+    }
+
+    /**
+     * Encerra a conexão com o líder.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+                // A conexão já está sendo descartada.
+            }
+        }
+        Thread thread = worker;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void replicate() {
+        boolean firstAttempt = true;
+        while (running) {
+            if (!firstAttempt) {
+                reconnects.increment();
+            }
+            firstAttempt = false;
+            try (Socket current = new Socket()) {
+                socket = current;
+                current.connect(new InetSocketAddress(leaderAddress.getHostString(), leaderAddress.getPort()), (int) retryMillis);
+                current.setSoTimeout((int) (3 * heartbeatMillis));
+                current.setTcpNoDelay(true);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(current.getOutputStream()));
+                DataInputStream in = new DataInputStream(new BufferedInputStream(current.getInputStream()));
+                ReplicationProtocol.writeHandshake(out, new ReplicationProtocol.Handshake(appliedEpoch, appliedSequence));
+                long leaderEpoch = in.readLong();
+                connected = true;
+                while (running) {
+                    apply(leaderEpoch, ReplicationProtocol.read(in));
+                }
+            } catch (IOException | RuntimeException exception) {
+                // Conexão perdida ou falha ao aplicar; a próxima conexão retoma da última sequência aplicada.
+            } finally {
+                connected = false;
+            }
+            if (running) {
+                try {
+                    Thread.sleep(retryMillis);
+                } catch (InterruptedException exception) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void apply(long leaderEpoch, ReplicationProtocol.Frame frame) {
+        leaderSequence = frame.sequence();
+        if (frame.changes() != null) {
+            userInputPort.applyReplicatedChanges(frame.changes());
+            if (frame.type() == ReplicationProtocol.SNAPSHOT) {
+                appliedEpoch = leaderEpoch;
+                snapshots.increment();
+            } else {
+                changes.add(frame.changes().getUsers().size() + frame.changes().getDeletedIds().size());
+            }
+        }
+        appliedSequence = frame.sequence();
+        long now = System.currentTimeMillis();
+        lastFrameDelayMillis = Math.max(0, now - frame.timestamp());
+        lastContactAt = now;
+    }
+}
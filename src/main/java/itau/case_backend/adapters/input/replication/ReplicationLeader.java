@@ -0,0 +1,246 @@
+package itau.case_backend.adapters.input.replication;
+
+import itau.case_backend.domain.dtos.ReplicationStatusDTO;
+import itau.case_backend.domain.dtos.UserChangesDTO;
+import itau.case_backend.ports.input.UserInputPort;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.security.SecureRandom;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Líder da replicação: envia as alterações de usuários, em ordem, aos seguidores conectados por
+ * socket.
+ *
+ * <p>Ativado com {@code users.replication.role=leader}. Cada seguidor tem uma thread própria, que
+ * verifica a versão do armazenamento a cada {@code users.replication.poll-interval-ms} e, quando
+ * ela muda, envia as alterações desde a última sequência enviada, obtidas de
+ * {@link UserInputPort#getChangesSince(long, java.util.function.Consumer)}. Um seguidor novo, ou
+ * tão atrasado que as suas alterações já saíram do registro de alterações, recebe o estado
+ * completo, escrito no socket em blocos à medida que é lido do armazenamento, sem montar a lista
+ * de usuários. Sem alterações, uma mensagem vazia é enviada a cada
+ * {@code users.replication.heartbeat-ms}.</p>
+ *
+ * <p>O cabeçalho do estado completo leva a versão lida antes da leitura, que pode ser menor que
+ * a do estado entregue; um seguidor que reconecta a partir dela recebe de novo alterações que
+ * já aplicou, o que não muda o seu estado.</p>
+ *
+ * <p>Cada início do líder sorteia uma época, enviada aos seguidores ao conectar. Um seguidor
+ * que informa outra época aplicou sequências de um líder anterior, possivelmente com outro
+ * armazenamento, e recebe o estado completo em vez de alterações a partir da sua sequência.</p>
+ *
+ * <p>Armazenamentos sem registro de alterações (a implementação padrão da porta de saída)
+ * sempre devolvem o estado completo; nesse caso, o estado completo é reenviado a cada mudança de
+ * versão.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "users.replication.role", havingValue = "leader")
+public class ReplicationLeader implements ReplicationNode {
+
+    private final UserInputPort userInputPort;
+    private final String host;
+    private final int port;
+    private final long pollIntervalMillis;
+    private final long heartbeatMillis;
+    private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "user-replication-leader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final LongAdder snapshots = new LongAdder();
+    private final LongAdder changes = new LongAdder();
+    private final long epoch = new SecureRandom().nextLong();
+    private volatile ServerSocket serverSocket;
+    private volatile boolean running;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param userInputPort      porta de entrada de onde as alterações são lidas.
+     * @param host               endereço em que o líder aceita seguidores.
+     * @param port               porta em que o líder aceita seguidores (0 para uma porta livre).
+     * @param pollIntervalMillis intervalo, em milissegundos, entre verificações de alterações.
+     * @param heartbeatMillis    intervalo máximo, em milissegundos, sem mensagens para um seguidor.
+     */
+    @Autowired
+    public ReplicationLeader(UserInputPort userInputPort,
+                             @Value("${users.replication.host:localhost}") String host,
+                             @Value("${users.replication.port:7070}") int port,
+                             @Value("${users.replication.poll-interval-ms:20}") long pollIntervalMillis,
+                             @Value("${users.replication.heartbeat-ms:1000}") long heartbeatMillis) {
+        this.userInputPort = userInputPort;
+        this.host = host;
+        this.port = port;
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.heartbeatMillis = heartbeatMillis;
+    }
+
+    /**
+     * Abre o socket e passa a aceitar seguidores.
+     */
+    @PostConstruct
+    public void start() {
+        try {
+            ServerSocket socket = new ServerSocket();
+            socket.bind(new InetSocketAddress(host, port));
+            serverSocket = socket;
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Não foi possível abrir a porta de replicação " + host + ":" + port, exception);
+        }
+        running = true;
+        connections.execute(this::acceptFollowers);
+    }
+
+    /**
+     * Retorna a porta em que o líder aceita seguidores.
+     *
+     * @return a porta local
+     */
+    public int localPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Retorna a época deste líder.
+     *
+     * @return a época sorteada no início
+     */
+    public long epoch() {
+        return epoch;
+    }
+
+    /**
+     * Retorna o estado da replicação: seguidores conectados, a sequência atual e a menor
+     * sequência já enviada a um seguidor.
+     *
+     * @return o estado da replicação
+     */
+    @Override
+    public ReplicationStatusDTO status() {
+        long sequence = userInputPort.getStoreVersion();
+        long slowest = sequence;
+        long lastContact = 0;
+        for (Session session : sessions) {
+            slowest = Math.min(slowest, session.sentSequence);
+            lastContact = Math.max(lastContact, session.lastSentAt);
+        }
+        return new ReplicationStatusDTO("leader", !sessions.isEmpty(), sessions.size(), sequence, slowest, 0,
+                lastContact == 0 ? -1 : System.currentTimeMillis() - lastContact,
+                snapshots.sum(), changes.sum(), 0);
+    }
+
+    /**
+     * Fecha o socket e as conexões com os seguidores.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        closeQuietly(serverSocket);
+        sessions.forEach(session -> closeQuietly(session.socket));
+        connections.shutdownNow();
+    }
+
+    private void acceptFollowers() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> serve(socket));
+            } catch (IOException exception) {
+                if (!running) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        Session session = new Session(socket);
+        sessions.add(session);
+        try (socket) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            ReplicationProtocol.Handshake handshake = ReplicationProtocol.readHandshake(in);
+            out.writeLong(epoch);
+            out.flush();
+            long since = handshake.epoch() == epoch ? handshake.sequence() : -1;
+            session.sentSequence = since;
+            long sentVersion = Long.MIN_VALUE;
+            while (running) {
+                long version = userInputPort.getStoreVersion();
+                long now = System.currentTimeMillis();
+                boolean changed = version < 0 ? now - session.lastSentAt >= heartbeatMillis : version != sentVersion;
+                if (changed) {
+                    ReplicationProtocol.SnapshotWriter snapshot = new ReplicationProtocol.SnapshotWriter(out, version);
+                    UserChangesDTO delta = userInputPort.getChangesSince(since, snapshot);
+                    long sequence = Math.max(version, delta.getSequence());
+                    if (delta.isFullResync()) {
+                        snapshot.finish();
+                        snapshots.increment();
+                    } else if (!delta.getUsers().isEmpty() || !delta.getDeletedIds().isEmpty()) {
+                        ReplicationProtocol.writeChanges(out, sequence, delta);
+                        changes.add(delta.getUsers().size() + delta.getDeletedIds().size());
+                    } else {
+                        ReplicationProtocol.writeHeartbeat(out, sequence);
+                    }
+                    since = delta.getSequence();
+                    sentVersion = version;
+                    session.sentSequence = sequence;
+                    session.lastSentAt = now;
+                } else if (now - session.lastSentAt >= heartbeatMillis) {
+                    ReplicationProtocol.writeHeartbeat(out, session.sentSequence);
+                    session.lastSentAt = now;
+                }
+                Thread.sleep(pollIntervalMillis);
+            }
+        } catch (IOException | UncheckedIOException exception) {
+            // O seguidor desconectou; ele reconecta informando a última sequência aplicada.
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sessions.remove(session);
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            if (closeable != null) {
+                closeable.close();
+            }
+        } catch (Exception ignored) {
+            // A conexão já está sendo descartada.
+        }
+    }
+
+    /**
+     * Conexão com um seguidor: o socket e a última sequência enviada.
+     */
+    private static final class Session {
+        final Socket socket;
+        volatile long sentSequence;
+        volatile long lastSentAt;
+
+        Session(Socket socket) {
+            this.socket = socket;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package itau.case_backend.adapters.input.replication;
+
+import itau.case_backend.domain.dtos.ReplicationStatusDTO;
+
+/**
+ * Instância que participa da replicação, como líder ou como seguidora.
+ */
+public interface ReplicationNode {
+
+    /**
+     * Retorna o estado atual da replicação nesta instância.
+     *
+     * @return o estado da replicação
+     */
+    ReplicationStatusDTO status();
+}
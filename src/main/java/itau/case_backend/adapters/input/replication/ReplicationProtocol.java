@@ -0,0 +1,282 @@
+package itau.case_backend.adapters.input.replication;
+
+import itau.case_backend.domain.dtos.UserChangesDTO;
+import itau.case_backend.domain.entities.User;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Formato binário das mensagens de replicação trocadas por socket.
+ *
+ * <p>Ao conectar, o seguidor envia a época do líder cujas alterações aplicou e a última
+ * sequência aplicada ({@code -1} para pedir o estado completo), e o líder responde com a sua
+ * época. A época muda a cada início do líder; as sequências de épocas diferentes não são
+ * comparáveis, e o líder envia o estado completo quando a época do seguidor é outra. A partir
+ * daí o líder envia apenas mensagens: tipo, sequência do líder, instante de emissão e, nas
+ * mensagens com dados, os usuários e os IDs removidos.</p>
+ *
+ * <p>No estado completo, os usuários vão em blocos, cada um precedido da sua quantidade, e uma
+ * quantidade 0 encerra a lista; assim o líder escreve o estado à medida que o lê, com
+ * {@link SnapshotWriter}, sem conhecer o total antes.</p>
+ */
+public final class ReplicationProtocol {
+
+    /** Estado completo, que substitui o do seguidor. */
+    public static final byte SNAPSHOT = 1;
+
+    /** Alterações desde a última mensagem. */
+    public static final byte DELTA = 2;
+
+    /** Mensagem sem dados, que informa a sequência do líder e mantém a conexão viva. */
+    public static final byte HEARTBEAT = 3;
+
+    /** Quantidade máxima de usuários por bloco do estado completo. */
+    public static final int SNAPSHOT_CHUNK_SIZE = 512;
+
+    /** Capacidade inicial máxima das listas lidas, para que uma quantidade declarada não aloque memória antes dos dados. */
+    private static final int MAX_PRESIZE = 1024;
+
+    private ReplicationProtocol() {
+    }
+
+    /**
+     * Mensagem recebida do líder.
+     *
+     * @param type      o tipo da mensagem
+     * @param sequence  a sequência do líder
+     * @param timestamp o instante de emissão, em milissegundos desde a época
+     * @param changes   os dados, ou {@code null} em {@link #HEARTBEAT}
+     */
+    public record Frame(byte type, long sequence, long timestamp, UserChangesDTO changes) {
+    }
+
+    /**
+     * Pedido de conexão do seguidor.
+     *
+     * @param epoch    a época do líder cujas alterações o seguidor aplicou
+     * @param sequence a última sequência aplicada, ou {@code -1} para pedir o estado completo
+     */
+    public record Handshake(long epoch, long sequence) {
+    }
+
+    /**
+     * Escreve o pedido de conexão do seguidor.
+     *
+     * @param out       o fluxo de saída
+     * @param handshake a época e a sequência aplicadas
+     * @throws IOException se a escrita falhar
+     */
+    public static void writeHandshake(DataOutputStream out, Handshake handshake) throws IOException {
+        out.writeLong(handshake.epoch());
+        out.writeLong(handshake.sequence());
+        out.flush();
+    }
+
+    /**
+     * Lê o pedido de conexão do seguidor.
+     *
+     * @param in o fluxo de entrada
+     * @return a época e a sequência aplicadas pelo seguidor
+     * @throws IOException se a leitura falhar
+     */
+    public static Handshake readHandshake(DataInputStream in) throws IOException {
+        return new Handshake(in.readLong(), in.readLong());
+    }
+
+    /**
+     * Escreve uma mensagem sem dados.
+     *
+     * @param out      o fluxo de saída
+     * @param sequence a sequência do líder
+     * @throws IOException se a escrita falhar
+     */
+    public static void writeHeartbeat(DataOutputStream out, long sequence) throws IOException {
+        out.writeByte(HEARTBEAT);
+        out.writeLong(sequence);
+        out.writeLong(System.currentTimeMillis());
+        out.flush();
+    }
+
+    /**
+     * Escreve uma mensagem com alterações, ou com o estado completo se
+     * {@link UserChangesDTO#isFullResync()}. O formato também é usado para transferir usuários
+     * entre instâncias de um cluster.
+     *
+     * @param out      o fluxo de saída
+     * @param sequence a sequência do líder
+     * @param changes  os usuários e IDs removidos
+     * @throws IOException se a escrita falhar
+     */
+    public static void writeChanges(DataOutputStream out, long sequence, UserChangesDTO changes) throws IOException {
+        if (changes.isFullResync()) {
+            SnapshotWriter snapshot = new SnapshotWriter(out, sequence);
+            try {
+                changes.getUsers().forEach(snapshot);
+            } catch (UncheckedIOException exception) {
+                throw exception.getCause();
+            }
+            snapshot.finish();
+            return;
+        }
+        writeHeader(out, DELTA, sequence);
+        writeUsers(out, changes.getUsers());
+        out.writeInt(changes.getDeletedIds().size());
+        for (long id : changes.getDeletedIds()) {
+            out.writeLong(id);
+        }
+        out.flush();
+    }
+
+    /**
+     * Lê uma mensagem.
+     *
+     * @param in o fluxo de entrada
+     * @return a mensagem lida
+     * @throws IOException se a leitura falhar ou a mensagem for inválida, inclusive com uma
+     *                     quantidade negativa de usuários ou de IDs
+     */
+    public static Frame read(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        long sequence = in.readLong();
+        long timestamp = in.readLong();
+        if (type == HEARTBEAT) {
+            return new Frame(type, sequence, timestamp, null);
+        }
+        if (type != SNAPSHOT && type != DELTA) {
+            throw new IOException("Tipo de mensagem de replicação desconhecido: " + type);
+        }
+        List<User> users;
+        if (type == SNAPSHOT) {
+            users = new ArrayList<>();
+            for (int chunk = readCount(in); chunk > 0; chunk = readCount(in)) {
+                readUsers(in, chunk, users);
+            }
+        } else {
+            int userCount = readCount(in);
+            users = new ArrayList<>(Math.min(userCount, MAX_PRESIZE));
+            readUsers(in, userCount, users);
+        }
+        int deletedCount = readCount(in);
+        List<Long> deletedIds = new ArrayList<>(Math.min(deletedCount, MAX_PRESIZE));
+        for (int i = 0; i < deletedCount; i++) {
+            deletedIds.add(in.readLong());
+        }
+        return new Frame(type, sequence, timestamp, new UserChangesDTO(sequence, type == SNAPSHOT, users, deletedIds));
+    }
+
+    private static void writeHeader(DataOutputStream out, byte type, long sequence) throws IOException {
+        out.writeByte(type);
+        out.writeLong(sequence);
+        out.writeLong(System.currentTimeMillis());
+    }
+
+    private static void writeUsers(DataOutputStream out, List<User> users) throws IOException {
+        out.writeInt(users.size());
+        for (User user : users) {
+            out.writeLong(user.getId());
+            writeNullable(out, user.getName());
+            writeNullable(out, user.getEmail());
+            out.writeInt(user.getAge() == null ? Integer.MIN_VALUE : user.getAge());
+        }
+    }
+
+    private static void readUsers(DataInputStream in, int count, List<User> users) throws IOException {
+        for (int i = 0; i < count; i++) {
+            long id = in.readLong();
+            String name = readNullable(in);
+            String email = readNullable(in);
+            int age = in.readInt();
+            users.add(new User(id, name, email, age == Integer.MIN_VALUE ? null : age));
+        }
+    }
+
+    private static int readCount(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            throw new IOException("Quantidade inválida na mensagem de replicação: " + count);
+        }
+        return count;
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    /**
+     * Escreve uma mensagem de estado completo à medida que os usuários são entregues, em blocos
+     * de até {@link #SNAPSHOT_CHUNK_SIZE} usuários; apenas o bloco em formação fica em memória.
+     *
+     * <p>Falhas de escrita durante a entrega são lançadas como {@link UncheckedIOException}.</p>
+     */
+    public static final class SnapshotWriter implements Consumer<User> {
+
+        private final DataOutputStream out;
+        private final long sequence;
+        private final List<User> chunk = new ArrayList<>(SNAPSHOT_CHUNK_SIZE);
+        private boolean started;
+        private long written;
+
+        /**
+         * Cria o escritor; o cabeçalho é escrito com o primeiro bloco.
+         *
+         * @param out      o fluxo de saída
+         * @param sequence a sequência do líder informada no cabeçalho
+         */
+        public SnapshotWriter(DataOutputStream out, long sequence) {
+            this.out = out;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void accept(User user) {
+            chunk.add(user);
+            if (chunk.size() == SNAPSHOT_CHUNK_SIZE) {
+                try {
+                    writeChunk();
+                } catch (IOException exception) {
+                    throw new UncheckedIOException(exception);
+                }
+            }
+        }
+
+        /**
+         * Escreve o último bloco, o fim da lista e a lista vazia de IDs removidos.
+         *
+         * @return a quantidade de usuários escritos
+         * @throws IOException se a escrita falhar
+         */
+        public long finish() throws IOException {
+            writeChunk();
+            out.writeInt(0);
+            out.writeInt(0);
+            out.flush();
+            return written;
+        }
+
+        private void writeChunk() throws IOException {
+            if (!started) {
+                writeHeader(out, SNAPSHOT, sequence);
+                started = true;
+            }
+            if (chunk.isEmpty()) {
+                return;
+            }
+            writeUsers(out, chunk);
+            written += chunk.size();
+            chunk.clear();
+        }
+    }
+}
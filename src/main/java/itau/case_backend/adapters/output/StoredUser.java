@@ -0,0 +1,61 @@
+package itau.case_backend.adapters.output;
+
+import itau.case_backend.domain.entities.User;
+
+/**
+ * Usuário guardado pelo {@link UserRepository}, com o nome mantido como as suas palavras.
+ *
+ * <p>Cada palavra passa pelo {@link StringDictionary}, de modo que nomes e sobrenomes comuns
+ * ocupam uma única instância, mesmo quando os nomes completos não se repetem. O nome é remontado
+ * a cada leitura, separando as palavras por um espaço; como a separação também é feita em cada
+ * espaço, o nome devolvido é idêntico ao gravado.</p>
+ *
+ * <p>Os objetos desta classe só existem dentro do repositório e nunca são alterados; os
+ * chamadores recebem cópias.</p>
+ */
+final class StoredUser extends User {
+
+    private final String[] nameWords;
+
+    /**
+     * Cria a cópia guardada de um usuário.
+     *
+     * @param user       o usuário
+     * @param dictionary dicionário que deduplica as palavras do nome
+     */
+    StoredUser(User user, StringDictionary dictionary) {
+        super(user.getId(), null, user.getEmail(), user.getAge());
+        setVersion(user.getVersion());
+        String name = user.getName();
+        if (name == null) {
+            nameWords = null;
+        } else {
+            nameWords = name.split(" ", -1);
+            for (int i = 0; i < nameWords.length; i++) {
+                nameWords[i] = dictionary.intern(nameWords[i]);
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        if (nameWords == null) {
+            return null;
+        }
+        return nameWords.length == 1 ? nameWords[0] : String.join(" ", nameWords);
+    }
+
+    @Override
+    public void setName(String name) {
+        throw new UnsupportedOperationException("Usuários guardados não são alterados");
+    }
+
+    /**
+     * Retorna as palavras do nome, na instância guardada.
+     *
+     * @return as palavras, ou {@code null} se o usuário não tiver nome
+     */
+    String[] nameWords() {
+        return nameWords;
+    }
+}
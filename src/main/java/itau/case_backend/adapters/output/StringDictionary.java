@@ -0,0 +1,136 @@
+package itau.case_backend.adapters.output;
+
+import itau.case_backend.domain.memory.MemoryEstimates;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dicionário limitado e concorrente de strings, usado pelo repositório para guardar uma única
+ * instância de valores que se repetem entre usuários (as palavras dos nomes).
+ *
+ * <p>{@link #intern(String)} devolve a instância já registrada de um valor igual, se houver, ou
+ * registra a instância recebida. Com o limite atingido, valores novos deixam de ser registrados
+ * e são devolvidos como vieram; os já registrados nunca são descartados. Como os valores
+ * frequentes aparecem cedo, eles ficam no dicionário, e uma sequência de valores únicos não
+ * expulsa os frequentes a cada falta. A instância devolvida por {@link #intern(String)} continua,
+ * portanto, registrada (ou não) para sempre, o que permite contar a memória nas escritas
+ * (ver {@link #holds(String)}).</p>
+ *
+ * <p>O dicionário conta acertos, faltas e valores recusados, e estima os bytes poupados em cada
+ * acerto (o objeto {@link String} e o seu vetor de bytes que deixam de ser retidos), para
+ * relatórios de memória.</p>
+ */
+public class StringDictionary {
+
+    private final ConcurrentHashMap<String, String> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+    private final LongAdder retainedBytes = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * Construtor do dicionário.
+     *
+     * @param maxEntries quantidade máxima de valores distintos registrados (0 desativa a deduplicação)
+     */
+    public StringDictionary(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Retorna a instância registrada de um valor igual ao informado, registrando-o se necessário.
+     *
+     * @param value o valor
+     * @return a instância compartilhada, ou o próprio valor se o dicionário estiver desativado ou cheio
+     */
+    public String intern(String value) {
+        if (value == null || maxEntries <= 0) {
+            return value;
+        }
+        String existing = entries.get(value);
+        if (existing != null) {
+            hits.increment();
+            bytesSaved.add(MemoryEstimates.stringBytes(existing));
+            return existing;
+        }
+
+        misses.increment();
+        if (entries.size() >= maxEntries) {
+            rejections.increment();
+            return value;
+        }
+        existing = entries.putIfAbsent(value, value);
+        if (existing != null) {
+            return existing;
+        }
+        retainedBytes.add(MemoryEstimates.HASH_ENTRY + MemoryEstimates.stringBytes(value));
+        return value;
+    }
+
+    /**
+     * Indica se a instância informada é a registrada no dicionário.
+     *
+     * @param value a instância
+     * @return true se o dicionário retém exatamente esta instância
+     */
+    public boolean holds(String value) {
+        return value != null && entries.get(value) == value;
+    }
+
+    /**
+     * Retorna a quantidade de valores distintos registrados.
+     *
+     * @return a quantidade de entradas
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Retorna a quantidade de chamadas que devolveram uma instância já registrada.
+     *
+     * @return a quantidade de acertos
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Retorna a quantidade de chamadas com valores ainda não registrados.
+     *
+     * @return a quantidade de faltas
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Retorna a quantidade de valores novos recusados porque o dicionário estava cheio.
+     *
+     * @return a quantidade de recusas
+     */
+    public long rejections() {
+        return rejections.sum();
+    }
+
+    /**
+     * Retorna a estimativa acumulada de bytes que deixaram de ser retidos pelos acertos.
+     *
+     * @return os bytes poupados
+     */
+    public long bytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    /**
+     * Retorna a estimativa de memória ocupada pelo dicionário e pelos valores registrados.
+     *
+     * @return os bytes retidos
+     */
+    public long retainedBytes() {
+        return retainedBytes.sum();
+    }
+}
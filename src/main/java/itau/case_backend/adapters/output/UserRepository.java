@@ -1,19 +1,111 @@
 package itau.case_backend.adapters.output;
 
+import itau.case_backend.adapters.output.index.AgeIndex;
+import itau.case_backend.adapters.output.index.EmailDomainIndex;
+import itau.case_backend.adapters.output.index.NameSearchIndex;
+import itau.case_backend.adapters.output.index.SortedUserIndex;
+import itau.case_backend.adapters.output.index.UserIndex;
+import itau.case_backend.adapters.output.index.UserStatistics;
+import itau.case_backend.domain.dtos.MemoryFootprintDTO;
+import itau.case_backend.domain.dtos.UserChangesDTO;
+import itau.case_backend.domain.dtos.UserPageDTO;
+import itau.case_backend.domain.dtos.UserStatsDTO;
 import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.events.UserChangeType;
+import itau.case_backend.domain.memory.MemoryEstimates;
+import itau.case_backend.domain.query.EmailDomains;
+import itau.case_backend.domain.query.UserSort;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Repository;
 import itau.case_backend.ports.output.UserOutputPort;
 import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
 
 /**
  * Implementação do repositório de usuários, utilizando armazenamento em memória.
  * Esta classe serve como a porta de saída (output port) para persistência de dados.
+ * É o armazenamento padrão, usado quando {@code users.storage} não é informado ou vale {@code memory}.
+ *
+ * <p>O repositório guarda cópias próprias dos usuários, de modo que alterações feitas pelos
+ * chamadores só passam a valer ao chamar {@link #saveUser(User)}. Cada escrita recebe uma
+ * sequência global crescente, que passa a ser a versão do usuário ({@link User#getVersion()});
+ * o registro de alterações guarda apenas a sequência mais recente de cada usuário e uma lápide
+ * para cada remoção, permitindo a sincronização incremental.</p>
+ *
+ * <p>Os nomes são guardados como palavras que passam pelo {@link StringDictionary} (ver
+ * {@link StoredUser}), de modo que nomes e sobrenomes repetidos entre usuários ocupam uma única
+ * instância.</p>
+ *
+ * <p>Os índices auxiliares ({@link UserIndex}), incluindo uma visão ordenada para cada
+ * {@link UserSort}, são atualizados a cada escrita, sob a mesma trava, com o estado anterior e o
+ * novo estado do usuário.</p>
  */
 @Repository
+@ConditionalOnProperty(name = "users.storage", havingValue = "memory", matchIfMissing = true)
 public class UserRepository implements UserOutputPort {
 
-    private final Map<Long, User> userMap = new HashMap<>();
+    /** Quantidade padrão de lápides de remoção retidas. */
+    public static final int DEFAULT_MAX_TOMBSTONES = 100_000;
+
+    /** Quantidade padrão de valores distintos no dicionário de strings. */
+    public static final int DEFAULT_DICTIONARY_ENTRIES = 100_000;
+
+    private final Map<Long, StoredUser> userMap = new HashMap<>();
+    private final Map<Long, Long> userSequences = new HashMap<>();
+    private final NavigableMap<Long, Long> changeLog = new TreeMap<>();
+    private final LinkedHashMap<Long, Long> tombstones = new LinkedHashMap<>();
+    private final UserStatistics statistics = new UserStatistics();
+    private final AgeIndex ageIndex = new AgeIndex();
+    private final NameSearchIndex nameSearchIndex = new NameSearchIndex();
+    private final EmailDomainIndex emailDomainIndex = new EmailDomainIndex();
+    private final Map<UserSort, SortedUserIndex> sortedViews = new EnumMap<>(UserSort.class);
+    private final List<UserIndex> indexes = new ArrayList<>(List.of(statistics, ageIndex, nameSearchIndex, emailDomainIndex));
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int maxTombstones;
+    private final StringDictionary dictionary;
     private long nextId = 1;
+    private long changeSequence;
+    private long tombstoneHorizon;
+    private long emailBytes;
+    private long nameBytes;
+
+    /**
+     * Construtor que utiliza a quantidade padrão de lápides retidas.
+     */
+    public UserRepository() {
+        this(DEFAULT_MAX_TOMBSTONES);
+    }
+
+    /**
+     * Construtor que utiliza o tamanho padrão do dicionário de strings.
+     *
+     * @param maxTombstones quantidade máxima de lápides de remoção retidas para sincronização incremental
+     */
+    public UserRepository(int maxTombstones) {
+        this(maxTombstones, DEFAULT_DICTIONARY_ENTRIES);
+    }
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param maxTombstones     quantidade máxima de lápides de remoção retidas para sincronização incremental
+     * @param dictionaryEntries quantidade máxima de valores distintos no dicionário de strings (0 desativa)
+     */
+    @Autowired
+    public UserRepository(@Value("${users.changes.max-tombstones:" + DEFAULT_MAX_TOMBSTONES + "}") int maxTombstones,
+                          @Value("${users.dictionary.max-entries:" + DEFAULT_DICTIONARY_ENTRIES + "}") int dictionaryEntries) {
+        this.maxTombstones = maxTombstones;
+        this.dictionary = new StringDictionary(dictionaryEntries);
+        for (UserSort sort : UserSort.values()) {
+            SortedUserIndex view = new SortedUserIndex(sort);
+            sortedViews.put(sort, view);
+            indexes.add(view);
+        }
+    }
 
     /**
      * Recupera todos os usuários armazenados.
@@ -22,7 +114,31 @@ public class UserRepository implements UserOutputPort {
      */
     @Override
     public List<User> findAllUsers() {
-        return new ArrayList<>(userMap.values());
+        lock.readLock().lock();
+        try {
+            List<User> users = new ArrayList<>(userMap.size());
+            for (User user : userMap.values()) {
+                users.add(copyOf(user));
+            }
+            return users;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Conta os usuários armazenados.
+     *
+     * @return a quantidade de usuários
+     */
+    @Override
+    public long countUsers() {
+        lock.readLock().lock();
+        try {
+            return userMap.size();
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -33,7 +149,12 @@ public class UserRepository implements UserOutputPort {
      */
     @Override
     public Optional<User> findUserById(long id) {
-        return Optional.ofNullable(userMap.get(id));
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(userMap.get(id)).map(UserRepository::copyOf);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -43,9 +164,250 @@ public class UserRepository implements UserOutputPort {
      * @return um Optional contendo o usuário, ou Optional.empty() se não encontrado
      */
     public Optional<User> findUserByEmail(String email) {
-        return userMap.values().stream()
-                .filter(user -> user.getEmail().equals(email))
-                .findFirst();
+        lock.readLock().lock();
+        try {
+            return userMap.values().stream()
+                    .filter(user -> user.getEmail().equals(email))
+                    .findFirst()
+                    .map(UserRepository::copyOf);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna a sequência da última escrita, usada como versão do conjunto de usuários.
+     *
+     * @return a versão atual
+     */
+    @Override
+    public long getStoreVersion() {
+        lock.readLock().lock();
+        try {
+            return changeSequence;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recupera as alterações ocorridas após uma sequência, em O(alterações).
+     *
+     * <p>Se a sequência for anterior à lápide mais antiga ainda retida (ou desconhecida por este
+     * repositório), devolve o estado completo com {@link UserChangesDTO#isFullResync()}.</p>
+     *
+     * @param since a última sequência conhecida pelo cliente
+     * @return os usuários alterados e os IDs removidos desde a sequência
+     */
+    @Override
+    public UserChangesDTO findChangesSince(long since) {
+        lock.readLock().lock();
+        try {
+            if (since < tombstoneHorizon || since > changeSequence) {
+                List<User> users = new ArrayList<>(userMap.size());
+                for (User user : userMap.values()) {
+                    users.add(copyOf(user));
+                }
+                return new UserChangesDTO(changeSequence, true, users, List.of());
+            }
+
+            List<User> users = new ArrayList<>();
+            List<Long> deletedIds = new ArrayList<>();
+            for (Long id : changeLog.tailMap(since, false).values()) {
+                User user = userMap.get(id);
+                if (user != null) {
+                    users.add(copyOf(user));
+                } else {
+                    deletedIds.add(id);
+                }
+            }
+            return new UserChangesDTO(changeSequence, false, users, deletedIds);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recupera uma página de usuários com idade na faixa informada a partir do índice de idades,
+     * com o custo descrito em {@link AgeIndex}: proporcional às idades da faixa, aos IDs pulados
+     * dentro de uma idade e aos usuários devolvidos.
+     *
+     * @param minAge a idade mínima, inclusiva, ou {@code null} para não limitar
+     * @param maxAge a idade máxima, inclusiva, ou {@code null} para não limitar
+     * @param offset a quantidade de usuários a pular
+     * @param limit  a quantidade máxima de usuários na página
+     * @return a página de usuários e o total na faixa
+     */
+    @Override
+    public UserPageDTO findUsersByAgeRange(Integer minAge, Integer maxAge, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return new UserPageDTO(copiesOf(ageIndex.findIds(minAge, maxAge, offset, limit)), ageIndex.count(minAge, maxAge));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recupera uma página de usuários de um domínio de e-mail a partir do índice por domínio.
+     *
+     * @param domain o domínio do e-mail, com ou sem {@code @} inicial
+     * @param offset a quantidade de usuários a pular
+     * @param limit  a quantidade máxima de usuários na página
+     * @return a página de usuários e o total do domínio
+     */
+    @Override
+    public UserPageDTO findUsersByEmailDomain(String domain, int offset, int limit) {
+        String normalized = EmailDomains.normalize(domain);
+        lock.readLock().lock();
+        try {
+            return new UserPageDTO(copiesOf(emailDomainIndex.findIds(normalized, offset, limit)), emailDomainIndex.count(normalized));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recupera uma página de usuários com alguma palavra do nome iniciada pelo prefixo, a partir
+     * do índice de busca por nome. A página é lida até {@code offset + limit} IDs, sem unir as
+     * listas de todas as chaves com o prefixo, e o total é a contagem exata mantida pelo índice.
+     *
+     * @param prefix o prefixo, normalizado
+     * @param offset a quantidade de usuários a pular
+     * @param limit  a quantidade máxima de usuários na página
+     * @return a página de usuários, ordenados por ID, e o total com o prefixo
+     */
+    @Override
+    public UserPageDTO findUsersByNamePrefix(String prefix, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return new UserPageDTO(copiesOf(nameSearchIndex.findIdsByPrefix(prefix, offset, limit)),
+                    nameSearchIndex.countByPrefix(prefix));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estima os usuários na faixa de idade pela contagem do índice de idades, que percorre
+     * apenas os grupos de idade da faixa.
+     *
+     * @param minAge a idade mínima, inclusiva, ou {@code null} para não limitar
+     * @param maxAge a idade máxima, inclusiva, ou {@code null} para não limitar
+     * @return a quantidade de usuários na faixa
+     */
+    @Override
+    public long estimateUsersByAgeRange(Integer minAge, Integer maxAge) {
+        lock.readLock().lock();
+        try {
+            return ageIndex.count(minAge, maxAge);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estima os usuários do domínio pelo tamanho da lista do índice por domínio, em O(log n).
+     *
+     * @param domain o domínio do e-mail, com ou sem {@code @} inicial
+     * @return a quantidade de usuários do domínio
+     */
+    @Override
+    public long estimateUsersByEmailDomain(String domain) {
+        String normalized = EmailDomains.normalize(domain);
+        lock.readLock().lock();
+        try {
+            return emailDomainIndex.count(normalized);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Estima os usuários com o prefixo somando as listas do índice de busca por nome, sem uni-las.
+     *
+     * @param prefix o prefixo, normalizado
+     * @return a quantidade estimada de usuários com o prefixo, limitada ao total de usuários
+     */
+    @Override
+    public long estimateUsersByNamePrefix(String prefix) {
+        lock.readLock().lock();
+        try {
+            return Math.min(nameSearchIndex.estimateByPrefix(prefix), userMap.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recupera uma página de todos os usuários a partir da visão ordenada pelo campo, sem
+     * ordenar a coleção a cada consulta.
+     *
+     * @param sort       o campo de ordenação
+     * @param descending indica se a ordem é decrescente
+     * @param offset     a quantidade de usuários a pular
+     * @param limit      a quantidade máxima de usuários na página
+     * @return a página de usuários e o total de usuários
+     */
+    @Override
+    public UserPageDTO findUsersSorted(UserSort sort, boolean descending, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return new UserPageDTO(copiesOf(sortedViews.get(sort).findIds(descending, offset, limit)), userMap.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Conta os usuários de cada domínio de e-mail a partir do índice por domínio.
+     *
+     * @param offset a quantidade de domínios a pular
+     * @param limit  a quantidade máxima de domínios a devolver
+     * @return a quantidade de usuários por domínio, em ordem alfabética
+     */
+    @Override
+    public Map<String, Long> countUsersByEmailDomain(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return emailDomainIndex.counts(offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca usuários pelo nome a partir do índice de busca: primeiro os nomes com alguma palavra
+     * iniciada pela consulta, depois os nomes semelhantes, tolerando erros de digitação.
+     *
+     * @param query o texto a ser buscado
+     * @param limit a quantidade máxima de usuários a devolver
+     * @return os usuários encontrados, do mais para o menos relevante
+     */
+    @Override
+    public List<User> searchUsersByName(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            return copiesOf(nameSearchIndex.search(query, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recupera as estatísticas dos usuários, mantidas incrementalmente a cada escrita.
+     *
+     * @param topDomains quantidade de domínios de e-mail mais frequentes a incluir
+     * @return as estatísticas atuais
+     */
+    @Override
+    public UserStatsDTO getStatistics(int topDomains) {
+        lock.readLock().lock();
+        try {
+            return statistics.snapshot(topDomains);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -57,11 +419,61 @@ public class UserRepository implements UserOutputPort {
      */
     @Override
     public User saveUser(User user) {
-        if (user.getId() == 0) {
-            user.setId(nextId++);
+        lock.writeLock().lock();
+        try {
+            return store(user);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Salva ou atualiza vários usuários adquirindo a trava de escrita uma única vez.
+     *
+     * @param users os usuários a serem salvos ou atualizados
+     * @return os usuários salvos, na mesma ordem
+     */
+    @Override
+    public List<User> saveAllUsers(List<User> users) {
+        lock.writeLock().lock();
+        try {
+            for (User user : users) {
+                store(user);
+            }
+            return users;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Substitui todos os usuários com uma única aquisição da trava de escrita: as leituras veem
+     * o estado anterior ou o novo, nunca uma mistura dos dois.
+     *
+     * @param users    os usuários do novo estado, com IDs atribuídos
+     * @param listener recebe o tipo de cada alteração e o usuário, sob a trava
+     */
+    @Override
+    public void replaceAllUsers(List<User> users, BiConsumer<UserChangeType, User> listener) {
+        Set<Long> kept = new HashSet<>();
+        users.forEach(user -> kept.add(user.getId()));
+        lock.writeLock().lock();
+        try {
+            for (Long id : new ArrayList<>(userMap.keySet())) {
+                if (!kept.contains(id)) {
+                    User previous = copyOf(userMap.get(id));
+                    remove(id);
+                    listener.accept(UserChangeType.DELETED, previous);
+                }
+            }
+            for (User user : users) {
+                boolean existed = userMap.containsKey(user.getId());
+                store(user);
+                listener.accept(existed ? UserChangeType.UPDATED : UserChangeType.CREATED, user);
+            }
+        } finally {
+            lock.writeLock().unlock();
         }
-        userMap.put(user.getId(), user);
-        return user;
     }
 
     /**
@@ -71,6 +483,140 @@ public class UserRepository implements UserOutputPort {
      */
     @Override
     public void deleteUserById(long id) {
-        userMap.remove(id);
+        lock.writeLock().lock();
+        try {
+            remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(long id) {
+        StoredUser removed = userMap.remove(id);
+        if (removed == null) {
+            return;
+        }
+        emailBytes -= MemoryEstimates.stringBytes(removed.getEmail());
+        nameBytes -= nameBytes(removed);
+        indexes.forEach(index -> index.remove(removed));
+
+        long sequence = ++changeSequence;
+        changeLog.remove(userSequences.remove(id));
+        changeLog.put(sequence, id);
+        tombstones.put(id, sequence);
+
+        if (tombstones.size() > maxTombstones) {
+            Iterator<Long> oldest = tombstones.values().iterator();
+            long evicted = oldest.next();
+            oldest.remove();
+            changeLog.remove(evicted);
+            tombstoneHorizon = evicted;
+        }
+    }
+
+    /**
+     * Estima a memória ocupada pelos usuários e por cada estrutura auxiliar, em O(1) por
+     * estrutura: os tamanhos vêm de contadores mantidos nas escritas, sem percorrer os dados.
+     *
+     * <p>As palavras dos nomes registradas no dicionário são contadas nele, onde são
+     * deduplicadas; os e-mails, os vetores de palavras e as palavras fora do dicionário, no mapa
+     * principal, por um contador atualizado em cada gravação e remoção.</p>
+     *
+     * @return a estimativa de memória
+     */
+    @Override
+    public MemoryFootprintDTO getMemoryFootprint() {
+        lock.readLock().lock();
+        try {
+            Map<String, Long> components = new LinkedHashMap<>();
+            components.put("users", userMap.size() * (MemoryEstimates.HASH_ENTRY + MemoryEstimates.BOXED + MemoryEstimates.USER) + emailBytes
+                    + nameBytes);
+            components.put("changeLog", userSequences.size() * (MemoryEstimates.HASH_ENTRY + 2 * MemoryEstimates.BOXED)
+                    + changeLog.size() * (MemoryEstimates.TREE_ENTRY + 2 * MemoryEstimates.BOXED)
+                    + tombstones.size() * (MemoryEstimates.LINKED_HASH_ENTRY + 2 * MemoryEstimates.BOXED));
+            components.put("statistics", statistics.estimatedBytes());
+            components.put("ageIndex", ageIndex.estimatedBytes());
+            components.put("nameSearchIndex", nameSearchIndex.estimatedBytes());
+            components.put("emailDomainIndex", emailDomainIndex.estimatedBytes());
+            for (Map.Entry<UserSort, SortedUserIndex> view : sortedViews.entrySet()) {
+                components.put("sortedView." + view.getKey().name().toLowerCase(Locale.ROOT), view.getValue().estimatedBytes());
+            }
+            components.put("nameDictionary", dictionary.retainedBytes());
+            return new MemoryFootprintDTO(userMap.size(), components);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna o dicionário de strings do repositório, para relatórios de memória.
+     *
+     * @return o dicionário
+     */
+    public StringDictionary getDictionary() {
+        return dictionary;
+    }
+
+    private User store(User user) {
+        if (user.getId() == 0) {
+            user.setId(nextId++);
+        } else if (user.getId() >= nextId) {
+            nextId = user.getId() + 1;
+        }
+        long id = user.getId();
+        long sequence = ++changeSequence;
+        user.setVersion(sequence);
+
+        StoredUser stored = new StoredUser(user, dictionary);
+        StoredUser replaced = userMap.put(id, stored);
+        emailBytes += MemoryEstimates.stringBytes(stored.getEmail());
+        nameBytes += nameBytes(stored);
+        if (replaced != null) {
+            emailBytes -= MemoryEstimates.stringBytes(replaced.getEmail());
+            nameBytes -= nameBytes(replaced);
+            indexes.forEach(index -> index.remove(replaced));
+        }
+        indexes.forEach(index -> index.add(stored));
+
+        Long previous = userSequences.put(id, sequence);
+        if (previous != null) {
+            changeLog.remove(previous);
+        }
+        Long tombstone = tombstones.remove(id);
+        if (tombstone != null) {
+            changeLog.remove(tombstone);
+        }
+        changeLog.put(sequence, id);
+        return user;
+    }
+
+    private List<User> copiesOf(List<Long> ids) {
+        List<User> users = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            users.add(copyOf(userMap.get(id)));
+        }
+        return users;
+    }
+
+    private long nameBytes(StoredUser user) {
+        // O vetor de palavras e as palavras fora do dicionário. Uma palavra registrada nunca
+        // deixa o dicionário, então o valor é o mesmo na gravação e na remoção.
+        String[] words = user.nameWords();
+        if (words == null) {
+            return 0;
+        }
+        long bytes = MemoryEstimates.referenceArrayBytes(words.length);
+        for (String word : words) {
+            if (!dictionary.holds(word)) {
+                bytes += MemoryEstimates.stringBytes(word);
+            }
+        }
+        return bytes;
+    }
+
+    private static User copyOf(User user) {
+        User copy = new User(user.getId(), user.getName(), user.getEmail(), user.getAge());
+        copy.setVersion(user.getVersion());
+        return copy;
     }
 }
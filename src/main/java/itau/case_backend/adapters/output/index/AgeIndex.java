@@ -0,0 +1,112 @@
+package itau.case_backend.adapters.output.index;
+
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.memory.MemoryEstimates;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Índice secundário ordenado pela idade dos usuários.
+ *
+ * <p>Os IDs são agrupados por idade em ordem crescente, cada grupo em uma {@link SortedIdList}
+ * com acesso por posição. Uma consulta por faixa localiza a primeira idade em O(log a), sendo
+ * {@code a} a quantidade de idades distintas, pula grupos inteiros pelo tamanho e, no grupo em
+ * que o deslocamento termina, vai direto à posição. Uma página custa O(log a + a' + k), com
+ * {@code a'} idades na faixa e {@code k} IDs devolvidos, independentemente do deslocamento; a
+ * contagem custa O(log a + a'). Como as idades distintas são poucas, o custo é dominado por
+ * {@code k}.</p>
+ */
+public class AgeIndex implements UserIndex {
+
+    private final TreeMap<Integer, SortedIdList> idsByAge = new TreeMap<>();
+    private long listBytes;
+
+    @Override
+    public void add(User user) {
+        if (user.getAge() != null) {
+            SortedIdList ids = idsByAge.computeIfAbsent(user.getAge(), age -> new SortedIdList());
+            long before = ids.estimatedBytes();
+            ids.add(user.getId());
+            listBytes += ids.estimatedBytes() - before;
+        }
+    }
+
+    @Override
+    public void remove(User user) {
+        if (user.getAge() == null) {
+            return;
+        }
+        SortedIdList ids = idsByAge.get(user.getAge());
+        if (ids != null) {
+            long before = ids.estimatedBytes();
+            if (ids.remove(user.getId())) {
+                if (ids.size() == 0) {
+                    idsByAge.remove(user.getAge());
+                    listBytes -= before;
+                } else {
+                    listBytes += ids.estimatedBytes() - before;
+                }
+            }
+        }
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return idsByAge.size() * (MemoryEstimates.TREE_ENTRY + MemoryEstimates.BOXED) + listBytes;
+    }
+
+    /**
+     * Conta os usuários com idade na faixa informada.
+     *
+     * @param minAge a idade mínima, inclusiva, ou {@code null} para não limitar
+     * @param maxAge a idade máxima, inclusiva, ou {@code null} para não limitar
+     * @return a quantidade de usuários na faixa
+     */
+    public long count(Integer minAge, Integer maxAge) {
+        long total = 0;
+        for (SortedIdList ids : range(minAge, maxAge).values()) {
+            total += ids.size();
+        }
+        return total;
+    }
+
+    /**
+     * Busca os IDs dos usuários com idade na faixa informada, ordenados por idade e ID.
+     *
+     * @param minAge a idade mínima, inclusiva, ou {@code null} para não limitar
+     * @param maxAge a idade máxima, inclusiva, ou {@code null} para não limitar
+     * @param offset a quantidade de IDs a pular
+     * @param limit  a quantidade máxima de IDs a devolver
+     * @return os IDs da página solicitada
+     */
+    public List<Long> findIds(Integer minAge, Integer maxAge, long offset, int limit) {
+        List<Long> result = new ArrayList<>(Math.min(limit, 1024));
+        long skip = offset;
+        for (SortedIdList ids : range(minAge, maxAge).values()) {
+            if (result.size() == limit) {
+                break;
+            }
+            if (skip >= ids.size()) {
+                skip -= ids.size();
+                continue;
+            }
+            for (int i = (int) skip; i < ids.size() && result.size() < limit; i++) {
+                result.add(ids.get(i));
+            }
+            skip = 0;
+        }
+        return result;
+    }
+
+    private NavigableMap<Integer, SortedIdList> range(Integer minAge, Integer maxAge) {
+        int from = minAge == null ? Integer.MIN_VALUE : minAge;
+        int to = maxAge == null ? Integer.MAX_VALUE : maxAge;
+        if (from > to) {
+            return new TreeMap<>();
+        }
+        return idsByAge.subMap(from, true, to, true);
+    }
+}
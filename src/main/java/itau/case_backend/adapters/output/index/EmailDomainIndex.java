@@ -0,0 +1,124 @@
+package itau.case_backend.adapters.output.index;
+
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.memory.MemoryEstimates;
+import itau.case_backend.domain.query.EmailDomains;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Índice secundário dos usuários pelo domínio do e-mail.
+ *
+ * <p>Os domínios ficam em ordem alfabética e, para cada um, os IDs em ordem crescente. A
+ * consulta de um domínio e a contagem dos seus usuários custam O(log d), e a leitura de uma
+ * página custa O(k) além do deslocamento.</p>
+ */
+public class EmailDomainIndex implements UserIndex {
+
+    private final TreeMap<String, TreeSet<Long>> idsByDomain = new TreeMap<>();
+    private long idCount;
+    private long keyBytes;
+
+    @Override
+    public void add(User user) {
+        String domain = EmailDomains.of(user.getEmail());
+        if (domain.isEmpty()) {
+            return;
+        }
+        TreeSet<Long> ids = idsByDomain.get(domain);
+        if (ids == null) {
+            ids = new TreeSet<>();
+            idsByDomain.put(domain, ids);
+            keyBytes += MemoryEstimates.stringBytes(domain);
+        }
+        if (ids.add(user.getId())) {
+            idCount++;
+        }
+    }
+
+    @Override
+    public void remove(User user) {
+        String domain = EmailDomains.of(user.getEmail());
+        TreeSet<Long> ids = idsByDomain.get(domain);
+        if (ids != null && ids.remove(user.getId())) {
+            idCount--;
+            if (ids.isEmpty()) {
+                idsByDomain.remove(domain);
+                keyBytes -= MemoryEstimates.stringBytes(domain);
+            }
+        }
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return idsByDomain.size() * (MemoryEstimates.TREE_ENTRY + MemoryEstimates.TREE_SET) + keyBytes
+                + idCount * (MemoryEstimates.TREE_ENTRY + MemoryEstimates.BOXED);
+    }
+
+    /**
+     * Conta os usuários de um domínio.
+     *
+     * @param domain o domínio, já normalizado
+     * @return a quantidade de usuários do domínio
+     */
+    public long count(String domain) {
+        TreeSet<Long> ids = idsByDomain.get(domain);
+        return ids == null ? 0 : ids.size();
+    }
+
+    /**
+     * Busca os IDs dos usuários de um domínio, em ordem crescente.
+     *
+     * @param domain o domínio, já normalizado
+     * @param offset a quantidade de IDs a pular
+     * @param limit  a quantidade máxima de IDs a devolver
+     * @return os IDs da página solicitada
+     */
+    public List<Long> findIds(String domain, long offset, int limit) {
+        TreeSet<Long> ids = idsByDomain.get(domain);
+        List<Long> result = new ArrayList<>();
+        if (ids == null) {
+            return result;
+        }
+        long skip = offset;
+        for (Long id : ids) {
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(id);
+        }
+        return result;
+    }
+
+    /**
+     * Obtém a quantidade de usuários de cada domínio, em ordem alfabética.
+     *
+     * @param offset a quantidade de domínios a pular
+     * @param limit  a quantidade máxima de domínios a devolver
+     * @return a quantidade de usuários por domínio
+     */
+    public Map<String, Long> counts(long offset, int limit) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        long skip = offset;
+        for (Map.Entry<String, TreeSet<Long>> entry : idsByDomain.entrySet()) {
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            if (counts.size() == limit) {
+                break;
+            }
+            counts.put(entry.getKey(), (long) entry.getValue().size());
+        }
+        return counts;
+    }
+}
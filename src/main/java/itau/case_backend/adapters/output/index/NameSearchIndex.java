@@ -0,0 +1,394 @@
+package itau.case_backend.adapters.output.index;
+
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.memory.MemoryEstimates;
+import itau.case_backend.domain.query.NameNormalizer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Índice de busca sobre o nome dos usuários, para autocompletar e para buscas tolerantes a erros.
+ *
+ * <p>Os nomes são normalizados por {@link NameNormalizer}. Para o autocompletar, cada sufixo
+ * de palavras do nome ("joao da silva", "da silva", "silva") é chave de um mapa ordenado,
+ * de modo que um prefixo é resolvido com uma busca em O(log n)
+ * seguida da leitura apenas dos resultados devolvidos. Para a busca aproximada, cada nome é
+ * decomposto em trigramas e os candidatos são ranqueados pela similaridade de Jaccard entre
+ * os trigramas da consulta e os do nome.</p>
+ *
+ * <p>Uma página por prefixo é uma intercalação preguiçosa das listas ordenadas de cada chave com
+ * o prefixo, que para após {@code deslocamento + limite} IDs distintos. O total exato não une as
+ * listas: a soma dos seus tamanhos conta duas vezes o usuário com duas chaves iniciadas pelo
+ * prefixo, e esse excesso é mantido à parte. Ordenadas, as chaves de um usuário iniciadas por um
+ * prefixo são consecutivas, então o excesso desse usuário é a quantidade de pares de chaves
+ * vizinhas cujo prefixo comum começa pelo prefixo consultado; os prefixos comuns não vazios de
+ * todos os usuários ficam em um mapa ordenado com a sua contagem.</p>
+ *
+ * <p>A latência da busca aproximada é limitada: as listas de trigramas são lidas da menor
+ * para a maior e a leitura para após {@link #MAX_POSTINGS_SCANNED} entradas, mesmo no meio de
+ * uma lista. O resultado é então parcial: contém apenas os nomes lidos até o limite, com a
+ * similaridade calculada sobre os trigramas já lidos.</p>
+ */
+public class NameSearchIndex implements UserIndex {
+
+    /** Quantidade máxima de entradas de trigramas lidas por busca. */
+    public static final int MAX_POSTINGS_SCANNED = 100_000;
+
+    /** Similaridade mínima para que um nome seja considerado na busca aproximada. */
+    public static final double MIN_SIMILARITY = 0.3;
+
+    private final TreeMap<String, TreeSet<Long>> idsByPrefixKey = new TreeMap<>();
+    private final Map<String, Set<Long>> idsByTrigram = new HashMap<>();
+    private final Map<Long, Integer> trigramCounts = new HashMap<>();
+    private final TreeMap<String, Integer> sharedPrefixCounts = new TreeMap<>();
+    private final int maxPostingsScanned;
+    private long keyBytes;
+    private long prefixPostings;
+    private long trigramPostings;
+
+    /**
+     * Cria um índice que lê no máximo {@link #MAX_POSTINGS_SCANNED} entradas por busca aproximada.
+     */
+    public NameSearchIndex() {
+        this(MAX_POSTINGS_SCANNED);
+    }
+
+    /**
+     * Cria um índice com um limite próprio de entradas lidas por busca aproximada.
+     *
+     * @param maxPostingsScanned quantidade máxima de entradas de trigramas lidas por busca
+     */
+    public NameSearchIndex(int maxPostingsScanned) {
+        this.maxPostingsScanned = maxPostingsScanned;
+    }
+
+    @Override
+    public void add(User user) {
+        String name = NameNormalizer.normalize(user.getName());
+        if (name.isEmpty()) {
+            return;
+        }
+        for (String key : prefixKeys(name)) {
+            TreeSet<Long> ids = idsByPrefixKey.get(key);
+            if (ids == null) {
+                ids = new TreeSet<>();
+                idsByPrefixKey.put(key, ids);
+                keyBytes += MemoryEstimates.stringBytes(key);
+            }
+            if (ids.add(user.getId())) {
+                prefixPostings++;
+            }
+        }
+        for (String shared : sharedPrefixes(name)) {
+            if (sharedPrefixCounts.merge(shared, 1, Integer::sum) == 1) {
+                keyBytes += MemoryEstimates.stringBytes(shared);
+            }
+        }
+        Set<String> trigrams = trigrams(name);
+        for (String trigram : trigrams) {
+            Set<Long> ids = idsByTrigram.get(trigram);
+            if (ids == null) {
+                ids = new HashSet<>();
+                idsByTrigram.put(trigram, ids);
+                keyBytes += MemoryEstimates.stringBytes(trigram);
+            }
+            if (ids.add(user.getId())) {
+                trigramPostings++;
+            }
+        }
+        trigramCounts.put(user.getId(), trigrams.size());
+    }
+
+    @Override
+    public void remove(User user) {
+        String name = NameNormalizer.normalize(user.getName());
+        if (name.isEmpty()) {
+            return;
+        }
+        for (String key : prefixKeys(name)) {
+            TreeSet<Long> ids = idsByPrefixKey.get(key);
+            if (ids != null && ids.remove(user.getId())) {
+                prefixPostings--;
+                if (ids.isEmpty()) {
+                    idsByPrefixKey.remove(key);
+                    keyBytes -= MemoryEstimates.stringBytes(key);
+                }
+            }
+        }
+        for (String shared : sharedPrefixes(name)) {
+            Integer count = sharedPrefixCounts.get(shared);
+            if (count == null) {
+                continue;
+            }
+            if (count == 1) {
+                sharedPrefixCounts.remove(shared);
+                keyBytes -= MemoryEstimates.stringBytes(shared);
+            } else {
+                sharedPrefixCounts.put(shared, count - 1);
+            }
+        }
+        for (String trigram : trigrams(name)) {
+            Set<Long> ids = idsByTrigram.get(trigram);
+            if (ids != null && ids.remove(user.getId())) {
+                trigramPostings--;
+                if (ids.isEmpty()) {
+                    idsByTrigram.remove(trigram);
+                    keyBytes -= MemoryEstimates.stringBytes(trigram);
+                }
+            }
+        }
+        trigramCounts.remove(user.getId());
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>As entradas das listas de prefixos são contadas com o custo de um elemento de
+     * {@link TreeSet}; as das listas de trigramas, com o de um elemento de {@link HashSet}.</p>
+     */
+    @Override
+    public long estimatedBytes() {
+        return idsByPrefixKey.size() * (MemoryEstimates.TREE_ENTRY + MemoryEstimates.TREE_SET)
+                + sharedPrefixCounts.size() * (MemoryEstimates.TREE_ENTRY + MemoryEstimates.BOXED)
+                + idsByTrigram.size() * (MemoryEstimates.HASH_ENTRY + MemoryEstimates.HASH_SET)
+                + keyBytes
+                + prefixPostings * (MemoryEstimates.TREE_ENTRY + MemoryEstimates.BOXED)
+                + trigramPostings * (MemoryEstimates.HASH_ENTRY + MemoryEstimates.BOXED)
+                + trigramCounts.size() * (MemoryEstimates.HASH_ENTRY + MemoryEstimates.BOXED);
+    }
+
+    /**
+     * Busca IDs de usuários cujo nome corresponde à consulta, em ordem de relevância.
+     *
+     * <p>Primeiro vêm os nomes com alguma palavra iniciada pela consulta, em ordem alfabética;
+     * depois, os nomes semelhantes, da maior para a menor similaridade.</p>
+     *
+     * @param query o texto digitado, completo ou parcial
+     * @param limit a quantidade máxima de IDs a devolver
+     * @return os IDs encontrados, do mais para o menos relevante
+     */
+    public List<Long> search(String query, int limit) {
+        String normalized = NameNormalizer.normalize(query);
+        Set<Long> result = new LinkedHashSet<>();
+        if (normalized.isEmpty() || limit <= 0) {
+            return new ArrayList<>(result);
+        }
+
+        for (TreeSet<Long> ids : keysStartingWith(normalized).values()) {
+            for (Long id : ids) {
+                result.add(id);
+                if (result.size() == limit) {
+                    return new ArrayList<>(result);
+                }
+            }
+        }
+
+        for (Long id : similar(normalized)) {
+            result.add(id);
+            if (result.size() == limit) {
+                break;
+            }
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Busca uma página dos IDs, em ordem crescente, dos usuários com alguma palavra do nome
+     * iniciada pelo prefixo.
+     *
+     * <p>As listas das chaves com o prefixo são intercaladas por um heap com a cabeça de cada
+     * uma, descartando repetições, e a leitura para ao completar a página: o custo é
+     * O(c log c + (deslocamento + limite) log c), com {@code c} chaves com o prefixo, sem
+     * depender do total de usuários encontrados.</p>
+     *
+     * @param prefix o prefixo, já normalizado
+     * @param offset a quantidade de IDs a pular
+     * @param limit  a quantidade máxima de IDs a devolver
+     * @return os IDs da página
+     */
+    public List<Long> findIdsByPrefix(String prefix, long offset, int limit) {
+        List<Long> result = new ArrayList<>(Math.min(limit, 1024));
+        if (prefix.isEmpty() || limit <= 0) {
+            return result;
+        }
+        PriorityQueue<Cursor> heads = new PriorityQueue<>(Comparator.comparingLong(Cursor::head));
+        for (TreeSet<Long> ids : keysStartingWith(prefix).values()) {
+            heads.add(new Cursor(ids.iterator()));
+        }
+        long skip = offset;
+        long previous = 0;
+        boolean first = true;
+        while (result.size() < limit && !heads.isEmpty()) {
+            Cursor cursor = heads.poll();
+            long id = cursor.head();
+            if (cursor.advance()) {
+                heads.add(cursor);
+            }
+            if (!first && id == previous) {
+                continue;
+            }
+            first = false;
+            previous = id;
+            if (skip > 0) {
+                skip--;
+            } else {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Conta exatamente quantos usuários têm alguma palavra do nome iniciada pelo prefixo, sem
+     * unir as listas: da soma dos tamanhos é descontado o excesso mantido para os prefixos
+     * comuns de chaves vizinhas de um mesmo usuário.
+     *
+     * @param prefix o prefixo, já normalizado
+     * @return a quantidade de usuários
+     */
+    public long countByPrefix(String prefix) {
+        if (prefix.isEmpty()) {
+            return 0;
+        }
+        long repeated = 0;
+        for (int count : sharedPrefixCounts.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            repeated += count;
+        }
+        return estimateByPrefix(prefix) - repeated;
+    }
+
+    /**
+     * Estima quantos usuários têm alguma palavra do nome iniciada pelo prefixo, somando o tamanho
+     * das listas de cada palavra sem uni-las. Um usuário com duas palavras iniciadas pelo prefixo
+     * é contado duas vezes, então a estimativa nunca é menor que o valor exato.
+     *
+     * @param prefix o prefixo, já normalizado
+     * @return a quantidade estimada de usuários
+     */
+    public long estimateByPrefix(String prefix) {
+        if (prefix.isEmpty()) {
+            return 0;
+        }
+        long total = 0;
+        for (TreeSet<Long> ids : keysStartingWith(prefix).values()) {
+            total += ids.size();
+        }
+        return total;
+    }
+
+    private Map<String, TreeSet<Long>> keysStartingWith(String prefix) {
+        return idsByPrefixKey.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private List<Long> similar(String normalized) {
+        Set<String> queryTrigrams = trigrams(normalized);
+        List<Set<Long>> postings = new ArrayList<>();
+        for (String trigram : queryTrigrams) {
+            Set<Long> ids = idsByTrigram.get(trigram);
+            if (ids != null) {
+                postings.add(ids);
+            }
+        }
+        postings.sort(Comparator.comparingInt(Set::size));
+
+        Map<Long, Integer> shared = new HashMap<>();
+        int remaining = maxPostingsScanned;
+        scan:
+        for (Set<Long> ids : postings) {
+            for (Long id : ids) {
+                if (remaining-- == 0) {
+                    break scan;
+                }
+                shared.merge(id, 1, Integer::sum);
+            }
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        for (Map.Entry<Long, Integer> entry : shared.entrySet()) {
+            int common = entry.getValue();
+            double similarity = (double) common / (queryTrigrams.size() + trigramCounts.get(entry.getKey()) - common);
+            if (similarity >= MIN_SIMILARITY) {
+                scores.put(entry.getKey(), similarity);
+            }
+        }
+
+        List<Long> ranked = new ArrayList<>(scores.keySet());
+        ranked.sort(Comparator.<Long>comparingDouble(scores::get).reversed().thenComparing(Comparator.naturalOrder()));
+        return ranked;
+    }
+
+    private static List<String> prefixKeys(String name) {
+        List<String> keys = new ArrayList<>();
+        keys.add(name);
+        for (int i = name.indexOf(' '); i >= 0; i = name.indexOf(' ', i + 1)) {
+            keys.add(name.substring(i + 1));
+        }
+        return keys;
+    }
+
+    /**
+     * Retorna os prefixos comuns não vazios de cada par de chaves vizinhas do nome, em ordem
+     * alfabética.
+     */
+    private static List<String> sharedPrefixes(String name) {
+        List<String> keys = prefixKeys(name);
+        keys.sort(null);
+        List<String> shared = new ArrayList<>();
+        for (int i = 1; i < keys.size(); i++) {
+            String left = keys.get(i - 1);
+            String right = keys.get(i);
+            int length = 0;
+            while (length < left.length() && length < right.length() && left.charAt(length) == right.charAt(length)) {
+                length++;
+            }
+            if (length > 0) {
+                shared.add(left.substring(0, length));
+            }
+        }
+        return shared;
+    }
+
+    private static Set<String> trigrams(String name) {
+        Set<String> trigrams = new HashSet<>();
+        String padded = "  " + name + " ";
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    /** Posição de leitura de uma lista de IDs na intercalação. */
+    private static final class Cursor {
+
+        private final Iterator<Long> ids;
+        private long head;
+
+        private Cursor(Iterator<Long> ids) {
+            this.ids = ids;
+            this.head = ids.next();
+        }
+
+        private long head() {
+            return head;
+        }
+
+        private boolean advance() {
+            if (!ids.hasNext()) {
+                return false;
+            }
+            head = ids.next();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package itau.case_backend.adapters.output.index;
+
+import itau.case_backend.domain.query.UserSort;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Conjunto ordenado de entradas (chave, ID) com acesso por posição.
+ *
+ * <p>É uma treap: uma árvore de busca binária cujos nós também guardam uma prioridade aleatória
+ * (mantida como heap, o que deixa a altura esperada em O(log n)) e o tamanho da sua subárvore.
+ * Com os tamanhos, a entrada em uma posição qualquer é localizada descendo da raiz, e uma página
+ * custa O(log n + limite) em qualquer profundidade. Inserção e remoção custam O(log n)
+ * esperado. As chaves são comparadas por {@link UserSort#compareKeys}, com desempate pelo
+ * ID.</p>
+ */
+final class RankedEntryTree {
+
+    /** Um {@link Node}: cabeçalho, chave, ID, filhos, tamanho e prioridade. */
+    static final long NODE_BYTES = 40;
+
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+    private boolean changed;
+
+    /**
+     * Insere uma entrada, se ainda não estiver no conjunto.
+     *
+     * @param key a chave de ordenação, possivelmente nula
+     * @param id  o ID
+     * @return true se a entrada foi inserida
+     */
+    boolean add(Comparable<?> key, long id) {
+        changed = false;
+        root = insert(root, key, id);
+        return changed;
+    }
+
+    /**
+     * Remove uma entrada, se estiver no conjunto.
+     *
+     * @param key a chave de ordenação, possivelmente nula
+     * @param id  o ID
+     * @return true se a entrada foi removida
+     */
+    boolean remove(Comparable<?> key, long id) {
+        changed = false;
+        root = delete(root, key, id);
+        return changed;
+    }
+
+    /**
+     * Retorna a quantidade de entradas.
+     *
+     * @return a quantidade de entradas
+     */
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * Lê os IDs de uma página, a partir da posição informada.
+     *
+     * @param descending indica se a ordem é decrescente
+     * @param offset     a quantidade de entradas a pular
+     * @param limit      a quantidade máxima de IDs a devolver
+     * @return os IDs da página, na ordem solicitada
+     */
+    List<Long> page(boolean descending, long offset, int limit) {
+        List<Long> result = new ArrayList<>(Math.min(limit, 1024));
+        if (offset >= size(root) || limit <= 0) {
+            return result;
+        }
+        // Desce até a posição, empilhando os ancestrais que vêm depois dela na ordem pedida.
+        Deque<Node> pending = new ArrayDeque<>();
+        long rank = offset;
+        Node node = root;
+        while (node != null) {
+            int before = size(near(node, descending));
+            if (rank < before) {
+                pending.push(node);
+                node = near(node, descending);
+            } else if (rank == before) {
+                pending.push(node);
+                break;
+            } else {
+                rank -= before + 1;
+                node = far(node, descending);
+            }
+        }
+        while (result.size() < limit && !pending.isEmpty()) {
+            Node next = pending.pop();
+            result.add(next.id);
+            for (Node child = far(next, descending); child != null; child = near(child, descending)) {
+                pending.push(child);
+            }
+        }
+        return result;
+    }
+
+    private Node insert(Node node, Comparable<?> key, long id) {
+        if (node == null) {
+            changed = true;
+            return new Node(key, id, random.nextInt());
+        }
+        int comparison = compare(key, id, node);
+        if (comparison == 0) {
+            return node;
+        }
+        if (comparison < 0) {
+            node.left = insert(node.left, key, id);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, key, id);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node delete(Node node, Comparable<?> key, long id) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(key, id, node);
+        if (comparison == 0) {
+            changed = true;
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = delete(node.left, key, id);
+        } else {
+            node.right = delete(node.right, key, id);
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        node.update();
+        pivot.right = node;
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        node.update();
+        pivot.left = node;
+        return pivot;
+    }
+
+    private static int compare(Comparable<?> key, long id, Node node) {
+        int byKey = UserSort.compareKeys(key, node.key);
+        return byKey != 0 ? byKey : Long.compare(id, node.id);
+    }
+
+    private static Node near(Node node, boolean descending) {
+        return descending ? node.right : node.left;
+    }
+
+    private static Node far(Node node, boolean descending) {
+        return descending ? node.left : node.right;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+
+        private final Comparable<?> key;
+        private final long id;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(Comparable<?> key, long id, int priority) {
+            this.key = key;
+            this.id = id;
+            this.priority = priority;
+        }
+
+        private void update() {
+            size = 1 + size(left) + size(right);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package itau.case_backend.adapters.output.index;
+
+import itau.case_backend.domain.memory.MemoryEstimates;
+
+import java.util.Arrays;
+
+/**
+ * Lista ordenada e sem repetições de IDs, guardada em um vetor de {@code long}.
+ *
+ * <p>Oferece acesso por posição em O(1) e busca em O(log n); inserções e remoções deslocam a
+ * parte do vetor após a posição, o que é barato para os grupos de tamanho moderado em que é
+ * usada. Cada ID ocupa 8 bytes, sem objetos por entrada.</p>
+ */
+final class SortedIdList {
+
+    /** Cabeçalho e campos da lista. */
+    private static final long LIST_BYTES = 24;
+
+    private long[] ids = new long[4];
+    private int size;
+
+    /**
+     * Insere um ID, se ainda não estiver na lista.
+     *
+     * @param id o ID
+     * @return true se o ID foi inserido
+     */
+    boolean add(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return false;
+        }
+        position = -position - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, position, ids, position + 1, size - position);
+        ids[position] = id;
+        size++;
+        return true;
+    }
+
+    /**
+     * Remove um ID, se estiver na lista.
+     *
+     * @param id o ID
+     * @return true se o ID foi removido
+     */
+    boolean remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+        if (ids.length > 4 && size < ids.length / 4) {
+            ids = Arrays.copyOf(ids, ids.length / 2);
+        }
+        return true;
+    }
+
+    /**
+     * Retorna o ID na posição informada.
+     *
+     * @param index a posição, de 0 a {@code size() - 1}
+     * @return o ID
+     */
+    long get(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Retorna a quantidade de IDs.
+     *
+     * @return a quantidade de IDs
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Estima a memória ocupada pela lista e pelo seu vetor.
+     *
+     * @return os bytes estimados
+     */
+    long estimatedBytes() {
+        return LIST_BYTES + MemoryEstimates.arrayBytes(8L * ids.length);
+    }
+}
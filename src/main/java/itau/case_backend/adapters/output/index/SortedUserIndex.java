@@ -0,0 +1,70 @@
+package itau.case_backend.adapters.output.index;
+
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.memory.MemoryEstimates;
+import itau.case_backend.domain.query.UserSort;
+
+import java.util.List;
+
+/**
+ * Visão ordenada de todos os usuários por um campo, mantida a cada escrita.
+ *
+ * <p>Cada usuário ocupa uma entrada (chave, ID) em uma {@link RankedEntryTree}, com a chave
+ * calculada uma única vez na escrita. Uma página é lida a partir da sua posição, contada do
+ * início (ou do fim, na ordem decrescente), sem ordenar a coleção nem percorrer as entradas
+ * anteriores, em O(log n + limite).</p>
+ */
+public class SortedUserIndex implements UserIndex {
+
+    private final UserSort sort;
+    private final RankedEntryTree entries = new RankedEntryTree();
+    private long keyBytes;
+
+    /**
+     * Construtor da visão.
+     *
+     * @param sort o campo de ordenação
+     */
+    public SortedUserIndex(UserSort sort) {
+        this.sort = sort;
+    }
+
+    @Override
+    public void add(User user) {
+        Comparable<?> key = sort.keyOf(user);
+        if (entries.add(key, user.getId()) && key instanceof String text) {
+            keyBytes += MemoryEstimates.stringBytes(text);
+        }
+    }
+
+    @Override
+    public void remove(User user) {
+        Comparable<?> key = sort.keyOf(user);
+        if (entries.remove(key, user.getId()) && key instanceof String text) {
+            keyBytes -= MemoryEstimates.stringBytes(text);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>As chaves textuais (nomes normalizados) pertencem à visão e são contadas aqui: como os
+     * nomes completos raramente se repetem, elas não passam pelo dicionário de strings.</p>
+     */
+    @Override
+    public long estimatedBytes() {
+        return entries.size() * RankedEntryTree.NODE_BYTES + keyBytes;
+    }
+
+    /**
+     * Busca os IDs de uma página da visão.
+     *
+     * @param descending indica se a ordem é decrescente
+     * @param offset     a quantidade de IDs a pular
+     * @param limit      a quantidade máxima de IDs a devolver
+     * @return os IDs da página, na ordem solicitada
+     */
+    public List<Long> findIds(boolean descending, long offset, int limit) {
+        return entries.page(descending, offset, limit);
+    }
+}
@@ -0,0 +1,34 @@
+package itau.case_backend.adapters.output.index;
+
+import itau.case_backend.domain.entities.User;
+
+/**
+ * Estrutura auxiliar mantida incrementalmente a cada escrita do repositório.
+ *
+ * <p>O repositório chama {@link #remove(User)} com o estado anterior e {@link #add(User)} com o
+ * novo estado de cada usuário, sempre sob a sua trava de escrita. As implementações não
+ * precisam ser seguras para escritas concorrentes.</p>
+ */
+public interface UserIndex {
+
+    /**
+     * Inclui um usuário no índice.
+     *
+     * @param user o estado atual do usuário
+     */
+    void add(User user);
+
+    /**
+     * Remove um usuário do índice.
+     *
+     * @param user o estado do usuário no momento em que foi incluído
+     */
+    void remove(User user);
+
+    /**
+     * Estima a memória ocupada pelo índice, a partir de contadores mantidos nas escritas.
+     *
+     * @return o tamanho estimado, em bytes
+     */
+    long estimatedBytes();
+}
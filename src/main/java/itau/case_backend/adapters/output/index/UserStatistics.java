@@ -0,0 +1,111 @@
+package itau.case_backend.adapters.output.index;
+
+import itau.case_backend.domain.dtos.UserStatsDTO;
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.memory.MemoryEstimates;
+import itau.case_backend.domain.query.EmailDomains;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Estatísticas de usuários mantidas incrementalmente.
+ *
+ * <p>Cada escrita atualiza contadores em O(1) (o mapa de idades tem no máximo algumas
+ * centenas de chaves distintas). A leitura percorre apenas as idades distintas e os
+ * domínios de e-mail, nunca os usuários.</p>
+ */
+public class UserStatistics implements UserIndex {
+
+    private static final int AGE_BUCKET_WIDTH = 10;
+
+    private final TreeMap<Integer, Long> ageCounts = new TreeMap<>();
+    private final Map<String, Long> domainCounts = new HashMap<>();
+    private long totalUsers;
+    private long agedUsers;
+    private long ageSum;
+    private long domainKeyBytes;
+
+    @Override
+    public void add(User user) {
+        totalUsers++;
+        if (user.getAge() != null) {
+            agedUsers++;
+            ageSum += user.getAge();
+            ageCounts.merge(user.getAge(), 1L, Long::sum);
+        }
+        String domain = EmailDomains.of(user.getEmail());
+        if (!domain.isEmpty() && domainCounts.merge(domain, 1L, Long::sum) == 1L) {
+            domainKeyBytes += MemoryEstimates.stringBytes(domain);
+        }
+    }
+
+    @Override
+    public void remove(User user) {
+        totalUsers--;
+        if (user.getAge() != null) {
+            agedUsers--;
+            ageSum -= user.getAge();
+            ageCounts.computeIfPresent(user.getAge(), (age, count) -> count == 1 ? null : count - 1);
+        }
+        String domain = EmailDomains.of(user.getEmail());
+        if (!domain.isEmpty() && domainCounts.computeIfPresent(domain, (key, count) -> count == 1 ? null : count - 1) == null) {
+            domainKeyBytes -= MemoryEstimates.stringBytes(domain);
+        }
+    }
+
+    @Override
+    public long estimatedBytes() {
+        return ageCounts.size() * (MemoryEstimates.TREE_ENTRY + MemoryEstimates.BOXED)
+                + domainCounts.size() * (MemoryEstimates.HASH_ENTRY + MemoryEstimates.BOXED) + domainKeyBytes;
+    }
+
+    /**
+     * Monta uma cópia das estatísticas atuais.
+     *
+     * @param topDomains quantidade de domínios de e-mail mais frequentes a incluir
+     * @return as estatísticas atuais
+     */
+    public UserStatsDTO snapshot(int topDomains) {
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (Map.Entry<Integer, Long> entry : ageCounts.entrySet()) {
+            int lower = Math.floorDiv(entry.getKey(), AGE_BUCKET_WIDTH) * AGE_BUCKET_WIDTH;
+            histogram.merge(lower + "-" + (lower + AGE_BUCKET_WIDTH - 1), entry.getValue(), Long::sum);
+        }
+
+        return new UserStatsDTO(
+                totalUsers,
+                ageCounts.isEmpty() ? null : ageCounts.firstKey(),
+                ageCounts.isEmpty() ? null : ageCounts.lastKey(),
+                agedUsers == 0 ? null : (double) ageSum / agedUsers,
+                histogram,
+                topDomains(topDomains));
+    }
+
+    private Map<String, Long> topDomains(int limit) {
+        Comparator<Map.Entry<String, Long>> byFrequency = Map.Entry.<String, Long>comparingByValue()
+                .thenComparing(Map.Entry.<String, Long>comparingByKey().reversed());
+
+        PriorityQueue<Map.Entry<String, Long>> top = new PriorityQueue<>(byFrequency);
+        if (limit > 0) {
+            for (Map.Entry<String, Long> entry : domainCounts.entrySet()) {
+                top.offer(entry);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+        }
+
+        List<Map.Entry<String, Long>> ordered = new ArrayList<>(top);
+        ordered.sort(byFrequency.reversed());
+        Map<String, Long> result = new LinkedHashMap<>();
+        ordered.forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+}
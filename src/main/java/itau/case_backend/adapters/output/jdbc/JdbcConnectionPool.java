@@ -0,0 +1,245 @@
+package itau.case_backend.adapters.output.jdbc;
+
+import itau.case_backend.config.exception.DeadlineExceededException;
+import itau.case_backend.config.exception.UserStorageException;
+import itau.case_backend.domain.deadline.RequestDeadline;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool limitado de conexões JDBC, com um cache de comandos preparados por conexão.
+ *
+ * <p>No máximo {@code maxConnections} conexões existem ao mesmo tempo; são abertas sob demanda
+ * e, ao serem devolvidas, ficam ociosas para o próximo uso. Quem pede uma conexão com todas em
+ * uso espera até {@code acquireTimeoutMillis} e, depois disso, recebe uma
+ * {@link UserStorageException}, de modo que uma sobrecarga do banco não acumula threads
+ * indefinidamente.</p>
+ *
+ * <p>Cada conexão guarda os seus {@link PreparedStatement} pelo texto SQL, e cada comando é
+ * preparado uma única vez por conexão. Uma conexão que falha durante o uso é descartada com
+ * os seus comandos, e uma nova é aberta no próximo pedido.</p>
+ *
+ * <p>Com um {@link RequestDeadline} definido, a espera por conexão não passa do prazo e cada
+ * consulta ({@code SELECT}) recebe o tempo restante como {@code queryTimeout}, de modo que o banco
+ * cancela leituras de requisições já abandonadas. Os comandos de escrita não têm tempo máximo:
+ * uma gravação já iniciada vai até o fim, para que a requisição não termine com um 504 depois de
+ * a gravação ter sido confirmada, nem deixe um lote gravado pela metade.</p>
+ */
+public class JdbcConnectionPool implements AutoCloseable {
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final long acquireTimeoutMillis;
+    private final Semaphore permits;
+    private final BlockingQueue<PooledConnection> idle;
+    private volatile boolean closed;
+
+    /**
+     * Construtor do pool.
+     *
+     * @param url                  URL JDBC do banco.
+     * @param username             usuário do banco.
+     * @param password             senha do banco.
+     * @param maxConnections       quantidade máxima de conexões abertas.
+     * @param acquireTimeoutMillis tempo máximo, em milissegundos, de espera por uma conexão livre.
+     */
+    public JdbcConnectionPool(String url, String username, String password, int maxConnections, long acquireTimeoutMillis) {
+        if (maxConnections < 1) {
+            throw new IllegalArgumentException("O pool deve ter pelo menos uma conexão");
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.permits = new Semaphore(maxConnections, true);
+        this.idle = new ArrayBlockingQueue<>(maxConnections);
+    }
+
+    /**
+     * Executa um trabalho com uma conexão do pool, devolvendo-a ao final. Transações não
+     * confirmadas são desfeitas; após uma falha, a conexão só volta ao pool se continuar válida.
+     * Um erro ao devolvê-la descarta a conexão sem alterar o resultado do trabalho.
+     *
+     * @param work o trabalho
+     * @param <T>  o tipo do resultado
+     * @return o resultado do trabalho
+     * @throws UserStorageException se não houver conexão livre a tempo ou se o trabalho falhar
+     * @throws DeadlineExceededException se o prazo da requisição terminar antes ou durante o trabalho
+     */
+    public <T> T execute(SqlWork<T> work) {
+        RequestDeadline.check("jdbc.acquire");
+        acquirePermit();
+        PooledConnection connection = null;
+        boolean completed = false;
+        try {
+            connection = idle.poll();
+            if (connection == null) {
+                connection = new PooledConnection(DriverManager.getConnection(url, username, password));
+            }
+            T result = work.run(connection);
+            completed = true;
+            return result;
+        } catch (SQLException exception) {
+            if (exception instanceof SQLTimeoutException && RequestDeadline.isExpired()) {
+                RequestDeadline.check("jdbc.query");
+            }
+            throw new UserStorageException("Falha ao acessar o banco de usuários: " + exception.getMessage(), exception);
+        } finally {
+            if (connection != null) {
+                release(connection, completed);
+            }
+            permits.release();
+        }
+    }
+
+    /**
+     * Retorna a quantidade de conexões ociosas.
+     *
+     * @return a quantidade de conexões abertas e livres
+     */
+    public int idleConnections() {
+        return idle.size();
+    }
+
+    /**
+     * Fecha as conexões ociosas. Conexões em uso são fechadas ao serem devolvidas.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (PooledConnection connection = idle.poll(); connection != null; connection = idle.poll()) {
+            connection.close();
+        }
+    }
+
+    private void acquirePermit() {
+        if (closed) {
+            throw new UserStorageException("O pool de conexões foi encerrado", null);
+        }
+        try {
+            if (!permits.tryAcquire(Math.min(acquireTimeoutMillis, RequestDeadline.remainingMillis()), TimeUnit.MILLISECONDS)) {
+                RequestDeadline.check("jdbc.acquire");
+                throw new UserStorageException("Nenhuma conexão livre com o banco de usuários após " + acquireTimeoutMillis + " ms", null);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new UserStorageException("Interrompido enquanto aguardava uma conexão", exception);
+        }
+    }
+
+    private void release(PooledConnection connection, boolean completed) {
+        try {
+            if (!completed && !connection.connection.isValid(1)) {
+                connection.close();
+                return;
+            }
+            if (!connection.connection.getAutoCommit()) {
+                connection.connection.rollback();
+                connection.connection.setAutoCommit(true);
+            }
+        } catch (SQLException exception) {
+            // O trabalho já terminou; a conexão é apenas descartada, sem mudar o seu resultado.
+            connection.close();
+            return;
+        }
+        if (closed || !idle.offer(connection)) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Trabalho executado com uma conexão do pool.
+     *
+     * @param <T> o tipo do resultado
+     */
+    @FunctionalInterface
+    public interface SqlWork<T> {
+
+        /**
+         * Executa o trabalho.
+         *
+         * @param connection a conexão emprestada
+         * @return o resultado
+         * @throws SQLException se o banco falhar
+         */
+        T run(PooledConnection connection) throws SQLException;
+    }
+
+    /**
+     * Conexão emprestada pelo pool, com os seus comandos preparados.
+     */
+    public static final class PooledConnection {
+
+        private final Connection connection;
+        private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        /**
+         * Retorna o comando preparado para o SQL, preparando-o no primeiro uso nesta conexão.
+         * Os parâmetros e lotes anteriores são limpos. Nas consultas, o tempo máximo de execução
+         * passa a ser o restante do prazo da requisição, se houver; as escritas não têm limite.
+         *
+         * @param sql o texto SQL
+         * @return o comando preparado
+         * @throws SQLException se o comando não puder ser preparado
+         */
+        public PreparedStatement prepare(String sql) throws SQLException {
+            PreparedStatement statement = statements.get(sql);
+            if (statement == null) {
+                statement = connection.prepareStatement(sql);
+                statements.put(sql, statement);
+            } else {
+                statement.clearParameters();
+                statement.clearBatch();
+            }
+            long remaining = isQuery(sql) ? RequestDeadline.remainingMillis() : Long.MAX_VALUE;
+            statement.setQueryTimeout(remaining == Long.MAX_VALUE ? 0 : (int) Math.max(1, (remaining + 999) / 1000));
+            return statement;
+        }
+
+        private static boolean isQuery(String sql) {
+            return sql.stripLeading().regionMatches(true, 0, "SELECT", 0, 6);
+        }
+
+        /**
+         * Retorna a conexão JDBC, para controle de transação. A conexão não deve ser fechada
+         * por quem a recebe.
+         *
+         * @return a conexão
+         */
+        public Connection connection() {
+            return connection;
+        }
+
+        /**
+         * Retorna a quantidade de comandos preparados nesta conexão.
+         *
+         * @return a quantidade de comandos
+         */
+        public int preparedStatements() {
+            return statements.size();
+        }
+
+        private void close() {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // A conexão já está sendo descartada.
+            }
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package itau.case_backend.adapters.output.jdbc;
+
+import itau.case_backend.adapters.output.index.UserStatistics;
+import itau.case_backend.config.exception.EmailAlreadyExistsException;
+import itau.case_backend.domain.dtos.UserPageDTO;
+import itau.case_backend.domain.dtos.UserStatsDTO;
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.events.UserChangeType;
+import itau.case_backend.domain.query.UserSort;
+import itau.case_backend.ports.output.UserOutputPort;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Implementação do repositório de usuários sobre um banco relacional, acessado por JDBC.
+ *
+ * <p>Ativada com {@code users.storage=jdbc}. Por padrão usa um banco H2 em memória; qualquer
+ * banco com driver JDBC no classpath pode ser configurado em {@code users.jdbc.url}. A tabela
+ * e os índices por e-mail e idade são criados na inicialização, se ainda não existirem, de modo
+ * que a busca por e-mail (feita a cada escrita pelo serviço) é resolvida pelo índice. O índice
+ * por e-mail é único: duas escritas concorrentes com o mesmo e-mail, que passam ambas pela
+ * verificação do serviço, não gravam duplicatas, e {@link #saveUser(User)} recusa a segunda com
+ * {@link EmailAlreadyExistsException}. Em {@link #saveAllUsers(List)}, a violação desfaz o lote
+ * inteiro.</p>
+ *
+ * <p>As conexões vêm de um {@link JdbcConnectionPool} limitado, e cada comando é preparado uma
+ * única vez por conexão. {@link #saveAllUsers(List)} grava todos os usuários em uma única
+ * transação, com inserções e atualizações enviadas em lotes ({@code addBatch}).</p>
+ *
+ * <p>IDs e versões são gerados por esta instância, a partir dos maiores valores gravados na
+ * inicialização; o banco não deve ser escrito por outra instância ao mesmo tempo. As remoções
+ * não deixam lápides, de modo que a sincronização incremental sempre devolve o estado
+ * completo.</p>
+ */
+@Repository
+@ConditionalOnProperty(name = "users.storage", havingValue = "jdbc")
+public class JdbcUserRepository implements UserOutputPort {
+
+    private static final String COLUMNS = "id, name, email, age, version";
+    private static final String SELECT_ALL = "SELECT " + COLUMNS + " FROM users ORDER BY id";
+    private static final String SELECT_BY_ID = "SELECT " + COLUMNS + " FROM users WHERE id = ?";
+    private static final String SELECT_BY_EMAIL = "SELECT " + COLUMNS + " FROM users WHERE email = ? ORDER BY id FETCH FIRST 1 ROWS ONLY";
+    private static final String COUNT = "SELECT COUNT(*) FROM users";
+    private static final String SELECT_BY_AGE = "SELECT " + COLUMNS + " FROM users WHERE age BETWEEN ? AND ? ORDER BY age, id OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+    private static final String COUNT_BY_AGE = "SELECT COUNT(*) FROM users WHERE age BETWEEN ? AND ?";
+    private static final String INSERT = "INSERT INTO users (name, email, age, version, id) VALUES (?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE users SET name = ?, email = ?, age = ?, version = ? WHERE id = ?";
+    private static final String DELETE = "DELETE FROM users WHERE id = ?";
+    private static final String DELETE_ALL = "DELETE FROM users";
+    private static final String EMAIL_UNIQUE_INDEX = "users_email_uq";
+
+    private final JdbcConnectionPool pool;
+    private final AtomicLong nextId = new AtomicLong();
+    private final AtomicLong changeSequence = new AtomicLong();
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param url                  URL JDBC do banco.
+     * @param username             usuário do banco.
+     * @param password             senha do banco.
+     * @param maxConnections       quantidade máxima de conexões abertas.
+     * @param acquireTimeoutMillis tempo máximo, em milissegundos, de espera por uma conexão livre.
+     */
+    @Autowired
+    public JdbcUserRepository(@Value("${users.jdbc.url:jdbc:h2:mem:users;DB_CLOSE_DELAY=-1}") String url,
+                              @Value("${users.jdbc.username:sa}") String username,
+                              @Value("${users.jdbc.password:}") String password,
+                              @Value("${users.jdbc.max-connections:10}") int maxConnections,
+                              @Value("${users.jdbc.acquire-timeout-ms:5000}") long acquireTimeoutMillis) {
+        this(new JdbcConnectionPool(url, username, password, maxConnections, acquireTimeoutMillis));
+    }
+
+    /**
+     * Construtor a partir de um pool já criado. Cria o esquema, se necessário.
+     *
+     * @param pool o pool de conexões
+     */
+    public JdbcUserRepository(JdbcConnectionPool pool) {
+        this.pool = pool;
+        pool.execute(connection -> {
+            try (Statement statement = connection.connection().createStatement()) {
+                statement.execute("CREATE TABLE IF NOT EXISTS users ("
+                        + "id BIGINT PRIMARY KEY, name VARCHAR(255), email VARCHAR(255), age INT, version BIGINT NOT NULL)");
+                statement.execute("CREATE UNIQUE INDEX IF NOT EXISTS " + EMAIL_UNIQUE_INDEX + " ON users (email)");
+                statement.execute("DROP INDEX IF EXISTS users_email_idx");
+                statement.execute("CREATE INDEX IF NOT EXISTS users_age_idx ON users (age, id)");
+                try (ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0), COALESCE(MAX(version), 0) FROM users")) {
+                    rs.next();
+                    nextId.set(rs.getLong(1) + 1);
+                    changeSequence.set(rs.getLong(2));
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Recupera todos os usuários armazenados, ordenados por ID.
+     *
+     * @return lista de todos os usuários
+     */
+    @Override
+    public List<User> findAllUsers() {
+        return pool.execute(connection -> readUsers(connection.prepare(SELECT_ALL)));
+    }
+
+    /**
+     * Conta os usuários armazenados.
+     *
+     * @return a quantidade de usuários
+     */
+    @Override
+    public long countUsers() {
+        return pool.execute(connection -> readCount(connection.prepare(COUNT)));
+    }
+
+    /**
+     * Recupera um usuário pelo ID, pela chave primária.
+     *
+     * @param id o ID do usuário a ser recuperado
+     * @return um Optional contendo o usuário, ou Optional.empty() se não encontrado
+     */
+    @Override
+    public Optional<User> findUserById(long id) {
+        return pool.execute(connection -> {
+            PreparedStatement statement = connection.prepare(SELECT_BY_ID);
+            statement.setLong(1, id);
+            return readUsers(statement).stream().findFirst();
+        });
+    }
+
+    /**
+     * Recupera um usuário pelo email, pelo índice de e-mails.
+     *
+     * @param email o email do usuário a ser recuperado
+     * @return um Optional contendo o usuário, ou Optional.empty() se não encontrado
+     */
+    @Override
+    public Optional<User> findUserByEmail(String email) {
+        return pool.execute(connection -> {
+            PreparedStatement statement = connection.prepare(SELECT_BY_EMAIL);
+            statement.setString(1, email);
+            return readUsers(statement).stream().findFirst();
+        });
+    }
+
+    /**
+     * Recupera uma página de usuários com idade na faixa informada, pelo índice de idades.
+     *
+     * @param minAge a idade mínima, inclusiva, ou {@code null} para não limitar
+     * @param maxAge a idade máxima, inclusiva, ou {@code null} para não limitar
+     * @param offset a quantidade de usuários a pular
+     * @param limit  a quantidade máxima de usuários na página
+     * @return a página de usuários e o total na faixa
+     */
+    @Override
+    public UserPageDTO findUsersByAgeRange(Integer minAge, Integer maxAge, int offset, int limit) {
+        int from = minAge == null ? Integer.MIN_VALUE : minAge;
+        int to = maxAge == null ? Integer.MAX_VALUE : maxAge;
+        return pool.execute(connection -> {
+            PreparedStatement count = connection.prepare(COUNT_BY_AGE);
+            count.setInt(1, from);
+            count.setInt(2, to);
+            long total = readCount(count);
+
+            PreparedStatement page = connection.prepare(SELECT_BY_AGE);
+            page.setInt(1, from);
+            page.setInt(2, to);
+            page.setLong(3, offset);
+            page.setInt(4, limit);
+            return new UserPageDTO(limit == 0 ? List.of() : readUsers(page), total);
+        });
+    }
+
+    /**
+     * Estima os usuários na faixa de idade com uma contagem sobre o índice de idades.
+     *
+     * @param minAge a idade mínima, inclusiva, ou {@code null} para não limitar
+     * @param maxAge a idade máxima, inclusiva, ou {@code null} para não limitar
+     * @return a quantidade de usuários na faixa
+     */
+    @Override
+    public long estimateUsersByAgeRange(Integer minAge, Integer maxAge) {
+        int from = minAge == null ? Integer.MIN_VALUE : minAge;
+        int to = maxAge == null ? Integer.MAX_VALUE : maxAge;
+        return pool.execute(connection -> {
+            PreparedStatement count = connection.prepare(COUNT_BY_AGE);
+            count.setInt(1, from);
+            count.setInt(2, to);
+            return readCount(count);
+        });
+    }
+
+    /**
+     * Recupera uma página de todos os usuários ordenados por um campo. A ordenação por ID usa a
+     * chave primária; as demais usam a implementação padrão, pois a ordem por nome considera o
+     * nome normalizado, que não é guardado no banco.
+     *
+     * @param sort       o campo de ordenação
+     * @param descending indica se a ordem é decrescente
+     * @param offset     a quantidade de usuários a pular
+     * @param limit      a quantidade máxima de usuários na página
+     * @return a página de usuários e o total de usuários
+     */
+    @Override
+    public UserPageDTO findUsersSorted(UserSort sort, boolean descending, int offset, int limit) {
+        if (sort != UserSort.ID) {
+            return UserOutputPort.super.findUsersSorted(sort, descending, offset, limit);
+        }
+        String sql = "SELECT " + COLUMNS + " FROM users ORDER BY id " + (descending ? "DESC" : "ASC")
+                + " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY";
+        return pool.execute(connection -> {
+            long total = readCount(connection.prepare(COUNT));
+            PreparedStatement page = connection.prepare(sql);
+            page.setLong(1, offset);
+            page.setInt(2, limit);
+            return new UserPageDTO(limit == 0 ? List.of() : readUsers(page), total);
+        });
+    }
+
+    /**
+     * Calcula as estatísticas dos usuários lendo a tabela uma vez, sem reter os usuários.
+     *
+     * @param topDomains quantidade de domínios de e-mail mais frequentes a incluir
+     * @return as estatísticas atuais
+     */
+    @Override
+    public UserStatsDTO getStatistics(int topDomains) {
+        return pool.execute(connection -> {
+            UserStatistics statistics = new UserStatistics();
+            try (ResultSet rs = connection.prepare(SELECT_ALL).executeQuery()) {
+                while (rs.next()) {
+                    statistics.add(toUser(rs));
+                }
+            }
+            return statistics.snapshot(topDomains);
+        });
+    }
+
+    /**
+     * Retorna a versão da última escrita desta instância.
+     *
+     * @return a versão atual
+     */
+    @Override
+    public long getStoreVersion() {
+        return changeSequence.get();
+    }
+
+    /**
+     * Salva ou atualiza um usuário. Se o ID do usuário for 0, um novo ID é gerado.
+     *
+     * @param user o usuário a ser salvo ou atualizado
+     * @return o usuário salvo ou atualizado
+     */
+    @Override
+    public User saveUser(User user) {
+        return pool.execute(connection -> {
+            boolean created = prepareForWrite(user);
+            try {
+                if (created || executeWrite(connection.prepare(UPDATE), user) == 0) {
+                    executeWrite(connection.prepare(INSERT), user);
+                }
+            } catch (SQLException exception) {
+                if (isDuplicateEmail(exception)) {
+                    throw new EmailAlreadyExistsException(user.getEmail());
+                }
+                throw exception;
+            }
+            return user;
+        });
+    }
+
+    /**
+     * Salva ou atualiza vários usuários em uma única transação, com os comandos enviados em
+     * lotes. Usuários com ID 0 recebem um novo ID.
+     *
+     * @param users os usuários a serem salvos ou atualizados
+     * @return os usuários salvos, na mesma ordem
+     */
+    @Override
+    public List<User> saveAllUsers(List<User> users) {
+        if (users.isEmpty()) {
+            return users;
+        }
+        return pool.execute(connection -> {
+            Connection jdbc = connection.connection();
+            jdbc.setAutoCommit(false);
+
+            List<User> updates = new ArrayList<>();
+            PreparedStatement insert = connection.prepare(INSERT);
+            for (User user : users) {
+                if (prepareForWrite(user)) {
+                    addToBatch(insert, user);
+                } else {
+                    updates.add(user);
+                }
+            }
+            if (!updates.isEmpty()) {
+                PreparedStatement update = connection.prepare(UPDATE);
+                for (User user : updates) {
+                    addToBatch(update, user);
+                }
+                int[] counts = update.executeBatch();
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) {
+                        addToBatch(insert, updates.get(i));
+                    }
+                }
+            }
+            insert.executeBatch();
+            jdbc.commit();
+            return users;
+        });
+    }
+
+    /**
+     * Substitui todos os usuários em uma única transação: as leituras de outras conexões veem o
+     * estado anterior até a confirmação. Os usuários atuais são lidos em sequência na mesma
+     * transação, retendo apenas os removidos e os IDs já existentes da lista, e as alterações
+     * são informadas após a confirmação.
+     *
+     * @param users    os usuários do novo estado, com IDs atribuídos
+     * @param listener recebe o tipo de cada alteração e o usuário
+     */
+    @Override
+    public void replaceAllUsers(List<User> users, BiConsumer<UserChangeType, User> listener) {
+        Set<Long> kept = new HashSet<>();
+        users.forEach(user -> kept.add(user.getId()));
+        Set<Long> existing = new HashSet<>();
+        List<User> removed = new ArrayList<>();
+        pool.execute(connection -> {
+            Connection jdbc = connection.connection();
+            jdbc.setAutoCommit(false);
+            try (ResultSet rs = connection.prepare(SELECT_ALL).executeQuery()) {
+                while (rs.next()) {
+                    User user = toUser(rs);
+                    if (kept.contains(user.getId())) {
+                        existing.add(user.getId());
+                    } else {
+                        removed.add(user);
+                    }
+                }
+            }
+            connection.prepare(DELETE_ALL).executeUpdate();
+            PreparedStatement insert = connection.prepare(INSERT);
+            for (User user : users) {
+                prepareForWrite(user);
+                addToBatch(insert, user);
+            }
+            insert.executeBatch();
+            jdbc.commit();
+            changeSequence.incrementAndGet();
+            return null;
+        });
+        removed.forEach(user -> listener.accept(UserChangeType.DELETED, user));
+        for (User user : users) {
+            listener.accept(existing.contains(user.getId()) ? UserChangeType.UPDATED : UserChangeType.CREATED, user);
+        }
+    }
+
+    /**
+     * Exclui um usuário pelo ID.
+     *
+     * @param id o ID do usuário a ser excluído
+     */
+    @Override
+    public void deleteUserById(long id) {
+        pool.execute(connection -> {
+            PreparedStatement statement = connection.prepare(DELETE);
+            statement.setLong(1, id);
+            if (statement.executeUpdate() > 0) {
+                changeSequence.incrementAndGet();
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Fecha as conexões do pool.
+     */
+    @PreDestroy
+    public void close() {
+        pool.close();
+    }
+
+    /**
+     * Atribui o ID, se necessário, e a próxima versão ao usuário.
+     *
+     * @return {@code true} se o usuário recebeu um novo ID
+     */
+    private boolean prepareForWrite(User user) {
+        boolean created = user.getId() == 0;
+        if (created) {
+            user.setId(nextId.getAndIncrement());
+        } else {
+            nextId.accumulateAndGet(user.getId() + 1, Math::max);
+        }
+        user.setVersion(changeSequence.incrementAndGet());
+        return created;
+    }
+
+    private static boolean isDuplicateEmail(SQLException exception) {
+        String message = exception.getMessage();
+        return (exception instanceof SQLIntegrityConstraintViolationException || "23505".equals(exception.getSQLState()))
+                && message != null && message.toLowerCase(Locale.ROOT).contains(EMAIL_UNIQUE_INDEX);
+    }
+
+    private static int executeWrite(PreparedStatement statement, User user) throws SQLException {
+        bind(statement, user);
+        return statement.executeUpdate();
+    }
+
+    private static void addToBatch(PreparedStatement statement, User user) throws SQLException {
+        bind(statement, user);
+        statement.addBatch();
+    }
+
+    private static void bind(PreparedStatement statement, User user) throws SQLException {
+        statement.setString(1, user.getName());
+        statement.setString(2, user.getEmail());
+        if (user.getAge() == null) {
+            statement.setNull(3, Types.INTEGER);
+        } else {
+            statement.setInt(3, user.getAge());
+        }
+        statement.setLong(4, user.getVersion());
+        statement.setLong(5, user.getId());
+    }
+
+    private static List<User> readUsers(PreparedStatement statement) throws SQLException {
+        List<User> users = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                users.add(toUser(rs));
+            }
+        }
+        return users;
+    }
+
+    private static long readCount(PreparedStatement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static User toUser(ResultSet rs) throws SQLException {
+        int age = rs.getInt(4);
+        Integer nullableAge = rs.wasNull() ? null : age;
+        User user = new User(rs.getLong(1), rs.getString(2), rs.getString(3), nullableAge);
+        user.setVersion(rs.getLong(5));
+        return user;
+    }
+}
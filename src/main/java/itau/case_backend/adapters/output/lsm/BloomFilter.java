@@ -0,0 +1,122 @@
+package itau.case_backend.adapters.output.lsm;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Filtro de Bloom sobre IDs de usuários, usado para descartar segmentos que certamente não
+ * contêm um ID sem ler o disco.
+ *
+ * <p>Cada ID marca {@code hashes} bits, calculados por hashing duplo a partir de um único
+ * embaralhamento de 64 bits. Com cerca de 10 bits por ID e 7 funções, a taxa de falsos
+ * positivos fica perto de 1%.</p>
+ */
+public final class BloomFilter {
+
+    /** Bits por ID usados por {@link #forExpected(long)}. */
+    public static final int BITS_PER_KEY = 10;
+
+    private static final int DEFAULT_HASHES = 7;
+
+    private final long[] words;
+    private final int hashes;
+
+    private BloomFilter(long[] words, int hashes) {
+        this.words = words;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Cria um filtro vazio dimensionado para a quantidade de IDs esperada.
+     *
+     * @param expectedKeys a quantidade de IDs que serão incluídos
+     * @return o filtro
+     */
+    public static BloomFilter forExpected(long expectedKeys) {
+        long bits = Math.max(64, expectedKeys * BITS_PER_KEY);
+        return new BloomFilter(new long[(int) ((bits + 63) / 64)], DEFAULT_HASHES);
+    }
+
+    /**
+     * Inclui um ID.
+     *
+     * @param id o ID
+     */
+    public void add(long id) {
+        long hash = mix(id);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long bits = (long) words.length * 64;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bits;
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /**
+     * Verifica se o ID pode ter sido incluído.
+     *
+     * @param id o ID
+     * @return {@code false} se o ID certamente não foi incluído
+     */
+    public boolean mightContain(long id) {
+        long hash = mix(id);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long bits = (long) words.length * 64;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bits;
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retorna o tamanho do filtro em memória.
+     *
+     * @return os bytes ocupados pelos bits
+     */
+    public long sizeInBytes() {
+        return (long) words.length * Long.BYTES;
+    }
+
+    /**
+     * Grava o filtro.
+     *
+     * @param out o destino
+     * @throws IOException se a escrita falhar
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(words.length);
+        out.writeInt(hashes);
+        for (long word : words) {
+            out.writeLong(word);
+        }
+    }
+
+    /**
+     * Lê um filtro gravado por {@link #writeTo(DataOutput)}.
+     *
+     * @param in a origem
+     * @return o filtro
+     * @throws IOException se a leitura falhar
+     */
+    public static BloomFilter readFrom(DataInput in) throws IOException {
+        long[] words = new long[in.readInt()];
+        int hashes = in.readInt();
+        for (int i = 0; i < words.length; i++) {
+            words[i] = in.readLong();
+        }
+        return new BloomFilter(words, hashes);
+    }
+
+    private static long mix(long id) {
+        long z = id + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
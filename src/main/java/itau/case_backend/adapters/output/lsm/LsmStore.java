@@ -0,0 +1,857 @@
+package itau.case_backend.adapters.output.lsm;
+
+import itau.case_backend.config.exception.UserStorageException;
+import itau.case_backend.domain.deadline.RequestDeadline;
+import itau.case_backend.domain.dtos.UserChangesDTO;
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.events.UserChangeType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Armazenamento de usuários estruturado em log com intercalação (LSM), em arquivos locais.
+ *
+ * <p>As escritas são anexadas ao {@link WriteAheadLog} e guardadas, codificadas, em uma
+ * memtable ordenada por ID. Quando a memtable passa de {@code memtableMaxBytes}, ela é gravada
+ * como um {@link Segment} imutável e o log é esvaziado. Uma leitura por ID consulta a memtable e
+ * depois os segmentos, do mais recente para o mais antigo, e o filtro de Bloom de cada segmento
+ * evita a leitura de disco na maioria dos segmentos que não têm o ID. Remoções são gravadas como
+ * lápides.</p>
+ *
+ * <p>Quando existem {@code compactionThreshold} segmentos, uma thread de fundo os intercala em um
+ * único segmento, descartando versões substituídas e lápides, e troca os segmentos sob a trava
+ * de escrita. As leituras completas ({@link #scan(Consumer)}) intercalam a memtable e os
+ * segmentos com iteradores, lendo cada segmento sequencialmente, sem carregar os dados em
+ * memória. Elas fixam o estado do início sob a trava de leitura, copiando a memtable (limitada a
+ * {@code memtableMaxBytes}) e reservando os segmentos, e leem fora da trava: escritas e
+ * compactações prosseguem durante a leitura, e os segmentos substituídos só são fechados ao fim
+ * dela.</p>
+ *
+ * <p>O índice de e-mails fica no próprio armazenamento: cada e-mail gera uma entrada com chave
+ * negativa (o hash de 64 bits do e-mail com o bit de sinal ligado) que aponta para o ID do
+ * usuário. Essas chaves nunca coincidem com IDs, passam pelo log, pela memtable, pelos filtros de
+ * Bloom e pela compactação como os usuários, e são ignoradas pelas leituras completas. Apenas a
+ * memtable, os índices esparsos e os filtros ficam em memória; a quantidade de usuários é
+ * recontada por uma leitura completa na abertura.</p>
+ *
+ * <p>As buscas por ID verificam o {@link RequestDeadline} da requisição antes de começar, e as
+ * leituras completas a cada 1024 usuários, abandonando a leitura dos segmentos quando o prazo
+ * termina. As escritas não são interrompidas.</p>
+ */
+public class LsmStore implements AutoCloseable {
+
+    /** Nome do arquivo do log de escrita antecipada. */
+    public static final String WAL_FILE = "wal.log";
+
+    /** Quantidade de registros entre entradas do índice esparso dos segmentos. */
+    public static final int INDEX_INTERVAL = 16;
+
+    /** Arquivo que indica que as entradas do índice de e-mails já foram gravadas no armazenamento. */
+    public static final String EMAIL_INDEX_MARKER = "email-index.v1";
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.sst");
+    private static final long MEMTABLE_ENTRY_OVERHEAD = 56;
+    private static final long SCAN_DEADLINE_INTERVAL = 1023;
+
+    private final Path directory;
+    private final long memtableMaxBytes;
+    private final int compactionThreshold;
+    private final WriteAheadLog wal;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService compactor;
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private final LongAdder segmentReads = new LongAdder();
+    private final LongAdder bloomSkips = new LongAdder();
+    private TreeMap<Long, byte[]> memtable = new TreeMap<>();
+    private long memtableBytes;
+    private List<Segment> segments = new ArrayList<>();
+    private long nextSegmentNumber = 1;
+    private long nextId = 1;
+    private long sequence;
+    private long liveCount;
+    private long compactions;
+    private long tombstoneHorizon;
+
+    private LsmStore(Path directory, long memtableMaxBytes, int compactionThreshold, WriteAheadLog wal) {
+        this.directory = directory;
+        this.memtableMaxBytes = memtableMaxBytes;
+        this.compactionThreshold = Math.max(2, compactionThreshold);
+        this.wal = wal;
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-lsm-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Abre o armazenamento em um diretório, criando-o se necessário, e recupera o seu estado a
+     * partir dos segmentos e do log.
+     *
+     * @param directory           o diretório dos arquivos
+     * @param memtableMaxBytes    tamanho da memtable, em bytes, a partir do qual ela é gravada em disco
+     * @param compactionThreshold quantidade de segmentos que dispara a compactação
+     * @param syncWrites          indica se cada escrita força o log para o disco
+     * @return o armazenamento aberto
+     * @throws UserStorageException se os arquivos não puderem ser lidos
+     */
+    public static LsmStore open(Path directory, long memtableMaxBytes, int compactionThreshold, boolean syncWrites) {
+        try {
+            Files.createDirectories(directory);
+            LsmStore store = new LsmStore(directory, memtableMaxBytes, compactionThreshold,
+                    new WriteAheadLog(directory.resolve(WAL_FILE), syncWrites));
+            store.recover();
+            return store;
+        } catch (IOException exception) {
+            throw new UserStorageException("Falha ao abrir o armazenamento de usuários em " + directory, exception);
+        }
+    }
+
+    /**
+     * Salva um usuário, atribuindo um novo ID se o ID for 0 e a próxima versão.
+     *
+     * @param user o usuário
+     * @return o próprio usuário, com ID e versão atribuídos
+     */
+    public User save(User user) {
+        lock.writeLock().lock();
+        try {
+            write(user);
+            flushIfFull();
+            return user;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Salva vários usuários adquirindo a trava de escrita uma única vez.
+     *
+     * @param users os usuários
+     * @return os próprios usuários, com IDs e versões atribuídos
+     */
+    public List<User> saveAll(List<User> users) {
+        lock.writeLock().lock();
+        try {
+            for (User user : users) {
+                write(user);
+            }
+            flushIfFull();
+            return users;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Substitui todos os usuários com uma única aquisição da trava de escrita: grava lápides para
+     * os usuários ausentes da lista e os registros dos informados, sem que uma leitura veja o
+     * estado intermediário.
+     *
+     * <p>Cada alteração é informada ao {@code listener}, sob a trava: a remoção, com o estado
+     * anterior, de cada usuário ausente, e depois a criação ou a atualização de cada usuário
+     * informado. Apenas os usuários removidos são retidos durante a troca.</p>
+     *
+     * @param users    os usuários do novo estado, com IDs atribuídos
+     * @param listener recebe o tipo de cada alteração e o usuário
+     */
+    public void replaceAll(List<User> users, BiConsumer<UserChangeType, User> listener) {
+        Set<Long> kept = new HashSet<>();
+        users.forEach(user -> kept.add(user.getId()));
+        lock.writeLock().lock();
+        try {
+            List<User> removed = new ArrayList<>();
+            scanLocked(user -> {
+                if (!kept.contains(user.getId())) {
+                    removed.add(user);
+                }
+            });
+            for (User user : removed) {
+                append(UserRecord.tombstone(user.getId(), ++sequence).encode());
+                unindex(user, sequence);
+                liveCount--;
+                listener.accept(UserChangeType.DELETED, user);
+            }
+            for (User user : users) {
+                listener.accept(write(user) ? UserChangeType.CREATED : UserChangeType.UPDATED, user);
+            }
+            flushIfFull();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um usuário, gravando uma lápide.
+     *
+     * @param id o ID do usuário
+     * @return {@code true} se o usuário existia
+     */
+    public boolean delete(long id) {
+        lock.writeLock().lock();
+        try {
+            User previous = read(id);
+            if (previous == null) {
+                return false;
+            }
+            append(UserRecord.tombstone(id, ++sequence).encode());
+            unindex(previous, sequence);
+            liveCount--;
+            flushIfFull();
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca um usuário pelo ID.
+     *
+     * @param id o ID
+     * @return o usuário, ou vazio se não existir
+     */
+    public Optional<User> get(long id) {
+        RequestDeadline.check("lsm.get");
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(read(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca um usuário pelo e-mail, a partir da entrada do e-mail no índice gravado no
+     * armazenamento.
+     *
+     * @param email o e-mail
+     * @return o usuário, ou vazio se não existir
+     */
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            byte[] entry = readRecord(emailKey(email));
+            if (entry == null || UserRecord.isTombstone(entry)) {
+                return Optional.empty();
+            }
+            User user = read(UserRecord.emailEntryUserId(entry));
+            if (user != null && email.equals(user.getEmail())) {
+                return Optional.of(user);
+            }
+            User[] match = new User[1];
+            scanLocked(candidate -> {
+                if (match[0] == null && email.equals(candidate.getEmail())) {
+                    match[0] = candidate;
+                }
+            });
+            return Optional.ofNullable(match[0]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Entrega todos os usuários ao consumidor, em ordem crescente de ID, intercalando a memtable
+     * e os segmentos no estado do início da leitura. A leitura não bloqueia as escritas.
+     *
+     * @param consumer o consumidor
+     */
+    public void scan(Consumer<User> consumer) {
+        Snapshot snapshot = snapshot();
+        try {
+            scanRecords(snapshot.memtable().iterator(), snapshot.segments(), true,
+                    record -> consumer.accept(UserRecord.decode(record).user()));
+        } finally {
+            snapshot.release();
+        }
+    }
+
+    /**
+     * Recupera as alterações ocorridas após uma sequência, com uma leitura sequencial que retém
+     * apenas os usuários alterados e os IDs removidos.
+     *
+     * <p>As lápides ficam nos segmentos até uma compactação, que as descarta. Se a sequência for
+     * anterior à maior versão já compactada, remoções posteriores a ela podem ter sido perdidas
+     * e o estado completo é devolvido, sinalizado por {@link UserChangesDTO#isFullResync()}.</p>
+     *
+     * @param since a última sequência conhecida pelo cliente
+     * @return os usuários alterados e os IDs removidos, ou o estado completo
+     */
+    public UserChangesDTO changesSince(long since) {
+        List<User> users = new ArrayList<>();
+        UserChangesDTO changes = changesSince(since, users::add);
+        return changes.isFullResync() ? new UserChangesDTO(changes.getSequence(), true, users, List.of()) : changes;
+    }
+
+    /**
+     * Recupera as alterações ocorridas após uma sequência, entregando o estado completo, quando
+     * necessário, ao consumidor, à medida que os segmentos são lidos, em vez de reuni-lo em uma
+     * lista. O estado completo devolvido tem as listas vazias.
+     *
+     * <p>A leitura usa o estado do momento da chamada e ocorre fora da trava, como
+     * {@link #scan(Consumer)}: o consumidor pode escrever em um socket sem bloquear as escritas.</p>
+     *
+     * @param since            a última sequência conhecida pelo cliente
+     * @param snapshotConsumer recebe os usuários do estado completo
+     * @return os usuários alterados e os IDs removidos, ou a sequência do estado completo entregue
+     */
+    public UserChangesDTO changesSince(long since, Consumer<User> snapshotConsumer) {
+        boolean fullResync;
+        Snapshot snapshot;
+        lock.readLock().lock();
+        try {
+            fullResync = since < tombstoneHorizon || since > sequence;
+            snapshot = snapshotLocked();
+        } finally {
+            lock.readLock().unlock();
+        }
+        try {
+            if (fullResync) {
+                scanRecords(snapshot.memtable().iterator(), snapshot.segments(), true,
+                        record -> snapshotConsumer.accept(UserRecord.decode(record).user()));
+                return new UserChangesDTO(snapshot.sequence(), true, List.of(), List.of());
+            }
+            List<User> users = new ArrayList<>();
+            List<Long> deletedIds = new ArrayList<>();
+            scanRecords(snapshot.memtable().iterator(), snapshot.segments(), false, record -> {
+                UserRecord decoded = UserRecord.decode(record);
+                if (decoded.version() > since) {
+                    if (decoded.isTombstone()) {
+                        deletedIds.add(decoded.id());
+                    } else {
+                        users.add(decoded.user());
+                    }
+                }
+            });
+            return new UserChangesDTO(snapshot.sequence(), false, users, deletedIds);
+        } finally {
+            snapshot.release();
+        }
+    }
+
+    /**
+     * Retorna a quantidade de usuários.
+     *
+     * @return a quantidade de usuários
+     */
+    public long count() {
+        lock.readLock().lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna a sequência da última escrita.
+     *
+     * @return a versão atual
+     */
+    public long version() {
+        lock.readLock().lock();
+        try {
+            return sequence;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Grava a memtable em um novo segmento, se não estiver vazia.
+     */
+    public void flush() {
+        lock.writeLock().lock();
+        try {
+            flushLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compacta imediatamente todos os segmentos atuais em um único segmento.
+     */
+    public void compact() {
+        try {
+            compactSegments();
+        } catch (IOException exception) {
+            throw new UserStorageException("Falha ao compactar os segmentos de usuários", exception);
+        }
+    }
+
+    /**
+     * Retorna a quantidade de segmentos em disco.
+     *
+     * @return a quantidade de segmentos
+     */
+    public int segmentCount() {
+        lock.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna a quantidade de compactações concluídas desde a abertura.
+     *
+     * @return a quantidade de compactações
+     */
+    public long compactions() {
+        lock.readLock().lock();
+        try {
+            return compactions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna a quantidade de leituras de segmento evitadas pelos filtros de Bloom.
+     *
+     * @return a quantidade de leituras evitadas
+     */
+    public long bloomSkips() {
+        return bloomSkips.sum();
+    }
+
+    /**
+     * Retorna a quantidade de segmentos lidos em buscas por ID.
+     *
+     * @return a quantidade de leituras
+     */
+    public long segmentReads() {
+        return segmentReads.sum();
+    }
+
+    /**
+     * Retorna a memória ocupada pela memtable, incluindo a estimativa do mapa.
+     *
+     * @return o tamanho, em bytes
+     */
+    public long memtableBytes() {
+        lock.readLock().lock();
+        try {
+            return memtableBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna a memória ocupada pelos índices esparsos e filtros dos segmentos.
+     *
+     * @return o tamanho, em bytes
+     */
+    public long segmentIndexBytes() {
+        lock.readLock().lock();
+        try {
+            long total = 0;
+            for (Segment segment : segments) {
+                total += segment.memoryBytes();
+            }
+            return total;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Aguarda a compactação em andamento e fecha os arquivos. O conteúdo da memtable permanece
+     * no log e é recuperado na próxima abertura.
+     */
+    @Override
+    public void close() {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        lock.writeLock().lock();
+        try {
+            wal.close();
+            for (Segment segment : segments) {
+                segment.close();
+            }
+        } catch (IOException exception) {
+            throw new UserStorageException("Falha ao fechar o armazenamento de usuários", exception);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Segment> opened = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    opened.add(Segment.open(file, Long.parseLong(matcher.group(1))));
+                } else if (file.getFileName().toString().endsWith(".tmp")) {
+                    Files.delete(file);
+                }
+            }
+        }
+        opened.sort(Comparator.comparingLong(Segment::number).reversed());
+        long coveredFrom = Long.MAX_VALUE;
+        for (Segment segment : opened) {
+            if (segment.number() >= coveredFrom) {
+                segment.delete();
+                continue;
+            }
+            coveredFrom = segment.coveredFrom();
+            if (segment.coveredFrom() < segment.number()) {
+                tombstoneHorizon = Math.max(tombstoneHorizon, segment.maxVersion());
+            }
+            segments.add(segment);
+            nextSegmentNumber = Math.max(nextSegmentNumber, segment.number() + 1);
+            nextId = Math.max(nextId, segment.maxId() + 1);
+            sequence = Math.max(sequence, segment.maxVersion());
+        }
+
+        for (byte[] record : wal.replay()) {
+            long key = UserRecord.idOf(record);
+            putInMemtable(key, record);
+            nextId = Math.max(nextId, key + 1);
+            sequence = Math.max(sequence, UserRecord.versionOf(record));
+        }
+
+        Path marker = directory.resolve(EMAIL_INDEX_MARKER);
+        if (Files.exists(marker)) {
+            scanLocked(user -> liveCount++);
+            return;
+        }
+        // Armazenamento anterior ao índice gravado: as entradas são geradas uma única vez.
+        List<byte[]> entries = new ArrayList<>();
+        scanLocked(user -> {
+            liveCount++;
+            if (user.getEmail() != null) {
+                entries.add(UserRecord.encodeEmailEntry(emailKey(user.getEmail()), user.getVersion(), user.getId()));
+            }
+        });
+        for (byte[] entry : entries) {
+            append(entry);
+            flushIfFull();
+        }
+        Files.createFile(marker);
+    }
+
+    /**
+     * Grava um usuário e a entrada do seu e-mail, se o e-mail mudou.
+     *
+     * @return {@code true} se o usuário não existia
+     */
+    private boolean write(User user) {
+        if (user.getId() == 0) {
+            user.setId(nextId++);
+        } else if (user.getId() >= nextId) {
+            nextId = user.getId() + 1;
+        }
+        user.setVersion(++sequence);
+
+        User previous = read(user.getId());
+        append(UserRecord.of(user).encode());
+        if (previous == null) {
+            liveCount++;
+        } else if (Objects.equals(previous.getEmail(), user.getEmail())) {
+            return false;
+        } else {
+            unindex(previous, user.getVersion());
+        }
+        if (user.getEmail() != null) {
+            append(UserRecord.encodeEmailEntry(emailKey(user.getEmail()), user.getVersion(), user.getId()));
+        }
+        return previous == null;
+    }
+
+    private void append(byte[] record) {
+        try {
+            wal.append(record);
+        } catch (IOException exception) {
+            throw new UserStorageException("Falha ao gravar o log de usuários", exception);
+        }
+        putInMemtable(UserRecord.idOf(record), record);
+    }
+
+    private void putInMemtable(long id, byte[] record) {
+        byte[] replaced = memtable.put(id, record);
+        memtableBytes += record.length + (replaced == null ? MEMTABLE_ENTRY_OVERHEAD : -replaced.length);
+    }
+
+    private User read(long id) {
+        if (id < 0) {
+            return null;
+        }
+        byte[] record = readRecord(id);
+        return record == null ? null : UserRecord.decode(record).user();
+    }
+
+    private byte[] readRecord(long key) {
+        byte[] record = memtable.get(key);
+        if (record == null) {
+            try {
+                for (Segment segment : segments) {
+                    record = segment.get(key);
+                    if (record != null) {
+                        segmentReads.increment();
+                        break;
+                    }
+                    bloomSkips.increment();
+                }
+            } catch (IOException exception) {
+                throw new UserStorageException("Falha ao ler o registro " + key, exception);
+            }
+        }
+        return record;
+    }
+
+    private void scanLocked(Consumer<User> consumer) {
+        scanRecords(memtable.values().iterator(), segments, true, record -> consumer.accept(UserRecord.decode(record).user()));
+    }
+
+    /**
+     * Fixa o estado atual para uma leitura fora da trava.
+     */
+    private Snapshot snapshot() {
+        lock.readLock().lock();
+        try {
+            return snapshotLocked();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Snapshot snapshotLocked() {
+        for (Segment segment : segments) {
+            segment.retain();
+        }
+        return new Snapshot(sequence, new ArrayList<>(memtable.tailMap(0L).values()), segments);
+    }
+
+    /**
+     * Intercala os registros de usuários da memtable e dos segmentos, em ordem de ID, ignorando
+     * as entradas do índice de e-mails. Falhas de leitura dos segmentos viram
+     * {@link UserStorageException}; as do consumidor são propagadas sem alteração.
+     */
+    private void scanRecords(Iterator<byte[]> memtableRecords, List<Segment> segmentsToRead, boolean dropTombstones,
+                             Consumer<byte[]> consumer) {
+        List<Iterator<byte[]>> sources = new ArrayList<>();
+        List<Segment.RecordIterator> opened = new ArrayList<>();
+        try {
+            sources.add(memtableRecords);
+            for (Segment segment : segmentsToRead) {
+                Segment.RecordIterator iterator = segment.iterator();
+                opened.add(iterator);
+                sources.add(iterator);
+            }
+            MergingIterator merged;
+            try {
+                merged = new MergingIterator(sources, dropTombstones);
+            } catch (UncheckedIOException exception) {
+                throw new UserStorageException("Falha ao ler os segmentos de usuários", exception);
+            }
+            long scanned = 0;
+            while (true) {
+                byte[] record;
+                try {
+                    if (!merged.hasNext()) {
+                        return;
+                    }
+                    record = merged.next();
+                } catch (UncheckedIOException exception) {
+                    throw new UserStorageException("Falha ao ler os segmentos de usuários", exception);
+                }
+                if ((++scanned & SCAN_DEADLINE_INTERVAL) == 0) {
+                    RequestDeadline.check("lsm.scan");
+                }
+                if (UserRecord.idOf(record) >= 0) {
+                    consumer.accept(record);
+                }
+            }
+        } finally {
+            for (Segment.RecordIterator iterator : opened) {
+                try {
+                    iterator.close();
+                } catch (IOException ignored) {
+                    // A leitura já terminou.
+                }
+            }
+        }
+    }
+
+    private void flushIfFull() {
+        if (memtableBytes >= memtableMaxBytes) {
+            flushLocked();
+        }
+    }
+
+    private void flushLocked() {
+        if (memtable.isEmpty()) {
+            return;
+        }
+        try {
+            long number = nextSegmentNumber++;
+            Segment segment = Segment.write(segmentPath(number), number, number, memtable.values().iterator(),
+                    memtable.size(), nextId - 1, sequence, INDEX_INTERVAL);
+            List<Segment> updated = new ArrayList<>(segments.size() + 1);
+            updated.add(segment);
+            updated.addAll(segments);
+            segments = updated;
+            memtable = new TreeMap<>();
+            memtableBytes = 0;
+            wal.reset();
+        } catch (IOException exception) {
+            throw new UserStorageException("Falha ao gravar um segmento de usuários", exception);
+        }
+        if (segments.size() >= compactionThreshold && compactionScheduled.compareAndSet(false, true)) {
+            compactor.execute(() -> {
+                try {
+                    compactSegments();
+                } catch (IOException | RuntimeException ignored) {
+                    // Os segmentos originais continuam válidos; a próxima gravação tenta de novo.
+                } finally {
+                    compactionScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Intercala todos os segmentos existentes no início da compactação. A escrita do novo
+     * segmento ocorre fora da trava; segmentos gravados nesse meio tempo são mais recentes e
+     * permanecem à frente do resultado.
+     */
+    private synchronized void compactSegments() throws IOException {
+        List<Segment> inputs;
+        lock.readLock().lock();
+        try {
+            inputs = new ArrayList<>(segments);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (inputs.size() < 2) {
+            return;
+        }
+
+        Segment newest = inputs.get(0);
+        Segment oldest = inputs.get(inputs.size() - 1);
+        long expected = 0;
+        long maxId = 0;
+        long maxVersion = 0;
+        List<Segment.RecordIterator> iterators = new ArrayList<>();
+        Segment compacted;
+        try {
+            for (Segment input : inputs) {
+                iterators.add(input.iterator());
+                expected += input.entryCount();
+                maxId = Math.max(maxId, input.maxId());
+                maxVersion = Math.max(maxVersion, input.maxVersion());
+            }
+            compacted = Segment.write(segmentPath(newest.number()), newest.number(), oldest.coveredFrom(),
+                    new MergingIterator(iterators, true), expected, maxId, maxVersion, INDEX_INTERVAL);
+        } finally {
+            for (Segment.RecordIterator iterator : iterators) {
+                iterator.close();
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            List<Segment> updated = new ArrayList<>(segments);
+            updated.removeAll(inputs);
+            updated.add(compacted);
+            segments = updated;
+            compactions++;
+            tombstoneHorizon = Math.max(tombstoneHorizon, compacted.maxVersion());
+            for (Segment input : inputs) {
+                if (input == newest) {
+                    input.close();
+                } else {
+                    input.delete();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Estado fixado para uma leitura fora da trava: a sequência, uma cópia dos registros da
+     * memtable e os segmentos reservados, liberados por {@link #release()}.
+     */
+    private record Snapshot(long sequence, List<byte[]> memtable, List<Segment> segments) {
+
+        void release() {
+            for (Segment segment : segments) {
+                try {
+                    segment.release();
+                } catch (IOException ignored) {
+                    // A leitura já terminou; o segmento não é mais usado.
+                }
+            }
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("segment-%012d.sst", number));
+    }
+
+    /**
+     * Grava a lápide da entrada do e-mail de um usuário, se ela ainda apontar para ele: com uma
+     * colisão de hash, a entrada pode ter passado a outro usuário.
+     */
+    private void unindex(User user, long version) {
+        if (user.getEmail() == null) {
+            return;
+        }
+        long key = emailKey(user.getEmail());
+        byte[] entry = readRecord(key);
+        if (entry != null && !UserRecord.isTombstone(entry) && UserRecord.emailEntryUserId(entry) == user.getId()) {
+            append(UserRecord.tombstone(key, version).encode());
+        }
+    }
+
+    /**
+     * Chave da entrada do e-mail: hash FNV-1a de 64 bits com o bit de sinal ligado, para nunca
+     * coincidir com um ID. Colisões são tratadas na busca, que confere o e-mail lido e, se não
+     * coincidir, faz uma leitura completa.
+     */
+    private static long emailKey(String email) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < email.length(); i++) {
+            hash ^= email.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return hash | Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,233 @@
+package itau.case_backend.adapters.output.lsm;
+
+import itau.case_backend.adapters.output.index.UserStatistics;
+import itau.case_backend.domain.dtos.MemoryFootprintDTO;
+import itau.case_backend.domain.dtos.UserChangesDTO;
+import itau.case_backend.domain.dtos.UserStatsDTO;
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.events.UserChangeType;
+import itau.case_backend.ports.output.UserOutputPort;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Implementação do repositório de usuários sobre o {@link LsmStore}, para conjuntos de usuários
+ * maiores que a memória disponível.
+ *
+ * <p>Ativada com {@code users.storage=lsm}. Os arquivos ficam em {@code users.lsm.directory}.
+ * As consultas por ID e por e-mail são resolvidas pelo armazenamento; as demais consultas usam
+ * as implementações padrão da porta sobre uma leitura sequencial dos segmentos, retendo apenas a
+ * página pedida. A sincronização incremental usa as versões gravadas em cada registro e as
+ * lápides ainda não compactadas.</p>
+ */
+@Repository
+@ConditionalOnProperty(name = "users.storage", havingValue = "lsm")
+public class LsmUserRepository implements UserOutputPort {
+
+    private final LsmStore store;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param directory           diretório dos arquivos do armazenamento.
+     * @param memtableMaxBytes    tamanho da memtable, em bytes, a partir do qual ela é gravada em disco.
+     * @param compactionThreshold quantidade de segmentos que dispara a compactação.
+     * @param syncWrites          indica se cada escrita força o log para o disco.
+     */
+    @Autowired
+    public LsmUserRepository(@Value("${users.lsm.directory:data/users}") String directory,
+                             @Value("${users.lsm.memtable-bytes:4194304}") long memtableMaxBytes,
+                             @Value("${users.lsm.compaction-threshold:4}") int compactionThreshold,
+                             @Value("${users.lsm.sync-writes:false}") boolean syncWrites) {
+        this(LsmStore.open(Path.of(directory), memtableMaxBytes, compactionThreshold, syncWrites));
+    }
+
+    /**
+     * Construtor a partir de um armazenamento já aberto.
+     *
+     * @param store o armazenamento
+     */
+    public LsmUserRepository(LsmStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Recupera todos os usuários armazenados, ordenados por ID.
+     *
+     * @return lista de todos os usuários
+     */
+    @Override
+    public List<User> findAllUsers() {
+        List<User> users = new ArrayList<>();
+        store.scan(users::add);
+        return users;
+    }
+
+    /**
+     * Entrega cada usuário ao consumidor com uma leitura sequencial dos segmentos, sem reter os
+     * usuários. As consultas por idade, domínio, nome e ordenação usam este método.
+     *
+     * @param consumer o consumidor dos usuários
+     */
+    @Override
+    public void forEachUser(Consumer<User> consumer) {
+        store.scan(consumer);
+    }
+
+    /**
+     * Recupera as alterações ocorridas após uma sequência a partir das versões dos registros e
+     * das lápides ainda não compactadas.
+     *
+     * @param since a última sequência conhecida pelo cliente
+     * @return os usuários alterados e os IDs removidos, ou o estado completo
+     */
+    @Override
+    public UserChangesDTO findChangesSince(long since) {
+        return store.changesSince(since);
+    }
+
+    /**
+     * Recupera as alterações ocorridas após uma sequência, entregando o estado completo ao
+     * consumidor à medida que os segmentos são lidos, sem bloquear as escritas.
+     *
+     * @param since            a última sequência conhecida pelo cliente
+     * @param snapshotConsumer recebe os usuários do estado completo
+     * @return os usuários alterados e os IDs removidos, ou a sequência do estado completo entregue
+     */
+    @Override
+    public UserChangesDTO findChangesSince(long since, Consumer<User> snapshotConsumer) {
+        return store.changesSince(since, snapshotConsumer);
+    }
+
+    /**
+     * Conta os usuários armazenados, sem ler os segmentos.
+     *
+     * @return a quantidade de usuários
+     */
+    @Override
+    public long countUsers() {
+        return store.count();
+    }
+
+    /**
+     * Recupera um usuário pelo ID.
+     *
+     * @param id o ID do usuário a ser recuperado
+     * @return um Optional contendo o usuário, ou Optional.empty() se não encontrado
+     */
+    @Override
+    public Optional<User> findUserById(long id) {
+        return store.get(id);
+    }
+
+    /**
+     * Recupera um usuário pelo email, a partir do índice de e-mails do armazenamento.
+     *
+     * @param email o email do usuário a ser recuperado
+     * @return um Optional contendo o usuário, ou Optional.empty() se não encontrado
+     */
+    @Override
+    public Optional<User> findUserByEmail(String email) {
+        return store.findByEmail(email);
+    }
+
+    /**
+     * Calcula as estatísticas dos usuários com uma leitura sequencial, sem reter os usuários.
+     *
+     * @param topDomains quantidade de domínios de e-mail mais frequentes a incluir
+     * @return as estatísticas atuais
+     */
+    @Override
+    public UserStatsDTO getStatistics(int topDomains) {
+        UserStatistics statistics = new UserStatistics();
+        store.scan(statistics::add);
+        return statistics.snapshot(topDomains);
+    }
+
+    /**
+     * Salva ou atualiza um usuário. Se o ID do usuário for 0, um novo ID é gerado.
+     *
+     * @param user o usuário a ser salvo ou atualizado
+     * @return o usuário salvo ou atualizado
+     */
+    @Override
+    public User saveUser(User user) {
+        return store.save(user);
+    }
+
+    /**
+     * Salva ou atualiza vários usuários com uma única aquisição da trava do armazenamento.
+     *
+     * @param users os usuários a serem salvos ou atualizados
+     * @return os usuários salvos, na mesma ordem
+     */
+    @Override
+    public List<User> saveAllUsers(List<User> users) {
+        return store.saveAll(users);
+    }
+
+    /**
+     * Substitui todos os usuários com uma única aquisição da trava do armazenamento.
+     *
+     * @param users    os usuários do novo estado, com IDs atribuídos
+     * @param listener recebe o tipo de cada alteração e o usuário, sob a trava
+     */
+    @Override
+    public void replaceAllUsers(List<User> users, BiConsumer<UserChangeType, User> listener) {
+        store.replaceAll(users, listener);
+    }
+
+    /**
+     * Exclui um usuário pelo ID.
+     *
+     * @param id o ID do usuário a ser excluído
+     */
+    @Override
+    public void deleteUserById(long id) {
+        store.delete(id);
+    }
+
+    /**
+     * Retorna a sequência da última escrita, usada como versão do conjunto de usuários.
+     *
+     * @return a versão atual
+     */
+    @Override
+    public long getStoreVersion() {
+        return store.version();
+    }
+
+    /**
+     * Estima a memória ocupada pelo armazenamento: a memtable, os índices esparsos e filtros
+     * dos segmentos. Os usuários e o índice de e-mails gravados nos segmentos não ocupam memória.
+     *
+     * @return a estimativa de memória
+     */
+    @Override
+    public MemoryFootprintDTO getMemoryFootprint() {
+        Map<String, Long> components = new LinkedHashMap<>();
+        components.put("memtable", store.memtableBytes());
+        components.put("segmentIndexes", store.segmentIndexBytes());
+        return new MemoryFootprintDTO(store.count(), components);
+    }
+
+    /**
+     * Fecha os arquivos do armazenamento.
+     */
+    @PreDestroy
+    public void close() {
+        store.close();
+    }
+}
@@ -0,0 +1,83 @@
+package itau.case_backend.adapters.output.lsm;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Intercala fontes de registros ordenadas por ID, mantendo apenas a versão mais recente de
+ * cada ID.
+ *
+ * <p>As fontes são informadas da mais recente para a mais antiga; quando várias trazem o mesmo
+ * ID, vale a mais recente. Lápides podem ser descartadas da saída, o que é seguro quando as
+ * fontes incluem todos os dados mais antigos que elas.</p>
+ */
+final class MergingIterator implements Iterator<byte[]> {
+
+    private final List<? extends Iterator<byte[]>> sources;
+    private final boolean dropTombstones;
+    private final PriorityQueue<Head> heads = new PriorityQueue<>();
+    private byte[] next;
+
+    /**
+     * Construtor do iterador.
+     *
+     * @param sources        as fontes, da mais recente para a mais antiga
+     * @param dropTombstones indica se as lápides devem ser omitidas
+     */
+    MergingIterator(List<? extends Iterator<byte[]>> sources, boolean dropTombstones) {
+        this.sources = sources;
+        this.dropTombstones = dropTombstones;
+        for (int i = 0; i < sources.size(); i++) {
+            advance(i);
+        }
+        next = computeNext();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    @Override
+    public byte[] next() {
+        if (next == null) {
+            throw new NoSuchElementException();
+        }
+        byte[] result = next;
+        next = computeNext();
+        return result;
+    }
+
+    private byte[] computeNext() {
+        while (!heads.isEmpty()) {
+            Head newest = heads.poll();
+            advance(newest.source);
+            while (!heads.isEmpty() && heads.peek().id == newest.id) {
+                advance(heads.poll().source);
+            }
+            if (!dropTombstones || !UserRecord.isTombstone(newest.record)) {
+                return newest.record;
+            }
+        }
+        return null;
+    }
+
+    private void advance(int source) {
+        Iterator<byte[]> iterator = sources.get(source);
+        if (iterator.hasNext()) {
+            byte[] record = iterator.next();
+            heads.add(new Head(UserRecord.idOf(record), source, record));
+        }
+    }
+
+    private record Head(long id, int source, byte[] record) implements Comparable<Head> {
+
+        @Override
+        public int compareTo(Head other) {
+            int byId = Long.compare(id, other.id);
+            return byId != 0 ? byId : Integer.compare(source, other.source);
+        }
+    }
+}
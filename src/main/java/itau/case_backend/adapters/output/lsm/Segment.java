@@ -0,0 +1,403 @@
+package itau.case_backend.adapters.output.lsm;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Segmento imutável em disco (SSTable), com registros ordenados por ID.
+ *
+ * <p>Layout do arquivo: os registros ({@code int} comprimento e bytes de {@link UserRecord}),
+ * o índice esparso (o ID e a posição de um a cada {@code indexInterval} registros), o
+ * {@link BloomFilter} dos IDs e um rodapé de tamanho fixo com as posições das seções, a
+ * quantidade de registros, os maiores ID e versão já gravados e o menor número de segmento
+ * cujos dados ele contém.</p>
+ *
+ * <p>Um segmento produzido por compactação recebe o número do mais recente dos segmentos
+ * compactados e registra o número do mais antigo; na abertura do diretório, segmentos com
+ * número nesse intervalo que tenham sobrado de uma compactação interrompida são obsoletos.</p>
+ *
+ * <p>Na abertura apenas o índice e o filtro são carregados em memória. Uma busca consulta o
+ * filtro, localiza no índice a última entrada com ID menor ou igual e lê no máximo
+ * {@code indexInterval} registros a partir dela, com leituras posicionais que podem ocorrer
+ * em paralelo.</p>
+ *
+ * <p>Buscas e iteradores leem sempre pelo canal aberto do segmento, nunca reabrindo o arquivo
+ * pelo caminho: uma compactação que grava o resultado no mesmo caminho não afeta as leituras
+ * dos segmentos que ainda estão em uso.</p>
+ *
+ * <p>Leituras completas feitas fora da trava do armazenamento reservam o segmento com
+ * {@link #retain()}; fechar ou apagar um segmento reservado apenas o marca, e o canal é fechado
+ * (e o arquivo apagado) no último {@link #release()}.</p>
+ */
+final class Segment implements Closeable {
+
+    private static final int MAGIC = 0x55534C31;
+    private static final int FOOTER_BYTES = 6 * Long.BYTES + Integer.BYTES;
+
+    private final Path path;
+    private final long number;
+    private final long coveredFrom;
+    private final FileChannel channel;
+    private final long[] indexIds;
+    private final long[] indexOffsets;
+    private final BloomFilter bloomFilter;
+    private final long dataEnd;
+    private final long entryCount;
+    private final long maxId;
+    private final long maxVersion;
+    private final AtomicInteger references = new AtomicInteger(1);
+    private volatile boolean deleteOnRelease;
+
+    private Segment(Path path, long number, long coveredFrom, FileChannel channel, long[] indexIds, long[] indexOffsets, BloomFilter bloomFilter,
+                    long dataEnd, long entryCount, long maxId, long maxVersion) {
+        this.path = path;
+        this.number = number;
+        this.coveredFrom = coveredFrom;
+        this.channel = channel;
+        this.indexIds = indexIds;
+        this.indexOffsets = indexOffsets;
+        this.bloomFilter = bloomFilter;
+        this.dataEnd = dataEnd;
+        this.entryCount = entryCount;
+        this.maxId = maxId;
+        this.maxVersion = maxVersion;
+    }
+
+    /**
+     * Grava um segmento em um arquivo temporário e o move atomicamente para o destino.
+     *
+     * @param path          o arquivo do segmento
+     * @param number        o número do segmento; segmentos maiores são mais recentes
+     * @param coveredFrom   o menor número de segmento cujos dados este segmento contém
+     * @param records       os registros codificados, em ordem crescente de ID
+     * @param expectedCount a quantidade aproximada de registros, para dimensionar o filtro
+     * @param maxId         o maior ID já gravado nos dados de origem, incluindo lápides descartadas
+     * @param maxVersion    a maior versão já gravada nos dados de origem
+     * @param indexInterval a quantidade de registros entre entradas do índice esparso
+     * @return o segmento aberto
+     * @throws IOException se a escrita falhar
+     */
+    static Segment write(Path path, long number, long coveredFrom, Iterator<byte[]> records, long expectedCount,
+                         long maxId, long maxVersion, int indexInterval) throws IOException {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        BloomFilter bloomFilter = BloomFilter.forExpected(expectedCount);
+        long[] ids = new long[16];
+        long[] offsets = new long[16];
+        int indexSize = 0;
+        long count = 0;
+        long offset = 0;
+
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16))) {
+            while (records.hasNext()) {
+                byte[] record = records.next();
+                long id = UserRecord.idOf(record);
+                if (count % indexInterval == 0) {
+                    if (indexSize == ids.length) {
+                        ids = Arrays.copyOf(ids, indexSize * 2);
+                        offsets = Arrays.copyOf(offsets, indexSize * 2);
+                    }
+                    ids[indexSize] = id;
+                    offsets[indexSize] = offset;
+                    indexSize++;
+                }
+                bloomFilter.add(id);
+                out.writeInt(record.length);
+                out.write(record);
+                offset += Integer.BYTES + record.length;
+                count++;
+            }
+
+            long indexOffset = offset;
+            out.writeInt(indexSize);
+            for (int i = 0; i < indexSize; i++) {
+                out.writeLong(ids[i]);
+                out.writeLong(offsets[i]);
+            }
+            long bloomOffset = indexOffset + Integer.BYTES + (long) indexSize * 2 * Long.BYTES;
+            bloomFilter.writeTo(out);
+
+            out.writeLong(indexOffset);
+            out.writeLong(bloomOffset);
+            out.writeLong(count);
+            out.writeLong(maxId);
+            out.writeLong(maxVersion);
+            out.writeLong(coveredFrom);
+            out.writeInt(MAGIC);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return open(path, number);
+    }
+
+    /**
+     * Abre um segmento gravado, carregando o índice esparso e o filtro.
+     *
+     * @param path   o arquivo do segmento
+     * @param number o número do segmento
+     * @return o segmento aberto
+     * @throws IOException se o arquivo não puder ser lido ou não for um segmento válido
+     */
+    static Segment open(Path path, long number) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size < FOOTER_BYTES) {
+                throw new IOException("Segmento truncado: " + path);
+            }
+            ByteBuffer footer = readFully(channel, size - FOOTER_BYTES, FOOTER_BYTES);
+            long indexOffset = footer.getLong();
+            long bloomOffset = footer.getLong();
+            long count = footer.getLong();
+            long maxId = footer.getLong();
+            long maxVersion = footer.getLong();
+            long coveredFrom = footer.getLong();
+            if (footer.getInt() != MAGIC) {
+                throw new IOException("Arquivo não é um segmento válido: " + path);
+            }
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    Channels.newInputStream(channel.position(indexOffset)), 1 << 16));
+            int indexSize = in.readInt();
+            long[] ids = new long[indexSize];
+            long[] offsets = new long[indexSize];
+            for (int i = 0; i < indexSize; i++) {
+                ids[i] = in.readLong();
+                offsets[i] = in.readLong();
+            }
+            BloomFilter bloomFilter = BloomFilter.readFrom(new DataInputStream(new BufferedInputStream(
+                    Channels.newInputStream(channel.position(bloomOffset)), 1 << 16)));
+            return new Segment(path, number, coveredFrom, channel, ids, offsets, bloomFilter, indexOffset, count, maxId, maxVersion);
+        } catch (IOException | RuntimeException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Busca o registro de um ID.
+     *
+     * @param id o ID
+     * @return os bytes do registro, ou {@code null} se o segmento não tiver o ID
+     * @throws IOException se a leitura falhar
+     */
+    byte[] get(long id) throws IOException {
+        if (!bloomFilter.mightContain(id)) {
+            return null;
+        }
+        int slot = Arrays.binarySearch(indexIds, id);
+        if (slot < 0) {
+            slot = -slot - 2;
+            if (slot < 0) {
+                return null;
+            }
+        }
+        long position = indexOffsets[slot];
+        long end = slot + 1 < indexOffsets.length ? indexOffsets[slot + 1] : dataEnd;
+        while (position < end) {
+            int length = readFully(channel, position, Integer.BYTES).getInt();
+            byte[] record = readFully(channel, position + Integer.BYTES, length).array();
+            long recordId = UserRecord.idOf(record);
+            if (recordId == id) {
+                return record;
+            }
+            if (recordId > id) {
+                return null;
+            }
+            position += Integer.BYTES + length;
+        }
+        return null;
+    }
+
+    /**
+     * Abre um iterador sequencial sobre os registros, em ordem crescente de ID, com leituras
+     * posicionais no canal do segmento. O iterador deve ser fechado se não for consumido até o
+     * fim; fechá-lo não fecha o segmento.
+     *
+     * @return o iterador
+     */
+    RecordIterator iterator() {
+        return new RecordIterator(new ChannelInputStream(channel, dataEnd), dataEnd);
+    }
+
+    long number() {
+        return number;
+    }
+
+    long coveredFrom() {
+        return coveredFrom;
+    }
+
+    long entryCount() {
+        return entryCount;
+    }
+
+    long maxId() {
+        return maxId;
+    }
+
+    long maxVersion() {
+        return maxVersion;
+    }
+
+    /**
+     * Retorna a memória ocupada pelo índice esparso e pelo filtro.
+     *
+     * @return o tamanho, em bytes
+     */
+    long memoryBytes() {
+        return (long) indexIds.length * 2 * Long.BYTES + bloomFilter.sizeInBytes();
+    }
+
+    /**
+     * Retorna o tamanho do arquivo.
+     *
+     * @return o tamanho, em bytes
+     * @throws IOException se o tamanho não puder ser lido
+     */
+    long fileBytes() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * Reserva o segmento para uma leitura que continua depois de a trava do armazenamento ser
+     * liberada. Deve ser chamado enquanto o segmento está em uso pelo armazenamento.
+     */
+    void retain() {
+        references.incrementAndGet();
+    }
+
+    /**
+     * Libera uma reserva ou a referência do armazenamento; a última fecha o canal e, se o
+     * segmento foi apagado, o arquivo.
+     *
+     * @throws IOException se o canal não puder ser fechado ou o arquivo apagado
+     */
+    void release() throws IOException {
+        if (references.decrementAndGet() == 0) {
+            channel.close();
+            if (deleteOnRelease) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        release();
+    }
+
+    /**
+     * Fecha e apaga o arquivo do segmento, ao fim das leituras que o reservaram.
+     *
+     * @throws IOException se o arquivo não puder ser apagado
+     */
+    void delete() throws IOException {
+        deleteOnRelease = true;
+        release();
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Fim inesperado do segmento");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Fluxo de leitura de um trecho do canal por leituras posicionais, sem alterar a posição do
+     * canal, de modo que vários fluxos e buscas podem ler o mesmo segmento ao mesmo tempo.
+     */
+    private static final class ChannelInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private final long end;
+        private long position;
+
+        private ChannelInputStream(FileChannel channel, long end) {
+            this.channel = channel;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int read = channel.read(ByteBuffer.wrap(bytes, offset, (int) Math.min(length, end - position)), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+    }
+
+    /**
+     * Iterador sequencial sobre os registros de um segmento.
+     */
+    static final class RecordIterator implements Iterator<byte[]>, Closeable {
+
+        private final DataInputStream in;
+        private final long end;
+        private long position;
+
+        private RecordIterator(InputStream input, long end) {
+            this.in = new DataInputStream(new BufferedInputStream(input, 1 << 16));
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < end;
+        }
+
+        @Override
+        public byte[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                byte[] record = new byte[in.readInt()];
+                in.readFully(record);
+                position += Integer.BYTES + record.length;
+                return record;
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
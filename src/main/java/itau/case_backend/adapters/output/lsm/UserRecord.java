@@ -0,0 +1,173 @@
+package itau.case_backend.adapters.output.lsm;
+
+import itau.case_backend.domain.entities.User;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Versão de um usuário gravada no armazenamento: o estado completo ou uma lápide de remoção.
+ *
+ * <p>Formato binário: ID e versão ({@code long}), um byte de indicadores (lápide e presença de
+ * nome, e-mail e idade), nome e e-mail em UTF-8 precedidos do comprimento, e a idade.</p>
+ *
+ * <p>As entradas do índice de e-mails usam o mesmo cabeçalho, com uma chave negativa derivada
+ * do e-mail, o indicador de entrada de e-mail e o ID do usuário ({@code long}) como conteúdo.
+ * Por terem o mesmo cabeçalho, são gravadas, intercaladas e compactadas como os usuários.</p>
+ *
+ * @param id      o ID do usuário
+ * @param version a sequência da escrita que produziu o registro
+ * @param user    o estado do usuário, ou {@code null} para uma lápide
+ */
+public record UserRecord(long id, long version, User user) {
+
+    private static final int TOMBSTONE = 1;
+    private static final int HAS_NAME = 2;
+    private static final int HAS_EMAIL = 4;
+    private static final int HAS_AGE = 8;
+    private static final int EMAIL_ENTRY = 16;
+
+    /**
+     * Cria o registro de um usuário.
+     *
+     * @param user o usuário, com ID e versão já atribuídos
+     * @return o registro
+     */
+    public static UserRecord of(User user) {
+        return new UserRecord(user.getId(), user.getVersion(), user);
+    }
+
+    /**
+     * Cria uma lápide de remoção.
+     *
+     * @param id      o ID removido
+     * @param version a sequência da remoção
+     * @return a lápide
+     */
+    public static UserRecord tombstone(long id, long version) {
+        return new UserRecord(id, version, null);
+    }
+
+    /**
+     * Indica se o registro é uma lápide.
+     *
+     * @return {@code true} para uma remoção
+     */
+    public boolean isTombstone() {
+        return user == null;
+    }
+
+    /**
+     * Codifica o registro.
+     *
+     * @return os bytes do registro
+     */
+    public byte[] encode() {
+        byte[] name = user == null || user.getName() == null ? null : user.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] email = user == null || user.getEmail() == null ? null : user.getEmail().getBytes(StandardCharsets.UTF_8);
+        int flags = (user == null ? TOMBSTONE : 0)
+                | (name != null ? HAS_NAME : 0)
+                | (email != null ? HAS_EMAIL : 0)
+                | (user != null && user.getAge() != null ? HAS_AGE : 0);
+        int size = 2 * Long.BYTES + 1
+                + (name != null ? Integer.BYTES + name.length : 0)
+                + (email != null ? Integer.BYTES + email.length : 0)
+                + ((flags & HAS_AGE) != 0 ? Integer.BYTES : 0);
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putLong(id).putLong(version).put((byte) flags);
+        if (name != null) {
+            buffer.putInt(name.length).put(name);
+        }
+        if (email != null) {
+            buffer.putInt(email.length).put(email);
+        }
+        if ((flags & HAS_AGE) != 0) {
+            buffer.putInt(user.getAge());
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Decodifica um registro gravado por {@link #encode()}.
+     *
+     * @param bytes os bytes do registro
+     * @return o registro
+     */
+    public static UserRecord decode(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        long id = buffer.getLong();
+        long version = buffer.getLong();
+        int flags = buffer.get();
+        if ((flags & TOMBSTONE) != 0) {
+            return tombstone(id, version);
+        }
+        String name = (flags & HAS_NAME) != 0 ? readString(buffer) : null;
+        String email = (flags & HAS_EMAIL) != 0 ? readString(buffer) : null;
+        Integer age = (flags & HAS_AGE) != 0 ? buffer.getInt() : null;
+        User user = new User(id, name, email, age);
+        user.setVersion(version);
+        return new UserRecord(id, version, user);
+    }
+
+    /**
+     * Verifica, sem decodificar, se um registro codificado é uma lápide.
+     *
+     * @param bytes os bytes do registro
+     * @return {@code true} para uma remoção
+     */
+    public static boolean isTombstone(byte[] bytes) {
+        return (bytes[2 * Long.BYTES] & TOMBSTONE) != 0;
+    }
+
+    /**
+     * Lê apenas o ID de um registro codificado, sem decodificá-lo.
+     *
+     * @param bytes os bytes do registro
+     * @return o ID
+     */
+    public static long idOf(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).getLong();
+    }
+
+    /**
+     * Lê apenas a versão de um registro codificado, sem decodificá-lo.
+     *
+     * @param bytes os bytes do registro
+     * @return a versão
+     */
+    public static long versionOf(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).getLong(Long.BYTES);
+    }
+
+    /**
+     * Codifica uma entrada do índice de e-mails.
+     *
+     * @param key     a chave derivada do e-mail
+     * @param version a sequência da escrita do usuário que produziu a entrada
+     * @param userId  o ID do usuário com o e-mail
+     * @return os bytes da entrada
+     */
+    public static byte[] encodeEmailEntry(long key, long version, long userId) {
+        return ByteBuffer.allocate(3 * Long.BYTES + 1)
+                .putLong(key).putLong(version).put((byte) EMAIL_ENTRY).putLong(userId)
+                .array();
+    }
+
+    /**
+     * Lê o ID do usuário de uma entrada do índice de e-mails gravada por
+     * {@link #encodeEmailEntry(long, long, long)}.
+     *
+     * @param bytes os bytes da entrada
+     * @return o ID do usuário
+     */
+    public static long emailEntryUserId(byte[] bytes) {
+        return ByteBuffer.wrap(bytes).getLong(2 * Long.BYTES + 1);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,111 @@
+package itau.case_backend.adapters.output.lsm;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Log de escrita antecipada da memtable.
+ *
+ * <p>Cada escrita é anexada ao arquivo antes de entrar na memtable, como um registro com
+ * comprimento, CRC32 e bytes. Na abertura, os registros íntegros são relidos para reconstruir a
+ * memtable; um registro incompleto ou corrompido no fim (escrita interrompida) é descartado e o
+ * arquivo é truncado nesse ponto. Depois que a memtable é gravada em um segmento, o log é
+ * esvaziado.</p>
+ */
+final class WriteAheadLog implements AutoCloseable {
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+
+    private final FileChannel channel;
+    private final boolean syncWrites;
+
+    /**
+     * Abre (ou cria) o log.
+     *
+     * @param path       o arquivo do log
+     * @param syncWrites indica se cada escrita força os dados para o disco
+     * @throws IOException se o arquivo não puder ser aberto
+     */
+    WriteAheadLog(Path path, boolean syncWrites) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.syncWrites = syncWrites;
+    }
+
+    /**
+     * Relê os registros íntegros e posiciona o log para novas escritas logo após o último deles.
+     *
+     * @return os registros, na ordem de escrita
+     * @throws IOException se a leitura falhar
+     */
+    List<byte[]> replay() throws IOException {
+        List<byte[]> records = new ArrayList<>();
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (position + HEADER_BYTES <= size) {
+            header.clear();
+            channel.read(header, position);
+            header.flip();
+            int length = header.getInt();
+            int checksum = header.getInt();
+            if (length < 0 || position + HEADER_BYTES + length > size) {
+                break;
+            }
+            ByteBuffer payload = ByteBuffer.allocate(length);
+            channel.read(payload, position + HEADER_BYTES);
+            if (crc(payload.array()) != checksum) {
+                break;
+            }
+            records.add(payload.array());
+            position += HEADER_BYTES + length;
+        }
+        channel.truncate(position);
+        channel.position(position);
+        return records;
+    }
+
+    /**
+     * Anexa um registro.
+     *
+     * @param record os bytes do registro
+     * @throws IOException se a escrita falhar
+     */
+    void append(byte[] record) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + record.length);
+        buffer.putInt(record.length).putInt(crc(record)).put(record).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (syncWrites) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Esvazia o log, depois que o seu conteúdo foi gravado em um segmento.
+     *
+     * @throws IOException se o arquivo não puder ser truncado
+     */
+    void reset() throws IOException {
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static int crc(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,193 @@
+package itau.case_backend.adapters.output.tiered;
+
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.memory.MemoryEstimates;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Camada quente do armazenamento em camadas: os usuários acessados mais recentemente, em
+ * memória, limitados por um orçamento em bytes.
+ *
+ * <p>Os usuários ficam em um {@link LinkedHashMap} em ordem de acesso. Ao passar do orçamento,
+ * os usuários menos recentemente acessados são removidos; como a camada fria já tem todos os
+ * usuários, remover da camada quente não perde dados. Como toda leitura altera a ordem de
+ * acesso, as operações são serializadas por uma trava exclusiva.</p>
+ *
+ * <p>Os usuários guardados e devolvidos são cópias, para que alterações de quem chama não
+ * modifiquem a camada.</p>
+ */
+class HotUserTier {
+
+    private static final long ENTRY_OVERHEAD = MemoryEstimates.LINKED_HASH_ENTRY + MemoryEstimates.BOXED;
+
+    private final long budgetBytes;
+    private final Lock lock = new ReentrantLock();
+    private final Map<Long, User> users = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long bytes;
+
+    /**
+     * Construtor da camada.
+     *
+     * @param budgetBytes memória máxima estimada, em bytes, ocupada pelos usuários da camada.
+     */
+    HotUserTier(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    /**
+     * Busca um usuário na camada, contando um acerto ou uma falta.
+     *
+     * @param id o ID
+     * @return uma cópia do usuário, ou {@code null} se ele não estiver na camada
+     */
+    User get(long id) {
+        lock.lock();
+        try {
+            User user = users.get(id);
+            if (user == null) {
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return copyOf(user);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Guarda um usuário na camada, removendo os menos recentemente acessados se o orçamento
+     * for ultrapassado. Um usuário maior que o orçamento inteiro não é guardado.
+     *
+     * @param user o usuário
+     */
+    void put(User user) {
+        long size = sizeOf(user);
+        lock.lock();
+        try {
+            remove(user.getId());
+            if (size > budgetBytes) {
+                return;
+            }
+            users.put(user.getId(), copyOf(user));
+            bytes += size;
+            evictOverBudget();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Substitui um usuário somente se ele já estiver na camada. Usado nas escritas, que não
+     * promovem usuários para a camada quente.
+     *
+     * @param user o usuário atualizado
+     */
+    void replaceIfPresent(User user) {
+        lock.lock();
+        try {
+            if (users.containsKey(user.getId())) {
+                put(user);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Remove um usuário da camada, se presente.
+     *
+     * @param id o ID
+     */
+    void invalidate(long id) {
+        lock.lock();
+        try {
+            remove(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retorna a quantidade de usuários na camada.
+     *
+     * @return a quantidade de usuários
+     */
+    int size() {
+        lock.lock();
+        try {
+            return users.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retorna a memória estimada ocupada pelos usuários da camada.
+     *
+     * @return os bytes estimados
+     */
+    long estimatedBytes() {
+        lock.lock();
+        try {
+            return bytes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long budgetBytes() {
+        return budgetBytes;
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    private void evictOverBudget() {
+        Iterator<Map.Entry<Long, User>> eldest = users.entrySet().iterator();
+        while (bytes > budgetBytes && eldest.hasNext()) {
+            User user = eldest.next().getValue();
+            eldest.remove();
+            bytes -= sizeOf(user);
+            evictions.increment();
+        }
+    }
+
+    private void remove(long id) {
+        User previous = users.remove(id);
+        if (previous != null) {
+            bytes -= sizeOf(previous);
+        }
+    }
+
+    private static long sizeOf(User user) {
+        return ENTRY_OVERHEAD + MemoryEstimates.USER
+                + MemoryEstimates.stringBytes(user.getName())
+                + MemoryEstimates.stringBytes(user.getEmail())
+                + (user.getAge() == null ? 0 : MemoryEstimates.BOXED);
+    }
+
+    private static User copyOf(User user) {
+        User copy = new User(user.getId(), user.getName(), user.getEmail(), user.getAge());
+        copy.setVersion(user.getVersion());
+        return copy;
+    }
+}
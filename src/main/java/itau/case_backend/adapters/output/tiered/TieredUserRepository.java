@@ -0,0 +1,306 @@
+package itau.case_backend.adapters.output.tiered;
+
+import itau.case_backend.adapters.output.index.UserStatistics;
+import itau.case_backend.adapters.output.lsm.LsmStore;
+import itau.case_backend.domain.dtos.MemoryFootprintDTO;
+import itau.case_backend.domain.dtos.TierStatsDTO;
+import itau.case_backend.domain.dtos.UserChangesDTO;
+import itau.case_backend.domain.dtos.UserStatsDTO;
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.events.UserChangeType;
+import itau.case_backend.ports.output.UserOutputPort;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Repositório de usuários em duas camadas: os usuários acessados com frequência ficam em
+ * memória e todos os usuários ficam em disco, em um {@link LsmStore}.
+ *
+ * <p>Ativado com {@code users.storage=tiered}. As escritas vão sempre para a camada em disco
+ * (escrita direta) e atualizam a cópia em memória apenas se o usuário já estiver nela; por isso
+ * remover um usuário da memória nunca exige gravá-lo. Uma busca por ID que não encontra o
+ * usuário em memória o lê do disco e o promove para a camada quente, que remove os usuários
+ * menos recentemente acessados ao passar de {@code users.tiered.hot-bytes}.</p>
+ *
+ * <p>As promoções e as escritas são serializadas por uma trava: sem ela, uma busca poderia ler
+ * a versão anterior do disco e promovê-la depois que uma escrita concorrente já tivesse
+ * atualizado o disco. As buscas em memória não precisam da trava de escrita e ocorrem em
+ * paralelo.</p>
+ *
+ * <p>As demais consultas leem a camada em disco, como em {@code users.storage=lsm}.</p>
+ */
+@Repository
+@ConditionalOnProperty(name = "users.storage", havingValue = "tiered")
+public class TieredUserRepository implements UserOutputPort {
+
+    private final LsmStore store;
+    private final HotUserTier hotTier;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param directory           diretório dos arquivos da camada em disco.
+     * @param hotBytes            orçamento de memória, em bytes, da camada quente.
+     * @param memtableMaxBytes    tamanho da memtable da camada em disco, em bytes.
+     * @param compactionThreshold quantidade de segmentos que dispara a compactação.
+     * @param syncWrites          indica se cada escrita força o log para o disco.
+     */
+    @Autowired
+    public TieredUserRepository(@Value("${users.tiered.directory:data/users}") String directory,
+                                @Value("${users.tiered.hot-bytes:16777216}") long hotBytes,
+                                @Value("${users.tiered.memtable-bytes:1048576}") long memtableMaxBytes,
+                                @Value("${users.tiered.compaction-threshold:4}") int compactionThreshold,
+                                @Value("${users.tiered.sync-writes:false}") boolean syncWrites) {
+        this(LsmStore.open(Path.of(directory), memtableMaxBytes, compactionThreshold, syncWrites), hotBytes);
+    }
+
+    /**
+     * Construtor a partir de uma camada em disco já aberta.
+     *
+     * @param store    a camada em disco
+     * @param hotBytes orçamento de memória, em bytes, da camada quente
+     */
+    public TieredUserRepository(LsmStore store, long hotBytes) {
+        this.store = store;
+        this.hotTier = new HotUserTier(hotBytes);
+    }
+
+    /**
+     * Recupera todos os usuários armazenados, ordenados por ID, a partir da camada em disco.
+     *
+     * @return lista de todos os usuários
+     */
+    @Override
+    public List<User> findAllUsers() {
+        List<User> users = new ArrayList<>();
+        store.scan(users::add);
+        return users;
+    }
+
+    /**
+     * Entrega cada usuário ao consumidor com uma leitura sequencial dos segmentos, sem reter os
+     * usuários. As consultas por idade, domínio, nome e ordenação usam este método.
+     *
+     * @param consumer o consumidor dos usuários
+     */
+    @Override
+    public void forEachUser(Consumer<User> consumer) {
+        store.scan(consumer);
+    }
+
+    /**
+     * Recupera as alterações ocorridas após uma sequência a partir das versões dos registros e
+     * das lápides ainda não compactadas.
+     *
+     * @param since a última sequência conhecida pelo cliente
+     * @return os usuários alterados e os IDs removidos, ou o estado completo
+     */
+    @Override
+    public UserChangesDTO findChangesSince(long since) {
+        return store.changesSince(since);
+    }
+
+    /**
+     * Recupera as alterações ocorridas após uma sequência, entregando o estado completo ao
+     * consumidor à medida que os segmentos são lidos, sem bloquear as escritas.
+     *
+     * @param since            a última sequência conhecida pelo cliente
+     * @param snapshotConsumer recebe os usuários do estado completo
+     * @return os usuários alterados e os IDs removidos, ou a sequência do estado completo entregue
+     */
+    @Override
+    public UserChangesDTO findChangesSince(long since, Consumer<User> snapshotConsumer) {
+        return store.changesSince(since, snapshotConsumer);
+    }
+
+    /**
+     * Conta os usuários armazenados.
+     *
+     * @return a quantidade de usuários
+     */
+    @Override
+    public long countUsers() {
+        return store.count();
+    }
+
+    /**
+     * Recupera um usuário pelo ID, da memória ou, se ele não estiver nela, do disco, promovendo-o
+     * para a camada quente.
+     *
+     * @param id o ID do usuário a ser recuperado
+     * @return um Optional contendo o usuário, ou Optional.empty() se não encontrado
+     */
+    @Override
+    public Optional<User> findUserById(long id) {
+        User hot = hotTier.get(id);
+        if (hot != null) {
+            return Optional.of(hot);
+        }
+        lock.readLock().lock();
+        try {
+            Optional<User> cold = store.get(id);
+            cold.ifPresent(hotTier::put);
+            return cold;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Recupera um usuário pelo e-mail, a partir do índice de e-mails da camada em disco.
+     *
+     * @param email o email do usuário a ser recuperado
+     * @return um Optional contendo o usuário, ou Optional.empty() se não encontrado
+     */
+    @Override
+    public Optional<User> findUserByEmail(String email) {
+        return store.findByEmail(email);
+    }
+
+    /**
+     * Calcula as estatísticas dos usuários com uma leitura sequencial da camada em disco.
+     *
+     * @param topDomains quantidade de domínios de e-mail mais frequentes a incluir
+     * @return as estatísticas atuais
+     */
+    @Override
+    public UserStatsDTO getStatistics(int topDomains) {
+        UserStatistics statistics = new UserStatistics();
+        store.scan(statistics::add);
+        return statistics.snapshot(topDomains);
+    }
+
+    /**
+     * Salva ou atualiza um usuário em disco, atualizando a cópia em memória, se houver.
+     *
+     * @param user o usuário a ser salvo ou atualizado
+     * @return o usuário salvo ou atualizado
+     */
+    @Override
+    public User saveUser(User user) {
+        lock.writeLock().lock();
+        try {
+            User saved = store.save(user);
+            hotTier.replaceIfPresent(saved);
+            return saved;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Salva ou atualiza vários usuários em disco, atualizando as cópias em memória, se houver.
+     * Os usuários do lote não são promovidos, para que uma importação não esvazie a camada quente.
+     *
+     * @param users os usuários a serem salvos ou atualizados
+     * @return os usuários salvos, na mesma ordem
+     */
+    @Override
+    public List<User> saveAllUsers(List<User> users) {
+        lock.writeLock().lock();
+        try {
+            List<User> saved = store.saveAll(users);
+            saved.forEach(hotTier::replaceIfPresent);
+            return saved;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Substitui todos os usuários na camada em disco com uma única aquisição da trava do
+     * armazenamento e atualiza ou descarta as cópias em memória.
+     *
+     * @param users    os usuários do novo estado, com IDs atribuídos
+     * @param listener recebe o tipo de cada alteração e o usuário, sob a trava
+     */
+    @Override
+    public void replaceAllUsers(List<User> users, BiConsumer<UserChangeType, User> listener) {
+        lock.writeLock().lock();
+        try {
+            store.replaceAll(users, (type, user) -> {
+                if (type == UserChangeType.DELETED) {
+                    hotTier.invalidate(user.getId());
+                }
+                listener.accept(type, user);
+            });
+            users.forEach(hotTier::replaceIfPresent);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Exclui um usuário pelo ID das duas camadas.
+     *
+     * @param id o ID do usuário a ser excluído
+     */
+    @Override
+    public void deleteUserById(long id) {
+        lock.writeLock().lock();
+        try {
+            store.delete(id);
+            hotTier.invalidate(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna a sequência da última escrita, usada como versão do conjunto de usuários.
+     *
+     * @return a versão atual
+     */
+    @Override
+    public long getStoreVersion() {
+        return store.version();
+    }
+
+    /**
+     * Estima a memória ocupada pela camada quente e pelas estruturas em memória da camada em disco.
+     *
+     * @return a estimativa de memória
+     */
+    @Override
+    public MemoryFootprintDTO getMemoryFootprint() {
+        Map<String, Long> components = new LinkedHashMap<>();
+        components.put("hotTier", hotTier.estimatedBytes());
+        components.put("memtable", store.memtableBytes());
+        components.put("segmentIndexes", store.segmentIndexBytes());
+        return new MemoryFootprintDTO(store.count(), components);
+    }
+
+    /**
+     * Retorna as métricas da camada quente: ocupação, acertos, faltas e remoções.
+     *
+     * @return as métricas da camada quente
+     */
+    @Override
+    public Optional<TierStatsDTO> getTierStatistics() {
+        return Optional.of(new TierStatsDTO(hotTier.size(), hotTier.estimatedBytes(), hotTier.budgetBytes(),
+                hotTier.hits(), hotTier.misses(), hotTier.evictions()));
+    }
+
+    /**
+     * Fecha os arquivos da camada em disco.
+     */
+    @PreDestroy
+    public void close() {
+        store.close();
+    }
+}
@@ -1,5 +1,7 @@
 package itau.case_backend.config.exception;
 
+import itau.case_backend.domain.deadline.DeadlineMetrics;
+import org.springframework.context.MessageSourceResolvable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -8,6 +10,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import java.util.List;
@@ -18,10 +21,24 @@ import java.util.stream.Collectors;
  *
  * Esta classe utiliza a anotação @ControllerAdvice para interceptar exceções
  * lançadas pelos controladores e retornar respostas consistentes ao cliente.
+ *
+ * As exceções de negócio (usuário inexistente, e-mail duplicado, dados inválidos) são frequentes
+ * e não capturam a pilha de chamadas; as respostas são montadas sem cabeçalhos adicionais.
  */
 @ControllerAdvice
 public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
 
+    private final DeadlineMetrics deadlineMetrics;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param deadlineMetrics Métricas dos prazos, onde as etapas evitadas são contadas.
+     */
+    public CustomExceptionHandler(DeadlineMetrics deadlineMetrics) {
+        this.deadlineMetrics = deadlineMetrics;
+    }
+
     /**
      * Trata exceções de validação em métodos de entrada com argumentos inválidos.
      *
@@ -46,6 +63,45 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
         return new ResponseEntity<>(apiErrorMessage, apiErrorMessage.getStatus());
     }
 
+    /**
+     * Trata exceções de validação de parâmetros da requisição (por exemplo, paginação).
+     *
+     * @param ex Exceção de validação dos parâmetros do método (HandlerMethodValidationException).
+     * @param headers Cabeçalhos da requisição.
+     * @param status Código de status HTTP associado ao erro.
+     * @param request Objeto WebRequest com informações da requisição.
+     * @return ResponseEntity contendo a mensagem de erro formatada.
+     */
+    @Override
+    protected ResponseEntity<Object> handleHandlerMethodValidationException(
+            HandlerMethodValidationException ex, HttpHeaders headers, HttpStatusCode status, WebRequest request) {
+
+        List<String> errors = ex.getAllErrors()
+                .stream()
+                .map(MessageSourceResolvable::getDefaultMessage)
+                .collect(Collectors.toList());
+
+        ApiErrorMessage apiErrorMessage = new ApiErrorMessage(status, errors);
+
+        return new ResponseEntity<>(apiErrorMessage, apiErrorMessage.getStatus());
+    }
+
+    /**
+     * Trata exceções de dados de usuário inválidos, no mesmo formato dos erros de validação.
+     *
+     * @param exception Exceção do tipo InvalidUserDataException.
+     * @param request Objeto WebRequest com informações da requisição.
+     * @return ResponseEntity contendo a mensagem de erro formatada.
+     */
+    @ExceptionHandler(InvalidUserDataException.class)
+    public ResponseEntity<Object> handleInvalidUserDataException(
+            InvalidUserDataException exception, WebRequest request) {
+
+        ApiErrorMessage apiErrorMessage = new ApiErrorMessage(HttpStatus.BAD_REQUEST, exception.getErrors());
+
+        return ResponseEntity.status(apiErrorMessage.getStatus()).body(apiErrorMessage);
+    }
+
     /**
      * Trata exceções de usuário não encontrado.
      *
@@ -59,7 +115,7 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
 
         ApiErrorMessage apiErrorMessage = new ApiErrorMessage(HttpStatus.NOT_FOUND, exception.getMessage());
 
-        return new ResponseEntity<>(apiErrorMessage, new HttpHeaders(), apiErrorMessage.getStatus());
+        return ResponseEntity.status(apiErrorMessage.getStatus()).body(apiErrorMessage);
     }
 
     /**
@@ -75,7 +131,74 @@ public class CustomExceptionHandler extends ResponseEntityExceptionHandler {
 
         ApiErrorMessage apiErrorMessage = new ApiErrorMessage(HttpStatus.CONFLICT, exception.getMessage());
 
-        return new ResponseEntity<>(apiErrorMessage, new HttpHeaders(), apiErrorMessage.getStatus());
+        return ResponseEntity.status(apiErrorMessage.getStatus()).body(apiErrorMessage);
     }
 
+
+    /**
+     * Trata falhas do armazenamento de usuários, como a indisponibilidade do banco de dados
+     * ou o esgotamento das suas conexões.
+     *
+     * @param exception Exceção lançada pelo armazenamento.
+     * @param request Objeto WebRequest com informações da requisição.
+     * @return Resposta HTTP com status 503 e a mensagem de erro.
+     */
+    @ExceptionHandler(UserStorageException.class)
+    public ResponseEntity<Object> handleUserStorageException(
+            UserStorageException exception, WebRequest request) {
+
+        ApiErrorMessage apiErrorMessage = new ApiErrorMessage(HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage());
+
+        return ResponseEntity.status(apiErrorMessage.getStatus()).body(apiErrorMessage);
+    }
+
+    /**
+     * Trata escritas recebidas por uma réplica somente leitura.
+     *
+     * @param exception Exceção do tipo ReadOnlyReplicaException.
+     * @param request Objeto WebRequest com informações da requisição.
+     * @return Resposta HTTP com status 403 e a mensagem de erro.
+     */
+    @ExceptionHandler(ReadOnlyReplicaException.class)
+    public ResponseEntity<Object> handleReadOnlyReplicaException(
+            ReadOnlyReplicaException exception, WebRequest request) {
+
+        ApiErrorMessage apiErrorMessage = new ApiErrorMessage(HttpStatus.FORBIDDEN, exception.getMessage());
+
+        return ResponseEntity.status(apiErrorMessage.getStatus()).body(apiErrorMessage);
+    }
+
+    /**
+     * Trata requisições recusadas pelo limite de requisições simultâneas.
+     *
+     * @param exception Exceção do tipo ServiceOverloadedException.
+     * @param request Objeto WebRequest com informações da requisição.
+     * @return Resposta HTTP com status 503, o cabeçalho Retry-After e a mensagem de erro.
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Object> handleServiceOverloadedException(
+            ServiceOverloadedException exception, WebRequest request) {
+
+        ApiErrorMessage apiErrorMessage = new ApiErrorMessage(HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage());
+
+        return ResponseEntity.status(apiErrorMessage.getStatus()).header(HttpHeaders.RETRY_AFTER, "1").body(apiErrorMessage);
+    }
+
+    /**
+     * Trata requisições cujo prazo terminou antes do fim do processamento, contando a etapa
+     * evitada em {@link DeadlineMetrics}.
+     *
+     * @param exception Exceção do tipo DeadlineExceededException.
+     * @param request Objeto WebRequest com informações da requisição.
+     * @return Resposta HTTP com status 504 e a mensagem de erro.
+     */
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<Object> handleDeadlineExceededException(
+            DeadlineExceededException exception, WebRequest request) {
+
+        deadlineMetrics.recordSkipped(exception.getOperation());
+        ApiErrorMessage apiErrorMessage = new ApiErrorMessage(HttpStatus.GATEWAY_TIMEOUT, exception.getMessage());
+
+        return ResponseEntity.status(apiErrorMessage.getStatus()).body(apiErrorMessage);
+    }
 }
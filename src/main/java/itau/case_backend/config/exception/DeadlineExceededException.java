@@ -0,0 +1,30 @@
+package itau.case_backend.config.exception;
+
+/**
+ * Exceção lançada quando o prazo da requisição termina antes de uma etapa do processamento, que
+ * então deixa de ser executada. O cliente já desistiu da resposta e, por isso, a exceção não
+ * captura a pilha de chamadas.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    private final String operation;
+
+    /**
+     * Construtor da exceção.
+     *
+     * @param operation A etapa que deixou de ser executada.
+     */
+    public DeadlineExceededException(String operation) {
+        super("O prazo da requisição terminou antes da etapa " + operation + ".", null, false, false);
+        this.operation = operation;
+    }
+
+    /**
+     * Retorna a etapa que deixou de ser executada.
+     *
+     * @return O nome da etapa.
+     */
+    public String getOperation() {
+        return operation;
+    }
+}
@@ -5,6 +5,7 @@ package itau.case_backend.config.exception;
  *
  * Esta exceção é utilizada para lançar uma mensagem clara e específica ao cliente
  * quando uma tentativa de cadastro é feita com um e-mail já existente.
+ * Por ser um resultado esperado da API, e não uma falha, não captura a pilha de chamadas.
  */
 public class EmailAlreadyExistsException extends RuntimeException {
 
@@ -14,7 +15,8 @@ public class EmailAlreadyExistsException extends RuntimeException {
      * @param email O e-mail que já está cadastrado.
      */
     public EmailAlreadyExistsException(String email) {
-        super(String.format("O e-mail fornecido (%s) já está cadastrado em nosso sistema. Por favor, insira um e-mail diferente.", email));
+        super("O e-mail fornecido (" + email + ") já está cadastrado em nosso sistema. Por favor, insira um e-mail diferente.",
+                null, false, false);
     }
 
 }
@@ -0,0 +1,35 @@
+package itau.case_backend.config.exception;
+
+import java.util.List;
+
+/**
+ * Exceção personalizada para indicar que os dados de um usuário enviados na requisição são inválidos.
+ *
+ * Esta exceção carrega as mensagens de todas as regras violadas, que são devolvidas ao
+ * cliente no mesmo formato dos erros de validação do Bean Validation.
+ * Por ser um resultado esperado da API, e não uma falha, não captura a pilha de chamadas.
+ */
+public class InvalidUserDataException extends RuntimeException {
+
+    private final List<String> errors;
+
+    /**
+     * Construtor da exceção.
+     *
+     * @param errors As mensagens das regras violadas.
+     */
+    public InvalidUserDataException(List<String> errors) {
+        super(String.join("; ", errors), null, false, false);
+        this.errors = errors;
+    }
+
+    /**
+     * Retorna as mensagens das regras violadas.
+     *
+     * @return Mensagens de erro.
+     */
+    public List<String> getErrors() {
+        return errors;
+    }
+
+}
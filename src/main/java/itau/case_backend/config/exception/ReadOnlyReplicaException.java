@@ -0,0 +1,18 @@
+package itau.case_backend.config.exception;
+
+/**
+ * Exceção lançada quando uma escrita chega a uma instância seguidora da replicação, que só
+ * atende leituras. Por ser um resultado esperado da API, não captura a pilha de chamadas.
+ */
+public class ReadOnlyReplicaException extends RuntimeException {
+
+    /**
+     * Construtor da exceção.
+     *
+     * @param leaderAddress O endereço de replicação do líder, que aceita as escritas.
+     */
+    public ReadOnlyReplicaException(String leaderAddress) {
+        super("Esta instância é uma réplica somente leitura. Envie as escritas para a instância líder (" + leaderAddress + ").",
+                null, false, false);
+    }
+}
@@ -0,0 +1,20 @@
+package itau.case_backend.config.exception;
+
+/**
+ * Exceção lançada quando uma requisição é recusada porque o limite de requisições simultâneas
+ * foi atingido. É lançada com frequência sob sobrecarga e, por isso, não captura a pilha de
+ * chamadas.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    /**
+     * Construtor da exceção.
+     *
+     * @param limiter O nome do limite atingido, como {@code reads} ou {@code writes}.
+     * @param limit   O limite atual de requisições simultâneas.
+     */
+    public ServiceOverloadedException(String limiter, int limit) {
+        super("Serviço sobrecarregado: limite de " + limit + " requisições simultâneas (" + limiter + ") atingido. Tente novamente.",
+                null, false, false);
+    }
+}
@@ -4,6 +4,7 @@ package itau.case_backend.config.exception;
  * Exceção personalizada para indicar que um usuário não foi encontrado no sistema.
  *
  * Esta exceção é lançada quando uma operação busca um usuário com um ID inexistente.
+ * Por ser um resultado esperado da API, e não uma falha, não captura a pilha de chamadas.
  */
 public class UserNotFoundException extends RuntimeException {
 
@@ -12,8 +13,8 @@ public class UserNotFoundException extends RuntimeException {
      *
      * @param id O ID do usuário que não foi encontrado.
      */
-    public UserNotFoundException(Long id) {
-        super(String.format("Usuário com id %d não encontrado.", id));
+    public UserNotFoundException(long id) {
+        super("Usuário com id " + id + " não encontrado.", null, false, false);
     }
 
 }
@@ -0,0 +1,20 @@
+package itau.case_backend.config.exception;
+
+/**
+ * Exceção que indica uma falha do armazenamento de usuários, e não dos dados da requisição.
+ *
+ * Envolve as exceções verificadas da camada de persistência (como {@link java.sql.SQLException}),
+ * preservando a causa e a pilha de chamadas para diagnóstico.
+ */
+public class UserStorageException extends RuntimeException {
+
+    /**
+     * Construtor da exceção.
+     *
+     * @param message Descrição da operação que falhou.
+     * @param cause   Exceção original do armazenamento.
+     */
+    public UserStorageException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,30 @@
+package itau.case_backend.config.json;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Configuração do formato binário CBOR ({@code application/cbor}) para requisições e respostas.
+ *
+ * <p>O conversor é criado a partir do mesmo construtor de {@code ObjectMapper} da aplicação, de
+ * modo que os serializadores de {@link UserJsonComponent} e as demais configurações do Jackson
+ * valem também para o formato binário. O formato é escolhido pelos cabeçalhos {@code Accept} e
+ * {@code Content-Type}; JSON continua sendo o padrão.</p>
+ */
+@Configuration
+public class CborConfiguration {
+
+    /**
+     * Cria o conversor de mensagens CBOR, que substitui o conversor padrão do Spring MVC.
+     *
+     * @param builder construtor de {@code ObjectMapper} configurado pelo Spring Boot.
+     * @return o conversor CBOR.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.createXmlMapper(false).factory(new CBORFactory()).build());
+    }
+}
@@ -0,0 +1,179 @@
+package itau.case_backend.config.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import itau.case_backend.domain.dtos.UserDTO;
+import itau.case_backend.domain.dtos.UserPartialUpdateDTO;
+import itau.case_backend.domain.dtos.UserProjectionDTO;
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.query.UserField;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Serializadores e desserializadores JSON escritos à mão para os tipos dos endpoints de usuários.
+ *
+ * <p>Substituem o serializador de beans do Jackson, que descobre as propriedades por reflexão e
+ * as acessa por chamadas indiretas a cada objeto. Aqui os campos são lidos e escritos diretamente
+ * sobre o fluxo de tokens, com os nomes já codificados. O formato produzido e aceito é o mesmo do
+ * serializador padrão: campos na ordem {@code id, name, email, age}, nulos escritos
+ * explicitamente, campos desconhecidos ignorados e valores de outros tipos convertidos pelas
+ * regras padrão do Jackson.</p>
+ *
+ * <p>{@link UserProjectionDTO} é escrito pelo mesmo código, limitado aos campos selecionados.</p>
+ */
+@JsonComponent
+public class UserJsonComponent {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString EMAIL = new SerializedString("email");
+    private static final SerializableString AGE = new SerializedString("age");
+    private static final Set<UserField> ALL_FIELDS = Collections.unmodifiableSet(EnumSet.allOf(UserField.class));
+
+    /**
+     * Serializador de {@link User}.
+     */
+    public static class UserSerializer extends JsonSerializer<User> {
+
+        @Override
+        public void serialize(User user, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            writeUser(user, ALL_FIELDS, gen);
+        }
+
+        @Override
+        public Class<User> handledType() {
+            return User.class;
+        }
+    }
+
+    /**
+     * Serializador de {@link UserProjectionDTO}, que escreve apenas os campos selecionados.
+     */
+    public static class UserProjectionSerializer extends JsonSerializer<UserProjectionDTO> {
+
+        @Override
+        public void serialize(UserProjectionDTO projection, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            writeUser(projection.getUser(), projection.getFields(), gen);
+        }
+
+        @Override
+        public Class<UserProjectionDTO> handledType() {
+            return UserProjectionDTO.class;
+        }
+    }
+
+    /**
+     * Desserializador de {@link UserDTO}.
+     */
+    public static class UserDTODeserializer extends JsonDeserializer<UserDTO> {
+
+        @Override
+        public UserDTO deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            UserDTO dto = new UserDTO();
+            for (String field = startObject(p, ctxt, UserDTO.class); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "name" -> dto.setName(readString(p, ctxt));
+                    case "email" -> dto.setEmail(readString(p, ctxt));
+                    case "age" -> dto.setAge(readInteger(p, ctxt));
+                    default -> p.skipChildren();
+                }
+            }
+            return dto;
+        }
+    }
+
+    /**
+     * Desserializador de {@link UserPartialUpdateDTO}.
+     */
+    public static class UserPartialUpdateDTODeserializer extends JsonDeserializer<UserPartialUpdateDTO> {
+
+        @Override
+        public UserPartialUpdateDTO deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            UserPartialUpdateDTO dto = new UserPartialUpdateDTO();
+            for (String field = startObject(p, ctxt, UserPartialUpdateDTO.class); field != null; field = p.nextFieldName()) {
+                p.nextToken();
+                switch (field) {
+                    case "name" -> dto.setName(readString(p, ctxt));
+                    case "email" -> dto.setEmail(readString(p, ctxt));
+                    case "age" -> dto.setAge(readInteger(p, ctxt));
+                    default -> p.skipChildren();
+                }
+            }
+            return dto;
+        }
+    }
+
+    private static void writeUser(User user, Set<UserField> fields, JsonGenerator gen) throws IOException {
+        gen.writeStartObject(user, fields.size());
+        if (fields.contains(UserField.ID)) {
+            gen.writeFieldName(ID);
+            gen.writeNumber(user.getId());
+        }
+        if (fields.contains(UserField.NAME)) {
+            gen.writeFieldName(NAME);
+            gen.writeString(user.getName());
+        }
+        if (fields.contains(UserField.EMAIL)) {
+            gen.writeFieldName(EMAIL);
+            gen.writeString(user.getEmail());
+        }
+        if (fields.contains(UserField.AGE)) {
+            gen.writeFieldName(AGE);
+            if (user.getAge() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(user.getAge());
+            }
+        }
+        gen.writeEndObject();
+    }
+
+    /**
+     * Posiciona o parser no primeiro campo do objeto.
+     *
+     * @return o nome do primeiro campo, ou {@code null} se o objeto for vazio
+     */
+    private static String startObject(JsonParser p, DeserializationContext ctxt, Class<?> type) throws IOException {
+        if (p.isExpectedStartObjectToken()) {
+            return p.nextFieldName();
+        }
+        if (p.hasToken(JsonToken.FIELD_NAME)) {
+            return p.currentName();
+        }
+        if (p.hasToken(JsonToken.END_OBJECT)) {
+            return null;
+        }
+        return (String) ctxt.handleUnexpectedToken(type, p);
+    }
+
+    private static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return switch (p.currentToken()) {
+            case VALUE_STRING -> p.getText();
+            case VALUE_NULL -> null;
+            default -> ctxt.readValue(p, String.class);
+        };
+    }
+
+    private static Integer readInteger(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return switch (p.currentToken()) {
+            case VALUE_NUMBER_INT -> p.getNumberType() == JsonParser.NumberType.INT
+                    ? p.getIntValue()
+                    : ctxt.readValue(p, Integer.class);
+            case VALUE_NULL -> null;
+            default -> ctxt.readValue(p, Integer.class);
+        };
+    }
+}
@@ -0,0 +1,233 @@
+package itau.case_backend.domain;
+
+import itau.case_backend.config.exception.ServiceOverloadedException;
+import itau.case_backend.domain.deadline.RequestDeadline;
+import itau.case_backend.domain.dtos.UserDTO;
+import itau.case_backend.domain.dtos.UserPartialUpdateDTO;
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.ports.input.AsyncUserInputPort;
+import itau.case_backend.ports.input.UserInputPort;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Serviço que executa as operações de {@link UserInputPort} em um executor dedicado e devolve
+ * {@link CompletableFuture}s, liberando as threads do contêiner enquanto a porta de saída
+ * trabalha.
+ *
+ * <p>Com {@code users.async.executor=virtual} (padrão), cada operação roda em uma thread
+ * virtual, se a JVM as oferecer (Java 21 ou posterior); caso contrário, e com
+ * {@code users.async.executor=platform}, roda em um pool fixo de {@code users.async.threads}
+ * threads. Em ambos os casos, no máximo {@code users.async.max-pending} operações ficam na fila
+ * ou em execução ao mesmo tempo: as excedentes recebem de imediato um futuro já concluído com
+ * {@link ServiceOverloadedException}, para que uma porta de saída lenta não acumule trabalho
+ * sem limite.</p>
+ *
+ * <p>O {@link RequestDeadline} de quem chama é transferido para a thread do executor, e uma
+ * operação cujo prazo terminou enquanto esperava na fila não é executada.</p>
+ */
+@Service
+public class AsyncUserServiceImpl implements AsyncUserInputPort {
+
+    private final UserInputPort userInputPort;
+    private final ExecutorService executor;
+    private final String executorType;
+    private final int maxPending;
+    private final Semaphore permits;
+
+    /**
+     * Construtor para injeção de dependência.
+     *
+     * @param userInputPort porta de entrada síncrona que executa as operações.
+     * @param executorType  tipo de executor: {@code virtual} ou {@code platform}.
+     * @param threads       quantidade de threads do pool fixo.
+     * @param maxPending    quantidade máxima de operações na fila ou em execução.
+     */
+    @Autowired
+    public AsyncUserServiceImpl(UserInputPort userInputPort,
+                                @Value("${users.async.executor:virtual}") String executorType,
+                                @Value("${users.async.threads:64}") int threads,
+                                @Value("${users.async.max-pending:1000}") int maxPending) {
+        this(userInputPort, "virtual".equals(executorType) ? newVirtualThreadExecutor() : null, threads, maxPending);
+    }
+
+    private AsyncUserServiceImpl(UserInputPort userInputPort, ExecutorService virtualThreads, int threads, int maxPending) {
+        this(userInputPort, virtualThreads != null ? virtualThreads : newPlatformExecutor(threads),
+                virtualThreads != null ? "virtual" : "platform", maxPending);
+    }
+
+    /**
+     * Construtor a partir de um executor já criado, que passa a pertencer ao serviço.
+     *
+     * @param userInputPort porta de entrada síncrona que executa as operações.
+     * @param executor      executor das operações.
+     * @param executorType  nome do tipo de executor, usado nas métricas.
+     * @param maxPending    quantidade máxima de operações na fila ou em execução.
+     */
+    public AsyncUserServiceImpl(UserInputPort userInputPort, ExecutorService executor, String executorType, int maxPending) {
+        this.userInputPort = userInputPort;
+        this.executor = executor;
+        this.executorType = executorType;
+        this.maxPending = maxPending;
+        this.permits = new Semaphore(maxPending);
+    }
+
+    /**
+     * Busca todos os usuários cadastrados.
+     *
+     * @return Futuro com a lista de usuários.
+     */
+    @Override
+    public CompletableFuture<List<User>> getAllUsers() {
+        return submit(userInputPort::getAllUsers);
+    }
+
+    /**
+     * Busca usuários pelo nome, completo ou parcial.
+     *
+     * @param query Texto a ser buscado.
+     * @param limit Quantidade máxima de usuários.
+     * @return Futuro com os usuários encontrados, em ordem de relevância.
+     */
+    @Override
+    public CompletableFuture<List<User>> searchUsersByName(String query, int limit) {
+        return submit(() -> userInputPort.searchUsersByName(query, limit));
+    }
+
+    /**
+     * Busca um usuário pelo ID.
+     *
+     * @param id ID do usuário.
+     * @return Futuro com o usuário correspondente.
+     */
+    @Override
+    public CompletableFuture<User> getUserById(long id) {
+        return submit(() -> userInputPort.getUserById(id));
+    }
+
+    /**
+     * Cria um novo usuário.
+     *
+     * @param userDTO Dados do novo usuário.
+     * @return Futuro com o usuário criado.
+     */
+    @Override
+    public CompletableFuture<User> createUser(UserDTO userDTO) {
+        return submit(() -> userInputPort.createUser(userDTO));
+    }
+
+    /**
+     * Atualiza completamente um usuário pelo ID.
+     *
+     * @param id      ID do usuário.
+     * @param userDTO Novos dados do usuário.
+     * @return Futuro com o usuário atualizado.
+     */
+    @Override
+    public CompletableFuture<User> updateUser(long id, UserDTO userDTO) {
+        return submit(() -> userInputPort.updateUser(id, userDTO));
+    }
+
+    /**
+     * Atualiza parcialmente um usuário pelo ID.
+     *
+     * @param id                   ID do usuário.
+     * @param userPartialUpdateDTO Dados parciais para atualização.
+     * @return Futuro com o usuário atualizado.
+     */
+    @Override
+    public CompletableFuture<User> partialUpdateUser(long id, UserPartialUpdateDTO userPartialUpdateDTO) {
+        return submit(() -> userInputPort.partialUpdateUser(id, userPartialUpdateDTO));
+    }
+
+    /**
+     * Exclui um usuário pelo ID.
+     *
+     * @param id ID do usuário.
+     * @return Futuro concluído após a exclusão.
+     */
+    @Override
+    public CompletableFuture<Void> deleteUser(long id) {
+        return submit(() -> {
+            userInputPort.deleteUser(id);
+            return null;
+        });
+    }
+
+    /**
+     * Retorna o tipo do executor em uso.
+     *
+     * @return {@code virtual} ou {@code platform}
+     */
+    public String executorType() {
+        return executorType;
+    }
+
+    /**
+     * Retorna a quantidade de operações na fila ou em execução.
+     *
+     * @return a quantidade de operações
+     */
+    public int pending() {
+        return maxPending - permits.availablePermits();
+    }
+
+    /**
+     * Encerra o executor, aguardando as operações em andamento.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> operation) {
+        if (!permits.tryAcquire()) {
+            return CompletableFuture.failedFuture(new ServiceOverloadedException("async", maxPending));
+        }
+        Long deadline = RequestDeadline.current();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                RequestDeadline.restore(deadline);
+                try {
+                    RequestDeadline.check("async.queued");
+                    return operation.get();
+                } finally {
+                    RequestDeadline.clear();
+                    permits.release();
+                }
+            }, executor);
+        } catch (RejectedExecutionException exception) {
+            permits.release();
+            return CompletableFuture.failedFuture(new ServiceOverloadedException("async", maxPending));
+        }
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException exception) {
+            // JVM sem threads virtuais: o pool fixo é usado.
+            return null;
+        }
+    }
+
+    private static ExecutorService newPlatformExecutor(int threads) {
+        AtomicInteger created = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-async-" + created.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -2,23 +2,52 @@ package itau.case_backend.domain;
 
 import itau.case_backend.config.exception.EmailAlreadyExistsException;
 import itau.case_backend.config.exception.UserNotFoundException;
+import itau.case_backend.domain.deadline.RequestDeadline;
+import itau.case_backend.domain.dtos.MemoryFootprintDTO;
+import itau.case_backend.domain.dtos.TierStatsDTO;
+import itau.case_backend.domain.dtos.UserChangesDTO;
 import itau.case_backend.domain.dtos.UserDTO;
 import itau.case_backend.domain.dtos.UserPartialUpdateDTO;
+import itau.case_backend.domain.dtos.UserStatsDTO;
 import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.events.UserChangeRingBuffer;
+import itau.case_backend.domain.events.UserChangeType;
+import itau.case_backend.domain.query.UserQuery;
+import itau.case_backend.domain.query.UserQueryPlanner;
+import itau.case_backend.domain.query.UserQueryResult;
 import itau.case_backend.ports.input.UserInputPort;
+import itau.case_backend.ports.output.UserIdAllocator;
 import itau.case_backend.ports.output.UserOutputPort;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 /**
  * Serviço que implementa as regras de negócio para o gerenciamento de usuários.
  * Esta classe serve como a porta de entrada (input port) para a aplicação.
  * Os dados são armazenados temporariamente e não há persistência duradoura, sendo utilizado um repositório (output port).
  *
- * <p>Esta classe gerencia as operações de criação, atualização, exclusão e consulta de usuários.</p>
+ * <p>Esta classe gerencia as operações de criação, atualização, exclusão e consulta de usuários.
+ * Toda escrita bem-sucedida é publicada no {@link UserChangeRingBuffer}. A atualização e a
+ * exclusão de um usuário gravam e publicam sob uma mesma trava por ID (distribuída em
+ * {@value #USER_LOCK_STRIPES} travas), de modo que duas escritas concorrentes no mesmo usuário
+ * recebem sequências no buffer na mesma ordem das versões gravadas; escritas em usuários
+ * diferentes seguem em paralelo.</p>
+ *
+ * <p>As consultas e escritas verificam o {@link RequestDeadline} da requisição antes de acessar a
+ * porta de saída e, nas escritas, novamente antes de gravar: com o prazo terminado, o trabalho
+ * restante não é feito. Uma gravação já iniciada não é interrompida.</p>
  *
  * @see UserInputPort
  * @see UserOutputPort
@@ -26,16 +55,54 @@ import java.util.Optional;
 @Service
 public class UserServiceImpl implements UserInputPort {
 
+    /** Quantidade de travas entre as quais os IDs de usuários são distribuídos. */
+    public static final int USER_LOCK_STRIPES = 64;
+
     private final UserOutputPort userRepository;
+    private final UserChangeRingBuffer changeEvents;
+    private final UserQueryPlanner queryPlanner;
+    private final UserIdAllocator idAllocator;
+    private final Lock[] userLocks = new Lock[USER_LOCK_STRIPES];
+
+    /**
+     * Construtor para a classe UserServiceImpl, com IDs gerados pelo repositório.
+     *
+     * @param userRepository instância da porta de saída {@link UserOutputPort} usada para acessar os dados dos usuários.
+     * @param changeEvents   buffer onde as alterações de usuários são publicadas.
+     */
+    public UserServiceImpl(UserOutputPort userRepository, UserChangeRingBuffer changeEvents) {
+        this(userRepository, changeEvents, UserIdAllocator.REPOSITORY);
+    }
 
     /**
      * Construtor para a classe UserServiceImpl.
      *
      * @param userRepository instância da porta de saída {@link UserOutputPort} usada para acessar os dados dos usuários.
+     * @param changeEvents   buffer onde as alterações de usuários são publicadas.
+     * @param idAllocator    estratégia de escolha dos IDs de novos usuários.
      */
-    @Autowired
-    public UserServiceImpl(UserOutputPort userRepository) {
+    public UserServiceImpl(UserOutputPort userRepository, UserChangeRingBuffer changeEvents, UserIdAllocator idAllocator) {
         this.userRepository = userRepository;
+        this.changeEvents = changeEvents;
+        this.queryPlanner = new UserQueryPlanner(userRepository);
+        this.idAllocator = idAllocator;
+        for (int i = 0; i < userLocks.length; i++) {
+            userLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Construtor para injeção de dependência. Sem uma {@link UserIdAllocator} configurada, os
+     * IDs são gerados pelo repositório.
+     *
+     * @param userRepository instância da porta de saída {@link UserOutputPort} usada para acessar os dados dos usuários.
+     * @param changeEvents   buffer onde as alterações de usuários são publicadas.
+     * @param idAllocator    estratégia de escolha dos IDs de novos usuários, se houver.
+     */
+    @Autowired
+    public UserServiceImpl(UserOutputPort userRepository, UserChangeRingBuffer changeEvents,
+                           ObjectProvider<UserIdAllocator> idAllocator) {
+        this(userRepository, changeEvents, idAllocator.getIfAvailable(() -> UserIdAllocator.REPOSITORY));
     }
 
     /**s
@@ -45,9 +112,58 @@ public class UserServiceImpl implements UserInputPort {
      */
     @Override
     public List<User> getAllUsers() {
+        RequestDeadline.check("getAllUsers");
         return userRepository.findAllUsers();
     }
 
+    /**
+     * Entrega cada usuário cadastrado ao consumidor, sem montar a lista completa.
+     *
+     * @param consumer Consumidor dos usuários.
+     */
+    @Override
+    public void forEachUser(Consumer<User> consumer) {
+        userRepository.forEachUser(consumer);
+    }
+
+    /**
+     * Executa uma consulta de usuários, usando o índice mais seletivo para os filtros informados.
+     *
+     * @param query Consulta com filtros e paginação.
+     * @return Página de usuários, total e plano executado.
+     */
+    @Override
+    public UserQueryResult queryUsers(UserQuery query) {
+        RequestDeadline.check("queryUsers");
+        return queryPlanner.execute(query);
+    }
+
+    /**
+     * Conta os usuários de cada domínio de e-mail.
+     *
+     * @param offset Quantidade de domínios a pular.
+     * @param limit  Quantidade máxima de domínios.
+     * @return Quantidade de usuários por domínio, em ordem alfabética.
+     */
+    @Override
+    public Map<String, Long> countUsersByEmailDomain(int offset, int limit) {
+        RequestDeadline.check("countUsersByEmailDomain");
+        return userRepository.countUsersByEmailDomain(offset, limit);
+    }
+
+    /**
+     * Busca usuários pelo nome, completo ou parcial.
+     *
+     * @param query Texto a ser buscado.
+     * @param limit Quantidade máxima de usuários.
+     * @return Usuários encontrados, em ordem de relevância.
+     */
+    @Override
+    public List<User> searchUsersByName(String query, int limit) {
+        RequestDeadline.check("searchUsersByName");
+        return userRepository.searchUsersByName(query, limit);
+    }
+
     /**
      * Retorna um usuário pelo ID.
      *
@@ -57,9 +173,76 @@ public class UserServiceImpl implements UserInputPort {
      */
     @Override
     public User getUserById(long id) {
+        RequestDeadline.check("getUserById");
         return userRepository.findUserById(id).orElseThrow(() -> new UserNotFoundException(id));
     }
 
+    /**
+     * Retorna a versão atual do conjunto de usuários.
+     *
+     * @return Versão atual, ou {@code -1} se o armazenamento não mantiver versão.
+     */
+    @Override
+    public long getStoreVersion() {
+        return userRepository.getStoreVersion();
+    }
+
+    /**
+     * Retorna as alterações de usuários ocorridas após uma sequência.
+     *
+     * @param since Última sequência conhecida pelo cliente.
+     * @return Usuários alterados e IDs removidos desde a sequência.
+     */
+    @Override
+    public UserChangesDTO getChangesSince(long since) {
+        return userRepository.findChangesSince(since);
+    }
+
+    /**
+     * Retorna as alterações de usuários ocorridas após uma sequência, entregando o estado
+     * completo, quando necessário, ao consumidor.
+     *
+     * @param since            Última sequência conhecida pelo cliente.
+     * @param snapshotConsumer Consumidor dos usuários do estado completo.
+     * @return Usuários alterados e IDs removidos, ou a sequência do estado completo entregue.
+     */
+    @Override
+    public UserChangesDTO getChangesSince(long since, Consumer<User> snapshotConsumer) {
+        return userRepository.findChangesSince(since, snapshotConsumer);
+    }
+
+    /**
+     * Retorna as estatísticas agregadas dos usuários.
+     *
+     * @param topDomains Quantidade de domínios de e-mail mais frequentes a incluir.
+     * @return Estatísticas dos usuários.
+     */
+    @Override
+    public UserStatsDTO getUserStatistics(int topDomains) {
+        RequestDeadline.check("getUserStatistics");
+        return userRepository.getStatistics(topDomains);
+    }
+
+    /**
+     * Estima a memória ocupada pelo repositório e pelo buffer de alterações.
+     *
+     * @return Estimativa de memória por componente.
+     */
+    @Override
+    public MemoryFootprintDTO getMemoryFootprint() {
+        return userRepository.getMemoryFootprint().plus("changeEvents", changeEvents.estimatedBytes());
+    }
+
+    /**
+     * Busca as métricas da camada em memória do repositório.
+     *
+     * @return Métricas da camada quente, ou Optional.empty() se o repositório não tiver camadas.
+     */
+    @Override
+    public Optional<TierStatsDTO> getTierStatistics() {
+        return userRepository.getTierStatistics();
+    }
+
     /**
      * Cria um novo usuário.
      *
@@ -69,12 +252,41 @@ public class UserServiceImpl implements UserInputPort {
      */
     @Override
     public User createUser(UserDTO userDTO) {
+        RequestDeadline.check("createUser");
         Optional<User> userOptional = userRepository.findUserByEmail(userDTO.getEmail());
         if (userOptional.isPresent()) {
             throw new EmailAlreadyExistsException(userDTO.getEmail());
         }
 
-        return userRepository.saveUser(userDTO.toEntity());
+        RequestDeadline.check("createUser.save");
+        User savedUser = userRepository.saveUser(newUser(userDTO));
+        changeEvents.publish(UserChangeType.CREATED, savedUser);
+        return savedUser;
+    }
+
+    /**
+     * Cria vários usuários, gravados de uma só vez pela porta de saída.
+     *
+     * @param userDTOs Dados dos novos usuários.
+     * @return Usuários criados, na mesma ordem.
+     * @throws EmailAlreadyExistsException Se algum e-mail já estiver em uso ou se repetir no lote.
+     */
+    @Override
+    public List<User> createUsers(List<UserDTO> userDTOs) {
+        Set<String> emails = new HashSet<>();
+        List<User> users = new ArrayList<>(userDTOs.size());
+        for (UserDTO userDTO : userDTOs) {
+            RequestDeadline.check("createUsers");
+            if (!emails.add(userDTO.getEmail()) || userRepository.findUserByEmail(userDTO.getEmail()).isPresent()) {
+                throw new EmailAlreadyExistsException(userDTO.getEmail());
+            }
+            users.add(newUser(userDTO));
+        }
+
+        RequestDeadline.check("createUsers.save");
+        List<User> savedUsers = userRepository.saveAllUsers(users);
+        savedUsers.forEach(user -> changeEvents.publish(UserChangeType.CREATED, user));
+        return savedUsers;
     }
 
     /**
@@ -88,19 +300,29 @@ public class UserServiceImpl implements UserInputPort {
      */
     @Override
     public User updateUser(long id, UserDTO userDTO) {
+        RequestDeadline.check("updateUser");
         Optional<User> userOptional = userRepository.findUserByEmail(userDTO.getEmail());
         if (userOptional.isPresent()) {
             throw new EmailAlreadyExistsException(userDTO.getEmail());
         }
 
-        return userRepository.findUserById(id)
-                .map(user -> {
-                    user.setName(userDTO.getName());
-                    user.setEmail(userDTO.getEmail());
-                    user.setAge(userDTO.getAge());
-                    return userRepository.saveUser(user);
-                })
-                .orElseThrow(() -> new UserNotFoundException(id));
+        Lock lock = userLock(id);
+        lock.lock();
+        try {
+            User updatedUser = userRepository.findUserById(id)
+                    .map(user -> {
+                        RequestDeadline.check("updateUser.save");
+                        user.setName(userDTO.getName());
+                        user.setEmail(userDTO.getEmail());
+                        user.setAge(userDTO.getAge());
+                        return userRepository.saveUser(user);
+                    })
+                    .orElseThrow(() -> new UserNotFoundException(id));
+            changeEvents.publish(UserChangeType.UPDATED, updatedUser);
+            return updatedUser;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -114,19 +336,29 @@ public class UserServiceImpl implements UserInputPort {
      */
     @Override
     public User partialUpdateUser(long id, UserPartialUpdateDTO updatedUserDTO) {
+        RequestDeadline.check("partialUpdateUser");
         Optional<User> userOptional = userRepository.findUserByEmail(updatedUserDTO.getEmail());
         if (userOptional.isPresent()) {
             throw new EmailAlreadyExistsException(updatedUserDTO.getEmail());
         }
 
-        return userRepository.findUserById(id)
-                .map(user -> {
-                    Optional.ofNullable(updatedUserDTO.getName()).ifPresent(user::setName);
-                    Optional.ofNullable(updatedUserDTO.getEmail()).ifPresent(user::setEmail);
-                    Optional.ofNullable(updatedUserDTO.getAge()).ifPresent(user::setAge);
-                    return userRepository.saveUser(user);
-                })
-                .orElseThrow(() -> new UserNotFoundException(id));
+        Lock lock = userLock(id);
+        lock.lock();
+        try {
+            User updatedUser = userRepository.findUserById(id)
+                    .map(user -> {
+                        RequestDeadline.check("partialUpdateUser.save");
+                        Optional.ofNullable(updatedUserDTO.getName()).ifPresent(user::setName);
+                        Optional.ofNullable(updatedUserDTO.getEmail()).ifPresent(user::setEmail);
+                        Optional.ofNullable(updatedUserDTO.getAge()).ifPresent(user::setAge);
+                        return userRepository.saveUser(user);
+                    })
+                    .orElseThrow(() -> new UserNotFoundException(id));
+            changeEvents.publish(UserChangeType.UPDATED, updatedUser);
+            return updatedUser;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -137,9 +369,100 @@ public class UserServiceImpl implements UserInputPort {
      */
     @Override
     public void deleteUser(long id) {
-        if (userRepository.findUserById(id).isEmpty()) {
-            throw new UserNotFoundException(id);
+        RequestDeadline.check("deleteUser");
+        Lock lock = userLock(id);
+        lock.lock();
+        try {
+            User user = userRepository.findUserById(id).orElseThrow(() -> new UserNotFoundException(id));
+            RequestDeadline.check("deleteUser.delete");
+            userRepository.deleteUserById(id);
+            changeEvents.publish(UserChangeType.DELETED, user);
+        } finally {
+            lock.unlock();
         }
-        userRepository.deleteUserById(id);
+    }
+
+    /**
+     * Aplica as alterações recebidas de outra instância, preservando os IDs de origem.
+     *
+     * <p>As alterações já foram validadas na origem e são gravadas sem novas verificações. Um
+     * estado completo substitui o local de uma só vez, por {@link UserOutputPort#replaceAllUsers},
+     * sem que as leituras vejam um estado em que os usuários ausentes já foram removidos e os
+     * novos ainda não foram gravados. Cada alteração aplicada é publicada no
+     * {@link UserChangeRingBuffer}; no estado completo, o repositório informa as remoções e as
+     * gravações durante a troca, sem que os usuários locais sejam carregados.</p>
+     *
+     * @param changes Alterações ou estado completo da origem.
+     */
+    @Override
+    public void applyReplicatedChanges(UserChangesDTO changes) {
+        if (changes.isFullResync()) {
+            userRepository.replaceAllUsers(changes.getUsers(), changeEvents::publish);
+            return;
+        }
+
+        List<UserChangeType> types = new ArrayList<>(changes.getUsers().size());
+        for (User user : changes.getUsers()) {
+            types.add(userRepository.findUserById(user.getId()).isPresent() ? UserChangeType.UPDATED : UserChangeType.CREATED);
+        }
+        List<User> savedUsers = userRepository.saveAllUsers(changes.getUsers());
+        for (int i = 0; i < savedUsers.size(); i++) {
+            changeEvents.publish(types.get(i), savedUsers.get(i));
+        }
+
+        for (long id : changes.getDeletedIds()) {
+            userRepository.findUserById(id).ifPresent(user -> {
+                userRepository.deleteUserById(id);
+                changeEvents.publish(UserChangeType.DELETED, user);
+            });
+        }
+    }
+
+    /**
+     * Grava usuários transferidos por outra instância, recusando os que conflitam com usuários
+     * locais.
+     *
+     * <p>Durante uma mudança na composição do cluster, esta instância pode ter criado um usuário
+     * com um ID que o dono anterior ainda guardava. Gravar a transferência sobrescreveria esse
+     * usuário; por isso um ID ou e-mail já usado por um usuário diferente é recusado. Um usuário
+     * idêntico ao local, de uma transferência repetida, é aceito sem nova gravação.</p>
+     *
+     * @param users Usuários transferidos.
+     * @return IDs recusados por conflito.
+     */
+    @Override
+    public List<Long> importUsers(List<User> users) {
+        List<Long> conflicts = new ArrayList<>();
+        List<User> accepted = new ArrayList<>(users.size());
+        for (User user : users) {
+            Optional<User> existing = userRepository.findUserById(user.getId());
+            Optional<User> sameEmail = userRepository.findUserByEmail(user.getEmail());
+            if (existing.isPresent() && !sameContent(existing.get(), user)
+                    || sameEmail.isPresent() && sameEmail.get().getId() != user.getId()) {
+                conflicts.add(user.getId());
+            } else if (existing.isEmpty()) {
+                accepted.add(user);
+            }
+        }
+
+        List<User> savedUsers = userRepository.saveAllUsers(accepted);
+        savedUsers.forEach(user -> changeEvents.publish(UserChangeType.CREATED, user));
+        return conflicts;
+    }
+
+    private Lock userLock(long id) {
+        return userLocks[Long.hashCode(id) & (USER_LOCK_STRIPES - 1)];
+    }
+
+    private static boolean sameContent(User a, User b) {
+        return Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getEmail(), b.getEmail())
+                && Objects.equals(a.getAge(), b.getAge());
+    }
+
+    private User newUser(UserDTO userDTO) {
+        User user = userDTO.toEntity();
+        user.setId(idAllocator.nextId(id -> userRepository.findUserById(id).isPresent()));
+        return user;
     }
 }
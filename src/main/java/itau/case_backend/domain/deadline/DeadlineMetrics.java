@@ -0,0 +1,51 @@
+package itau.case_backend.domain.deadline;
+
+import itau.case_backend.domain.dtos.DeadlineStatsDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Métricas dos prazos de requisições: as etapas que deixaram de ser executadas porque o prazo
+ * já havia terminado, por nome, e as requisições concluídas depois do prazo sem passar por
+ * nenhuma verificação, cujo trabalho foi desperdiçado.
+ *
+ * <p>As etapas evitadas são registradas por quem trata a {@code DeadlineExceededException} da
+ * requisição, e as conclusões tardias pelo interceptador que define o prazo.</p>
+ */
+@Component
+public class DeadlineMetrics {
+
+    private final Map<String, LongAdder> skipped = new ConcurrentHashMap<>();
+    private final LongAdder completedLate = new LongAdder();
+
+    /**
+     * Conta uma etapa que deixou de ser executada por prazo terminado.
+     *
+     * @param operation o nome da etapa
+     */
+    public void recordSkipped(String operation) {
+        skipped.computeIfAbsent(operation, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Conta uma requisição concluída depois do prazo, cujo resultado o cliente já não esperava.
+     */
+    public void recordCompletedLate() {
+        completedLate.increment();
+    }
+
+    /**
+     * Retorna as métricas atuais.
+     *
+     * @return as etapas evitadas, em ordem alfabética, e as requisições concluídas depois do prazo
+     */
+    public DeadlineStatsDTO snapshot() {
+        Map<String, Long> counts = new TreeMap<>();
+        skipped.forEach((operation, count) -> counts.put(operation, count.sum()));
+        return new DeadlineStatsDTO(counts, completedLate.sum());
+    }
+}
@@ -0,0 +1,101 @@
+package itau.case_backend.domain.deadline;
+
+import itau.case_backend.config.exception.DeadlineExceededException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prazo da requisição em andamento na thread atual.
+ *
+ * <p>O adaptador de entrada define o prazo no início da requisição e o remove ao final. O
+ * serviço e as portas de saída lentas chamam {@link #check(String)} antes de cada etapa cara:
+ * se o prazo já terminou, a etapa não é executada e a requisição é encerrada com
+ * {@link DeadlineExceededException}. Sem prazo definido (tarefas internas, replicação,
+ * compactação) as verificações não têm efeito.</p>
+ *
+ * <p>As etapas evitadas e as requisições concluídas depois do prazo são contadas em
+ * {@link DeadlineMetrics}, a partir da exceção e do fim da requisição.</p>
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private RequestDeadline() {
+    }
+
+    /**
+     * Define o prazo da thread atual a partir de agora.
+     *
+     * @param timeoutMillis tempo disponível, em milissegundos
+     */
+    public static void start(long timeoutMillis) {
+        DEADLINE.set(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(0, timeoutMillis)));
+    }
+
+    /**
+     * Retorna o prazo da thread atual, para ser transferido a outra thread com
+     * {@link #restore(Long)}.
+     *
+     * @return o instante do prazo, em {@link System#nanoTime()}, ou {@code null} se não houver
+     */
+    public static Long current() {
+        return DEADLINE.get();
+    }
+
+    /**
+     * Define o prazo da thread atual com um valor obtido de {@link #current()}.
+     *
+     * @param deadlineNanos o instante do prazo, ou {@code null} para remover o prazo
+     */
+    public static void restore(Long deadlineNanos) {
+        if (deadlineNanos == null) {
+            DEADLINE.remove();
+        } else {
+            DEADLINE.set(deadlineNanos);
+        }
+    }
+
+    /**
+     * Remove o prazo da thread atual.
+     */
+    public static void clear() {
+        DEADLINE.remove();
+    }
+
+    /**
+     * Retorna o tempo restante até o prazo.
+     *
+     * @return o tempo restante, em milissegundos arredondados para cima (zero se já terminou), ou
+     * {@link Long#MAX_VALUE} se não houver prazo
+     */
+    public static long remainingMillis() {
+        Long deadline = DEADLINE.get();
+        if (deadline == null) {
+            return Long.MAX_VALUE;
+        }
+        return Math.max(0, (deadline - System.nanoTime() + 999_999) / 1_000_000);
+    }
+
+    /**
+     * Indica se o prazo da thread atual já terminou.
+     *
+     * @return true se houver prazo e ele tiver terminado
+     */
+    public static boolean isExpired() {
+        Long deadline = DEADLINE.get();
+        return deadline != null && System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * Verifica o prazo antes de uma etapa. Se ele já terminou, a etapa não é executada e a
+     * requisição é encerrada.
+     *
+     * @param operation o nome da etapa
+     * @throws DeadlineExceededException se o prazo já terminou
+     */
+    public static void check(String operation) {
+        if (isExpired()) {
+            throw new DeadlineExceededException(operation);
+        }
+    }
+}
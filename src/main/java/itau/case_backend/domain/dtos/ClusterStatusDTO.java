@@ -0,0 +1,59 @@
+package itau.case_backend.domain.dtos;
+
+import java.util.Map;
+
+/**
+ * DTO com a composição do cluster vista por uma instância.
+ *
+ * <ul>
+ *   <li><b>self:</b> nome da instância.</li>
+ *   <li><b>nodes:</b> nós do anel, do nome para a URL base.</li>
+ *   <li><b>routing:</b> {@code forward} ou {@code redirect}.</li>
+ * </ul>
+ */
+public class ClusterStatusDTO {
+
+    private final String self;
+    private final Map<String, String> nodes;
+    private final String routing;
+
+    /**
+     * Construtor com todos os atributos.
+     *
+     * @param self    nome da instância.
+     * @param nodes   nós do anel.
+     * @param routing modo de encaminhamento.
+     */
+    public ClusterStatusDTO(String self, Map<String, String> nodes, String routing) {
+        this.self = self;
+        this.nodes = nodes;
+        this.routing = routing;
+    }
+
+    /**
+     * Retorna o nome da instância.
+     *
+     * @return Nome do nó.
+     */
+    public String getSelf() {
+        return self;
+    }
+
+    /**
+     * Retorna os nós do anel.
+     *
+     * @return Mapa do nome do nó para a URL base.
+     */
+    public Map<String, String> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Retorna o modo de encaminhamento das requisições de outros nós.
+     *
+     * @return {@code forward} ou {@code redirect}.
+     */
+    public String getRouting() {
+        return routing;
+    }
+}
@@ -0,0 +1,83 @@
+package itau.case_backend.domain.dtos;
+
+/**
+ * DTO com o estado de um limite adaptativo de requisições simultâneas.
+ *
+ * <ul>
+ *   <li><b>limit:</b> limite atual.</li>
+ *   <li><b>inFlight:</b> requisições em andamento.</li>
+ *   <li><b>minRttMicros:</b> menor latência observada, em microssegundos, ou -1.</li>
+ *   <li><b>accepted:</b> requisições admitidas.</li>
+ *   <li><b>rejected:</b> requisições recusadas com 503.</li>
+ * </ul>
+ */
+public class ConcurrencyLimitDTO {
+
+    private final int limit;
+    private final int inFlight;
+    private final long minRttMicros;
+    private final long accepted;
+    private final long rejected;
+
+    /**
+     * Construtor com todos os atributos.
+     *
+     * @param limit        limite atual.
+     * @param inFlight     requisições em andamento.
+     * @param minRttMicros menor latência observada, em microssegundos, ou -1.
+     * @param accepted     requisições admitidas.
+     * @param rejected     requisições recusadas.
+     */
+    public ConcurrencyLimitDTO(int limit, int inFlight, long minRttMicros, long accepted, long rejected) {
+        this.limit = limit;
+        this.inFlight = inFlight;
+        this.minRttMicros = minRttMicros;
+        this.accepted = accepted;
+        this.rejected = rejected;
+    }
+
+    /**
+     * Retorna o limite atual.
+     *
+     * @return Limite de requisições simultâneas.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Retorna as requisições em andamento.
+     *
+     * @return Quantidade de requisições.
+     */
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Retorna a menor latência observada.
+     *
+     * @return Latência, em microssegundos, ou -1 se ainda não houve amostras.
+     */
+    public long getMinRttMicros() {
+        return minRttMicros;
+    }
+
+    /**
+     * Retorna as requisições admitidas.
+     *
+     * @return Quantidade de requisições.
+     */
+    public long getAccepted() {
+        return accepted;
+    }
+
+    /**
+     * Retorna as requisições recusadas.
+     *
+     * @return Quantidade de requisições.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+}
@@ -0,0 +1,56 @@
+package itau.case_backend.domain.dtos;
+
+import java.util.Map;
+
+/**
+ * DTO com as métricas de prazos de requisições.
+ *
+ * <ul>
+ *   <li><b>skipped:</b> total de etapas que deixaram de ser executadas por prazo terminado.</li>
+ *   <li><b>skippedByOperation:</b> a mesma contagem, por etapa.</li>
+ *   <li><b>completedLate:</b> requisições concluídas depois do prazo, cujo trabalho foi desperdiçado.</li>
+ * </ul>
+ */
+public class DeadlineStatsDTO {
+
+    private final Map<String, Long> skippedByOperation;
+    private final long completedLate;
+
+    /**
+     * Construtor com todos os atributos.
+     *
+     * @param skippedByOperation etapas evitadas, por nome.
+     * @param completedLate      requisições concluídas depois do prazo.
+     */
+    public DeadlineStatsDTO(Map<String, Long> skippedByOperation, long completedLate) {
+        this.skippedByOperation = skippedByOperation;
+        this.completedLate = completedLate;
+    }
+
+    /**
+     * Retorna o total de etapas evitadas.
+     *
+     * @return Quantidade de etapas.
+     */
+    public long getSkipped() {
+        return skippedByOperation.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Retorna as etapas evitadas, por nome.
+     *
+     * @return Quantidade de cada etapa.
+     */
+    public Map<String, Long> getSkippedByOperation() {
+        return skippedByOperation;
+    }
+
+    /**
+     * Retorna as requisições concluídas depois do prazo.
+     *
+     * @return Quantidade de requisições.
+     */
+    public long getCompletedLate() {
+        return completedLate;
+    }
+}
@@ -0,0 +1,85 @@
+package itau.case_backend.domain.dtos;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DTO com a estimativa de memória ocupada pelos usuários e pelas estruturas que os acompanham.
+ *
+ * <ul>
+ *   <li><b>userCount:</b> quantidade de usuários.</li>
+ *   <li><b>components:</b> bytes estimados de cada estrutura (mapa principal, índices, caches), na ordem em que foram somados.</li>
+ *   <li><b>totalBytes:</b> soma dos componentes.</li>
+ *   <li><b>bytesPerUser:</b> total dividido pela quantidade de usuários ({@code null} sem usuários).</li>
+ * </ul>
+ */
+public class MemoryFootprintDTO {
+
+    private final long userCount;
+    private final Map<String, Long> components;
+
+    /**
+     * Construtor com todos os atributos.
+     *
+     * @param userCount  quantidade de usuários.
+     * @param components bytes estimados de cada estrutura.
+     */
+    public MemoryFootprintDTO(long userCount, Map<String, Long> components) {
+        this.userCount = userCount;
+        this.components = Collections.unmodifiableMap(new LinkedHashMap<>(components));
+    }
+
+    /**
+     * Cria uma cópia com mais um componente.
+     *
+     * @param name  nome do componente.
+     * @param bytes bytes estimados do componente.
+     * @return a nova estimativa
+     */
+    public MemoryFootprintDTO plus(String name, long bytes) {
+        Map<String, Long> extended = new LinkedHashMap<>(components);
+        extended.put(name, bytes);
+        return new MemoryFootprintDTO(userCount, extended);
+    }
+
+    /**
+     * Retorna a quantidade de usuários.
+     *
+     * @return Quantidade de usuários.
+     */
+    public long getUserCount() {
+        return userCount;
+    }
+
+    /**
+     * Retorna os bytes estimados de cada estrutura.
+     *
+     * @return Bytes por componente.
+     */
+    public Map<String, Long> getComponents() {
+        return components;
+    }
+
+    /**
+     * Retorna a soma dos componentes.
+     *
+     * @return Total estimado, em bytes.
+     */
+    public long getTotalBytes() {
+        long total = 0;
+        for (long bytes : components.values()) {
+            total += bytes;
+        }
+        return total;
+    }
+
+    /**
+     * Retorna o total estimado por usuário.
+     *
+     * @return Bytes por usuário, ou {@code null} se não houver usuários.
+     */
+    public Long getBytesPerUser() {
+        return userCount == 0 ? null : getTotalBytes() / userCount;
+    }
+}
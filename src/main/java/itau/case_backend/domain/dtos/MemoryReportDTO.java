@@ -0,0 +1,71 @@
+package itau.case_backend.domain.dtos;
+
+import java.util.List;
+
+/**
+ * DTO do relatório de memória: a estimativa atual e a tendência recente.
+ *
+ * <ul>
+ *   <li><b>current:</b> estimativa calculada no momento da consulta.</li>
+ *   <li><b>samples:</b> amostras periódicas retidas, da mais antiga para a mais recente.</li>
+ *   <li><b>bytesPerHour, usersPerHour:</b> crescimento entre a amostra mais antiga e a estimativa atual ({@code null} sem amostras anteriores).</li>
+ * </ul>
+ */
+public class MemoryReportDTO {
+
+    private final MemoryFootprintDTO current;
+    private final List<MemorySampleDTO> samples;
+    private final Double bytesPerHour;
+    private final Double usersPerHour;
+
+    /**
+     * Construtor com todos os atributos.
+     *
+     * @param current      estimativa atual.
+     * @param samples      amostras retidas.
+     * @param bytesPerHour crescimento do total estimado por hora.
+     * @param usersPerHour crescimento da quantidade de usuários por hora.
+     */
+    public MemoryReportDTO(MemoryFootprintDTO current, List<MemorySampleDTO> samples, Double bytesPerHour, Double usersPerHour) {
+        this.current = current;
+        this.samples = samples;
+        this.bytesPerHour = bytesPerHour;
+        this.usersPerHour = usersPerHour;
+    }
+
+    /**
+     * Retorna a estimativa atual.
+     *
+     * @return Estimativa atual.
+     */
+    public MemoryFootprintDTO getCurrent() {
+        return current;
+    }
+
+    /**
+     * Retorna as amostras retidas.
+     *
+     * @return Amostras, da mais antiga para a mais recente.
+     */
+    public List<MemorySampleDTO> getSamples() {
+        return samples;
+    }
+
+    /**
+     * Retorna o crescimento do total estimado por hora.
+     *
+     * @return Bytes por hora, ou {@code null} sem amostras anteriores.
+     */
+    public Double getBytesPerHour() {
+        return bytesPerHour;
+    }
+
+    /**
+     * Retorna o crescimento da quantidade de usuários por hora.
+     *
+     * @return Usuários por hora, ou {@code null} sem amostras anteriores.
+     */
+    public Double getUsersPerHour() {
+        return usersPerHour;
+    }
+}
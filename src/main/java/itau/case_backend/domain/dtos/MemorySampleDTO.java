@@ -0,0 +1,57 @@
+package itau.case_backend.domain.dtos;
+
+/**
+ * DTO com uma amostra periódica da memória estimada.
+ *
+ * <ul>
+ *   <li><b>timestamp:</b> momento da amostra, em milissegundos desde a época.</li>
+ *   <li><b>userCount:</b> quantidade de usuários no momento.</li>
+ *   <li><b>totalBytes:</b> total estimado no momento.</li>
+ * </ul>
+ */
+public class MemorySampleDTO {
+
+    private final long timestamp;
+    private final long userCount;
+    private final long totalBytes;
+
+    /**
+     * Construtor com todos os atributos.
+     *
+     * @param timestamp  momento da amostra.
+     * @param userCount  quantidade de usuários.
+     * @param totalBytes total estimado, em bytes.
+     */
+    public MemorySampleDTO(long timestamp, long userCount, long totalBytes) {
+        this.timestamp = timestamp;
+        this.userCount = userCount;
+        this.totalBytes = totalBytes;
+    }
+
+    /**
+     * Retorna o momento da amostra.
+     *
+     * @return Milissegundos desde a época.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Retorna a quantidade de usuários.
+     *
+     * @return Quantidade de usuários.
+     */
+    public long getUserCount() {
+        return userCount;
+    }
+
+    /**
+     * Retorna o total estimado.
+     *
+     * @return Total, em bytes.
+     */
+    public long getTotalBytes() {
+        return totalBytes;
+    }
+}
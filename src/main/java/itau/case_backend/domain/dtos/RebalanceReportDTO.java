@@ -0,0 +1,73 @@
+package itau.case_backend.domain.dtos;
+
+import java.util.Map;
+
+/**
+ * DTO com o resultado de um rebalanceamento dos usuários entre os nós do cluster.
+ *
+ * <ul>
+ *   <li><b>scanned:</b> usuários locais examinados.</li>
+ *   <li><b>moved:</b> usuários transferidos para cada nó dono.</li>
+ *   <li><b>failed:</b> usuários que não puderam ser transferidos e continuam locais.</li>
+ *   <li><b>conflicts:</b> usuários recusados pelo dono porque o ID ou o e-mail já pertence a outro
+ *   usuário dele; continuam locais e exigem intervenção.</li>
+ * </ul>
+ */
+public class RebalanceReportDTO {
+
+    private final long scanned;
+    private final Map<String, Long> moved;
+    private final long failed;
+    private final long conflicts;
+
+    /**
+     * Construtor com todos os atributos.
+     *
+     * @param scanned   usuários locais examinados.
+     * @param moved     usuários transferidos, por nó de destino.
+     * @param failed    usuários que não puderam ser transferidos.
+     * @param conflicts usuários recusados pelo dono por conflito de ID ou e-mail.
+     */
+    public RebalanceReportDTO(long scanned, Map<String, Long> moved, long failed, long conflicts) {
+        this.scanned = scanned;
+        this.moved = moved;
+        this.failed = failed;
+        this.conflicts = conflicts;
+    }
+
+    /**
+     * Retorna os usuários locais examinados.
+     *
+     * @return Quantidade de usuários.
+     */
+    public long getScanned() {
+        return scanned;
+    }
+
+    /**
+     * Retorna os usuários transferidos para cada nó.
+     *
+     * @return Mapa do nome do nó para a quantidade de usuários.
+     */
+    public Map<String, Long> getMoved() {
+        return moved;
+    }
+
+    /**
+     * Retorna os usuários que não puderam ser transferidos.
+     *
+     * @return Quantidade de usuários.
+     */
+    public long getFailed() {
+        return failed;
+    }
+
+    /**
+     * Retorna os usuários recusados pelo dono por conflito de ID ou e-mail.
+     *
+     * @return Quantidade de usuários.
+     */
+    public long getConflicts() {
+        return conflicts;
+    }
+}
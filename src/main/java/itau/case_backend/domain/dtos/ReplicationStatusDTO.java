@@ -0,0 +1,161 @@
+package itau.case_backend.domain.dtos;
+
+/**
+ * DTO com o estado da replicação de uma instância.
+ *
+ * <ul>
+ *   <li><b>role:</b> papel da instância, {@code leader} ou {@code follower}.</li>
+ *   <li><b>connected:</b> no seguidor, se está conectado ao líder; no líder, se há seguidores.</li>
+ *   <li><b>followers:</b> quantidade de seguidores conectados (somente no líder).</li>
+ *   <li><b>leaderSequence:</b> última sequência conhecida do líder.</li>
+ *   <li><b>appliedSequence:</b> no seguidor, a sequência do líder já aplicada; no líder, a
+ *   menor sequência já enviada aos seguidores conectados.</li>
+ *   <li><b>lag:</b> diferença entre as duas sequências.</li>
+ *   <li><b>lastFrameDelayMillis:</b> tempo entre a emissão e a aplicação da última mensagem.</li>
+ *   <li><b>millisSinceLastContact:</b> tempo desde a última mensagem trocada, ou {@code -1}.</li>
+ *   <li><b>snapshots:</b> estados completos enviados ou aplicados.</li>
+ *   <li><b>changes:</b> usuários alterados e removidos enviados ou aplicados.</li>
+ *   <li><b>reconnects:</b> reconexões do seguidor.</li>
+ * </ul>
+ */
+public class ReplicationStatusDTO {
+
+    private final String role;
+    private final boolean connected;
+    private final int followers;
+    private final long leaderSequence;
+    private final long appliedSequence;
+    private final long lastFrameDelayMillis;
+    private final long millisSinceLastContact;
+    private final long snapshots;
+    private final long changes;
+    private final long reconnects;
+
+    /**
+     * Construtor com todos os atributos.
+     *
+     * @param role                   papel da instância.
+     * @param connected              indica se há conexão de replicação ativa.
+     * @param followers              quantidade de seguidores conectados.
+     * @param leaderSequence         última sequência conhecida do líder.
+     * @param appliedSequence        sequência aplicada (seguidor) ou enviada (líder).
+     * @param lastFrameDelayMillis   atraso da última mensagem, em milissegundos.
+     * @param millisSinceLastContact tempo desde a última mensagem, em milissegundos, ou -1.
+     * @param snapshots              estados completos enviados ou aplicados.
+     * @param changes                alterações enviadas ou aplicadas.
+     * @param reconnects             reconexões do seguidor.
+     */
+    public ReplicationStatusDTO(String role, boolean connected, int followers, long leaderSequence, long appliedSequence,
+                                long lastFrameDelayMillis, long millisSinceLastContact, long snapshots, long changes,
+                                long reconnects) {
+        this.role = role;
+        this.connected = connected;
+        this.followers = followers;
+        this.leaderSequence = leaderSequence;
+        this.appliedSequence = appliedSequence;
+        this.lastFrameDelayMillis = lastFrameDelayMillis;
+        this.millisSinceLastContact = millisSinceLastContact;
+        this.snapshots = snapshots;
+        this.changes = changes;
+        this.reconnects = reconnects;
+    }
+
+    /**
+     * Retorna o papel da instância.
+     *
+     * @return {@code leader} ou {@code follower}.
+     */
+    public String getRole() {
+        return role;
+    }
+
+    /**
+     * Indica se há conexão de replicação ativa.
+     *
+     * @return true se conectado.
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * Retorna a quantidade de seguidores conectados.
+     *
+     * @return Quantidade de seguidores.
+     */
+    public int getFollowers() {
+        return followers;
+    }
+
+    /**
+     * Retorna a última sequência conhecida do líder.
+     *
+     * @return Sequência do líder.
+     */
+    public long getLeaderSequence() {
+        return leaderSequence;
+    }
+
+    /**
+     * Retorna a sequência aplicada pelo seguidor ou a menor enviada pelo líder.
+     *
+     * @return Sequência aplicada.
+     */
+    public long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    /**
+     * Retorna o atraso da replicação em sequências.
+     *
+     * @return Sequências ainda não aplicadas, nunca negativo.
+     */
+    public long getLag() {
+        return Math.max(0, leaderSequence - appliedSequence);
+    }
+
+    /**
+     * Retorna o tempo entre a emissão e a aplicação da última mensagem.
+     *
+     * @return Atraso, em milissegundos.
+     */
+    public long getLastFrameDelayMillis() {
+        return lastFrameDelayMillis;
+    }
+
+    /**
+     * Retorna o tempo desde a última mensagem trocada.
+     *
+     * @return Milissegundos, ou -1 se nenhuma mensagem foi trocada.
+     */
+    public long getMillisSinceLastContact() {
+        return millisSinceLastContact;
+    }
+
+    /**
+     * Retorna os estados completos enviados ou aplicados.
+     *
+     * @return Quantidade de estados completos.
+     */
+    public long getSnapshots() {
+        return snapshots;
+    }
+
+    /**
+     * Retorna os usuários alterados e removidos enviados ou aplicados.
+     *
+     * @return Quantidade de alterações.
+     */
+    public long getChanges() {
+        return changes;
+    }
+
+    /**
+     * Retorna as reconexões do seguidor.
+     *
+     * @return Quantidade de reconexões.
+     */
+    public long getReconnects() {
+        return reconnects;
+    }
+}
@@ -0,0 +1,107 @@
+package itau.case_backend.domain.dtos;
+
+/**
+ * DTO com as métricas da camada quente de um armazenamento em camadas.
+ *
+ * <ul>
+ *   <li><b>hotUsers:</b> quantidade de usuários em memória.</li>
+ *   <li><b>hotBytes:</b> memória estimada ocupada por esses usuários.</li>
+ *   <li><b>budgetBytes:</b> orçamento de memória da camada quente.</li>
+ *   <li><b>hits:</b> buscas por ID atendidas pela memória.</li>
+ *   <li><b>misses:</b> buscas por ID que precisaram ler a camada em disco.</li>
+ *   <li><b>evictions:</b> usuários removidos da memória para respeitar o orçamento.</li>
+ *   <li><b>hitRatio:</b> fração de acertos, ou {@code null} se ainda não houve buscas.</li>
+ * </ul>
+ */
+public class TierStatsDTO {
+
+    private final long hotUsers;
+    private final long hotBytes;
+    private final long budgetBytes;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+
+    /**
+     * Construtor com todos os atributos.
+     *
+     * @param hotUsers    quantidade de usuários em memória.
+     * @param hotBytes    memória estimada da camada quente, em bytes.
+     * @param budgetBytes orçamento da camada quente, em bytes.
+     * @param hits        buscas atendidas pela memória.
+     * @param misses      buscas que leram a camada em disco.
+     * @param evictions   usuários removidos da memória.
+     */
+    public TierStatsDTO(long hotUsers, long hotBytes, long budgetBytes, long hits, long misses, long evictions) {
+        this.hotUsers = hotUsers;
+        this.hotBytes = hotBytes;
+        this.budgetBytes = budgetBytes;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    /**
+     * Retorna a quantidade de usuários em memória.
+     *
+     * @return Quantidade de usuários.
+     */
+    public long getHotUsers() {
+        return hotUsers;
+    }
+
+    /**
+     * Retorna a memória estimada da camada quente.
+     *
+     * @return Bytes estimados.
+     */
+    public long getHotBytes() {
+        return hotBytes;
+    }
+
+    /**
+     * Retorna o orçamento de memória da camada quente.
+     *
+     * @return Orçamento, em bytes.
+     */
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    /**
+     * Retorna as buscas atendidas pela memória.
+     *
+     * @return Quantidade de acertos.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Retorna as buscas que leram a camada em disco.
+     *
+     * @return Quantidade de faltas.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Retorna os usuários removidos da memória para respeitar o orçamento.
+     *
+     * @return Quantidade de remoções.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Retorna a fração das buscas atendidas pela memória.
+     *
+     * @return Fração de acertos entre 0 e 1, ou {@code null} se ainda não houve buscas.
+     */
+    public Double getHitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? null : (double) hits / lookups;
+    }
+}
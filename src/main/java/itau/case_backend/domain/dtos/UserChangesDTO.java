@@ -0,0 +1,72 @@
+package itau.case_backend.domain.dtos;
+
+import itau.case_backend.domain.entities.User;
+
+import java.util.List;
+
+/**
+ * DTO com as alterações de usuários ocorridas após uma sequência informada pelo cliente.
+ *
+ * <p>O cliente guarda {@link #getSequence()} e o envia na próxima sincronização, recebendo
+ * apenas os usuários criados ou alterados e os IDs removidos desde então. Quando as lápides
+ * necessárias já foram descartadas, {@link #isFullResync()} indica que {@link #getUsers()}
+ * contém a lista completa e que o cliente deve substituir o seu estado local.</p>
+ */
+public class UserChangesDTO {
+
+    private final long sequence;
+    private final boolean fullResync;
+    private final List<User> users;
+    private final List<Long> deletedIds;
+
+    /**
+     * Construtor com todos os atributos.
+     *
+     * @param sequence   sequência da última alteração incluída.
+     * @param fullResync indica se a resposta contém o estado completo.
+     * @param users      usuários criados ou alterados.
+     * @param deletedIds IDs dos usuários removidos.
+     */
+    public UserChangesDTO(long sequence, boolean fullResync, List<User> users, List<Long> deletedIds) {
+        this.sequence = sequence;
+        this.fullResync = fullResync;
+        this.users = users;
+        this.deletedIds = deletedIds;
+    }
+
+    /**
+     * Retorna a sequência da última alteração incluída.
+     *
+     * @return Sequência a ser usada na próxima sincronização.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Indica se a resposta contém o estado completo dos usuários.
+     *
+     * @return {@code true} se o cliente deve substituir o seu estado local.
+     */
+    public boolean isFullResync() {
+        return fullResync;
+    }
+
+    /**
+     * Retorna os usuários criados ou alterados.
+     *
+     * @return Usuários criados ou alterados.
+     */
+    public List<User> getUsers() {
+        return users;
+    }
+
+    /**
+     * Retorna os IDs dos usuários removidos.
+     *
+     * @return IDs dos usuários removidos.
+     */
+    public List<Long> getDeletedIds() {
+        return deletedIds;
+    }
+}
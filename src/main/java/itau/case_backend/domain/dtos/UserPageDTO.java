@@ -0,0 +1,46 @@
+package itau.case_backend.domain.dtos;
+
+import itau.case_backend.domain.entities.User;
+
+import java.util.List;
+
+/**
+ * DTO que representa uma página de usuários de uma consulta.
+ *
+ * <p>Além dos usuários da página, informa a quantidade total de usuários que atendem à
+ * consulta, permitindo ao cliente navegar pelas demais páginas.</p>
+ */
+public class UserPageDTO {
+
+    private final List<User> users;
+    private final long total;
+
+    /**
+     * Construtor com todos os atributos.
+     *
+     * @param users usuários da página.
+     * @param total quantidade total de usuários que atendem à consulta.
+     */
+    public UserPageDTO(List<User> users, long total) {
+        this.users = users;
+        this.total = total;
+    }
+
+    /**
+     * Retorna os usuários da página.
+     *
+     * @return Usuários da página.
+     */
+    public List<User> getUsers() {
+        return users;
+    }
+
+    /**
+     * Retorna a quantidade total de usuários que atendem à consulta.
+     *
+     * @return Quantidade total de usuários.
+     */
+    public long getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,59 @@
+package itau.case_backend.domain.dtos;
+
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.query.UserField;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * DTO que representa um usuário reduzido aos campos solicitados pelo cliente.
+ *
+ * <p>Não copia os valores: guarda o usuário e os campos selecionados, e o serializador escreve
+ * apenas esses campos.</p>
+ */
+public class UserProjectionDTO {
+
+    private final User user;
+    private final Set<UserField> fields;
+
+    /**
+     * Construtor com todos os atributos.
+     *
+     * @param user   usuário projetado.
+     * @param fields campos a serem escritos.
+     */
+    public UserProjectionDTO(User user, Set<UserField> fields) {
+        this.user = user;
+        this.fields = fields;
+    }
+
+    /**
+     * Cria as projeções de uma lista de usuários com os mesmos campos.
+     *
+     * @param users  usuários projetados.
+     * @param fields campos a serem escritos.
+     * @return As projeções, na ordem dos usuários.
+     */
+    public static List<UserProjectionDTO> of(List<User> users, Set<UserField> fields) {
+        return users.stream().map(user -> new UserProjectionDTO(user, fields)).toList();
+    }
+
+    /**
+     * Retorna o usuário projetado.
+     *
+     * @return Usuário projetado.
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Retorna os campos a serem escritos.
+     *
+     * @return Campos selecionados.
+     */
+    public Set<UserField> getFields() {
+        return fields;
+    }
+}
@@ -0,0 +1,97 @@
+package itau.case_backend.domain.dtos;
+
+import java.util.Map;
+
+/**
+ * DTO com estatísticas agregadas dos usuários cadastrados.
+ *
+ * <ul>
+ *   <li><b>totalUsers:</b> quantidade de usuários.</li>
+ *   <li><b>minAge, maxAge, meanAge:</b> idade mínima, máxima e média ({@code null} sem usuários).</li>
+ *   <li><b>ageHistogram:</b> quantidade de usuários por faixa de idade de 10 anos.</li>
+ *   <li><b>topEmailDomains:</b> domínios de e-mail mais frequentes, em ordem decrescente.</li>
+ * </ul>
+ */
+public class UserStatsDTO {
+
+    private final long totalUsers;
+    private final Integer minAge;
+    private final Integer maxAge;
+    private final Double meanAge;
+    private final Map<String, Long> ageHistogram;
+    private final Map<String, Long> topEmailDomains;
+
+    /**
+     * Construtor com todos os atributos.
+     *
+     * @param totalUsers      quantidade de usuários.
+     * @param minAge          idade mínima.
+     * @param maxAge          idade máxima.
+     * @param meanAge         idade média.
+     * @param ageHistogram    quantidade de usuários por faixa de idade.
+     * @param topEmailDomains domínios de e-mail mais frequentes.
+     */
+    public UserStatsDTO(long totalUsers, Integer minAge, Integer maxAge, Double meanAge,
+                        Map<String, Long> ageHistogram, Map<String, Long> topEmailDomains) {
+        this.totalUsers = totalUsers;
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+        this.meanAge = meanAge;
+        this.ageHistogram = ageHistogram;
+        this.topEmailDomains = topEmailDomains;
+    }
+
+    /**
+     * Retorna a quantidade de usuários.
+     *
+     * @return Quantidade de usuários.
+     */
+    public long getTotalUsers() {
+        return totalUsers;
+    }
+
+    /**
+     * Retorna a idade mínima.
+     *
+     * @return Idade mínima, ou {@code null} se não houver usuários.
+     */
+    public Integer getMinAge() {
+        return minAge;
+    }
+
+    /**
+     * Retorna a idade máxima.
+     *
+     * @return Idade máxima, ou {@code null} se não houver usuários.
+     */
+    public Integer getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Retorna a idade média.
+     *
+     * @return Idade média, ou {@code null} se não houver usuários.
+     */
+    public Double getMeanAge() {
+        return meanAge;
+    }
+
+    /**
+     * Retorna a quantidade de usuários por faixa de idade.
+     *
+     * @return Histograma de idades, com faixas no formato {@code "20-29"}.
+     */
+    public Map<String, Long> getAgeHistogram() {
+        return ageHistogram;
+    }
+
+    /**
+     * Retorna os domínios de e-mail mais frequentes.
+     *
+     * @return Quantidade de usuários por domínio, em ordem decrescente.
+     */
+    public Map<String, Long> getTopEmailDomains() {
+        return topEmailDomains;
+    }
+}
@@ -1,5 +1,7 @@
 package itau.case_backend.domain.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 /**
  * Representa um usuário no sistema com ID, nome, e-mail e idade.
  */
@@ -17,6 +19,9 @@ public class User {
     /** A idade do usuário. */
     private Integer age;
 
+    /** A versão do usuário no repositório (0 se ainda não foi salvo). */
+    private long version;
+
     /**
      * Construtor para criar um novo usuário.
      *
@@ -104,4 +109,24 @@ public class User {
     public void setAge(Integer age) {
         this.age = age;
     }
+
+    /**
+     * Obtém a versão do usuário, atribuída pelo repositório a cada escrita.
+     * Não faz parte da representação JSON do usuário.
+     *
+     * @return a versão do usuário, ou 0 se ele ainda não foi salvo
+     */
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Define a versão do usuário.
+     *
+     * @param version a nova versão do usuário
+     */
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
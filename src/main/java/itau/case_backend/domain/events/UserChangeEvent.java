@@ -0,0 +1,68 @@
+package itau.case_backend.domain.events;
+
+import itau.case_backend.domain.entities.User;
+
+/**
+ * Evento que descreve uma alteração bem-sucedida sobre um usuário.
+ *
+ * <p>Instâncias são cópias imutáveis lidas do {@link UserChangeRingBuffer}; o buffer
+ * em si reaproveita seus slots e não aloca eventos na escrita.</p>
+ */
+public final class UserChangeEvent {
+
+    private final long sequence;
+    private final UserChangeType type;
+    private final long timestamp;
+    private final User user;
+
+    /**
+     * Construtor do evento.
+     *
+     * @param sequence  sequência do evento no buffer.
+     * @param type      tipo da alteração.
+     * @param timestamp instante da alteração, em milissegundos desde a época.
+     * @param user      estado do usuário após a alteração (ou o último estado, em remoções).
+     */
+    public UserChangeEvent(long sequence, UserChangeType type, long timestamp, User user) {
+        this.sequence = sequence;
+        this.type = type;
+        this.timestamp = timestamp;
+        this.user = user;
+    }
+
+    /**
+     * Obtém a sequência do evento.
+     *
+     * @return a sequência do evento no buffer.
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * Obtém o tipo da alteração.
+     *
+     * @return o tipo da alteração.
+     */
+    public UserChangeType getType() {
+        return type;
+    }
+
+    /**
+     * Obtém o instante da alteração.
+     *
+     * @return o instante da alteração, em milissegundos desde a época.
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Obtém o usuário alterado.
+     *
+     * @return o estado do usuário associado ao evento.
+     */
+    public User getUser() {
+        return user;
+    }
+}
@@ -0,0 +1,170 @@
+package itau.case_backend.domain.events;
+
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.memory.MemoryEstimates;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffer circular, pré-alocado e sem travas, que registra as alterações de usuários.
+ *
+ * <p>Cada escritor reserva uma sequência com um único incremento atômico e copia os dados
+ * do usuário para o slot correspondente, que é reaproveitado a cada volta do buffer. A
+ * memória ocupada é, portanto, fixa. A publicação de um slot é sinalizada pela escrita
+ * volátil da sua sequência, e os leitores usam o mesmo carimbo antes e depois da cópia
+ * para detectar se o slot foi sobrescrito durante a leitura.</p>
+ *
+ * <p>Cada consumidor mantém seu próprio cursor. Um consumidor que fica mais de uma volta
+ * atrás dos escritores perde eventos e é informado disso por {@link #drainTo}.</p>
+ */
+@Component
+public class UserChangeRingBuffer {
+
+    /** Valor devolvido por {@link #drainTo} quando o leitor foi ultrapassado pelos escritores. */
+    public static final int LOST = -1;
+
+    private static final long UNPUBLISHED = -1L;
+
+    /** Um {@link Slot}: cabeçalho, três campos {@code long} e quatro referências. */
+    private static final long SLOT_BYTES = 56;
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    /**
+     * Construtor do buffer.
+     *
+     * @param capacity quantidade mínima de eventos retidos; arredondada para a próxima potência de dois.
+     */
+    public UserChangeRingBuffer(@Value("${users.events.buffer-size:4096}") int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("A capacidade do buffer deve ser maior que 0");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+    }
+
+    /**
+     * Publica uma alteração de usuário, copiando seus campos para o próximo slot.
+     *
+     * @param type tipo da alteração.
+     * @param user usuário alterado.
+     */
+    public void publish(UserChangeType type, User user) {
+        long sequence = nextSequence.getAndIncrement();
+        Slot slot = slots[(int) (sequence & mask)];
+
+        slot.sequence = UNPUBLISHED;
+        VarHandle.storeStoreFence();
+        slot.type = type;
+        slot.timestamp = System.currentTimeMillis();
+        slot.userId = user.getId();
+        slot.name = user.getName();
+        slot.email = user.getEmail();
+        slot.age = user.getAge();
+        slot.sequence = sequence;
+    }
+
+    /**
+     * Copia para {@code sink} os eventos publicados a partir de {@code fromSequence}.
+     *
+     * <p>A cópia para no primeiro slot ainda não publicado, preservando a ordem das sequências.</p>
+     *
+     * @param fromSequence primeira sequência desejada.
+     * @param sink         lista que recebe os eventos lidos.
+     * @param maxEvents    quantidade máxima de eventos a copiar.
+     * @return quantidade de eventos copiados, ou {@link #LOST} se algum evento pedido já foi sobrescrito.
+     */
+    public int drainTo(long fromSequence, List<UserChangeEvent> sink, int maxEvents) {
+        long claimed = nextSequence.get();
+        if (claimed - fromSequence > slots.length) {
+            return LOST;
+        }
+
+        int count = 0;
+        for (long sequence = fromSequence; sequence < claimed && count < maxEvents; sequence++) {
+            Slot slot = slots[(int) (sequence & mask)];
+            long before = slot.sequence;
+            if (before == UNPUBLISHED || before < sequence) {
+                break;
+            }
+            if (before > sequence) {
+                return LOST;
+            }
+
+            UserChangeType type = slot.type;
+            long timestamp = slot.timestamp;
+            User user = new User(slot.userId, slot.name, slot.email, slot.age);
+
+            VarHandle.loadLoadFence();
+            if (slot.sequence != sequence) {
+                return LOST;
+            }
+            sink.add(new UserChangeEvent(sequence, type, timestamp, user));
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Obtém a sequência que será atribuída ao próximo evento publicado.
+     *
+     * @return a próxima sequência.
+     */
+    public long nextSequence() {
+        return nextSequence.get();
+    }
+
+    /**
+     * Obtém a sequência mais antiga que ainda pode estar retida no buffer.
+     *
+     * @return a sequência mais antiga disponível.
+     */
+    public long oldestSequence() {
+        return Math.max(0, nextSequence.get() - slots.length);
+    }
+
+    /**
+     * Obtém a capacidade efetiva do buffer.
+     *
+     * @return a quantidade de slots.
+     */
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Estima a memória ocupada pelos slots pré-alocados. As strings referenciadas pelos slots
+     * não são contadas, pois em geral são compartilhadas com os usuários.
+     *
+     * @return o tamanho estimado, em bytes
+     */
+    public long estimatedBytes() {
+        return MemoryEstimates.arrayBytes(4L * slots.length) + (long) slots.length * SLOT_BYTES;
+    }
+
+    /**
+     * Slot reaproveitado do buffer. A sequência volátil funciona como carimbo de publicação.
+     */
+    private static final class Slot {
+        volatile long sequence = UNPUBLISHED;
+        UserChangeType type;
+        long timestamp;
+        long userId;
+        String name;
+        String email;
+        Integer age;
+    }
+}
@@ -0,0 +1,16 @@
+package itau.case_backend.domain.events;
+
+/**
+ * Tipos de alteração que podem ocorrer sobre um usuário.
+ */
+public enum UserChangeType {
+
+    /** Usuário criado. */
+    CREATED,
+
+    /** Usuário atualizado (total ou parcialmente). */
+    UPDATED,
+
+    /** Usuário removido. */
+    DELETED
+}
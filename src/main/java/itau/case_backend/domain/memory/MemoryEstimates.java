@@ -0,0 +1,81 @@
+package itau.case_backend.domain.memory;
+
+/**
+ * Estimativas de memória ocupada por estruturas comuns, para relatórios baratos de consumo.
+ *
+ * <p>Os valores consideram uma JVM de 64 bits com referências comprimidas (o padrão para heaps
+ * de até 32 GB): cabeçalho de objeto de 12 bytes, referências de 4 bytes e alinhamento de 8 bytes.
+ * As estruturas somam quantidades de entradas multiplicadas por estes custos, sem percorrer os
+ * objetos, de modo que o resultado é uma estimativa, e não uma medição.</p>
+ */
+public final class MemoryEstimates {
+
+    /** Objeto {@code Long} ou {@code Integer} fora do cache de valores pequenos. */
+    public static final long BOXED = 16;
+
+    /** Entrada de {@code HashMap}/{@code ConcurrentHashMap}, incluindo a fração da tabela. */
+    public static final long HASH_ENTRY = 36;
+
+    /** Entrada de {@code LinkedHashMap}, incluindo a fração da tabela. */
+    public static final long LINKED_HASH_ENTRY = 44;
+
+    /** Entrada de {@code TreeMap} (e, portanto, elemento de {@code TreeSet}). */
+    public static final long TREE_ENTRY = 40;
+
+    /** Um {@code TreeSet} vazio, com o seu {@code TreeMap}. */
+    public static final long TREE_SET = 64;
+
+    /** Um {@code HashSet} vazio, com o seu {@code HashMap}. */
+    public static final long HASH_SET = 64;
+
+    /** Um {@code User}: cabeçalho, ID e versão, e três referências. */
+    public static final long USER = 40;
+
+    private static final long STRING_OBJECT = 24;
+    private static final long ARRAY_HEADER = 16;
+
+    private MemoryEstimates() {
+    }
+
+    /**
+     * Estima o tamanho retido por uma string: o objeto e o seu vetor de bytes, em Latin-1 quando
+     * possível (strings compactas) ou UTF-16.
+     *
+     * @param value a string
+     * @return o tamanho estimado, em bytes, ou 0 para {@code null}
+     */
+    public static long stringBytes(String value) {
+        if (value == null) {
+            return 0;
+        }
+        boolean latin1 = true;
+        for (int i = 0; i < value.length() && latin1; i++) {
+            latin1 = value.charAt(i) <= 0xFF;
+        }
+        return STRING_OBJECT + arrayBytes((long) value.length() * (latin1 ? 1 : 2));
+    }
+
+    /**
+     * Estima o tamanho de um vetor de bytes.
+     *
+     * @param length o comprimento do vetor
+     * @return o tamanho estimado, em bytes
+     */
+    public static long arrayBytes(long length) {
+        return align(ARRAY_HEADER + length);
+    }
+
+    /**
+     * Estima o tamanho de um vetor de referências.
+     *
+     * @param length o comprimento do vetor
+     * @return o tamanho estimado, em bytes
+     */
+    public static long referenceArrayBytes(long length) {
+        return align(ARRAY_HEADER + length * 4);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
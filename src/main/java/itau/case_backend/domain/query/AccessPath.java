@@ -0,0 +1,24 @@
+package itau.case_backend.domain.query;
+
+/**
+ * Caminhos de acesso que o {@link UserQueryPlanner} pode escolher para responder uma consulta.
+ *
+ * <p>A ordem das constantes define a preferência em caso de empate nas estimativas.</p>
+ */
+public enum AccessPath {
+
+    /** Índice secundário por idade. */
+    AGE_INDEX,
+
+    /** Índice secundário por domínio de e-mail. */
+    EMAIL_DOMAIN_INDEX,
+
+    /** Índice de prefixos de palavras do nome. */
+    NAME_PREFIX_INDEX,
+
+    /** Visão ordenada de todos os usuários, usada quando não há filtros. */
+    SORTED_VIEW,
+
+    /** Leitura de todos os usuários. */
+    FULL_SCAN
+}
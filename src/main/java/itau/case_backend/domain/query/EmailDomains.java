@@ -0,0 +1,40 @@
+package itau.case_backend.domain.query;
+
+import java.util.Locale;
+
+/**
+ * Utilitário para extrair o domínio de endereços de e-mail.
+ */
+public final class EmailDomains {
+
+    private EmailDomains() {
+    }
+
+    /**
+     * Extrai o domínio de um e-mail, normalizado em minúsculas.
+     *
+     * @param email o endereço de e-mail
+     * @return o domínio (parte após o último {@code @}), ou uma string vazia se não houver
+     */
+    public static String of(String email) {
+        if (email == null) {
+            return "";
+        }
+        int at = email.lastIndexOf('@');
+        return at < 0 ? "" : email.substring(at + 1).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Normaliza um domínio informado em uma consulta, aceitando a forma {@code @dominio}.
+     *
+     * @param domain o domínio informado
+     * @return o domínio em minúsculas, sem {@code @} inicial e sem espaços
+     */
+    public static String normalize(String domain) {
+        if (domain == null) {
+            return "";
+        }
+        String trimmed = domain.trim();
+        return (trimmed.startsWith("@") ? trimmed.substring(1) : trimmed).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,50 @@
+package itau.case_backend.domain.query;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Utilitário para normalizar nomes de usuários em buscas e filtros.
+ */
+public final class NameNormalizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private NameNormalizer() {
+    }
+
+    /**
+     * Normaliza um nome para indexação, busca e comparação.
+     *
+     * @param name o nome original
+     * @return o nome em minúsculas, sem acentos e com espaços simples
+     */
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String withoutAccents = DIACRITICS.matcher(Normalizer.normalize(name, Normalizer.Form.NFD)).replaceAll("");
+        return SPACES.matcher(withoutAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Verifica se alguma palavra do nome (e o que vem depois dela) começa com o prefixo.
+     *
+     * @param normalizedName o nome, já normalizado
+     * @param normalizedPrefix o prefixo, já normalizado
+     * @return {@code true} se o nome ou algum sufixo de palavras dele começar com o prefixo
+     */
+    public static boolean hasWordStartingWith(String normalizedName, String normalizedPrefix) {
+        if (normalizedName.startsWith(normalizedPrefix)) {
+            return true;
+        }
+        for (int i = normalizedName.indexOf(' '); i >= 0; i = normalizedName.indexOf(' ', i + 1)) {
+            if (normalizedName.startsWith(normalizedPrefix, i + 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
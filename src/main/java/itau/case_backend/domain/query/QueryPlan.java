@@ -0,0 +1,86 @@
+package itau.case_backend.domain.query;
+
+import java.util.Map;
+
+/**
+ * Descrição da execução de uma consulta, devolvida pela opção {@code explain}.
+ *
+ * <ul>
+ *   <li><b>accessPath:</b> caminho de acesso escolhido.</li>
+ *   <li><b>estimatedRows:</b> quantidade estimada de usuários de cada caminho considerado.</li>
+ *   <li><b>rowsExamined:</b> usuários lidos do caminho escolhido.</li>
+ *   <li><b>rowsMatched:</b> usuários que atendem a todos os filtros.</li>
+ *   <li><b>rowsReturned:</b> usuários devolvidos na página.</li>
+ * </ul>
+ */
+public class QueryPlan {
+
+    private final AccessPath accessPath;
+    private final Map<AccessPath, Long> estimatedRows;
+    private final long rowsExamined;
+    private final long rowsMatched;
+    private final long rowsReturned;
+
+    /**
+     * Construtor com todos os atributos.
+     *
+     * @param accessPath    caminho de acesso escolhido.
+     * @param estimatedRows estimativas de cada caminho considerado.
+     * @param rowsExamined  usuários lidos do caminho escolhido.
+     * @param rowsMatched   usuários que atendem a todos os filtros.
+     * @param rowsReturned  usuários devolvidos na página.
+     */
+    public QueryPlan(AccessPath accessPath, Map<AccessPath, Long> estimatedRows,
+                     long rowsExamined, long rowsMatched, long rowsReturned) {
+        this.accessPath = accessPath;
+        this.estimatedRows = estimatedRows;
+        this.rowsExamined = rowsExamined;
+        this.rowsMatched = rowsMatched;
+        this.rowsReturned = rowsReturned;
+    }
+
+    /**
+     * Retorna o caminho de acesso escolhido.
+     *
+     * @return Caminho de acesso escolhido.
+     */
+    public AccessPath getAccessPath() {
+        return accessPath;
+    }
+
+    /**
+     * Retorna as estimativas de cada caminho considerado.
+     *
+     * @return Quantidade estimada de usuários por caminho de acesso.
+     */
+    public Map<AccessPath, Long> getEstimatedRows() {
+        return estimatedRows;
+    }
+
+    /**
+     * Retorna a quantidade de usuários lidos do caminho escolhido.
+     *
+     * @return Usuários examinados.
+     */
+    public long getRowsExamined() {
+        return rowsExamined;
+    }
+
+    /**
+     * Retorna a quantidade de usuários que atendem a todos os filtros.
+     *
+     * @return Usuários que atendem à consulta.
+     */
+    public long getRowsMatched() {
+        return rowsMatched;
+    }
+
+    /**
+     * Retorna a quantidade de usuários devolvidos na página.
+     *
+     * @return Usuários devolvidos.
+     */
+    public long getRowsReturned() {
+        return rowsReturned;
+    }
+}
@@ -0,0 +1,38 @@
+package itau.case_backend.domain.query;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Campos de um usuário que podem ser selecionados em uma resposta (sparse fieldsets).
+ */
+public enum UserField {
+
+    /** O ID do usuário. */
+    ID,
+
+    /** O nome do usuário. */
+    NAME,
+
+    /** O e-mail do usuário. */
+    EMAIL,
+
+    /** A idade do usuário. */
+    AGE;
+
+    /**
+     * Converte uma lista de campos separados por vírgula, como {@code id,email}.
+     *
+     * @param fields os nomes dos campos, sem diferenciar maiúsculas
+     * @return os campos selecionados, na ordem de declaração
+     * @throws IllegalArgumentException se algum nome não corresponder a um campo
+     */
+    public static Set<UserField> parse(String fields) {
+        Set<UserField> selected = EnumSet.noneOf(UserField.class);
+        for (String field : fields.split(",")) {
+            selected.add(valueOf(field.trim().toUpperCase(Locale.ROOT)));
+        }
+        return selected;
+    }
+}
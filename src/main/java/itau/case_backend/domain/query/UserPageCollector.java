@@ -0,0 +1,83 @@
+package itau.case_backend.domain.query;
+
+import itau.case_backend.domain.dtos.UserPageDTO;
+import itau.case_backend.domain.entities.User;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Monta uma página de usuários a partir de uma leitura sequencial, sem reter todos os usuários.
+ *
+ * <p>Cada usuário recebido que atende ao filtro é contado e, se estiver entre os
+ * {@code offset + limit} primeiros da ordem pedida, guardado em um heap limitado a esse
+ * tamanho. A memória ocupada é proporcional à página e ao deslocamento, e não à quantidade de
+ * usuários lidos; o custo é O(n log(offset + limit)).</p>
+ */
+public final class UserPageCollector implements Consumer<User> {
+
+    private final Predicate<User> filter;
+    private final Comparator<User> order;
+    private final long offset;
+    private final int limit;
+    private final long retained;
+    private final PriorityQueue<User> best;
+    private long total;
+
+    /**
+     * Construtor do coletor.
+     *
+     * @param filter o filtro dos usuários
+     * @param order  a ordem da página
+     * @param offset a quantidade de usuários a pular
+     * @param limit  a quantidade máxima de usuários na página
+     */
+    public UserPageCollector(Predicate<User> filter, Comparator<User> order, long offset, int limit) {
+        this.filter = filter;
+        this.order = order;
+        this.offset = offset;
+        this.limit = limit;
+        this.retained = limit <= 0 ? 0 : offset + limit;
+        this.best = new PriorityQueue<>(order.reversed());
+    }
+
+    /**
+     * Considera um usuário lido.
+     *
+     * @param user o usuário
+     */
+    @Override
+    public void accept(User user) {
+        if (!filter.test(user)) {
+            return;
+        }
+        total++;
+        if (retained == 0) {
+            return;
+        }
+        if (best.size() < retained) {
+            best.add(user);
+        } else if (order.compare(user, best.peek()) < 0) {
+            best.poll();
+            best.add(user);
+        }
+    }
+
+    /**
+     * Retorna a página montada com os usuários recebidos até agora.
+     *
+     * @return a página e o total de usuários que atendem ao filtro
+     */
+    public UserPageDTO page() {
+        List<User> sorted = new ArrayList<>(best);
+        sorted.sort(order);
+        List<User> users = offset >= sorted.size()
+                ? List.of()
+                : sorted.subList((int) offset, (int) Math.min(sorted.size(), offset + limit));
+        return new UserPageDTO(new ArrayList<>(users), total);
+    }
+}
@@ -0,0 +1,196 @@
+package itau.case_backend.domain.query;
+
+import itau.case_backend.domain.entities.User;
+
+import java.util.Comparator;
+
+/**
+ * Consulta de usuários com filtros opcionais e paginação.
+ *
+ * <ul>
+ *   <li><b>namePrefix:</b> alguma palavra do nome começa com o prefixo (sem diferenciar acentos e maiúsculas).</li>
+ *   <li><b>emailDomain:</b> o e-mail pertence ao domínio.</li>
+ *   <li><b>minAge, maxAge:</b> a idade está na faixa, com limites inclusivos.</li>
+ * </ul>
+ *
+ * <p>Os filtros informados são combinados com "e". Sem ordenação explícita, consultas com faixa
+ * de idade são ordenadas por idade e ID; as demais, por ID.</p>
+ *
+ * <ul>
+ *   <li><b>sort:</b> campo de ordenação, ou {@code null} para a ordem padrão.</li>
+ *   <li><b>descending:</b> indica se a ordem é decrescente.</li>
+ * </ul>
+ */
+public class UserQuery {
+
+    private final String namePrefix;
+    private final String emailDomain;
+    private final Integer minAge;
+    private final Integer maxAge;
+    private final int offset;
+    private final int limit;
+    private final UserSort sort;
+    private final boolean descending;
+
+    /**
+     * Construtor com a ordem padrão. Filtros nulos ou em branco são ignorados.
+     *
+     * @param namePrefix  prefixo de alguma palavra do nome.
+     * @param emailDomain domínio do e-mail, com ou sem {@code @} inicial.
+     * @param minAge      idade mínima, inclusiva.
+     * @param maxAge      idade máxima, inclusiva.
+     * @param offset      quantidade de usuários a pular.
+     * @param limit       quantidade máxima de usuários na página.
+     */
+    public UserQuery(String namePrefix, String emailDomain, Integer minAge, Integer maxAge, int offset, int limit) {
+        this(namePrefix, emailDomain, minAge, maxAge, offset, limit, null, false);
+    }
+
+    /**
+     * Construtor com todos os atributos. Filtros nulos ou em branco são ignorados.
+     *
+     * @param namePrefix  prefixo de alguma palavra do nome.
+     * @param emailDomain domínio do e-mail, com ou sem {@code @} inicial.
+     * @param minAge      idade mínima, inclusiva.
+     * @param maxAge      idade máxima, inclusiva.
+     * @param offset      quantidade de usuários a pular.
+     * @param limit       quantidade máxima de usuários na página.
+     * @param sort        campo de ordenação, ou {@code null} para a ordem padrão.
+     * @param descending  indica se a ordem é decrescente.
+     */
+    public UserQuery(String namePrefix, String emailDomain, Integer minAge, Integer maxAge, int offset, int limit,
+                     UserSort sort, boolean descending) {
+        String normalizedName = NameNormalizer.normalize(namePrefix);
+        String normalizedDomain = EmailDomains.normalize(emailDomain);
+        this.namePrefix = normalizedName.isEmpty() ? null : normalizedName;
+        this.emailDomain = normalizedDomain.isEmpty() ? null : normalizedDomain;
+        this.minAge = minAge;
+        this.maxAge = maxAge;
+        this.offset = offset;
+        this.limit = limit;
+        this.sort = sort;
+        this.descending = descending;
+    }
+
+    /**
+     * Retorna o prefixo do nome, normalizado.
+     *
+     * @return Prefixo do nome, ou {@code null} se não filtrado.
+     */
+    public String getNamePrefix() {
+        return namePrefix;
+    }
+
+    /**
+     * Retorna o domínio do e-mail, normalizado.
+     *
+     * @return Domínio do e-mail, ou {@code null} se não filtrado.
+     */
+    public String getEmailDomain() {
+        return emailDomain;
+    }
+
+    /**
+     * Retorna a idade mínima.
+     *
+     * @return Idade mínima, ou {@code null} se não filtrada.
+     */
+    public Integer getMinAge() {
+        return minAge;
+    }
+
+    /**
+     * Retorna a idade máxima.
+     *
+     * @return Idade máxima, ou {@code null} se não filtrada.
+     */
+    public Integer getMaxAge() {
+        return maxAge;
+    }
+
+    /**
+     * Retorna a quantidade de usuários a pular.
+     *
+     * @return Deslocamento da página.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Retorna a quantidade máxima de usuários na página.
+     *
+     * @return Limite da página.
+     */
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Retorna o campo de ordenação efetivo.
+     *
+     * @return O campo informado ou, na ordem padrão, idade se houver faixa de idade e ID caso contrário.
+     */
+    public UserSort getSort() {
+        if (sort != null) {
+            return sort;
+        }
+        return hasAgeRange() ? UserSort.AGE : UserSort.ID;
+    }
+
+    /**
+     * Indica se a ordem é decrescente.
+     *
+     * @return {@code true} se a ordem for decrescente.
+     */
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * Indica se a consulta filtra por faixa de idade.
+     *
+     * @return {@code true} se houver idade mínima ou máxima.
+     */
+    public boolean hasAgeRange() {
+        return minAge != null || maxAge != null;
+    }
+
+    /**
+     * Conta os filtros informados, considerando a faixa de idade como um único filtro.
+     *
+     * @return Quantidade de filtros.
+     */
+    public int filterCount() {
+        return (namePrefix != null ? 1 : 0) + (emailDomain != null ? 1 : 0) + (hasAgeRange() ? 1 : 0);
+    }
+
+    /**
+     * Verifica se um usuário atende a todos os filtros.
+     *
+     * @param user Usuário a verificar.
+     * @return {@code true} se o usuário atender à consulta.
+     */
+    public boolean matches(User user) {
+        if (namePrefix != null && !NameNormalizer.hasWordStartingWith(NameNormalizer.normalize(user.getName()), namePrefix)) {
+            return false;
+        }
+        if (emailDomain != null && !emailDomain.equals(EmailDomains.of(user.getEmail()))) {
+            return false;
+        }
+        if (hasAgeRange()) {
+            Integer age = user.getAge();
+            return age != null && (minAge == null || age >= minAge) && (maxAge == null || age <= maxAge);
+        }
+        return true;
+    }
+
+    /**
+     * Retorna a ordenação do resultado.
+     *
+     * @return Comparador pelo campo de ordenação efetivo, com desempate pelo ID.
+     */
+    public Comparator<User> ordering() {
+        return getSort().comparator(descending);
+    }
+}
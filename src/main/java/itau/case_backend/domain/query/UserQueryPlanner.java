@@ -0,0 +1,109 @@
+package itau.case_backend.domain.query;
+
+import itau.case_backend.domain.dtos.UserPageDTO;
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.ports.output.UserOutputPort;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Planejador e executor de consultas de usuários.
+ *
+ * <p>Para cada filtro informado, pede à porta de saída uma estimativa barata de quantos
+ * usuários o índice correspondente devolveria e escolhe o caminho de acesso mais seletivo. Um
+ * índice só é escolhido se a estimativa for menor que a quantidade de usuários; sem índice,
+ * a estimativa da porta é a própria quantidade e a consulta usa a leitura completa, que
+ * percorre os usuários retendo apenas a página. Os demais filtros são aplicados apenas sobre
+ * os usuários lidos desse caminho. Quando há um único filtro e a ordem do índice coincide com a ordem do
+ * resultado, a paginação é delegada ao próprio índice. Sem filtros, a página é lida da visão
+ * ordenada pelo campo solicitado.</p>
+ */
+public class UserQueryPlanner {
+
+    private final UserOutputPort userRepository;
+
+    /**
+     * Construtor do planejador.
+     *
+     * @param userRepository porta de saída que fornece os índices e as estimativas.
+     */
+    public UserQueryPlanner(UserOutputPort userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Planeja e executa uma consulta.
+     *
+     * @param query a consulta
+     * @return a página de usuários, o total e o plano executado
+     */
+    public UserQueryResult execute(UserQuery query) {
+        if (query.filterCount() == 0) {
+            UserPageDTO page = userRepository.findUsersSorted(query.getSort(), query.isDescending(), query.getOffset(), query.getLimit());
+            QueryPlan plan = new QueryPlan(AccessPath.SORTED_VIEW, Map.of(AccessPath.SORTED_VIEW, page.getTotal()),
+                    page.getUsers().size(), page.getTotal(), page.getUsers().size());
+            return new UserQueryResult(page.getUsers(), page.getTotal(), plan);
+        }
+
+        Map<AccessPath, Long> estimates = estimate(query);
+        AccessPath chosen = AccessPath.FULL_SCAN;
+        for (Map.Entry<AccessPath, Long> entry : estimates.entrySet()) {
+            if (entry.getValue() < estimates.get(chosen)) {
+                chosen = entry.getKey();
+            }
+        }
+
+        if (chosen != AccessPath.FULL_SCAN && query.filterCount() == 1
+                && !query.isDescending() && query.getSort() == indexOrder(chosen)) {
+            UserPageDTO page = fetch(chosen, query, query.getOffset(), query.getLimit());
+            QueryPlan plan = new QueryPlan(chosen, estimates, page.getUsers().size(), page.getTotal(), page.getUsers().size());
+            return new UserQueryResult(page.getUsers(), page.getTotal(), plan);
+        }
+
+        UserPageCollector collector = new UserPageCollector(query::matches, query.ordering(), query.getOffset(), query.getLimit());
+        long[] examined = new long[1];
+        Consumer<User> reader = user -> {
+            examined[0]++;
+            collector.accept(user);
+        };
+        if (chosen == AccessPath.FULL_SCAN) {
+            userRepository.forEachUser(reader);
+        } else {
+            fetch(chosen, query, 0, Integer.MAX_VALUE).getUsers().forEach(reader);
+        }
+        UserPageDTO page = collector.page();
+
+        QueryPlan plan = new QueryPlan(chosen, estimates, examined[0], page.getTotal(), page.getUsers().size());
+        return new UserQueryResult(page.getUsers(), page.getTotal(), plan);
+    }
+
+    private Map<AccessPath, Long> estimate(UserQuery query) {
+        Map<AccessPath, Long> estimates = new EnumMap<>(AccessPath.class);
+        if (query.hasAgeRange()) {
+            estimates.put(AccessPath.AGE_INDEX, userRepository.estimateUsersByAgeRange(query.getMinAge(), query.getMaxAge()));
+        }
+        if (query.getEmailDomain() != null) {
+            estimates.put(AccessPath.EMAIL_DOMAIN_INDEX, userRepository.estimateUsersByEmailDomain(query.getEmailDomain()));
+        }
+        if (query.getNamePrefix() != null) {
+            estimates.put(AccessPath.NAME_PREFIX_INDEX, userRepository.estimateUsersByNamePrefix(query.getNamePrefix()));
+        }
+        estimates.put(AccessPath.FULL_SCAN, userRepository.countUsers());
+        return estimates;
+    }
+
+    private static UserSort indexOrder(AccessPath path) {
+        return path == AccessPath.AGE_INDEX ? UserSort.AGE : UserSort.ID;
+    }
+
+    private UserPageDTO fetch(AccessPath path, UserQuery query, int offset, int limit) {
+        return switch (path) {
+            case AGE_INDEX -> userRepository.findUsersByAgeRange(query.getMinAge(), query.getMaxAge(), offset, limit);
+            case EMAIL_DOMAIN_INDEX -> userRepository.findUsersByEmailDomain(query.getEmailDomain(), offset, limit);
+            case NAME_PREFIX_INDEX -> userRepository.findUsersByNamePrefix(query.getNamePrefix(), offset, limit);
+            case SORTED_VIEW, FULL_SCAN -> throw new IllegalArgumentException("A leitura completa não é paginada pelo índice");
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package itau.case_backend.domain.query;
+
+import itau.case_backend.domain.entities.User;
+
+import java.util.List;
+
+/**
+ * Resultado de uma consulta de usuários: a página, o total e o plano executado.
+ */
+public class UserQueryResult {
+
+    private final List<User> users;
+    private final long total;
+    private final QueryPlan plan;
+
+    /**
+     * Construtor com todos os atributos.
+     *
+     * @param users usuários da página.
+     * @param total quantidade total de usuários que atendem à consulta.
+     * @param plan  plano executado.
+     */
+    public UserQueryResult(List<User> users, long total, QueryPlan plan) {
+        this.users = users;
+        this.total = total;
+        this.plan = plan;
+    }
+
+    /**
+     * Retorna os usuários da página.
+     *
+     * @return Usuários da página.
+     */
+    public List<User> getUsers() {
+        return users;
+    }
+
+    /**
+     * Retorna a quantidade total de usuários que atendem à consulta.
+     *
+     * @return Quantidade total de usuários.
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Retorna o plano executado.
+     *
+     * @return Plano da consulta.
+     */
+    public QueryPlan getPlan() {
+        return plan;
+    }
+}
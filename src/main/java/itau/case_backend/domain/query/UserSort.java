@@ -0,0 +1,75 @@
+package itau.case_backend.domain.query;
+
+import itau.case_backend.domain.entities.User;
+
+import java.util.Comparator;
+
+/**
+ * Campos pelos quais uma listagem de usuários pode ser ordenada.
+ *
+ * <p>Empates são desfeitos pelo ID, de modo que a ordem é sempre total. Usuários sem valor
+ * no campo ficam no fim da ordem crescente.</p>
+ */
+public enum UserSort {
+
+    /** Ordenação pelo ID. */
+    ID {
+        @Override
+        public Comparable<?> keyOf(User user) {
+            return user.getId();
+        }
+    },
+
+    /** Ordenação pelo nome normalizado por {@link NameNormalizer}. */
+    NAME {
+        @Override
+        public Comparable<?> keyOf(User user) {
+            return NameNormalizer.normalize(user.getName());
+        }
+    },
+
+    /** Ordenação pela idade. */
+    AGE {
+        @Override
+        public Comparable<?> keyOf(User user) {
+            return user.getAge();
+        }
+    };
+
+    /**
+     * Extrai a chave de ordenação de um usuário.
+     *
+     * @param user o usuário
+     * @return a chave, ou {@code null} se o usuário não tiver valor no campo
+     */
+    public abstract Comparable<?> keyOf(User user);
+
+    /**
+     * Compara duas chaves de ordenação, posicionando as nulas por último.
+     *
+     * @param left  a primeira chave
+     * @param right a segunda chave
+     * @return o resultado da comparação
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static int compareKeys(Comparable left, Comparable right) {
+        if (left == null || right == null) {
+            return left == right ? 0 : left == null ? 1 : -1;
+        }
+        return left.compareTo(right);
+    }
+
+    /**
+     * Retorna o comparador de usuários por este campo, com desempate pelo ID.
+     *
+     * @param descending indica se a ordem é decrescente
+     * @return o comparador
+     */
+    public Comparator<User> comparator(boolean descending) {
+        Comparator<User> ascending = (left, right) -> {
+            int byKey = compareKeys(keyOf(left), keyOf(right));
+            return byKey != 0 ? byKey : Long.compare(left.getId(), right.getId());
+        };
+        return descending ? ascending.reversed() : ascending;
+    }
+}
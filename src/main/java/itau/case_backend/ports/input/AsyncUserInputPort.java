@@ -0,0 +1,78 @@
+package itau.case_backend.ports.input;
+
+import itau.case_backend.domain.dtos.UserDTO;
+import itau.case_backend.domain.dtos.UserPartialUpdateDTO;
+import itau.case_backend.domain.entities.User;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Define os métodos de entrada assíncronos para operações relacionadas a usuários.
+ * <p>
+ * Cada método devolve imediatamente um {@link CompletableFuture}, concluído com o resultado ou
+ * com a mesma exceção que {@link UserInputPort} lançaria, sem ocupar a thread de quem chama
+ * enquanto a porta de saída trabalha.
+ * </p>
+ */
+public interface AsyncUserInputPort {
+
+    /**
+     * Busca todos os usuários cadastrados.
+     *
+     * @return o futuro com uma lista de {@link User} contendo todos os usuários
+     */
+    CompletableFuture<List<User>> getAllUsers();
+
+    /**
+     * Busca usuários pelo nome, completo ou parcial.
+     *
+     * @param query o texto buscado
+     * @param limit a quantidade máxima de usuários
+     * @return o futuro com os usuários encontrados, em ordem de relevância
+     */
+    CompletableFuture<List<User>> searchUsersByName(String query, int limit);
+
+    /**
+     * Busca um usuário pelo ID.
+     *
+     * @param id o ID do usuário
+     * @return o futuro com o {@link User}, ou concluído com
+     * {@link itau.case_backend.config.exception.UserNotFoundException}
+     */
+    CompletableFuture<User> getUserById(long id);
+
+    /**
+     * Cria um novo usuário.
+     *
+     * @param userDTO os dados do usuário
+     * @return o futuro com o {@link User} criado
+     */
+    CompletableFuture<User> createUser(UserDTO userDTO);
+
+    /**
+     * Atualiza completamente um usuário.
+     *
+     * @param id      o ID do usuário
+     * @param userDTO os novos dados do usuário
+     * @return o futuro com o {@link User} atualizado
+     */
+    CompletableFuture<User> updateUser(long id, UserDTO userDTO);
+
+    /**
+     * Atualiza parcialmente um usuário.
+     *
+     * @param id                   o ID do usuário
+     * @param userPartialUpdateDTO os campos a serem atualizados
+     * @return o futuro com o {@link User} atualizado
+     */
+    CompletableFuture<User> partialUpdateUser(long id, UserPartialUpdateDTO userPartialUpdateDTO);
+
+    /**
+     * Exclui um usuário pelo ID.
+     *
+     * @param id o ID do usuário
+     * @return o futuro concluído após a exclusão
+     */
+    CompletableFuture<Void> deleteUser(long id);
+}
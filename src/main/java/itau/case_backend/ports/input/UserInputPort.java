@@ -1,9 +1,18 @@
 package itau.case_backend.ports.input;
 
+import itau.case_backend.domain.dtos.MemoryFootprintDTO;
+import itau.case_backend.domain.dtos.TierStatsDTO;
+import itau.case_backend.domain.dtos.UserChangesDTO;
 import itau.case_backend.domain.dtos.UserDTO;
 import itau.case_backend.domain.dtos.UserPartialUpdateDTO;
+import itau.case_backend.domain.dtos.UserStatsDTO;
 import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.query.UserQuery;
+import itau.case_backend.domain.query.UserQueryResult;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Define os métodos de entrada para operações relacionadas a usuários.
@@ -20,6 +29,43 @@ public interface UserInputPort {
      */
     List<User> getAllUsers();
 
+    /**
+     * Entrega cada usuário cadastrado ao consumidor, em uma leitura sequencial, sem montar a
+     * lista completa quando o armazenamento lê os usuários de disco.
+     *
+     * <p>A leitura não bloqueia as escritas: o consumidor pode alterar usuários, e um usuário
+     * alterado durante a leitura pode ser entregue no estado anterior.</p>
+     *
+     * @param consumer o consumidor dos usuários
+     */
+    void forEachUser(Consumer<User> consumer);
+
+    /**
+     * Executa uma consulta de usuários com filtros combinados, escolhendo o índice mais seletivo.
+     *
+     * @param query a consulta, com filtros e paginação
+     * @return um {@link UserQueryResult} com a página, o total e o plano executado
+     */
+    UserQueryResult queryUsers(UserQuery query);
+
+    /**
+     * Conta os usuários de cada domínio de e-mail, em ordem alfabética de domínio.
+     *
+     * @param offset a quantidade de domínios a pular
+     * @param limit a quantidade máxima de domínios a devolver
+     * @return a quantidade de usuários por domínio
+     */
+    Map<String, Long> countUsersByEmailDomain(int offset, int limit);
+
+    /**
+     * Busca usuários pelo nome, completo ou parcial, tolerando erros de digitação.
+     *
+     * @param query o texto a ser buscado
+     * @param limit a quantidade máxima de usuários a devolver
+     * @return uma lista de {@link User} em ordem de relevância
+     */
+    List<User> searchUsersByName(String query, int limit);
+
     /**
      * Busca um usuário pelo ID.
      *
@@ -28,6 +74,54 @@ public interface UserInputPort {
      */
     User getUserById(long id);
 
+    /**
+     * Retorna a versão atual do conjunto de usuários, que muda a cada escrita.
+     *
+     * @return a versão atual, ou {@code -1} se o armazenamento não mantiver versão
+     */
+    long getStoreVersion();
+
+    /**
+     * Busca as alterações de usuários ocorridas após uma sequência.
+     *
+     * @param since a última sequência conhecida pelo cliente
+     * @return um {@link UserChangesDTO} com os usuários alterados e os IDs removidos
+     */
+    UserChangesDTO getChangesSince(long since);
+
+    /**
+     * Busca as alterações de usuários ocorridas após uma sequência, entregando o estado completo,
+     * quando necessário, ao consumidor à medida que ele é lido, em vez de reuni-lo em uma lista.
+     *
+     * @param since            a última sequência conhecida pelo cliente
+     * @param snapshotConsumer recebe os usuários do estado completo
+     * @return as alterações, ou, quando {@link UserChangesDTO#isFullResync()}, a sequência do
+     * estado completo entregue, com as listas vazias
+     */
+    UserChangesDTO getChangesSince(long since, Consumer<User> snapshotConsumer);
+
+    /**
+     * Busca as estatísticas agregadas dos usuários.
+     *
+     * @param topDomains a quantidade de domínios de e-mail mais frequentes a incluir
+     * @return um {@link UserStatsDTO} com contagem, idades e domínios
+     */
+    UserStatsDTO getUserStatistics(int topDomains);
+
+    /**
+     * Estima a memória ocupada pelos usuários, pelos índices e pelos buffers do domínio.
+     *
+     * @return um {@link MemoryFootprintDTO} com o total e os bytes de cada estrutura
+     */
+    MemoryFootprintDTO getMemoryFootprint();
+
+    /**
+     * Busca as métricas da camada em memória do armazenamento, se ele tiver camadas.
+     *
+     * @return um {@link TierStatsDTO} com ocupação e taxa de acertos, ou Optional.empty()
+     */
+    Optional<TierStatsDTO> getTierStatistics();
+
     /**
      * Cria um novo usuário com base nos dados fornecidos.
      *
@@ -37,6 +131,15 @@ public interface UserInputPort {
      */
     User createUser(UserDTO userDTO);
 
+    /**
+     * Cria vários usuários de uma vez. Nenhum usuário é criado se algum e-mail já estiver em
+     * uso ou se repetir no próprio lote.
+     *
+     * @param userDTOs os dados dos usuários a serem criados
+     * @return os {@link User} criados, na mesma ordem, com os IDs gerados
+     */
+    List<User> createUsers(List<UserDTO> userDTOs);
+
     /**
      * Atualiza os dados de um usuário existente.
      *
@@ -61,4 +164,22 @@ public interface UserInputPort {
      * @param id o identificador único do usuário a ser removido
      */
     void deleteUser(long id);
+
+    /**
+     * Aplica alterações de usuários recebidas de outra instância (replicação).
+     *
+     * @param changes as alterações, ou o estado completo quando {@link UserChangesDTO#isFullResync()}
+     */
+    void applyReplicatedChanges(UserChangesDTO changes);
+
+    /**
+     * Recebe usuários transferidos por outra instância do cluster, preservando os seus IDs.
+     *
+     * <p>Um usuário cujo ID ou e-mail já pertence a outro usuário local não é gravado: o ID é
+     * devolvido como conflito para que a origem o mantenha.</p>
+     *
+     * @param users os usuários transferidos
+     * @return os IDs recusados por conflito
+     */
+    List<Long> importUsers(List<User> users);
 }
@@ -0,0 +1,24 @@
+package itau.case_backend.ports.output;
+
+import java.util.function.LongPredicate;
+
+/**
+ * Define como os IDs de novos usuários são escolhidos.
+ *
+ * <p>Por padrão ({@link #REPOSITORY}) o repositório gera os IDs. Em um cluster, cada instância
+ * precisa escolher IDs que ela mesma possui, e fornece a sua implementação.</p>
+ */
+@FunctionalInterface
+public interface UserIdAllocator {
+
+    /** Deixa a geração do ID para o repositório. */
+    UserIdAllocator REPOSITORY = taken -> 0;
+
+    /**
+     * Escolhe o ID de um novo usuário.
+     *
+     * @param taken indica se um ID já está em uso no repositório local
+     * @return o ID escolhido, ou {@code 0} para que o repositório gere um
+     */
+    long nextId(LongPredicate taken);
+}
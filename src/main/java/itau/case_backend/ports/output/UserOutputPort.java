@@ -1,8 +1,28 @@
 package itau.case_backend.ports.output;
 
+import itau.case_backend.domain.dtos.MemoryFootprintDTO;
+import itau.case_backend.domain.dtos.TierStatsDTO;
+import itau.case_backend.domain.dtos.UserChangesDTO;
+import itau.case_backend.domain.dtos.UserPageDTO;
+import itau.case_backend.domain.dtos.UserStatsDTO;
 import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.events.UserChangeType;
+import itau.case_backend.domain.query.NameNormalizer;
+import itau.case_backend.domain.query.UserPageCollector;
+import itau.case_backend.domain.query.UserSort;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Define os métodos de saída para operações relacionadas a usuários.
@@ -16,6 +36,29 @@ public interface UserOutputPort {
      */
     List<User> findAllUsers();
 
+    /**
+     * Entrega cada usuário armazenado ao consumidor, em uma leitura sequencial.
+     *
+     * <p>As consultas padrão desta porta usam este método e retêm apenas a página pedida ou os
+     * contadores necessários. A implementação padrão carrega todos os usuários com
+     * {@link #findAllUsers()}; implementações que leem os usuários de disco devem sobrescrevê-la
+     * para não mantê-los todos em memória.</p>
+     *
+     * @param consumer o consumidor dos usuários
+     */
+    default void forEachUser(Consumer<User> consumer) {
+        findAllUsers().forEach(consumer);
+    }
+
+    /**
+     * Conta os usuários armazenados.
+     *
+     * @return a quantidade de usuários
+     */
+    default long countUsers() {
+        return findAllUsers().size();
+    }
+
     /**
      * Recupera um usuário pelo ID.
      *
@@ -32,6 +75,179 @@ public interface UserOutputPort {
      */
     Optional<User> findUserByEmail(String email);
 
+    /**
+     * Recupera uma página de usuários com idade na faixa informada, ordenados por idade e ID.
+     *
+     * <p>A implementação padrão percorre todos os usuários; implementações com índice por
+     * idade devem sobrescrevê-la.</p>
+     *
+     * @param minAge a idade mínima, inclusiva, ou {@code null} para não limitar
+     * @param maxAge a idade máxima, inclusiva, ou {@code null} para não limitar
+     * @param offset a quantidade de usuários a pular
+     * @param limit  a quantidade máxima de usuários na página
+     * @return a página de usuários e o total na faixa
+     */
+    default UserPageDTO findUsersByAgeRange(Integer minAge, Integer maxAge, int offset, int limit) {
+        UserPageCollector page = new UserPageCollector(
+                user -> user.getAge() != null
+                        && (minAge == null || user.getAge() >= minAge)
+                        && (maxAge == null || user.getAge() <= maxAge),
+                Comparator.comparing(User::getAge).thenComparingLong(User::getId),
+                offset, limit);
+        forEachUser(page);
+        return page.page();
+    }
+
+    /**
+     * Recupera uma página de usuários cujo e-mail pertence ao domínio informado, ordenados por ID.
+     *
+     * <p>A implementação padrão percorre todos os usuários; implementações com índice por
+     * domínio devem sobrescrevê-la.</p>
+     *
+     * @param domain o domínio do e-mail, com ou sem {@code @} inicial
+     * @param offset a quantidade de usuários a pular
+     * @param limit  a quantidade máxima de usuários na página
+     * @return a página de usuários e o total do domínio
+     */
+    default UserPageDTO findUsersByEmailDomain(String domain, int offset, int limit) {
+        String suffix = "@" + (domain.startsWith("@") ? domain.substring(1) : domain).toLowerCase(Locale.ROOT);
+        UserPageCollector page = new UserPageCollector(
+                user -> user.getEmail() != null && user.getEmail().toLowerCase(Locale.ROOT).endsWith(suffix),
+                Comparator.comparingLong(User::getId),
+                offset, limit);
+        forEachUser(page);
+        return page.page();
+    }
+
+    /**
+     * Recupera uma página de usuários com alguma palavra do nome iniciada pelo prefixo, ordenados por ID.
+     *
+     * <p>A implementação padrão percorre todos os usuários; implementações com índice por
+     * nome devem sobrescrevê-la.</p>
+     *
+     * @param prefix o prefixo, normalizado por {@link NameNormalizer}
+     * @param offset a quantidade de usuários a pular
+     * @param limit  a quantidade máxima de usuários na página
+     * @return a página de usuários e o total com o prefixo
+     */
+    default UserPageDTO findUsersByNamePrefix(String prefix, int offset, int limit) {
+        UserPageCollector page = new UserPageCollector(
+                user -> NameNormalizer.hasWordStartingWith(NameNormalizer.normalize(user.getName()), prefix),
+                Comparator.comparingLong(User::getId),
+                offset, limit);
+        forEachUser(page);
+        return page.page();
+    }
+
+    /**
+     * Recupera uma página de todos os usuários ordenados por um campo.
+     *
+     * <p>A implementação padrão percorre todos os usuários a cada chamada, retendo apenas os
+     * {@code offset + limit} primeiros; implementações com visões ordenadas devem sobrescrevê-la.</p>
+     *
+     * @param sort       o campo de ordenação
+     * @param descending indica se a ordem é decrescente
+     * @param offset     a quantidade de usuários a pular
+     * @param limit      a quantidade máxima de usuários na página
+     * @return a página de usuários e o total de usuários
+     */
+    default UserPageDTO findUsersSorted(UserSort sort, boolean descending, int offset, int limit) {
+        UserPageCollector page = new UserPageCollector(user -> true, sort.comparator(descending), offset, limit);
+        forEachUser(page);
+        return page.page();
+    }
+
+    /**
+     * Estima quantos usuários têm idade na faixa informada, para o planejamento de consultas.
+     *
+     * <p>A estimativa deve ser barata e pode exceder o valor exato. A implementação padrão não
+     * tem índice por idade e devolve {@link #countUsers()}, o que faz o planejador preferir a
+     * leitura completa.</p>
+     *
+     * @param minAge a idade mínima, inclusiva, ou {@code null} para não limitar
+     * @param maxAge a idade máxima, inclusiva, ou {@code null} para não limitar
+     * @return a quantidade estimada de usuários na faixa
+     */
+    default long estimateUsersByAgeRange(Integer minAge, Integer maxAge) {
+        return countUsers();
+    }
+
+    /**
+     * Estima quantos usuários têm e-mail no domínio informado, para o planejamento de consultas.
+     *
+     * <p>A implementação padrão não tem índice por domínio e devolve {@link #countUsers()}.</p>
+     *
+     * @param domain o domínio do e-mail, com ou sem {@code @} inicial
+     * @return a quantidade estimada de usuários do domínio
+     */
+    default long estimateUsersByEmailDomain(String domain) {
+        return countUsers();
+    }
+
+    /**
+     * Estima quantos usuários têm alguma palavra do nome iniciada pelo prefixo, para o
+     * planejamento de consultas.
+     *
+     * <p>A implementação padrão não tem índice por nome e devolve {@link #countUsers()}.</p>
+     *
+     * @param prefix o prefixo, normalizado por {@link NameNormalizer}
+     * @return a quantidade estimada de usuários com o prefixo
+     */
+    default long estimateUsersByNamePrefix(String prefix) {
+        return countUsers();
+    }
+
+    /**
+     * Conta os usuários de cada domínio de e-mail, em ordem alfabética de domínio.
+     *
+     * <p>A implementação padrão percorre todos os usuários, retendo apenas um contador por domínio.</p>
+     *
+     * @param offset a quantidade de domínios a pular
+     * @param limit  a quantidade máxima de domínios a devolver
+     * @return a quantidade de usuários por domínio
+     */
+    default Map<String, Long> countUsersByEmailDomain(int offset, int limit) {
+        Map<String, Long> counts = new TreeMap<>();
+        forEachUser(user -> {
+            if (user.getEmail() != null && user.getEmail().contains("@")) {
+                String domain = user.getEmail().substring(user.getEmail().lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+                counts.merge(domain, 1L, Long::sum);
+            }
+        });
+        return counts.entrySet().stream()
+                .skip(offset)
+                .limit(limit)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    /**
+     * Busca usuários pelo nome, completo ou parcial, em ordem de relevância.
+     *
+     * <p>A implementação padrão percorre todos os usuários e devolve, em ordem alfabética,
+     * aqueles cujo nome contém o texto informado, sem diferenciar maiúsculas e minúsculas.</p>
+     *
+     * @param query o texto a ser buscado
+     * @param limit a quantidade máxima de usuários a devolver
+     * @return os usuários encontrados, do mais para o menos relevante
+     */
+    default List<User> searchUsersByName(String query, int limit) {
+        String normalized = query.toLowerCase(Locale.ROOT).trim();
+        UserPageCollector page = new UserPageCollector(
+                user -> user.getName() != null && user.getName().toLowerCase(Locale.ROOT).contains(normalized),
+                Comparator.comparing(User::getName).thenComparingLong(User::getId),
+                0, limit);
+        forEachUser(page);
+        return page.page().getUsers();
+    }
+
+    /**
+     * Recupera as estatísticas agregadas dos usuários.
+     *
+     * @param topDomains a quantidade de domínios de e-mail mais frequentes a incluir
+     * @return as estatísticas atuais
+     */
+    UserStatsDTO getStatistics(int topDomains);
+
     /**
      * Salva um novo usuário ou atualiza um existente.
      *
@@ -40,10 +256,137 @@ public interface UserOutputPort {
      */
     User saveUser(User user);
 
+    /**
+     * Salva ou atualiza vários usuários.
+     *
+     * <p>A implementação padrão salva um usuário de cada vez; implementações que podem agrupar
+     * as escritas (em uma única trava ou transação) devem sobrescrevê-la.</p>
+     *
+     * @param users os usuários a serem salvos
+     * @return os usuários salvos, na mesma ordem
+     */
+    default List<User> saveAllUsers(List<User> users) {
+        List<User> saved = new ArrayList<>(users.size());
+        for (User user : users) {
+            saved.add(saveUser(user));
+        }
+        return saved;
+    }
+
+    /**
+     * Substitui todos os usuários pelos informados, preservando os seus IDs, e informa cada
+     * alteração aplicada.
+     *
+     * <p>O {@code listener} recebe {@link UserChangeType#DELETED}, com o estado anterior, para
+     * cada usuário ausente da lista e depois {@link UserChangeType#CREATED} ou
+     * {@link UserChangeType#UPDATED} para cada usuário informado, na ordem da lista. Ele pode ser
+     * chamado com o armazenamento bloqueado e não deve acessar o repositório.</p>
+     *
+     * <p>A implementação padrão percorre os usuários com {@link #forEachUser(Consumer)}, retendo
+     * apenas os removidos e os IDs já existentes da lista, remove os ausentes e depois grava os
+     * informados; leituras concorrentes podem ver o estado intermediário. Implementações que
+     * podem trocar o estado de uma só vez (sob uma trava ou em uma transação) devem sobrescrevê-la.</p>
+     *
+     * @param users    os usuários do novo estado, com IDs atribuídos
+     * @param listener recebe o tipo de cada alteração e o usuário
+     */
+    default void replaceAllUsers(List<User> users, BiConsumer<UserChangeType, User> listener) {
+        Set<Long> kept = new HashSet<>();
+        users.forEach(user -> kept.add(user.getId()));
+        Set<Long> existing = new HashSet<>();
+        List<User> removed = new ArrayList<>();
+        forEachUser(user -> {
+            if (kept.contains(user.getId())) {
+                existing.add(user.getId());
+            } else {
+                removed.add(user);
+            }
+        });
+        for (User user : removed) {
+            deleteUserById(user.getId());
+            listener.accept(UserChangeType.DELETED, user);
+        }
+        saveAllUsers(users);
+        for (User user : users) {
+            listener.accept(existing.contains(user.getId()) ? UserChangeType.UPDATED : UserChangeType.CREATED, user);
+        }
+    }
+
     /**
      * Remove um usuário pelo ID.
      *
      * @param id o identificador único do usuário a ser removido
      */
     void deleteUserById(long id);
+
+    /**
+     * Retorna a versão atual do conjunto de usuários, que muda a cada escrita.
+     *
+     * <p>A implementação padrão não mantém versão e devolve {@code -1}, indicando que respostas
+     * não podem ser validadas pela versão.</p>
+     *
+     * @return a versão atual, ou {@code -1} se desconhecida
+     */
+    default long getStoreVersion() {
+        return -1;
+    }
+
+    /**
+     * Recupera as alterações ocorridas após uma sequência.
+     *
+     * <p>A implementação padrão não mantém sequência de alterações e sempre devolve o
+     * estado completo, sinalizando {@link UserChangesDTO#isFullResync()}.</p>
+     *
+     * @param since a última sequência conhecida pelo cliente
+     * @return os usuários alterados e os IDs removidos desde a sequência
+     */
+    default UserChangesDTO findChangesSince(long since) {
+        return new UserChangesDTO(0, true, findAllUsers(), List.of());
+    }
+
+    /**
+     * Recupera as alterações ocorridas após uma sequência, entregando o estado completo, quando
+     * necessário, ao consumidor em vez de devolvê-lo na lista de usuários.
+     *
+     * <p>Quando {@link UserChangesDTO#isFullResync()}, as listas devolvidas são vazias e cada
+     * usuário do estado completo foi entregue ao {@code snapshotConsumer}. A implementação padrão
+     * repassa a lista de {@link #findChangesSince(long)}; implementações que leem os usuários de
+     * disco devem sobrescrevê-la para entregar o estado completo à medida que o leem, sem
+     * bloquear as escritas durante a entrega.</p>
+     *
+     * @param since            a última sequência conhecida pelo cliente
+     * @param snapshotConsumer recebe os usuários do estado completo
+     * @return os usuários alterados e os IDs removidos, ou a sequência do estado completo entregue
+     */
+    default UserChangesDTO findChangesSince(long since, Consumer<User> snapshotConsumer) {
+        UserChangesDTO changes = findChangesSince(since);
+        if (!changes.isFullResync()) {
+            return changes;
+        }
+        changes.getUsers().forEach(snapshotConsumer);
+        return new UserChangesDTO(changes.getSequence(), true, List.of(), List.of());
+    }
+
+    /**
+     * Estima a memória ocupada pelos usuários e pelas estruturas auxiliares do repositório.
+     *
+     * <p>A implementação padrão não conhece as suas estruturas e devolve apenas a quantidade de
+     * usuários, sem componentes.</p>
+     *
+     * @return a estimativa de memória
+     */
+    default MemoryFootprintDTO getMemoryFootprint() {
+        return new MemoryFootprintDTO(countUsers(), Map.of());
+    }
+
+    /**
+     * Recupera as métricas da camada em memória de um armazenamento em camadas.
+     *
+     * <p>A implementação padrão não tem camadas e devolve Optional.empty().</p>
+     *
+     * @return as métricas da camada quente, se o repositório tiver camadas
+     */
+    default Optional<TierStatsDTO> getTierStatistics() {
+        return Optional.empty();
+    }
 }
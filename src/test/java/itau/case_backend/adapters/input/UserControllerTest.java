@@ -1,25 +1,46 @@
 package itau.case_backend.adapters.input;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import itau.case_backend.config.exception.EmailAlreadyExistsException;
 import itau.case_backend.config.exception.UserNotFoundException;
+import itau.case_backend.domain.dtos.MemoryFootprintDTO;
+import itau.case_backend.domain.dtos.TierStatsDTO;
+import itau.case_backend.domain.dtos.UserChangesDTO;
 import itau.case_backend.domain.dtos.UserDTO;
 import itau.case_backend.domain.dtos.UserPartialUpdateDTO;
+import itau.case_backend.domain.dtos.UserStatsDTO;
 import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.events.UserChangeRingBuffer;
+import itau.case_backend.domain.events.UserChangeType;
+import itau.case_backend.domain.query.AccessPath;
+import itau.case_backend.domain.query.QueryPlan;
+import itau.case_backend.domain.query.UserQuery;
+import itau.case_backend.domain.query.UserQueryResult;
+import itau.case_backend.domain.query.UserSort;
 import itau.case_backend.ports.input.UserInputPort;
 
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -31,6 +52,9 @@ class UserControllerTest {
     @MockitoBean
     private UserInputPort userInputPort;
 
+    @Autowired
+    private UserChangeRingBuffer changeEvents;
+
     @Test
     void When_ExistingUsers_Expect_ReturnUserList() throws Exception {
         User user = new User(1, "John Doe", "john.doe@example.com", 25);
@@ -43,6 +67,38 @@ class UserControllerTest {
                 .andExpect(jsonPath("$[0].age").value(user.getAge()));
     }
 
+    @Test
+    void When_StoreUnchanged_Expect_NotModifiedWithoutReadingUsers() throws Exception {
+        when(userInputPort.getStoreVersion()).thenReturn(12L);
+        when(userInputPort.getAllUsers()).thenReturn(List.of(new User(1, "John Doe", "john.doe@example.com", 25)));
+
+        String etag = mockMvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/users").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(userInputPort, times(1)).getAllUsers();
+    }
+
+    @Test
+    void When_StoreChangedOrQueryDiffers_Expect_NewETag() throws Exception {
+        when(userInputPort.getStoreVersion()).thenReturn(12L, 12L, 13L);
+        when(userInputPort.getAllUsers()).thenReturn(List.of());
+        when(userInputPort.queryUsers(any(UserQuery.class))).thenReturn(new UserQueryResult(List.of(), 0, null));
+
+        String etag = mockMvc.perform(get("/users")).andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/users").param("sort", "name").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/users").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
+
     @Test
     void When_NoUsersExist_Expect_EmptyList() throws Exception {
         when(userInputPort.getAllUsers()).thenReturn(Collections.emptyList());
@@ -53,6 +109,208 @@ class UserControllerTest {
                 .andExpect(jsonPath("$").isEmpty());
     }
 
+    @Test
+    void When_FilteringByAgeRange_Expect_ReturnPageWithTotal() throws Exception {
+        User user = new User(1, "John Doe", "john.doe@example.com", 20);
+        when(userInputPort.queryUsers(any(UserQuery.class))).thenReturn(new UserQueryResult(List.of(user), 7, null));
+
+        mockMvc.perform(get("/users").param("minAge", "18").param("maxAge", "25"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "7"))
+                .andExpect(jsonPath("$[0].age").value(20));
+
+        ArgumentCaptor<UserQuery> query = ArgumentCaptor.forClass(UserQuery.class);
+        verify(userInputPort).queryUsers(query.capture());
+        assertEquals(18, query.getValue().getMinAge());
+        assertEquals(25, query.getValue().getMaxAge());
+        assertNull(query.getValue().getEmailDomain());
+        assertEquals(100, query.getValue().getLimit());
+    }
+
+    @Test
+    void When_CombiningFilters_Expect_SingleQueryWithAllFilters() throws Exception {
+        User user = new User(1, "John Doe", "john.doe@acme.com", 20);
+        when(userInputPort.queryUsers(any(UserQuery.class))).thenReturn(new UserQueryResult(List.of(user), 3, null));
+
+        mockMvc.perform(get("/users")
+                        .param("emailDomain", "@ACME.com")
+                        .param("namePrefix", "Jo")
+                        .param("minAge", "18")
+                        .param("offset", "10")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "3"))
+                .andExpect(jsonPath("$[0].email").value(user.getEmail()));
+
+        ArgumentCaptor<UserQuery> query = ArgumentCaptor.forClass(UserQuery.class);
+        verify(userInputPort).queryUsers(query.capture());
+        assertEquals("acme.com", query.getValue().getEmailDomain());
+        assertEquals("jo", query.getValue().getNamePrefix());
+        assertEquals(3, query.getValue().filterCount());
+        assertEquals(10, query.getValue().getOffset());
+        assertEquals(5, query.getValue().getLimit());
+    }
+
+    @Test
+    void When_SortingUsers_Expect_QueryWithSortAndOrder() throws Exception {
+        User user = new User(1, "Ana", "ana@example.com", 20);
+        when(userInputPort.queryUsers(any(UserQuery.class))).thenReturn(new UserQueryResult(List.of(user), 1, null));
+
+        mockMvc.perform(get("/users").param("sort", "name").param("order", "desc"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "1"))
+                .andExpect(jsonPath("$[0].name").value("Ana"));
+
+        ArgumentCaptor<UserQuery> query = ArgumentCaptor.forClass(UserQuery.class);
+        verify(userInputPort).queryUsers(query.capture());
+        assertEquals(UserSort.NAME, query.getValue().getSort());
+        assertTrue(query.getValue().isDescending());
+        verify(userInputPort, never()).getAllUsers();
+    }
+
+    @Test
+    void When_SortingByUnknownField_Expect_BadRequest() throws Exception {
+        mockMvc.perform(get("/users").param("sort", "email"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("A ordenação deve ser id, name ou age"));
+
+        verify(userInputPort, never()).queryUsers(any(UserQuery.class));
+    }
+
+    @Test
+    void When_ExplainingQuery_Expect_ReturnPlan() throws Exception {
+        QueryPlan plan = new QueryPlan(AccessPath.EMAIL_DOMAIN_INDEX,
+                Map.of(AccessPath.EMAIL_DOMAIN_INDEX, 3L, AccessPath.FULL_SCAN, 100L), 3, 1, 1);
+        when(userInputPort.queryUsers(any(UserQuery.class))).thenReturn(new UserQueryResult(List.of(), 1, plan));
+
+        mockMvc.perform(get("/users").param("emailDomain", "acme.com").param("minAge", "18").param("explain", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accessPath").value("EMAIL_DOMAIN_INDEX"))
+                .andExpect(jsonPath("$.estimatedRows.FULL_SCAN").value(100))
+                .andExpect(jsonPath("$.rowsExamined").value(3));
+    }
+
+    @Test
+    void When_CountingUsersPerDomain_Expect_ReturnCounts() throws Exception {
+        when(userInputPort.countUsersByEmailDomain(0, 100)).thenReturn(Map.of("acme.com", 3L));
+
+        mockMvc.perform(get("/users/domains"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['acme.com']").value(3));
+    }
+
+    @Test
+    void When_InvalidPageLimit_Expect_ReturnValidationError() throws Exception {
+        mockMvc.perform(get("/users").param("minAge", "18").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors").value("O limite deve ser maior que 0"));
+    }
+
+    @Test
+    void When_SearchingByName_Expect_ReturnRankedUsers() throws Exception {
+        User user = new User(1, "John Doe", "john.doe@example.com", 25);
+        when(userInputPort.searchUsersByName("jon", 10)).thenReturn(List.of(user));
+
+        mockMvc.perform(get("/users/search").param("q", "jon"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value(user.getName()));
+    }
+
+    @Test
+    void When_SearchingWithBlankQuery_Expect_ReturnValidationError() throws Exception {
+        mockMvc.perform(get("/users/search").param("q", " "))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors").value("O texto da busca não pode estar vazio"));
+    }
+
+    @Test
+    void When_FetchingChangesSinceSequence_Expect_ReturnChanges() throws Exception {
+        User user = new User(1, "John Doe", "john.doe@example.com", 25);
+        when(userInputPort.getChangesSince(5)).thenReturn(new UserChangesDTO(8, false, List.of(user), List.of(2L)));
+
+        mockMvc.perform(get("/users/changes").param("since", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sequence").value(8))
+                .andExpect(jsonPath("$.fullResync").value(false))
+                .andExpect(jsonPath("$.users[0].email").value(user.getEmail()))
+                .andExpect(jsonPath("$.deletedIds[0]").value(2));
+    }
+
+    @Test
+    void When_FetchingStatistics_Expect_ReturnStatistics() throws Exception {
+        UserStatsDTO stats = new UserStatsDTO(2, 25, 30, 27.5, Map.of("20-29", 1L, "30-39", 1L), Map.of("example.com", 2L));
+        when(userInputPort.getUserStatistics(10)).thenReturn(stats);
+
+        mockMvc.perform(get("/users/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalUsers").value(2))
+                .andExpect(jsonPath("$.meanAge").value(27.5))
+                .andExpect(jsonPath("$.ageHistogram['20-29']").value(1))
+                .andExpect(jsonPath("$.topEmailDomains['example.com']").value(2));
+    }
+
+    @Test
+    void When_FetchingMemoryReport_Expect_ComponentsAndResponseCache() throws Exception {
+        when(userInputPort.getMemoryFootprint()).thenReturn(new MemoryFootprintDTO(2, Map.of("users", 200L)));
+
+        mockMvc.perform(get("/admin/memory"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.current.userCount").value(2))
+                .andExpect(jsonPath("$.current.components.users").value(200))
+                .andExpect(jsonPath("$.current.components.responseCache").exists())
+                .andExpect(jsonPath("$.samples").isArray());
+    }
+
+    @Test
+    void When_FetchingTierStatistics_Expect_HitRatio() throws Exception {
+        when(userInputPort.getTierStatistics()).thenReturn(Optional.of(new TierStatsDTO(2, 400, 1000, 3, 1, 0)));
+
+        mockMvc.perform(get("/admin/storage/tiers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hotUsers").value(2))
+                .andExpect(jsonPath("$.hitRatio").value(0.75));
+    }
+
+    @Test
+    void When_StorageWithoutTiers_Expect_NotFound() throws Exception {
+        when(userInputPort.getTierStatistics()).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/admin/storage/tiers"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void When_ReplicationNotConfigured_Expect_NotFound() throws Exception {
+        mockMvc.perform(get("/admin/replication"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void When_RequestingConcurrencyLimits_Expect_ReadAndWriteLimits() throws Exception {
+        mockMvc.perform(get("/admin/limits"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.reads.limit").isNumber())
+                .andExpect(jsonPath("$.writes.limit").isNumber())
+                .andExpect(jsonPath("$.reads.inFlight").value(0));
+    }
+
+    @Test
+    void When_RequestTimeoutAlreadyElapsed_Expect_GatewayTimeout() throws Exception {
+        mockMvc.perform(get("/users/1").header("X-Request-Timeout", "0"))
+                .andExpect(status().isGatewayTimeout());
+
+        verify(userInputPort, never()).getUserById(anyLong());
+        mockMvc.perform(get("/admin/deadlines"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.skippedByOperation.admission").isNumber());
+    }
+
+    @Test
+    void When_RequestTimeoutInvalid_Expect_BadRequest() throws Exception {
+        mockMvc.perform(get("/users/1").header("X-Request-Timeout", "soon"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void When_ExistingUser_Expect_ReturnUser() throws Exception {
         User user = new User(1, "John Doe", "john.doe@example.com", 25);
@@ -65,6 +323,114 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.age").value(user.getAge()));
     }
 
+    @Test
+    void When_ExistingUserRequestedAsync_Expect_ReturnUser() throws Exception {
+        User user = new User(1, "John Doe", "john.doe@example.com", 25);
+        when(userInputPort.getUserById(1)).thenReturn(user);
+
+        MvcResult result = mockMvc.perform(get("/async/users/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value(user.getName()))
+                .andExpect(jsonPath("$.age").value(user.getAge()));
+    }
+
+    @Test
+    void When_NonExistingUserRequestedAsync_Expect_NotFound() throws Exception {
+        when(userInputPort.getUserById(99)).thenThrow(new UserNotFoundException(99));
+
+        MvcResult result = mockMvc.perform(get("/async/users/99"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void When_CreatingUserAsync_Expect_CreatedAndInvalidDataRejectedBeforeDispatch() throws Exception {
+        when(userInputPort.createUser(any(UserDTO.class))).thenReturn(new User(5, "Jane Doe", "jane@example.com", 30));
+
+        MvcResult result = mockMvc.perform(post("/async/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Jane Doe\",\"email\":\"jane@example.com\",\"age\":30}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(5));
+
+        mockMvc.perform(post("/async/users")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"\",\"email\":\"invalid\",\"age\":30}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void When_SameUserVersionRequestedTwice_Expect_CachedBytes() throws Exception {
+        User cached = new User(42, "John Doe", "john.doe@example.com", 25);
+        cached.setVersion(7);
+        User sameVersion = new User(42, "Changed Without Write", "john.doe@example.com", 25);
+        sameVersion.setVersion(7);
+        User newVersion = new User(42, "Jane Doe", "jane.doe@example.com", 30);
+        newVersion.setVersion(8);
+        when(userInputPort.getUserById(42)).thenReturn(cached, sameVersion, newVersion);
+
+        mockMvc.perform(get("/users/42"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.name").value("John Doe"));
+        mockMvc.perform(get("/users/42"))
+                .andExpect(jsonPath("$.name").value("John Doe"))
+                .andExpect(jsonPath("$.version").doesNotExist());
+        mockMvc.perform(get("/users/42"))
+                .andExpect(jsonPath("$.name").value("Jane Doe"))
+                .andExpect(jsonPath("$.age").value(30));
+    }
+
+    @Test
+    void When_ListingWithFields_Expect_OnlyRequestedFields() throws Exception {
+        when(userInputPort.getAllUsers()).thenReturn(List.of(new User(1, "John Doe", "john.doe@example.com", 25)));
+
+        mockMvc.perform(get("/users").param("fields", "id,email"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[{\"id\":1,\"email\":\"john.doe@example.com\"}]", true));
+    }
+
+    @Test
+    void When_QueryingWithFields_Expect_PageWithOnlyRequestedFields() throws Exception {
+        User user = new User(1, "John Doe", "john.doe@example.com", 25);
+        when(userInputPort.queryUsers(any(UserQuery.class))).thenReturn(new UserQueryResult(List.of(user), 4, null));
+
+        mockMvc.perform(get("/users").param("minAge", "18").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Total-Count", "4"))
+                .andExpect(content().json("[{\"name\":\"John Doe\"}]", true));
+    }
+
+    @Test
+    void When_GettingUserWithFields_Expect_OnlyRequestedFields() throws Exception {
+        User user = new User(44, "John Doe", "john.doe@example.com", 25);
+        user.setVersion(2);
+        when(userInputPort.getUserById(44)).thenReturn(user);
+
+        mockMvc.perform(get("/users/44").param("fields", "age, id"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"id\":44,\"age\":25}", true));
+    }
+
+    @Test
+    void When_UnknownField_Expect_BadRequest() throws Exception {
+        mockMvc.perform(get("/users").param("fields", "id,password"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("Os campos devem estar entre id, name, email e age, separados por vírgula"));
+
+        verify(userInputPort, never()).getAllUsers();
+    }
+
     @Test
     void When_NonExistentUser_Expect_ReturnNotFoundError() throws Exception {
         long id = 1;
@@ -93,6 +459,116 @@ class UserControllerTest {
         verify(userInputPort, times(1)).createUser(any(UserDTO.class));
     }
 
+    @Test
+    void When_AcceptingCbor_Expect_BinaryUserSmallerThanJson() throws Exception {
+        User user = new User(43, "John Doe", "john.doe@example.com", 25);
+        user.setVersion(3);
+        when(userInputPort.getUserById(43)).thenReturn(user);
+
+        byte[] cbor = mockMvc.perform(get("/users/43").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] json = mockMvc.perform(get("/users/43").accept(MediaType.APPLICATION_JSON))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        Map<?, ?> decoded = new CBORMapper().readValue(cbor, Map.class);
+        assertEquals("John Doe", decoded.get("name"));
+        assertEquals(25, decoded.get("age"));
+        assertTrue(cbor.length < json.length);
+    }
+
+    @Test
+    void When_ListingUsersAsCbor_Expect_CborList() throws Exception {
+        when(userInputPort.getAllUsers()).thenReturn(List.of(
+                new User(1, "John Doe", "john.doe@example.com", 25),
+                new User(2, "Jane Doe", "jane.doe@example.com", 30)));
+
+        byte[] cbor = mockMvc.perform(get("/users").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        List<?> decoded = new CBORMapper().readValue(cbor, List.class);
+        assertEquals(2, decoded.size());
+        assertEquals("Jane Doe", ((Map<?, ?>) decoded.get(1)).get("name"));
+    }
+
+    @Test
+    void When_ValidBulk_Expect_CreateUsersSuccessfully() throws Exception {
+        when(userInputPort.createUsers(anyList())).thenReturn(List.of(
+                new User(1, "John Doe", "john.doe@example.com", 25),
+                new User(2, "Jane Doe", "jane.doe@example.com", 30)));
+
+        mockMvc.perform(post("/users/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"John Doe\",\"email\":\"john.doe@example.com\",\"age\":25},"
+                                + "{\"name\":\"Jane Doe\",\"email\":\"jane.doe@example.com\",\"age\":30}]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$[1].id").value(2))
+                .andExpect(jsonPath("$[1].name").value("Jane Doe"));
+    }
+
+    @Test
+    void When_BulkHasInvalidUser_Expect_BadRequestWithoutCreating() throws Exception {
+        mockMvc.perform(post("/users/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"name\":\"John Doe\",\"email\":\"john.doe@example.com\",\"age\":25},"
+                                + "{\"name\":\"\",\"email\":\"jane.doe@example.com\",\"age\":30}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("O nome não pode estar vazio"));
+
+        mockMvc.perform(post("/users/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/users/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[null]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("Os dados do usuário são obrigatórios"));
+
+        mockMvc.perform(post("/users/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("null"))
+                .andExpect(status().isBadRequest());
+
+        verify(userInputPort, never()).createUsers(anyList());
+    }
+
+    @Test
+    void When_CreatingUserFromCbor_Expect_CreateUserSuccessfully() throws Exception {
+        User newUser = new User(1, "John Doe", "john.doe@example.com", 25);
+        when(userInputPort.createUser(any(UserDTO.class))).thenReturn(newUser);
+
+        byte[] body = new CBORMapper().writeValueAsBytes(Map.of("name", "John Doe", "email", "john.doe@example.com", "age", 25));
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.name").value(newUser.getName()));
+
+        ArgumentCaptor<UserDTO> dto = ArgumentCaptor.forClass(UserDTO.class);
+        verify(userInputPort).createUser(dto.capture());
+        assertEquals("john.doe@example.com", dto.getValue().getEmail());
+        assertEquals(25, dto.getValue().getAge());
+    }
+
+    @Test
+    void When_InvalidCborBody_Expect_ValidationErrors() throws Exception {
+        byte[] body = new CBORMapper().writeValueAsBytes(Map.of("name", "John Doe", "email", "invalid", "age", 25));
+
+        mockMvc.perform(post("/users")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("Formato de e-mail inválido"));
+
+        verify(userInputPort, never()).createUser(any(UserDTO.class));
+    }
+
     @Test
     void When_EmailAlreadyExists_Expect_CreateReturnConflictError() throws Exception {
         UserDTO userDTO = new UserDTO("John Smith", "john.doe@example.com", 26);
@@ -374,4 +850,36 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.errors").value("O e-mail não pode estar vazio"));
     }
 
+    @Test
+    void When_SubscribingToUserEvents_Expect_EventStreamStarted() throws Exception {
+        mockMvc.perform(get("/users/events").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+    }
+
+
+    @Test
+    void When_ReconnectingWithLostOrUnknownEventId_Expect_ResyncEvent() throws Exception {
+        User user = new User(1, "John Doe", "john.doe@example.com", 25);
+        for (int i = 0; i <= changeEvents.capacity(); i++) {
+            changeEvents.publish(UserChangeType.UPDATED, user);
+        }
+        long oldest = changeEvents.oldestSequence();
+
+        MvcResult lost = mockMvc.perform(get("/users/events").header("Last-Event-ID", oldest - 2))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = lost.getResponse().getContentAsString();
+        assertTrue(body.contains("event:RESYNC"), body);
+        assertTrue(body.contains("id:" + (oldest - 1)), body);
+
+        MvcResult unknown = mockMvc.perform(get("/users/events").header("Last-Event-ID", changeEvents.nextSequence() + 100))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertTrue(unknown.getResponse().getContentAsString().contains("event:RESYNC"));
+
+        MvcResult current = mockMvc.perform(get("/users/events").header("Last-Event-ID", changeEvents.nextSequence() - 1))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertTrue(current.getResponse().getContentAsString().isEmpty());
+    }
 }
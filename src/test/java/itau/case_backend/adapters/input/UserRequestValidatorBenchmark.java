@@ -0,0 +1,68 @@
+package itau.case_backend.adapters.input;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+import itau.case_backend.config.exception.InvalidUserDataException;
+import itau.case_backend.domain.dtos.UserDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Microbenchmark do custo por requisição de {@link UserRequestValidator} contra o Bean Validation
+ * usado por {@code @Valid}. Fica fora da execução normal dos testes; para rodar:
+ * {@code mvn test -Dtest=UserRequestValidatorBenchmark -Dbenchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UserRequestValidatorBenchmark {
+
+    private static final Validator BEAN_VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+    private static final UserDTO[] REQUESTS = {
+            new UserDTO("John Doe", "john.doe@example.com", 30),
+            new UserDTO("Maria Silva", "maria.silva@exemplo.com.br", 42),
+            new UserDTO("", "invalid", 0),
+            new UserDTO("Ana", "ana+news@example.org", 25)
+    };
+    private static final int WARMUP_ROUNDS = 200_000;
+    private static final int MEASURED_ROUNDS = 1_000_000;
+
+    private static long sink;
+
+    @Test
+    void When_ValidatingRequests_Expect_LocalValidatorCheaperThanBeanValidation() {
+        Consumer<UserDTO> local = dto -> {
+            try {
+                UserRequestValidator.validate(dto);
+            } catch (InvalidUserDataException e) {
+                sink += e.getErrors().size();
+            }
+        };
+        Consumer<UserDTO> beanValidation = dto -> {
+            Set<ConstraintViolation<UserDTO>> violations = BEAN_VALIDATOR.validate(dto);
+            sink += violations.size();
+        };
+
+        measure(local, WARMUP_ROUNDS);
+        measure(beanValidation, WARMUP_ROUNDS);
+        double localNanos = measure(local, MEASURED_ROUNDS);
+        double beanValidationNanos = measure(beanValidation, MEASURED_ROUNDS);
+
+        System.out.printf("UserRequestValidator: %.1f ns/req; @Valid (Bean Validation): %.1f ns/req; sink=%d%n",
+                localNanos, beanValidationNanos, sink);
+        assertTrue(localNanos < beanValidationNanos);
+    }
+
+    private static double measure(Consumer<UserDTO> validation, int rounds) {
+        long start = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            validation.accept(REQUESTS[i & (REQUESTS.length - 1)]);
+        }
+        return (System.nanoTime() - start) / (double) rounds;
+    }
+}
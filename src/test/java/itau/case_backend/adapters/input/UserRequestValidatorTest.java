@@ -0,0 +1,95 @@
+package itau.case_backend.adapters.input;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import itau.case_backend.config.exception.InvalidUserDataException;
+import itau.case_backend.domain.dtos.UserDTO;
+import itau.case_backend.domain.dtos.UserPartialUpdateDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserRequestValidatorTest {
+
+    private static final Validator BEAN_VALIDATOR = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private static final List<String> NAMES = Arrays.asList(null, "", "   ", "J", "John Doe");
+    private static final List<String> EMAILS = Arrays.asList(null, "", " ", "invalid", "a@b", "john@example.com",
+            "john..doe@example.com", "john@exa mple.com", "\"quoted name\"@example.com", "joão@exemplo.com.br");
+    private static final List<Integer> AGES = Arrays.asList(null, -1, 0, 1, 120);
+    private static final List<String> EDGE_EMAILS = List.of("a@b.c", "A.B-C+tag@Example.COM", "@example.com",
+            "john@", "john@@example.com", "a@b@example.com", "john.@example.com", ".john@example.com",
+            "john@example.com.", "john@.example.com", "john@example..com", "john@-example.com",
+            "john@example-.com", "john@ex--ample.com", "john@exa_mple.com", "john@[127.0.0.1]",
+            "john@[999.1.1.1]", "john@[127.0.0]", "john@[IPv6:2001:db8::1]", "john@[IPv6:::ffff:10.0.0.1]",
+            "john@[IPv6:zz::1]", "\"john doe\"@example.com", "\"a\\\"b\"@example.com", "\"\"@example.com",
+            "\"a@b\"@example.com", "jo(h)n@example.com", "josé@exemplo.com.br", "john@exemplo.ção",
+            "a".repeat(64) + "@example.com", "a".repeat(65) + "@example.com",
+            "john@" + "a".repeat(63) + "." + "b".repeat(63) + "." + "c".repeat(63) + "." + "d".repeat(63),
+            "john@" + "a".repeat(63) + "." + "b".repeat(63) + "." + "c".repeat(63) + "." + "d".repeat(64),
+            "john@" + "a".repeat(64) + ".com", "john@exa mple.com", "john\t@example.com", "😀@example.com");
+
+    @Test
+    void When_ValidatingUserDTO_Expect_SameMessagesAsBeanValidation() {
+        for (String name : NAMES) {
+            for (String email : EMAILS) {
+                for (Integer age : AGES) {
+                    UserDTO dto = new UserDTO(name, email, age);
+                    assertEquals(messages(BEAN_VALIDATOR.validate(dto)), messages(() -> UserRequestValidator.validate(dto)),
+                            () -> name + " / " + email + " / " + age);
+                }
+            }
+        }
+    }
+
+    @Test
+    void When_ValidatingPartialUpdate_Expect_SameMessagesAsBeanValidation() {
+        for (String name : NAMES) {
+            for (String email : EMAILS) {
+                for (Integer age : AGES) {
+                    UserPartialUpdateDTO dto = new UserPartialUpdateDTO(name, email, age);
+                    assertEquals(messages(BEAN_VALIDATOR.validate(dto)), messages(() -> UserRequestValidator.validate(dto)),
+                            () -> name + " / " + email + " / " + age);
+                }
+            }
+        }
+    }
+
+    @Test
+    void When_ValidatingEdgeCaseEmails_Expect_SameResultAsEmailAnnotation() {
+        for (String email : EDGE_EMAILS) {
+            UserPartialUpdateDTO dto = new UserPartialUpdateDTO(null, email, null);
+            assertEquals(messages(BEAN_VALIDATOR.validate(dto)), messages(() -> UserRequestValidator.validate(dto)),
+                    () -> email);
+        }
+    }
+
+    @Test
+    void When_SeveralRulesViolated_Expect_MessagesInFieldOrder() {
+        InvalidUserDataException exception = assertThrows(InvalidUserDataException.class,
+                () -> UserRequestValidator.validate(new UserDTO("", "invalid", 0)));
+
+        assertEquals(List.of("O nome não pode estar vazio", "Formato de e-mail inválido", "A idade deve ser maior que 0"),
+                exception.getErrors());
+    }
+
+    private static Set<String> messages(Set<? extends ConstraintViolation<?>> violations) {
+        return violations.stream().map(ConstraintViolation::getMessage).collect(Collectors.toSet());
+    }
+
+    private static Set<String> messages(Runnable validation) {
+        try {
+            validation.run();
+            return Set.of();
+        } catch (InvalidUserDataException exception) {
+            return Set.copyOf(exception.getErrors());
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package itau.case_backend.adapters.input.cluster;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClusterIdAllocatorTest {
+
+    @TempDir
+    Path directory;
+
+    private static ClusterMembership membership() {
+        Map<String, String> nodes = new LinkedHashMap<>();
+        nodes.put("a", "http://a:8080");
+        nodes.put("b", "http://b:8080");
+        return new ClusterMembership("a", nodes, 128, false);
+    }
+
+    @Test
+    void When_AllocatorRestarts_Expect_ContinuesAfterPersistedReservation() {
+        ClusterMembership membership = membership();
+        Path file = directory.resolve("next-id");
+        Set<Long> issued = new HashSet<>();
+        ClusterIdAllocator allocator = new ClusterIdAllocator(membership, file);
+        long last = 0;
+        for (int i = 0; i < 100; i++) {
+            last = allocator.nextId(issued::contains);
+            assertTrue(membership.owns(last));
+            assertTrue(issued.add(last));
+        }
+
+        AtomicInteger probes = new AtomicInteger();
+        long afterRestart = new ClusterIdAllocator(membership, file).nextId(id -> {
+            probes.incrementAndGet();
+            return issued.contains(id);
+        });
+
+        assertTrue(afterRestart > last);
+        assertTrue(afterRestart > ClusterIdAllocator.RESERVATION);
+        assertTrue(membership.owns(afterRestart));
+        assertTrue(probes.get() < 10, "candidatos examinados: " + probes.get());
+    }
+
+    @Test
+    void When_NoIdFile_Expect_CountingRestartsFromOne() {
+        ClusterMembership membership = membership();
+        long first = new ClusterIdAllocator(membership, (Path) null).nextId(id -> false);
+
+        assertEquals(first, new ClusterIdAllocator(membership, (Path) null).nextId(id -> false));
+    }
+}
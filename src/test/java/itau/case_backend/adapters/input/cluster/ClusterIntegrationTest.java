@@ -0,0 +1,169 @@
+package itau.case_backend.adapters.input.cluster;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import itau.case_backend.CaseBackendApplication;
+import itau.case_backend.adapters.input.replication.ReplicationProtocol;
+import itau.case_backend.domain.dtos.UserChangesDTO;
+import itau.case_backend.domain.entities.User;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClusterIntegrationTest {
+
+    private static final Pattern ID = Pattern.compile("\"id\":(\\d+)");
+    private static final String SECRET = "segredo-de-teste";
+
+    @TempDir
+    Path directory;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private void start(String self, String members, int port) {
+        nodes.add(new SpringApplicationBuilder(CaseBackendApplication.class).properties(
+                "server.port=" + port,
+                "users.cluster.self=" + self,
+                "users.cluster.nodes=" + members,
+                "users.cluster.id-file=" + directory.resolve(self + ".next-id"),
+                "users.cluster.secret=" + SECRET,
+                "users.memory.sample-interval-ms=600000").run());
+    }
+
+    private HttpResponse<String> send(String method, String url, String json) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .method(method, json == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json));
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> transfer(String baseUrl, String secret, byte[] body) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + ClusterRebalancer.TRANSFER_PATH))
+                .header("Content-Type", "application/octet-stream")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        if (secret != null) {
+            request.header(ClusterRebalancer.SECRET_HEADER, secret);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static byte[] transferBody(List<User> users) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        ReplicationProtocol.writeChanges(new DataOutputStream(buffer), 0, new UserChangesDTO(0, false, users, List.of()));
+        return buffer.toByteArray();
+    }
+
+    private long createUser(String baseUrl, int i) throws Exception {
+        HttpResponse<String> response = send("POST", baseUrl + "/users",
+                "{\"name\":\"User " + i + "\",\"email\":\"user" + i + "@example.com\",\"age\":30}");
+        assertEquals(201, response.statusCode(), response.body());
+        Matcher matcher = ID.matcher(response.body());
+        assertTrue(matcher.find(), response.body());
+        return Long.parseLong(matcher.group(1));
+    }
+
+    @Test
+    void When_RequestingForeignIds_Expect_ForwardedAndRebalancedOnNodeAddition() throws Exception {
+        int portA = freePort();
+        int portB = freePort();
+        int portC = freePort();
+        String a = "http://localhost:" + portA;
+        String b = "http://localhost:" + portB;
+        String c = "http://localhost:" + portC;
+        start("a", "a=" + a + ",b=" + b, portA);
+        start("b", "a=" + a + ",b=" + b, portB);
+        HashRing ring = new HashRing(Map.of("a", a, "b", b), 128);
+
+        List<Long> createdOnB = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            long id = createUser(b, i);
+            assertEquals("b", ring.ownerOf(id));
+            createdOnB.add(id);
+        }
+
+        long id = createdOnB.get(0);
+        HttpResponse<String> forwarded = send("GET", a + "/users/" + id, null);
+        assertEquals(200, forwarded.statusCode());
+        assertTrue(forwarded.body().contains("user0@example.com"));
+        assertEquals("application/json", forwarded.headers().firstValue("Content-Type").orElseThrow());
+        assertEquals(200, send("PATCH", a + "/users/" + id, "{\"age\":31}").statusCode());
+        assertTrue(send("GET", b + "/users/" + id, null).body().contains("31"));
+
+        start("c", "a=" + a + ",b=" + b + ",c=" + c, portC);
+        HttpResponse<String> report = send("POST", b + "/admin/cluster/nodes?name=c&url=" + c, null);
+        assertEquals(200, report.statusCode());
+        HashRing grown = ring.withNode("c", c);
+        long movedToC = createdOnB.stream().filter(userId -> grown.ownerOf(userId).equals("c")).count();
+        assertTrue(movedToC > 0);
+        assertTrue(report.body().contains("\"c\":" + movedToC), report.body());
+        assertTrue(report.body().contains("\"conflicts\":0"), report.body());
+
+        for (long userId : createdOnB) {
+            String owner = grown.ownerOf(userId);
+            String ownerUrl = owner.equals("c") ? c : b;
+            assertEquals(200, send("GET", ownerUrl + "/users/" + userId, null).statusCode(), "usuário " + userId + " em " + owner);
+        }
+    }
+
+    @Test
+    void When_TransferWithoutSecretOrInvalid_Expect_RejectedAndNothingStored() throws Exception {
+        int port = freePort();
+        String a = "http://localhost:" + port;
+        start("a", "a=" + a, port);
+        long id = 1_000_000L;
+        byte[] valid = transferBody(List.of(new User(id, "Ana", "ana@example.com", 30)));
+
+        assertEquals(403, transfer(a, null, valid).statusCode());
+        assertEquals(403, transfer(a, "outro-segredo", valid).statusCode());
+
+        ByteArrayOutputStream negative = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(negative);
+        out.writeByte(ReplicationProtocol.DELTA);
+        out.writeLong(0);
+        out.writeLong(0);
+        out.writeInt(-1);
+        HttpResponse<String> negativeCount = transfer(a, SECRET, negative.toByteArray());
+        assertEquals(400, negativeCount.statusCode(), negativeCount.body());
+        assertEquals(400, transfer(a, SECRET, Arrays.copyOf(valid, valid.length - 3)).statusCode());
+
+        HttpResponse<String> invalid = transfer(a, SECRET, transferBody(List.of(
+                new User(id, "Ana", "ana@example.com", 30), new User(id + 1, " ", "não-é-email", 0))));
+        assertEquals(400, invalid.statusCode(), invalid.body());
+        assertTrue(invalid.body().contains("Usuário " + (id + 1) + ": Formato de e-mail inválido"), invalid.body());
+        assertEquals(404, send("GET", a + "/users/" + id, null).statusCode());
+
+        assertEquals(200, transfer(a, SECRET, valid).statusCode());
+        assertEquals(200, send("GET", a + "/users/" + id, null).statusCode());
+    }
+}
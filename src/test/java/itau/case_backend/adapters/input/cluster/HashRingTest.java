@@ -0,0 +1,79 @@
+package itau.case_backend.adapters.input.cluster;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HashRingTest {
+
+    private static final int IDS = 30_000;
+
+    private static Map<String, String> nodes(String... names) {
+        Map<String, String> nodes = new LinkedHashMap<>();
+        for (String name : names) {
+            nodes.put(name, "http://" + name + ":8080");
+        }
+        return nodes;
+    }
+
+    @Test
+    void When_AssigningIds_Expect_DeterministicAndBalancedOwnership() {
+        HashRing ring = new HashRing(nodes("a", "b", "c"), 128);
+        HashRing same = new HashRing(nodes("c", "b", "a"), 128);
+        Map<String, Integer> counts = new HashMap<>();
+
+        for (long id = 1; id <= IDS; id++) {
+            assertEquals(ring.ownerOf(id), same.ownerOf(id));
+            counts.merge(ring.ownerOf(id), 1, Integer::sum);
+        }
+
+        assertEquals(3, counts.size());
+        counts.values().forEach(count -> assertTrue(count > IDS / 4 && count < IDS / 2, "carga desequilibrada: " + counts));
+    }
+
+    @Test
+    void When_NodeAdded_Expect_OnlyAboutAQuarterMovedAndAllToNewNode() {
+        HashRing ring = new HashRing(nodes("a", "b", "c"), 128);
+        HashRing grown = ring.withNode("d", "http://d:8080");
+        int moved = 0;
+
+        for (long id = 1; id <= IDS; id++) {
+            String before = ring.ownerOf(id);
+            String after = grown.ownerOf(id);
+            if (!before.equals(after)) {
+                assertEquals("d", after);
+                moved++;
+            }
+        }
+
+        assertTrue(moved > IDS / 6 && moved < IDS / 3, "IDs movidos: " + moved);
+        assertEquals("http://d:8080", grown.urlOf("d"));
+        assertNull(ring.urlOf("d"));
+    }
+
+    @Test
+    void When_RedirectModeAndForeignId_Expect_TemporaryRedirectToOwner() throws Exception {
+        ClusterMembership membership = new ClusterMembership("a", nodes("a", "b"), 128, true);
+        ClusterRoutingInterceptor interceptor = new ClusterRoutingInterceptor(membership, 1000);
+        long foreign = 1;
+        while (membership.owns(foreign)) {
+            foreign++;
+        }
+
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/users/" + foreign);
+        request.setQueryString("fields=name");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request, response, null));
+        assertEquals(307, response.getStatus());
+        assertEquals("http://b:8080/users/" + foreign + "?fields=name", response.getHeader("Location"));
+
+        MockHttpServletRequest stats = new MockHttpServletRequest("GET", "/users/stats");
+        assertTrue(interceptor.preHandle(stats, new MockHttpServletResponse(), null));
+    }
+}
@@ -0,0 +1,44 @@
+package itau.case_backend.adapters.input.deadline;
+
+import itau.case_backend.config.exception.DeadlineExceededException;
+import itau.case_backend.domain.deadline.DeadlineMetrics;
+import itau.case_backend.domain.deadline.RequestDeadline;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeadlineInterceptorTest {
+
+    private final DeadlineInterceptor interceptor = new DeadlineInterceptor(new DeadlineMetrics(), 0, 300_000);
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void When_AdmissionCheckFails_Expect_NextRequestOnSameThreadWithoutDeadline() {
+        MockHttpServletRequest expired = new MockHttpServletRequest("GET", "/users");
+        expired.addHeader(DeadlineInterceptor.TIMEOUT_HEADER, "0");
+        assertThrows(DeadlineExceededException.class,
+                () -> interceptor.preHandle(expired, new MockHttpServletResponse(), new Object()));
+        assertNull(RequestDeadline.current());
+
+        MockHttpServletRequest next = new MockHttpServletRequest("GET", "/users");
+        assertTrue(interceptor.preHandle(next, new MockHttpServletResponse(), new Object()));
+        assertNull(RequestDeadline.current());
+        RequestDeadline.check("next.request");
+    }
+
+    @Test
+    void When_PreviousRequestLeftDeadlineOnThread_Expect_ClearedAtAdmission() {
+        RequestDeadline.start(0);
+
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/users"), new MockHttpServletResponse(), new Object()));
+        assertNull(RequestDeadline.current());
+    }
+}
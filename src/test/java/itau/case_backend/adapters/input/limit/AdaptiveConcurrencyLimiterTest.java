@@ -0,0 +1,110 @@
+package itau.case_backend.adapters.input.limit;
+
+import itau.case_backend.config.exception.ServiceOverloadedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    private static void saturateAndRelease(AdaptiveConcurrencyLimiter limiter, long rttNanos, boolean failed) {
+        int admitted = 0;
+        while (limiter.tryAcquire()) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            limiter.release(rttNanos, failed);
+        }
+    }
+
+    @Test
+    void When_LimitReached_Expect_RequestsRejectedUntilReleased() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 3, 1, 10, 1000);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(3, limiter.inFlight());
+
+        limiter.release(MILLIS, false);
+
+        assertTrue(limiter.tryAcquire());
+        assertEquals(4, limiter.accepted());
+        assertEquals(1, limiter.rejected());
+    }
+
+    @Test
+    void When_SaturatedWithSteadyLatency_Expect_LimitGrowsUpToMax() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 10, 1, 200, 1000);
+
+        for (int round = 0; round < 50; round++) {
+            saturateAndRelease(limiter, 5 * MILLIS, false);
+        }
+
+        assertEquals(200, limiter.limit());
+        assertEquals(5 * MILLIS, limiter.minRttNanos());
+    }
+
+    @Test
+    void When_LatencyRisesUnderLoad_Expect_LimitShrinks() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 100, 4, 1000, 1000);
+        saturateAndRelease(limiter, 5 * MILLIS, false);
+        int before = limiter.limit();
+
+        for (int round = 0; round < 20; round++) {
+            saturateAndRelease(limiter, 50 * MILLIS, false);
+        }
+
+        assertTrue(limiter.limit() < before / 2, "limite: " + limiter.limit());
+        assertTrue(limiter.limit() >= 4);
+    }
+
+    @Test
+    void When_RequestsFail_Expect_LimitDecreasesToMin() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 20, 2, 100, 1000);
+
+        for (int round = 0; round < 30; round++) {
+            saturateAndRelease(limiter, MILLIS, true);
+        }
+
+        assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    void When_LightLoad_Expect_LimitUnchanged() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", 50, 1, 500, 1000);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(MILLIS, false);
+        }
+
+        assertEquals(50, limiter.limit());
+    }
+
+    @Test
+    void When_InterceptorLimitReached_Expect_OverloadedAndReadsIndependentOfWrites() {
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(
+                new AdaptiveConcurrencyLimiter("reads", 1, 1, 1, 1000),
+                new AdaptiveConcurrencyLimiter("writes", 1, 1, 1, 1000));
+        MockHttpServletRequest write = new MockHttpServletRequest("POST", "/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(write, response, null));
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                () -> interceptor.preHandle(new MockHttpServletRequest("PUT", "/users/1"), response, null));
+        assertTrue(exception.getMessage().contains("writes"));
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest("GET", "/users/1"), response, null));
+
+        interceptor.afterCompletion(write, response, null, null);
+
+        assertEquals(0, interceptor.limits().get("writes").getInFlight());
+        assertEquals(1, interceptor.limits().get("reads").getInFlight());
+        assertEquals(1, interceptor.limits().get("writes").getRejected());
+    }
+}
@@ -0,0 +1,163 @@
+package itau.case_backend.adapters.input.replication;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import itau.case_backend.adapters.output.UserRepository;
+import itau.case_backend.adapters.output.lsm.LsmUserRepository;
+import itau.case_backend.domain.UserServiceImpl;
+import itau.case_backend.domain.dtos.ReplicationStatusDTO;
+import itau.case_backend.domain.dtos.UserDTO;
+import itau.case_backend.domain.dtos.UserPartialUpdateDTO;
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.events.UserChangeRingBuffer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicationTest {
+
+    private UserServiceImpl leaderService;
+    private UserServiceImpl followerService;
+    private ReplicationLeader leader;
+    private ReplicationFollower follower;
+
+    @BeforeEach
+    void setUp() {
+        leaderService = new UserServiceImpl(new UserRepository(), new UserChangeRingBuffer(64));
+        followerService = new UserServiceImpl(new UserRepository(), new UserChangeRingBuffer(64));
+        leader = startLeader(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (follower != null) {
+            follower.stop();
+        }
+        leader.stop();
+    }
+
+    private ReplicationLeader startLeader(int port) {
+        ReplicationLeader started = new ReplicationLeader(leaderService, "localhost", port, 5, 100);
+        started.start();
+        return started;
+    }
+
+    private void startFollower() {
+        follower = new ReplicationFollower(followerService, "localhost", leader.localPort(), 100, 20);
+        follower.start();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condição não atingida em 5 segundos");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private boolean followerMatchesLeader() {
+        List<User> expected = leaderService.getAllUsers();
+        List<User> actual = followerService.getAllUsers();
+        if (expected.size() != actual.size()) {
+            return false;
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            User a = expected.get(i);
+            User b = actual.get(i);
+            if (a.getId() != b.getId() || !a.getName().equals(b.getName()) || !a.getEmail().equals(b.getEmail())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Test
+    void When_FollowerStarts_Expect_CaughtUpFromSnapshotReplacingLocalUsers() throws InterruptedException {
+        leaderService.createUser(new UserDTO("Alice", "alice@example.com", 25));
+        leaderService.createUser(new UserDTO("Bob", "bob@example.com", 30));
+        followerService.createUser(new UserDTO("Stale", "stale@example.com", 40));
+        followerService.createUser(new UserDTO("Stale 2", "stale2@example.com", 41));
+        followerService.createUser(new UserDTO("Stale 3", "stale3@example.com", 42));
+
+        startFollower();
+        await(() -> follower.status().getSnapshots() == 1 && followerMatchesLeader());
+
+        assertTrue(followerService.getAllUsers().stream().noneMatch(user -> user.getName().startsWith("Stale")));
+        ReplicationStatusDTO status = follower.status();
+        assertTrue(status.isConnected());
+        assertEquals(leaderService.getStoreVersion(), status.getAppliedSequence());
+        assertEquals(0, status.getLag());
+    }
+
+    @Test
+    void When_LeaderWrites_Expect_ChangesStreamedInOrder() throws InterruptedException {
+        startFollower();
+        await(() -> follower.status().getSnapshots() == 1 && leader.status().getFollowers() == 1);
+
+        User alice = leaderService.createUser(new UserDTO("Alice", "alice@example.com", 25));
+        User bob = leaderService.createUser(new UserDTO("Bob", "bob@example.com", 30));
+        leaderService.partialUpdateUser(alice.getId(), new UserPartialUpdateDTO("Alice Cooper", null, null));
+        leaderService.deleteUser(bob.getId());
+
+        await(() -> follower.status().getAppliedSequence() == leaderService.getStoreVersion());
+        assertTrue(followerMatchesLeader());
+        assertEquals("Alice Cooper", followerService.getUserById(alice.getId()).getName());
+        assertTrue(follower.status().getChanges() > 0);
+        assertEquals(0, leader.status().getLag());
+    }
+
+    @Test
+    void When_LeaderRestartsWithFreshStore_Expect_FollowerResyncedFromSnapshot() throws InterruptedException {
+        leaderService.createUser(new UserDTO("Alice", "alice@example.com", 25));
+        startFollower();
+        await(() -> follower.status().getSnapshots() == 1 && followerMatchesLeader());
+
+        int port = leader.localPort();
+        leader.stop();
+        await(() -> !follower.status().isConnected());
+        leaderService = new UserServiceImpl(new UserRepository(), new UserChangeRingBuffer(64));
+        leaderService.createUser(new UserDTO("Carol", "carol@example.com", 28));
+        leaderService.createUser(new UserDTO("Erin", "erin@example.com", 33));
+        leaderService.createUser(new UserDTO("Frank", "frank@example.com", 38));
+        leader = startLeader(port);
+
+        await(() -> follower.status().getSnapshots() == 2 && followerMatchesLeader());
+        assertEquals(List.of("Carol", "Erin", "Frank"), followerService.getAllUsers().stream().map(User::getName).toList());
+        assertTrue(follower.status().getReconnects() >= 1);
+        assertEquals(leaderService.getStoreVersion(), follower.status().getAppliedSequence());
+    }
+
+    @Test
+    void When_SnapshotLargerThanOneChunkFromDiskStore_Expect_FollowerCaughtUp(@TempDir Path directory) throws InterruptedException {
+        leader.stop();
+        LsmUserRepository store = new LsmUserRepository(directory.toString(), 4096, 2, false);
+        try {
+            leaderService = new UserServiceImpl(store, new UserChangeRingBuffer(64));
+            List<User> users = new ArrayList<>();
+            for (int i = 0; i < ReplicationProtocol.SNAPSHOT_CHUNK_SIZE * 2 + 10; i++) {
+                users.add(new User(0, "User " + i, "user" + i + "@example.com", 20 + i % 50));
+            }
+            store.saveAllUsers(users);
+            followerService.createUser(new UserDTO("Stale", "stale@example.com", 40));
+            leader = startLeader(0);
+
+            startFollower();
+            await(() -> follower.status().getSnapshots() == 1 && followerMatchesLeader());
+
+            assertEquals(users.size(), followerService.getAllUsers().size());
+            assertEquals("user7@example.com", followerService.getUserById(8).getEmail());
+        } finally {
+            leader.stop();
+            store.close();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package itau.case_backend.adapters.output;
+
+import itau.case_backend.domain.memory.MemoryEstimates;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StringDictionaryTest {
+
+    @Test
+    void When_InterningEqualValues_Expect_SameInstanceAndBytesSaved() {
+        StringDictionary dictionary = new StringDictionary(10);
+        String first = new String("Maria Silva");
+        String second = new String("Maria Silva");
+
+        assertSame(first, dictionary.intern(first));
+        assertSame(first, dictionary.intern(second));
+        assertEquals(1, dictionary.hits());
+        assertEquals(1, dictionary.misses());
+        assertEquals(MemoryEstimates.stringBytes(first), dictionary.bytesSaved());
+        assertEquals(56, MemoryEstimates.stringBytes("Maria Silva"));
+        assertEquals(dictionary.retainedBytes(), MemoryEstimates.HASH_ENTRY + 56);
+    }
+
+    @Test
+    void When_LimitReached_Expect_NewValuesRejectedAndRegisteredOnesKept() {
+        StringDictionary dictionary = new StringDictionary(2);
+        String a = dictionary.intern(new String("a"));
+        String b = dictionary.intern(new String("b"));
+        String c = new String("c");
+
+        assertSame(c, dictionary.intern(c));
+        assertNotSame(c, dictionary.intern(new String("c")));
+        assertEquals(2, dictionary.size());
+        assertEquals(2, dictionary.rejections());
+        assertSame(a, dictionary.intern(new String("a")));
+        assertSame(b, dictionary.intern(new String("b")));
+        assertTrue(dictionary.holds(a));
+        assertFalse(dictionary.holds(c));
+    }
+
+    @Test
+    void When_Disabled_Expect_ValuesReturnedAsIs() {
+        StringDictionary dictionary = new StringDictionary(0);
+        String value = new String("x");
+
+        assertSame(value, dictionary.intern(value));
+        assertNull(dictionary.intern(null));
+        assertEquals(0, dictionary.size());
+    }
+}
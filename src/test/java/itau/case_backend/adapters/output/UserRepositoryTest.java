@@ -1,9 +1,16 @@
 package itau.case_backend.adapters.output;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import itau.case_backend.domain.dtos.MemoryFootprintDTO;
+import itau.case_backend.domain.dtos.UserChangesDTO;
+import itau.case_backend.domain.dtos.UserPageDTO;
+import itau.case_backend.domain.dtos.UserStatsDTO;
 import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.memory.MemoryEstimates;
+import itau.case_backend.domain.query.UserSort;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -136,4 +143,406 @@ public class UserRepositoryTest {
         assertFalse(foundUser.isPresent());
     }
 
+    @Test
+    void When_ChangingFoundUserWithoutSaving_Expect_StoredUserUnchanged() {
+        User savedUser = userRepository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+
+        userRepository.findUserById(savedUser.getId()).get().setName("John Smith");
+
+        assertEquals("John Doe", userRepository.findUserById(savedUser.getId()).get().getName());
+    }
+
+    @Test
+    void When_FetchingChangesSinceSequence_Expect_OnlyLaterChanges() {
+        User john = userRepository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+        User jane = userRepository.saveUser(new User(0, "Jane Smith", "jane@example.com", 25));
+        long since = userRepository.findChangesSince(0).getSequence();
+
+        john.setAge(31);
+        userRepository.saveUser(john);
+        userRepository.deleteUserById(jane.getId());
+
+        UserChangesDTO changes = userRepository.findChangesSince(since);
+
+        assertFalse(changes.isFullResync());
+        assertEquals(since + 2, changes.getSequence());
+        assertEquals(1, changes.getUsers().size());
+        assertEquals(31, changes.getUsers().get(0).getAge());
+        assertEquals(List.of(jane.getId()), changes.getDeletedIds());
+    }
+
+    @Test
+    void When_UserChangedSeveralTimes_Expect_ReportedOnce() {
+        User john = userRepository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+        john.setAge(31);
+        userRepository.saveUser(john);
+        john.setAge(32);
+        userRepository.saveUser(john);
+
+        UserChangesDTO changes = userRepository.findChangesSince(0);
+
+        assertEquals(3, changes.getSequence());
+        assertEquals(1, changes.getUsers().size());
+        assertEquals(32, changes.getUsers().get(0).getAge());
+    }
+
+    @Test
+    void When_SyncedUpToCurrentSequence_Expect_NoChanges() {
+        userRepository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+        long since = userRepository.findChangesSince(0).getSequence();
+
+        UserChangesDTO changes = userRepository.findChangesSince(since);
+
+        assertFalse(changes.isFullResync());
+        assertTrue(changes.getUsers().isEmpty());
+        assertTrue(changes.getDeletedIds().isEmpty());
+    }
+
+    @Test
+    void When_TombstoneAlreadyEvicted_Expect_FullResync() {
+        userRepository = new UserRepository(1);
+        User john = userRepository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+        User jane = userRepository.saveUser(new User(0, "Jane Smith", "jane@example.com", 25));
+        userRepository.saveUser(new User(0, "Bob Brown", "bob@example.com", 40));
+        userRepository.deleteUserById(john.getId());
+        userRepository.deleteUserById(jane.getId());
+
+        UserChangesDTO changes = userRepository.findChangesSince(3);
+
+        assertTrue(changes.isFullResync());
+        assertEquals(1, changes.getUsers().size());
+        assertEquals("Bob Brown", changes.getUsers().get(0).getName());
+    }
+
+    @Test
+    void When_UsersSavedUpdatedAndDeleted_Expect_StatisticsKeptUpToDate() {
+        User john = userRepository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+        userRepository.saveUser(new User(0, "Jane Smith", "jane@Example.com", 25));
+        User bob = userRepository.saveUser(new User(0, "Bob Brown", "bob@acme.com", 41));
+        john.setAge(18);
+        userRepository.saveUser(john);
+        userRepository.deleteUserById(bob.getId());
+
+        UserStatsDTO stats = userRepository.getStatistics(10);
+
+        assertEquals(2, stats.getTotalUsers());
+        assertEquals(18, stats.getMinAge());
+        assertEquals(25, stats.getMaxAge());
+        assertEquals(21.5, stats.getMeanAge());
+        assertEquals(Map.of("10-19", 1L, "20-29", 1L), stats.getAgeHistogram());
+        assertEquals(Map.of("example.com", 2L), stats.getTopEmailDomains());
+    }
+
+    @Test
+    void When_NoUsers_Expect_EmptyStatistics() {
+        UserStatsDTO stats = userRepository.getStatistics(10);
+
+        assertEquals(0, stats.getTotalUsers());
+        assertNull(stats.getMinAge());
+        assertNull(stats.getMeanAge());
+        assertTrue(stats.getAgeHistogram().isEmpty());
+    }
+
+    @Test
+    void When_LimitingTopDomains_Expect_MostFrequentFirst() {
+        userRepository.saveUser(new User(0, "A", "a@b.com", 30));
+        userRepository.saveUser(new User(0, "B", "b@a.com", 30));
+        userRepository.saveUser(new User(0, "C", "c@a.com", 30));
+        userRepository.saveUser(new User(0, "D", "d@c.com", 30));
+
+        UserStatsDTO stats = userRepository.getStatistics(2);
+
+        assertEquals(List.of("a.com", "b.com"), List.copyOf(stats.getTopEmailDomains().keySet()));
+    }
+
+    @Test
+    void When_QueryingAgeRange_Expect_UsersOrderedByAgeWithTotal() {
+        userRepository.saveUser(new User(0, "A", "a@example.com", 30));
+        userRepository.saveUser(new User(0, "B", "b@example.com", 18));
+        userRepository.saveUser(new User(0, "C", "c@example.com", 25));
+        userRepository.saveUser(new User(0, "D", "d@example.com", 18));
+        userRepository.saveUser(new User(0, "E", "e@example.com", 26));
+
+        UserPageDTO page = userRepository.findUsersByAgeRange(18, 25, 0, 10);
+
+        assertEquals(3, page.getTotal());
+        assertEquals(List.of("B", "D", "C"), page.getUsers().stream().map(User::getName).toList());
+    }
+
+    @Test
+    void When_PagingAgeRange_Expect_OffsetAndLimitApplied() {
+        for (int age = 20; age < 30; age++) {
+            userRepository.saveUser(new User(0, "User " + age, "user" + age + "@example.com", age));
+        }
+
+        UserPageDTO page = userRepository.findUsersByAgeRange(null, 27, 3, 2);
+
+        assertEquals(8, page.getTotal());
+        assertEquals(List.of(23, 24), page.getUsers().stream().map(User::getAge).toList());
+    }
+
+    @Test
+    void When_AgeChangedOrUserDeleted_Expect_AgeIndexUpdated() {
+        User john = userRepository.saveUser(new User(0, "John Doe", "john@example.com", 20));
+        User jane = userRepository.saveUser(new User(0, "Jane Smith", "jane@example.com", 21));
+        john.setAge(40);
+        userRepository.saveUser(john);
+        userRepository.deleteUserById(jane.getId());
+
+        assertEquals(0, userRepository.findUsersByAgeRange(18, 25, 0, 10).getTotal());
+        assertEquals(1, userRepository.findUsersByAgeRange(40, 40, 0, 10).getTotal());
+    }
+
+    @Test
+    void When_SearchingNamePrefix_Expect_MatchesOnAnyWord() {
+        userRepository.saveUser(new User(0, "João da Silva", "joao@example.com", 30));
+        userRepository.saveUser(new User(0, "Maria Silveira", "maria@example.com", 25));
+        userRepository.saveUser(new User(0, "Pedro Souza", "pedro@example.com", 40));
+
+        List<User> users = userRepository.searchUsersByName("silv", 10);
+
+        assertEquals(List.of("João da Silva", "Maria Silveira"), users.stream().map(User::getName).toList());
+    }
+
+    @Test
+    void When_SearchingWithoutAccents_Expect_AccentedNameFound() {
+        userRepository.saveUser(new User(0, "João da Silva", "joao@example.com", 30));
+
+        List<User> users = userRepository.searchUsersByName("JOAO", 10);
+
+        assertEquals(1, users.size());
+    }
+
+    @Test
+    void When_SearchingMisspelledName_Expect_SimilarNameFound() {
+        userRepository.saveUser(new User(0, "Jonathan Smith", "jonathan@example.com", 30));
+        userRepository.saveUser(new User(0, "Maria Souza", "maria@example.com", 25));
+
+        List<User> users = userRepository.searchUsersByName("jonatan smiht", 10);
+
+        assertEquals(1, users.size());
+        assertEquals("Jonathan Smith", users.get(0).getName());
+    }
+
+    @Test
+    void When_NameChanged_Expect_SearchIndexUpdated() {
+        User user = userRepository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+        user.setName("Richard Roe");
+        userRepository.saveUser(user);
+
+        assertTrue(userRepository.searchUsersByName("john", 10).isEmpty());
+        assertEquals(1, userRepository.searchUsersByName("rich", 10).size());
+    }
+
+    @Test
+    void When_SearchingWithLimit_Expect_AtMostLimitUsers() {
+        for (int i = 0; i < 5; i++) {
+            userRepository.saveUser(new User(0, "Ana " + i, "ana" + i + "@example.com", 30));
+        }
+
+        assertEquals(3, userRepository.searchUsersByName("ana", 3).size());
+    }
+
+    @Test
+    void When_QueryingEmailDomain_Expect_PagedUsersAndTotal() {
+        userRepository.saveUser(new User(0, "A", "a@acme.com", 30));
+        userRepository.saveUser(new User(0, "B", "b@example.com", 30));
+        userRepository.saveUser(new User(0, "C", "c@ACME.com", 30));
+        userRepository.saveUser(new User(0, "D", "d@acme.com", 30));
+
+        UserPageDTO page = userRepository.findUsersByEmailDomain("@acme.com", 1, 5);
+
+        assertEquals(3, page.getTotal());
+        assertEquals(List.of("C", "D"), page.getUsers().stream().map(User::getName).toList());
+    }
+
+    @Test
+    void When_EmailChangedToOtherDomain_Expect_DomainIndexUpdated() {
+        User user = userRepository.saveUser(new User(0, "John Doe", "john@acme.com", 30));
+        user.setEmail("john@example.com");
+        userRepository.saveUser(user);
+
+        assertEquals(0, userRepository.findUsersByEmailDomain("acme.com", 0, 10).getTotal());
+        assertEquals(1, userRepository.findUsersByEmailDomain("example.com", 0, 10).getTotal());
+        assertEquals(Map.of("example.com", 1L), userRepository.countUsersByEmailDomain(0, 10));
+    }
+
+    @Test
+    void When_CountingUsersPerDomain_Expect_AlphabeticalPage() {
+        userRepository.saveUser(new User(0, "A", "a@zeta.com", 30));
+        userRepository.saveUser(new User(0, "B", "b@acme.com", 30));
+        userRepository.saveUser(new User(0, "C", "c@acme.com", 30));
+        userRepository.saveUser(new User(0, "D", "d@beta.com", 30));
+
+        Map<String, Long> counts = userRepository.countUsersByEmailDomain(0, 2);
+
+        assertEquals(List.of("acme.com", "beta.com"), List.copyOf(counts.keySet()));
+        assertEquals(2L, counts.get("acme.com"));
+    }
+
+    @Test
+    void When_ListingSortedByName_Expect_AccentAndCaseInsensitiveOrder() {
+        userRepository.saveUser(new User(0, "carla", "carla@example.com", 30));
+        userRepository.saveUser(new User(0, "Álvaro", "alvaro@example.com", 40));
+        userRepository.saveUser(new User(0, "Bruno", "bruno@example.com", 20));
+
+        UserPageDTO ascending = userRepository.findUsersSorted(UserSort.NAME, false, 0, 10);
+        UserPageDTO descending = userRepository.findUsersSorted(UserSort.NAME, true, 1, 1);
+
+        assertEquals(List.of("Álvaro", "Bruno", "carla"), ascending.getUsers().stream().map(User::getName).toList());
+        assertEquals(3, ascending.getTotal());
+        assertEquals(List.of("Bruno"), descending.getUsers().stream().map(User::getName).toList());
+    }
+
+    @Test
+    void When_AgeChanged_Expect_SortedViewUpdated() {
+        User young = userRepository.saveUser(new User(0, "Young", "young@example.com", 20));
+        userRepository.saveUser(new User(0, "Old", "old@example.com", 50));
+
+        young.setAge(60);
+        userRepository.saveUser(young);
+        userRepository.saveUser(new User(0, "Unknown", "unknown@example.com", null));
+
+        List<String> byAge = userRepository.findUsersSorted(UserSort.AGE, false, 0, 10).getUsers().stream()
+                .map(User::getName).toList();
+        assertEquals(List.of("Old", "Young", "Unknown"), byAge);
+    }
+
+    @Test
+    void When_UserDeleted_Expect_RemovedFromSortedViews() {
+        User user = userRepository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+        userRepository.saveUser(new User(0, "Jane Smith", "jane@example.com", 25));
+
+        userRepository.deleteUserById(user.getId());
+
+        for (UserSort sort : UserSort.values()) {
+            UserPageDTO page = userRepository.findUsersSorted(sort, false, 0, 10);
+            assertEquals(1, page.getTotal());
+            assertEquals("Jane Smith", page.getUsers().get(0).getName());
+        }
+    }
+
+    @Test
+    void When_UserSaved_Expect_VersionAdvancedOnEveryWrite() {
+        User user = userRepository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+        long created = user.getVersion();
+
+        userRepository.saveUser(new User(0, "Jane Smith", "jane@example.com", 25));
+        user.setAge(31);
+        userRepository.saveUser(user);
+
+        assertTrue(created > 0);
+        assertTrue(user.getVersion() > created);
+        assertEquals(user.getVersion(), userRepository.findUserById(user.getId()).orElseThrow().getVersion());
+    }
+
+    @Test
+    void When_Writing_Expect_StoreVersionAdvanced() {
+        long initial = userRepository.getStoreVersion();
+        User user = userRepository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+        long afterSave = userRepository.getStoreVersion();
+
+        userRepository.deleteUserById(999);
+        assertEquals(afterSave, userRepository.getStoreVersion());
+
+        userRepository.deleteUserById(user.getId());
+        assertTrue(afterSave > initial);
+        assertTrue(userRepository.getStoreVersion() > afterSave);
+    }
+
+    @Test
+    void When_UsersShareFirstName_Expect_WordStoredOnce() {
+        userRepository.saveUser(new User(0, new String("Maria Silva"), "maria1@example.com", 30));
+        userRepository.saveUser(new User(0, new String("Maria Souza"), "maria2@example.com", 40));
+
+        assertEquals(3, userRepository.getDictionary().size());
+        assertEquals(1, userRepository.getDictionary().hits());
+        assertEquals(MemoryEstimates.stringBytes("Maria"), userRepository.getDictionary().bytesSaved());
+    }
+
+    @Test
+    void When_SavingAllUsers_Expect_IdsAndVersionsAssignedInOrder() {
+        User existing = userRepository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+        existing.setAge(31);
+
+        List<User> saved = userRepository.saveAllUsers(List.of(existing, new User(0, "Jane Smith", "jane@example.com", 25)));
+
+        assertEquals(2, saved.size());
+        assertEquals(2, saved.get(1).getId());
+        assertTrue(saved.get(1).getVersion() > saved.get(0).getVersion());
+        assertEquals(31, userRepository.findUserById(existing.getId()).orElseThrow().getAge());
+        assertEquals(1, userRepository.findUsersByAgeRange(31, 31, 0, 10).getTotal());
+    }
+
+    @Test
+    void When_UsersAddedAndDeleted_Expect_FootprintFollowsContents() {
+        MemoryFootprintDTO empty = userRepository.getMemoryFootprint();
+        assertEquals(0, empty.getUserCount());
+        assertNull(empty.getBytesPerUser());
+
+        User first = userRepository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+        userRepository.saveUser(new User(0, "Jane Smith", "jane@acme.com", 25));
+        MemoryFootprintDTO loaded = userRepository.getMemoryFootprint();
+        assertEquals(2, loaded.getUserCount());
+        assertTrue(loaded.getTotalBytes() > empty.getTotalBytes());
+        assertTrue(loaded.getComponents().get("users") > 0);
+        assertTrue(loaded.getComponents().get("nameSearchIndex") > 0);
+        assertTrue(loaded.getComponents().containsKey("sortedView.name"));
+        assertEquals(loaded.getTotalBytes() / 2, loaded.getBytesPerUser());
+
+        userRepository.deleteUserById(first.getId());
+        MemoryFootprintDTO shrunk = userRepository.getMemoryFootprint();
+        assertTrue(shrunk.getComponents().get("ageIndex") < loaded.getComponents().get("ageIndex"));
+        assertTrue(shrunk.getComponents().get("emailDomainIndex") < loaded.getComponents().get("emailDomainIndex"));
+    }
+
+    @Test
+    void When_DictionaryDisabled_Expect_NamesAndSortKeysCountedInFootprint() {
+        UserRepository withoutDictionary = new UserRepository(1024, 0);
+        for (UserRepository repository : List.of(userRepository, withoutDictionary)) {
+            repository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+            repository.saveUser(new User(0, "Jane Smith", "jane@acme.com", 25));
+        }
+        Map<String, Long> shared = userRepository.getMemoryFootprint().getComponents();
+        Map<String, Long> unshared = withoutDictionary.getMemoryFootprint().getComponents();
+
+        assertEquals(0, unshared.get("nameDictionary"));
+        long words = MemoryEstimates.stringBytes("John") + MemoryEstimates.stringBytes("Doe")
+                + MemoryEstimates.stringBytes("Jane") + MemoryEstimates.stringBytes("Smith");
+        assertEquals(shared.get("users") + words, unshared.get("users"));
+        assertEquals(shared.get("sortedView.name"), unshared.get("sortedView.name"));
+        assertEquals(shared.get("sortedView.age"), unshared.get("sortedView.age"));
+    }
+
+    @Test
+    void When_DictionaryFull_Expect_RejectedWordsCountedUntilUserDeleted() {
+        UserRepository small = new UserRepository(1024, 2);
+        long empty = small.getMemoryFootprint().getComponents().get("users");
+        User full = small.saveUser(new User(0, "John Doe", "john@example.com", 30));
+        long withHeldWords = small.getMemoryFootprint().getComponents().get("users");
+
+        User rejected = small.saveUser(new User(0, "Jane Smith", "jane@example.com", 25));
+        long withRejectedWords = small.getMemoryFootprint().getComponents().get("users");
+        assertEquals(2, small.getDictionary().rejections());
+        assertEquals(withHeldWords - empty + MemoryEstimates.stringBytes("Jane") + MemoryEstimates.stringBytes("Smith")
+                + MemoryEstimates.stringBytes("jane@example.com") - MemoryEstimates.stringBytes("john@example.com"),
+                withRejectedWords - withHeldWords);
+
+        small.deleteUserById(rejected.getId());
+        small.deleteUserById(full.getId());
+        assertEquals(empty, small.getMemoryFootprint().getComponents().get("users"));
+    }
+
+    @Test
+    void When_NamesShareWords_Expect_WordsInternedAndNamesReadBackExactly() {
+        User first = userRepository.saveUser(new User(0, "Maria Silva", "maria.silva@example.com", 30));
+        User second = userRepository.saveUser(new User(0, "Maria  Souza ", "maria.souza@example.com", 31));
+        User unnamed = userRepository.saveUser(new User(0, null, "nobody@example.com", 32));
+
+        assertEquals("Maria Silva", userRepository.findUserById(first.getId()).orElseThrow().getName());
+        assertEquals("Maria  Souza ", userRepository.findUserById(second.getId()).orElseThrow().getName());
+        assertNull(userRepository.findUserById(unnamed.getId()).orElseThrow().getName());
+        assertEquals(List.of(second.getId()), userRepository.findUsersSorted(UserSort.NAME, true, 0, 1).getUsers().stream()
+                .map(User::getId).toList());
+    }
 }
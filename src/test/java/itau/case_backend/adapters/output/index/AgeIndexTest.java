@@ -0,0 +1,57 @@
+package itau.case_backend.adapters.output.index;
+
+import java.util.List;
+
+import itau.case_backend.domain.entities.User;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AgeIndexTest {
+
+    @Test
+    void When_PagingAcrossAges_Expect_IdsOrderedByAgeThenId() {
+        AgeIndex index = new AgeIndex();
+        index.add(new User(5L, "Ana", "ana@example.com", 30));
+        index.add(new User(2L, "Bia", "bia@example.com", 30));
+        index.add(new User(9L, "Caio", "caio@example.com", 20));
+        index.add(new User(7L, "Davi", "davi@example.com", 40));
+        index.add(new User(3L, "Eva", "eva@example.com", 30));
+        index.remove(new User(3L, "Eva", "eva@example.com", 30));
+
+        assertEquals(List.of(9L, 2L, 5L, 7L), index.findIds(null, null, 0, 10));
+        assertEquals(List.of(5L, 7L), index.findIds(null, null, 2, 2));
+        assertEquals(List.of(2L, 5L), index.findIds(25, 35, 0, 10));
+        assertEquals(2, index.count(25, 35));
+        assertEquals(List.of(), index.findIds(null, null, 4, 10));
+    }
+
+    @Test
+    void When_DeepPageInsideOneAge_Expect_NoSlowerThanFirstPage() {
+        AgeIndex index = new AgeIndex();
+        int users = 200_000;
+        for (long id = 1; id <= users; id++) {
+            index.add(new User(id, "Ana", "ana" + id + "@example.com", 30));
+        }
+        assertEquals(List.of((long) users - 1, (long) users), index.findIds(30, 30, users - 2, 10));
+
+        for (int i = 0; i < 2_000; i++) {
+            index.findIds(30, 30, 0, 10);
+            index.findIds(30, 30, users - 10, 10);
+        }
+        long first = time(() -> index.findIds(30, 30, 0, 10));
+        long deep = time(() -> index.findIds(30, 30, users - 10, 10));
+
+        // Percorrer 200 mil IDs por página levaria centenas de microssegundos por chamada.
+        assertTrue(deep <= first * 5 + 20_000_000L, "first=" + first + "ns deep=" + deep + "ns");
+    }
+
+    private static long time(Runnable page) {
+        long start = System.nanoTime();
+        for (int i = 0; i < 1_000; i++) {
+            page.run();
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,67 @@
+package itau.case_backend.adapters.output.index;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.query.NameNormalizer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NameSearchIndexTest {
+
+    @Test
+    void When_PostingsExceedScanLimit_Expect_PartialResultsUpToLimit() {
+        NameSearchIndex limited = new NameSearchIndex(25);
+        NameSearchIndex unlimited = new NameSearchIndex();
+        for (long id = 1; id <= 10; id++) {
+            User user = new User(id, "Ana", "ana" + id + "@example.com", 30);
+            limited.add(user);
+            unlimited.add(user);
+        }
+
+        List<Long> partial = limited.search("Anaa", 20);
+        assertEquals(5, partial.size());
+        assertTrue(unlimited.search("Anaa", 20).containsAll(partial));
+        assertEquals(10, unlimited.search("Anaa", 20).size());
+    }
+
+    @Test
+    void When_NamesRepeatPrefixes_Expect_PagesAndExactCountsMatchUnion() {
+        String[] words = {"ana", "anabela", "ana", "analu", "bia", "bianca", "b", "maria", "madalena", "ma"};
+        NameSearchIndex index = new NameSearchIndex();
+        Map<Long, User> users = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 3_000; i++) {
+            long id = random.nextInt(400);
+            User existing = users.remove(id);
+            if (existing != null) {
+                index.remove(existing);
+                continue;
+            }
+            StringBuilder name = new StringBuilder();
+            for (int w = 0, count = 1 + random.nextInt(4); w < count; w++) {
+                name.append(w == 0 ? "" : " ").append(words[random.nextInt(words.length)]);
+            }
+            User user = new User(id, name.toString(), "u" + id + "@example.com", 30);
+            users.put(id, user);
+            index.add(user);
+        }
+
+        for (String prefix : List.of("a", "an", "ana", "anab", "ana a", "b", "bi", "m", "ma", "mad", "z")) {
+            List<Long> expected = users.values().stream()
+                    .filter(user -> NameNormalizer.hasWordStartingWith(NameNormalizer.normalize(user.getName()), prefix))
+                    .map(User::getId).sorted().toList();
+            assertEquals(expected.size(), index.countByPrefix(prefix), prefix);
+            assertTrue(index.estimateByPrefix(prefix) >= expected.size(), prefix);
+            for (int offset = 0; offset <= expected.size(); offset += 13) {
+                List<Long> page = expected.subList(offset, Math.min(offset + 10, expected.size()));
+                assertEquals(page, index.findIdsByPrefix(prefix, offset, 10), prefix + " offset " + offset);
+            }
+        }
+    }
+}
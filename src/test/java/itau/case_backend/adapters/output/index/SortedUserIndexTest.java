@@ -0,0 +1,75 @@
+package itau.case_backend.adapters.output.index;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.query.UserSort;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SortedUserIndexTest {
+
+    @Test
+    void When_UsersAddedAndRemovedAtRandom_Expect_PagesMatchFullSort() {
+        SortedUserIndex index = new SortedUserIndex(UserSort.AGE);
+        Map<Long, User> users = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            long id = random.nextInt(1_000);
+            User existing = users.remove(id);
+            if (existing != null) {
+                index.remove(existing);
+            } else {
+                Integer age = random.nextInt(10) == 0 ? null : 1 + random.nextInt(50);
+                User user = new User(id, "Ana", "ana" + id + "@example.com", age);
+                users.put(id, user);
+                index.add(user);
+            }
+        }
+
+        for (boolean descending : new boolean[]{false, true}) {
+            List<Long> expected = new ArrayList<>(users.values().stream()
+                    .sorted(UserSort.AGE.comparator(descending)).map(User::getId).toList());
+            for (int offset = 0; offset <= expected.size() + 5; offset += 7) {
+                List<Long> page = expected.subList(Math.min(offset, expected.size()),
+                        Math.min(offset + 20, expected.size()));
+                assertEquals(page, index.findIds(descending, offset, 20), "offset " + offset);
+            }
+        }
+    }
+
+    @Test
+    void When_DeepPage_Expect_NoSlowerThanFirstPage() {
+        SortedUserIndex index = new SortedUserIndex(UserSort.ID);
+        int users = 200_000;
+        for (long id = 1; id <= users; id++) {
+            index.add(new User(id, "Ana", "ana" + id + "@example.com", 30));
+        }
+        assertEquals(List.of((long) users - 1, (long) users), index.findIds(false, users - 2, 10));
+        assertEquals(List.of(2L, 1L), index.findIds(true, users - 2, 10));
+
+        for (int i = 0; i < 2_000; i++) {
+            index.findIds(false, 0, 10);
+            index.findIds(false, users - 10, 10);
+        }
+        long first = time(() -> index.findIds(false, 0, 10));
+        long deep = time(() -> index.findIds(false, users - 10, 10));
+
+        // Percorrer 200 mil entradas por página levaria centenas de microssegundos por chamada.
+        assertTrue(deep <= first * 5 + 20_000_000L, "first=" + first + "ns deep=" + deep + "ns");
+    }
+
+    private static long time(Runnable page) {
+        long start = System.nanoTime();
+        for (int i = 0; i < 1_000; i++) {
+            page.run();
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,218 @@
+package itau.case_backend.adapters.output.jdbc;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import itau.case_backend.config.exception.DeadlineExceededException;
+import itau.case_backend.config.exception.EmailAlreadyExistsException;
+import itau.case_backend.config.exception.UserStorageException;
+import itau.case_backend.domain.deadline.RequestDeadline;
+import itau.case_backend.domain.dtos.UserPageDTO;
+import itau.case_backend.domain.dtos.UserStatsDTO;
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.query.UserSort;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JdbcUserRepositoryTest {
+    private String url;
+    private JdbcConnectionPool pool;
+    private JdbcUserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:mem:" + UUID.randomUUID();
+        pool = new JdbcConnectionPool(url, "sa", "", 2, 200);
+        userRepository = new JdbcUserRepository(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.close();
+    }
+
+    @Test
+    void When_SavingUsers_Expect_ReadBackByIdAndEmail() {
+        User john = userRepository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+        userRepository.saveUser(new User(0, "Jane Smith", "jane@example.com", null));
+
+        assertEquals(1, john.getId());
+        assertEquals(2, userRepository.countUsers());
+        assertEquals("John Doe", userRepository.findUserById(john.getId()).orElseThrow().getName());
+        assertEquals(john.getVersion(), userRepository.findUserById(john.getId()).orElseThrow().getVersion());
+
+        Optional<User> jane = userRepository.findUserByEmail("jane@example.com");
+        assertTrue(jane.isPresent());
+        assertNull(jane.get().getAge());
+        assertTrue(userRepository.findUserByEmail("nobody@example.com").isEmpty());
+    }
+
+    @Test
+    void When_SavingDuplicateEmail_Expect_RejectedByUniqueIndexAndPoolReused() {
+        userRepository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+
+        assertThrows(EmailAlreadyExistsException.class,
+                () -> userRepository.saveUser(new User(0, "John Again", "john@example.com", 31)));
+
+        assertEquals(1, userRepository.countUsers());
+        assertEquals("John Doe", userRepository.findUserByEmail("john@example.com").orElseThrow().getName());
+        assertTrue(pool.idleConnections() > 0);
+    }
+
+    @Test
+    void When_UpdatingAndDeleting_Expect_VersionAdvanced() {
+        User user = userRepository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+        long created = userRepository.getStoreVersion();
+
+        user.setName("John Smith");
+        userRepository.saveUser(user);
+        assertEquals("John Smith", userRepository.findUserById(user.getId()).orElseThrow().getName());
+        assertTrue(userRepository.getStoreVersion() > created);
+
+        long updated = userRepository.getStoreVersion();
+        userRepository.deleteUserById(user.getId());
+        assertTrue(userRepository.findUserById(user.getId()).isEmpty());
+        assertTrue(userRepository.getStoreVersion() > updated);
+    }
+
+    @Test
+    void When_SavingBatch_Expect_InsertsAndUpdatesInOneCall() {
+        User existing = userRepository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+        existing.setAge(31);
+
+        List<User> saved = userRepository.saveAllUsers(List.of(
+                existing,
+                new User(0, "Jane Smith", "jane@example.com", 25),
+                new User(10, "Imported", "imported@example.com", 40)));
+
+        assertEquals(3, saved.size());
+        assertEquals(3, userRepository.countUsers());
+        assertEquals(31, userRepository.findUserById(existing.getId()).orElseThrow().getAge());
+        assertEquals("Imported", userRepository.findUserById(10).orElseThrow().getName());
+        assertEquals(11, userRepository.saveUser(new User(0, "Next", "next@example.com", 20)).getId());
+    }
+
+    @Test
+    void When_QueryingPages_Expect_IndexOrderAndTotals() {
+        for (int i = 1; i <= 6; i++) {
+            userRepository.saveUser(new User(0, "User " + i, "user" + i + "@example.com", 20 + i % 3));
+        }
+
+        UserPageDTO ages = userRepository.findUsersByAgeRange(21, 22, 1, 2);
+        assertEquals(4, ages.getTotal());
+        assertEquals(List.of(4L, 2L), ages.getUsers().stream().map(User::getId).toList());
+
+        UserPageDTO sorted = userRepository.findUsersSorted(UserSort.ID, true, 0, 2);
+        assertEquals(6, sorted.getTotal());
+        assertEquals(List.of(6L, 5L), sorted.getUsers().stream().map(User::getId).toList());
+
+        UserStatsDTO stats = userRepository.getStatistics(1);
+        assertEquals(6, stats.getTotalUsers());
+        assertEquals(6L, stats.getTopEmailDomains().get("example.com"));
+    }
+
+    @Test
+    void When_RepositoryReopened_Expect_DataAndIdsPreserved() {
+        userRepository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+
+        JdbcUserRepository reopened = new JdbcUserRepository(new JdbcConnectionPool(url, "sa", "", 1, 200));
+
+        assertEquals(1, reopened.countUsers());
+        assertEquals(2, reopened.saveUser(new User(0, "Jane Smith", "jane@example.com", 25)).getId());
+        reopened.close();
+    }
+
+    @Test
+    void When_PoolExhausted_Expect_StorageExceptionAfterTimeout() throws Exception {
+        CountDownLatch holding = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 2; i++) {
+                executor.submit(() -> pool.execute(connection -> {
+                    holding.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return null;
+                }));
+            }
+            holding.await();
+
+            assertThrows(UserStorageException.class, () -> userRepository.countUsers());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void When_DeadlineEndsWhileWaitingForConnection_Expect_DeadlineExceeded() throws Exception {
+        pool = new JdbcConnectionPool(url, "sa", "", 1, 5000);
+        userRepository = new JdbcUserRepository(pool);
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> pool.execute(connection -> {
+                holding.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }));
+            holding.await();
+
+            RequestDeadline.start(50);
+            long started = System.nanoTime();
+            assertThrows(DeadlineExceededException.class, () -> userRepository.countUsers());
+            assertTrue(System.nanoTime() - started < 2_000_000_000L);
+
+            assertThrows(DeadlineExceededException.class, () -> userRepository.findUserById(1));
+        } finally {
+            RequestDeadline.clear();
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void When_DeadlineSet_Expect_QueryTimeoutOnReadsOnly() {
+        RequestDeadline.start(60_000);
+        try {
+            int[] timeouts = pool.execute(connection -> new int[] {
+                    connection.prepare("SELECT COUNT(*) FROM users").getQueryTimeout(),
+                    connection.prepare("UPDATE users SET age = ? WHERE id = ?").getQueryTimeout()});
+
+            assertTrue(timeouts[0] > 0 && timeouts[0] <= 60);
+            assertEquals(0, timeouts[1]);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    @Test
+    void When_StatementRepeated_Expect_PreparedOncePerConnection() {
+        JdbcConnectionPool single = new JdbcConnectionPool(url, "sa", "", 1, 200);
+        JdbcUserRepository repository = new JdbcUserRepository(single);
+        for (int i = 0; i < 5; i++) {
+            repository.findUserById(1);
+        }
+
+        assertEquals(1, (int) single.execute(JdbcConnectionPool.PooledConnection::preparedStatements));
+        assertEquals(1, single.idleConnections());
+        repository.close();
+    }
+}
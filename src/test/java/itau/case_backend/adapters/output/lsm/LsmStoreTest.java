@@ -0,0 +1,305 @@
+package itau.case_backend.adapters.output.lsm;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import itau.case_backend.domain.dtos.UserChangesDTO;
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.events.UserChangeType;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LsmStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private LsmStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private LsmStore open(long memtableBytes) {
+        store = LsmStore.open(directory, memtableBytes, 100, false);
+        return store;
+    }
+
+    private List<Long> scannedIds() {
+        List<Long> ids = new ArrayList<>();
+        store.scan(user -> ids.add(user.getId()));
+        return ids;
+    }
+
+    @Test
+    void When_WritingInMemtable_Expect_ReadsAndDeletesVisible() {
+        open(1 << 20);
+        User john = store.save(new User(0, "John Doe", "john@example.com", 30));
+        store.save(new User(0, "Jane Smith", "jane@example.com", null));
+
+        assertEquals(1, john.getId());
+        assertEquals("John Doe", store.get(1).orElseThrow().getName());
+        assertNull(store.get(2).orElseThrow().getAge());
+        assertTrue(store.delete(1));
+        assertFalse(store.delete(1));
+        assertTrue(store.get(1).isEmpty());
+        assertEquals(1, store.count());
+        assertEquals(3, store.version());
+        assertEquals(0, store.segmentCount());
+    }
+
+    @Test
+    void When_MemtableFull_Expect_FlushedSegmentsWithNewestVersionWinning() {
+        open(256);
+        for (int i = 1; i <= 50; i++) {
+            store.save(new User(0, "User " + i, "user" + i + "@example.com", 20 + i));
+        }
+        User updated = store.get(10).orElseThrow();
+        updated.setName("Updated");
+        store.save(updated);
+        store.delete(20);
+
+        assertTrue(store.segmentCount() > 1);
+        assertEquals("Updated", store.get(10).orElseThrow().getName());
+        assertTrue(store.get(20).isEmpty());
+        assertEquals(49, store.count());
+        assertEquals(49, scannedIds().size());
+        assertEquals(1L, scannedIds().get(0));
+        assertTrue(store.bloomSkips() > 0);
+    }
+
+    @Test
+    void When_Reopened_Expect_StateRecoveredFromSegmentsAndLog() {
+        open(512);
+        for (int i = 1; i <= 30; i++) {
+            store.save(new User(0, "User " + i, "user" + i + "@example.com", 20));
+        }
+        store.delete(30);
+        store.close();
+
+        open(512);
+
+        assertEquals(29, store.count());
+        assertTrue(store.get(30).isEmpty());
+        assertEquals("user7@example.com", store.findByEmail("user7@example.com").orElseThrow().getEmail());
+        assertEquals(31, store.save(new User(0, "Next", "next@example.com", 20)).getId());
+    }
+
+    @Test
+    void When_Compacted_Expect_SingleSegmentWithoutDeletedUsers() {
+        open(256);
+        for (int i = 1; i <= 40; i++) {
+            store.save(new User(0, "User " + i, "user" + i + "@example.com", 20));
+        }
+        for (int i = 1; i <= 40; i += 2) {
+            store.delete(i);
+        }
+        store.flush();
+        long versionBefore = store.version();
+
+        store.compact();
+
+        assertEquals(1, store.segmentCount());
+        assertEquals(1, store.compactions());
+        assertEquals(20, store.count());
+        assertEquals(2L, scannedIds().get(0));
+        store.close();
+
+        open(256);
+        assertEquals(1, store.segmentCount());
+        assertEquals(20, store.count());
+        assertTrue(store.get(39).isEmpty());
+        assertEquals(versionBefore, store.version());
+        assertEquals(41, store.save(new User(0, "Next", "next@example.com", 20)).getId());
+    }
+
+    @Test
+    void When_LogTailCorrupted_Expect_IntactRecordsRecovered() throws IOException {
+        open(1 << 20);
+        store.save(new User(0, "John Doe", "john@example.com", 30));
+        store.save(new User(0, "Jane Smith", "jane@example.com", 25));
+        store.close();
+        Files.write(directory.resolve(LsmStore.WAL_FILE), new byte[]{0, 0, 0, 50, 1, 2}, StandardOpenOption.APPEND);
+
+        open(1 << 20);
+
+        assertEquals(2, store.count());
+        store.save(new User(0, "Third", "third@example.com", 20));
+        store.close();
+        open(1 << 20);
+        assertEquals(3, store.count());
+    }
+
+    @Test
+    void When_EmailChanged_Expect_IndexFollowsLatestEmail() {
+        open(256);
+        User user = store.save(new User(0, "John Doe", "john@example.com", 30));
+        store.flush();
+        user.setEmail("john.doe@example.com");
+        store.save(user);
+
+        assertTrue(store.findByEmail("john@example.com").isEmpty());
+        assertEquals(user.getId(), store.findByEmail("john.doe@example.com").orElseThrow().getId());
+        assertEquals(List.of(user.getId()), scannedIds());
+        assertEquals(1, store.count());
+    }
+
+    @Test
+    void When_ReopenedAfterDeletesAndCompaction_Expect_EmailIndexReadFromDisk() {
+        open(256);
+        for (int i = 1; i <= 40; i++) {
+            store.save(new User(0, "User " + i, "user" + i + "@example.com", 20));
+        }
+        store.delete(5);
+        User moved = store.get(6).orElseThrow();
+        moved.setEmail("moved@example.com");
+        store.save(moved);
+        store.save(new User(0, "Reused", "user5@example.com", 30));
+        store.flush();
+        store.compact();
+        store.close();
+
+        open(256);
+
+        assertEquals(41, store.findByEmail("user5@example.com").orElseThrow().getId());
+        assertTrue(store.findByEmail("user6@example.com").isEmpty());
+        assertEquals(6, store.findByEmail("moved@example.com").orElseThrow().getId());
+        assertEquals(40, store.findByEmail("user40@example.com").orElseThrow().getId());
+        assertEquals(40, store.count());
+        assertEquals(40, scannedIds().size());
+        assertTrue(store.get(Long.MIN_VALUE | 1).isEmpty());
+    }
+
+    @Test
+    void When_OpeningStoreWithoutEmailIndex_Expect_IndexWrittenOnce() throws IOException {
+        List<byte[]> legacy = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            User user = new User(id, "User " + id, "user" + id + "@example.com", 30);
+            user.setVersion(id);
+            legacy.add(UserRecord.of(user).encode());
+        }
+        Segment.write(directory.resolve("segment-000000000001.sst"), 1, 1, legacy.iterator(), legacy.size(),
+                20, 20, LsmStore.INDEX_INTERVAL).close();
+
+        open(1 << 20);
+
+        assertTrue(Files.exists(directory.resolve(LsmStore.EMAIL_INDEX_MARKER)));
+        assertEquals(7, store.findByEmail("user7@example.com").orElseThrow().getId());
+        assertEquals(20, store.count());
+        store.close();
+
+        open(1 << 20);
+        assertEquals(12, store.findByEmail("user12@example.com").orElseThrow().getId());
+        assertEquals(20, scannedIds().size());
+    }
+
+    @Test
+    void When_SegmentFileReplacedDuringIteration_Expect_IteratorReadsOriginalRecords() throws IOException {
+        List<byte[]> original = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            original.add(UserRecord.of(new User(id, "User " + id, "user" + id + "@example.com", 30)).encode());
+        }
+        Path path = directory.resolve("segment-000000000001.sst");
+        Segment segment = Segment.write(path, 1, 1, original.iterator(), original.size(), 500, 500, LsmStore.INDEX_INTERVAL);
+        List<Long> ids = new ArrayList<>();
+        try (Segment.RecordIterator iterator = segment.iterator()) {
+            ids.add(UserRecord.idOf(iterator.next()));
+
+            List<byte[]> compacted = List.of(UserRecord.of(new User(1000, "Other", "other@example.com", 40)).encode());
+            Segment.write(path, 1, 1, compacted.iterator(), 1, 1000, 1000, LsmStore.INDEX_INTERVAL).close();
+
+            iterator.forEachRemaining(record -> ids.add(UserRecord.idOf(record)));
+        } finally {
+            segment.close();
+        }
+
+        assertEquals(500, ids.size());
+        assertEquals(1L, ids.get(0));
+        assertEquals(500L, ids.get(499));
+    }
+
+    @Test
+    void When_ReplacingAllUsers_Expect_MissingUsersRemovedAndIndexesUpdated() {
+        open(256);
+        for (int i = 0; i < 10; i++) {
+            store.save(new User(0, "User " + i, "user" + i + "@example.com", 20 + i));
+        }
+
+        List<Long> removed = new ArrayList<>();
+        List<String> applied = new ArrayList<>();
+        store.replaceAll(List.of(
+                new User(2, "Replaced", "replaced@example.com", 50),
+                new User(42, "New", "new@example.com", 60)), (type, user) -> {
+            if (type == UserChangeType.DELETED) {
+                removed.add(user.getId());
+            } else {
+                applied.add(type + " " + user.getId());
+            }
+        });
+
+        assertEquals(List.of(1L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L), removed);
+        assertEquals(List.of("UPDATED 2", "CREATED 42"), applied);
+        assertEquals(List.of(2L, 42L), scannedIds());
+        assertEquals(2, store.count());
+        assertTrue(store.findByEmail("user1@example.com").isEmpty());
+        assertEquals(2, store.findByEmail("replaced@example.com").orElseThrow().getId());
+    }
+
+    @Test
+    void When_WritingAndCompactingDuringScan_Expect_ScanReadsStateFromItsStart() {
+        open(256);
+        for (int i = 1; i <= 40; i++) {
+            store.save(new User(0, "User " + i, "user" + i + "@example.com", 20));
+        }
+        store.flush();
+        int segmentsBefore = store.segmentCount();
+        List<Long> ids = new ArrayList<>();
+
+        store.scan(user -> {
+            if (ids.isEmpty()) {
+                store.delete(40);
+                store.save(new User(0, "During", "during@example.com", 30));
+                store.flush();
+                store.compact();
+            }
+            ids.add(user.getId());
+        });
+
+        assertTrue(segmentsBefore > 1);
+        assertEquals(40, ids.size());
+        assertEquals(40L, ids.get(39));
+        assertEquals(1, store.segmentCount());
+        assertEquals(List.of(41L), scannedIds().subList(39, 40));
+        assertTrue(store.get(40).isEmpty());
+    }
+
+    @Test
+    void When_FullResyncStreamed_Expect_UsersDeliveredToConsumerAndListsEmpty() {
+        open(256);
+        for (int i = 1; i <= 30; i++) {
+            store.save(new User(0, "User " + i, "user" + i + "@example.com", 20));
+        }
+        store.flush();
+        store.compact();
+        List<Long> streamed = new ArrayList<>();
+
+        UserChangesDTO changes = store.changesSince(0, user -> streamed.add(user.getId()));
+
+        assertTrue(changes.isFullResync());
+        assertTrue(changes.getUsers().isEmpty());
+        assertEquals(store.version(), changes.getSequence());
+        assertEquals(30, streamed.size());
+        assertEquals(scannedIds(), streamed);
+    }
+}
@@ -0,0 +1,106 @@
+package itau.case_backend.adapters.output.lsm;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import itau.case_backend.domain.dtos.MemoryFootprintDTO;
+import itau.case_backend.domain.dtos.UserChangesDTO;
+import itau.case_backend.domain.dtos.UserPageDTO;
+import itau.case_backend.domain.dtos.UserStatsDTO;
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.query.UserSort;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LsmUserRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private LsmUserRepository userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = new LsmUserRepository(directory.toString(), 512, 2, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.close();
+    }
+
+    @Test
+    void When_SavingManyUsers_Expect_PortQueriesServedFromSegments() {
+        userRepository.saveAllUsers(List.of(
+                new User(0, "John Doe", "john@acme.com", 30),
+                new User(0, "Jane Doe", "jane@acme.com", 40)));
+        for (int i = 0; i < 30; i++) {
+            userRepository.saveUser(new User(0, "User " + i, "user" + i + "@example.com", 20 + i % 10));
+        }
+
+        assertEquals(32, userRepository.countUsers());
+        assertEquals(32, userRepository.findAllUsers().size());
+        assertEquals("Jane Doe", userRepository.findUserByEmail("jane@acme.com").orElseThrow().getName());
+        assertEquals(2, userRepository.findUsersByEmailDomain("acme.com", 0, 10).getTotal());
+
+        UserStatsDTO stats = userRepository.getStatistics(1);
+        assertEquals(32, stats.getTotalUsers());
+        assertEquals(30L, stats.getTopEmailDomains().get("example.com"));
+
+        MemoryFootprintDTO footprint = userRepository.getMemoryFootprint();
+        assertEquals(32, footprint.getUserCount());
+        assertTrue(footprint.getComponents().get("segmentIndexes") > 0);
+    }
+
+    @Test
+    void When_QueryingPages_Expect_StreamedPageWithTotal() {
+        for (int i = 0; i < 30; i++) {
+            userRepository.saveUser(new User(0, "User " + i, "user" + i + "@example.com", 20 + i % 10));
+        }
+
+        UserPageDTO page = userRepository.findUsersByAgeRange(25, 26, 2, 3);
+        assertEquals(6, page.getTotal());
+        assertEquals(List.of(25, 26, 26), page.getUsers().stream().map(User::getAge).toList());
+
+        UserPageDTO sorted = userRepository.findUsersSorted(UserSort.AGE, true, 0, 2);
+        assertEquals(30, sorted.getTotal());
+        assertEquals(29, sorted.getUsers().get(0).getAge());
+
+        assertEquals(Map.of("example.com", 30L), userRepository.countUsersByEmailDomain(0, 10));
+        assertEquals(11, userRepository.searchUsersByName("user 1", 20).size());
+    }
+
+    @Test
+    void When_ChangesRequestedBeforeCompaction_Expect_DeltaWithDeletedIds() {
+        try (LsmStore store = LsmStore.open(directory.resolve("delta"), 1 << 20, 100, false)) {
+            LsmUserRepository repository = new LsmUserRepository(store);
+            User kept = repository.saveUser(new User(0, "John Doe", "john@acme.com", 30));
+            User removed = repository.saveUser(new User(0, "Jane Doe", "jane@acme.com", 40));
+            long since = repository.getStoreVersion();
+            store.flush();
+
+            repository.saveUser(new User(kept.getId(), "John Smith", "john@acme.com", 31));
+            repository.deleteUserById(removed.getId());
+            store.flush();
+
+            UserChangesDTO changes = repository.findChangesSince(since);
+            assertFalse(changes.isFullResync());
+            assertEquals(List.of("John Smith"), changes.getUsers().stream().map(User::getName).toList());
+            assertEquals(List.of(removed.getId()), changes.getDeletedIds());
+            assertEquals(repository.getStoreVersion(), changes.getSequence());
+
+            store.compact();
+
+            UserChangesDTO afterCompaction = repository.findChangesSince(since);
+            assertTrue(afterCompaction.isFullResync());
+            assertEquals(1, afterCompaction.getUsers().size());
+            assertFalse(repository.findChangesSince(repository.getStoreVersion()).isFullResync());
+        }
+    }
+}
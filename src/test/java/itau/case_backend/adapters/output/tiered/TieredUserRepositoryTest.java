@@ -0,0 +1,104 @@
+package itau.case_backend.adapters.output.tiered;
+
+import java.nio.file.Path;
+
+import itau.case_backend.adapters.output.lsm.LsmStore;
+import itau.case_backend.domain.dtos.TierStatsDTO;
+import itau.case_backend.domain.entities.User;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TieredUserRepositoryTest {
+
+    @TempDir
+    Path directory;
+
+    private TieredUserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        userRepository.close();
+    }
+
+    private TieredUserRepository open(long hotBytes) {
+        userRepository = new TieredUserRepository(LsmStore.open(directory, 1024, 4, false), hotBytes);
+        return userRepository;
+    }
+
+    private TierStatsDTO stats() {
+        return userRepository.getTierStatistics().orElseThrow();
+    }
+
+    @Test
+    void When_FindingUserTwice_Expect_FaultedInThenServedFromMemory() {
+        open(1 << 20);
+        User saved = userRepository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+        assertEquals(0, stats().getHotUsers());
+        assertNull(stats().getHitRatio());
+
+        assertEquals("John Doe", userRepository.findUserById(saved.getId()).orElseThrow().getName());
+        assertEquals("John Doe", userRepository.findUserById(saved.getId()).orElseThrow().getName());
+
+        TierStatsDTO stats = stats();
+        assertEquals(1, stats.getHotUsers());
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRatio());
+        assertTrue(stats.getHotBytes() > 0);
+    }
+
+    @Test
+    void When_HotTierOverBudget_Expect_LeastRecentlyUsedEvictedAndStillReadable() {
+        open(600);
+        for (int i = 1; i <= 10; i++) {
+            userRepository.saveUser(new User(0, "User " + i, "user" + i + "@example.com", 20 + i));
+        }
+        for (long id = 1; id <= 10; id++) {
+            userRepository.findUserById(id);
+        }
+
+        TierStatsDTO stats = stats();
+        assertTrue(stats.getHotBytes() <= 600);
+        assertTrue(stats.getEvictions() > 0);
+        assertEquals(10, stats.getHotUsers() + stats.getEvictions());
+
+        assertEquals("User 1", userRepository.findUserById(1).orElseThrow().getName());
+        assertEquals(stats.getMisses() + 1, stats().getMisses());
+        assertEquals(10, userRepository.countUsers());
+    }
+
+    @Test
+    void When_WritingHotAndColdUsers_Expect_OnlyHotCopiesRefreshed() {
+        open(1 << 20);
+        User hot = userRepository.saveUser(new User(0, "Hot", "hot@example.com", 30));
+        User cold = userRepository.saveUser(new User(0, "Cold", "cold@example.com", 30));
+        userRepository.findUserById(hot.getId());
+
+        hot.setName("Hot Updated");
+        cold.setName("Cold Updated");
+        userRepository.saveUser(hot);
+        userRepository.saveUser(cold);
+
+        assertEquals(1, stats().getHotUsers());
+        assertEquals("Hot Updated", userRepository.findUserById(hot.getId()).orElseThrow().getName());
+        assertEquals("Cold Updated", userRepository.findUserById(cold.getId()).orElseThrow().getName());
+
+        userRepository.deleteUserById(hot.getId());
+        assertTrue(userRepository.findUserById(hot.getId()).isEmpty());
+        assertEquals(1, stats().getHotUsers());
+    }
+
+    @Test
+    void When_ReturnedUserModified_Expect_HotCopyUnchanged() {
+        open(1 << 20);
+        User saved = userRepository.saveUser(new User(0, "John Doe", "john@example.com", 30));
+        userRepository.findUserById(saved.getId()).orElseThrow().setName("Changed");
+
+        assertEquals("John Doe", userRepository.findUserById(saved.getId()).orElseThrow().getName());
+        assertEquals(1, stats().getHits());
+    }
+}
@@ -0,0 +1,85 @@
+package itau.case_backend.config.json;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import itau.case_backend.domain.dtos.UserDTO;
+import itau.case_backend.domain.dtos.UserPartialUpdateDTO;
+import itau.case_backend.domain.dtos.UserProjectionDTO;
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.query.UserField;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JsonTest
+class UserJsonComponentTest {
+
+    private final ObjectMapper beanMapper = new ObjectMapper();
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void When_SerializingUsers_Expect_SameJsonAsBeanSerializer() throws Exception {
+        List<User> users = List.of(
+                new User(1, "João da Silva", "joao@example.com", 30),
+                new User(2, "Quote \"Name\"", null, null));
+
+        assertInstanceOf(UserJsonComponent.UserSerializer.class,
+                objectMapper.getSerializerProviderInstance().findValueSerializer(User.class));
+        assertEquals(beanMapper.writeValueAsString(users), objectMapper.writeValueAsString(users));
+        assertEquals("{\"id\":1,\"name\":\"João da Silva\",\"email\":\"joao@example.com\",\"age\":30}",
+                objectMapper.writeValueAsString(users.get(0)));
+    }
+
+    @Test
+    void When_DeserializingUserDTO_Expect_FieldsAndUnknownIgnored() throws Exception {
+        UserDTO dto = objectMapper.readValue(
+                "{\"name\":\"John\",\"extra\":{\"a\":[1,2]},\"email\":\"john@example.com\",\"age\":\"25\"}", UserDTO.class);
+
+        assertEquals("John", dto.getName());
+        assertEquals("john@example.com", dto.getEmail());
+        assertEquals(25, dto.getAge());
+    }
+
+    @Test
+    void When_DeserializingPartialUpdate_Expect_MissingFieldsNull() throws Exception {
+        UserPartialUpdateDTO dto = objectMapper.readValue("{\"age\":40,\"name\":null}", UserPartialUpdateDTO.class);
+
+        assertNull(dto.getName());
+        assertNull(dto.getEmail());
+        assertEquals(40, dto.getAge());
+    }
+
+    @Test
+    void When_DeserializingList_Expect_EveryElementRead() throws Exception {
+        List<UserDTO> dtos = objectMapper.readValue("[{\"name\":\"A\"},{}]", new TypeReference<>() {});
+
+        assertEquals(2, dtos.size());
+        assertEquals("A", dtos.get(0).getName());
+        assertNull(dtos.get(1).getName());
+    }
+
+    @Test
+    void When_BodyIsNotObject_Expect_MismatchedInput() {
+        assertThrows(MismatchedInputException.class, () -> objectMapper.readValue("[1]", UserDTO.class));
+        assertThrows(MismatchedInputException.class, () -> objectMapper.readValue("{\"age\":[1]}", UserDTO.class));
+    }
+
+    @Test
+    void When_SerializingProjection_Expect_OnlySelectedFieldsInDeclarationOrder() throws Exception {
+        User user = new User(1, "John Doe", "john@example.com", null);
+
+        assertEquals("{\"id\":1,\"age\":null}",
+                objectMapper.writeValueAsString(new UserProjectionDTO(user, UserField.parse("age,id"))));
+        assertEquals("{}", objectMapper.writeValueAsString(new UserProjectionDTO(user, EnumSet.noneOf(UserField.class))));
+    }
+
+}
@@ -0,0 +1,149 @@
+package itau.case_backend.domain;
+
+import itau.case_backend.adapters.output.UserRepository;
+import itau.case_backend.config.exception.DeadlineExceededException;
+import itau.case_backend.config.exception.ServiceOverloadedException;
+import itau.case_backend.config.exception.UserNotFoundException;
+import itau.case_backend.domain.deadline.RequestDeadline;
+import itau.case_backend.domain.dtos.UserDTO;
+import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.events.UserChangeRingBuffer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncUserServiceImplTest {
+
+    private static final int SERVLET_THREADS = 4;
+    private static final int IN_FLIGHT = 4 * SERVLET_THREADS;
+
+    private UserServiceImpl userService;
+    private AsyncUserServiceImpl asyncUserService;
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        userService = new UserServiceImpl(new UserRepository(), new UserChangeRingBuffer(64));
+        alice = userService.createUser(new UserDTO("Alice", "alice@example.com", 25));
+        asyncUserService = new AsyncUserServiceImpl(userService, Executors.newFixedThreadPool(2), "platform", 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncUserService.shutdown();
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void When_UserRequestedAsync_Expect_SameResultsAndErrorsAsBlockingPort() {
+        assertEquals("Alice", asyncUserService.getUserById(alice.getId()).join().getName());
+        assertEquals(1, asyncUserService.getAllUsers().join().size());
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> asyncUserService.getUserById(999).join());
+        assertInstanceOf(UserNotFoundException.class, exception.getCause());
+        assertEquals(0, asyncUserService.pending());
+    }
+
+    @Test
+    void When_MaxPendingReached_Expect_OverloadedImmediately() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncUserServiceImpl bounded = new AsyncUserServiceImpl(new UserServiceImpl(new UserRepository() {
+            @Override
+            public List<User> findAllUsers() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.findAllUsers();
+            }
+        }, new UserChangeRingBuffer(64)), Executors.newFixedThreadPool(2), "platform", 2);
+        try {
+            CompletableFuture<List<User>> first = bounded.getAllUsers();
+            CompletableFuture<List<User>> second = bounded.getAllUsers();
+
+            CompletableFuture<List<User>> rejected = bounded.getAllUsers();
+            CompletionException exception = assertThrows(CompletionException.class, rejected::join);
+            assertInstanceOf(ServiceOverloadedException.class, exception.getCause());
+            assertEquals(2, bounded.pending());
+
+            release.countDown();
+            first.join();
+            second.join();
+            assertEquals(0, bounded.pending());
+        } finally {
+            bounded.shutdown();
+        }
+    }
+
+    @Test
+    void When_DeadlineExpiresWhileQueued_Expect_OperationSkipped() {
+        RequestDeadline.start(0);
+        CompletableFuture<User> future = asyncUserService.createUser(new UserDTO("Bob", "bob@example.com", 30));
+        RequestDeadline.clear();
+
+        CompletionException exception = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(DeadlineExceededException.class, exception.getCause());
+        assertEquals(1, userService.getAllUsers().size());
+    }
+
+    @Test
+    void When_StoreIsSlow_Expect_MoreOperationsInFlightThanCallerThreads() throws Exception {
+        CountDownLatch entered = new CountDownLatch(IN_FLIGHT);
+        CountDownLatch release = new CountDownLatch(1);
+        UserServiceImpl blockingService = new UserServiceImpl(new UserRepository() {
+            @Override
+            public Optional<User> findUserById(long id) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.findUserById(id);
+            }
+        }, new UserChangeRingBuffer(64));
+        long id = blockingService.createUser(new UserDTO("Alice", "alice@example.com", 25)).getId();
+        AsyncUserServiceImpl blockingAsync = new AsyncUserServiceImpl(blockingService,
+                Executors.newFixedThreadPool(IN_FLIGHT), "platform", IN_FLIGHT);
+        ExecutorService servletThreads = Executors.newFixedThreadPool(SERVLET_THREADS);
+        try {
+            List<Future<CompletableFuture<User>>> submitted = new ArrayList<>();
+            for (int i = 0; i < IN_FLIGHT; i++) {
+                submitted.add(servletThreads.submit(() -> blockingAsync.getUserById(id)));
+            }
+            List<CompletableFuture<User>> responses = new ArrayList<>();
+            for (Future<CompletableFuture<User>> response : submitted) {
+                responses.add(response.get(5, TimeUnit.SECONDS));
+            }
+
+            assertTrue(entered.await(5, TimeUnit.SECONDS), "operações simultâneas: " + (IN_FLIGHT - entered.getCount()));
+            assertEquals(IN_FLIGHT, blockingAsync.pending());
+            assertTrue(responses.stream().noneMatch(CompletableFuture::isDone));
+
+            release.countDown();
+            for (CompletableFuture<User> response : responses) {
+                assertEquals("Alice", response.join().getName());
+            }
+            assertEquals(0, blockingAsync.pending());
+        } finally {
+            release.countDown();
+            servletThreads.shutdown();
+            blockingAsync.shutdown();
+        }
+    }
+}
@@ -1,16 +1,26 @@
 package itau.case_backend.domain;
 
 import itau.case_backend.adapters.output.UserRepository;
+import itau.case_backend.config.exception.DeadlineExceededException;
 import itau.case_backend.config.exception.EmailAlreadyExistsException;
 import itau.case_backend.config.exception.UserNotFoundException;
+import itau.case_backend.domain.deadline.RequestDeadline;
+import itau.case_backend.domain.dtos.UserChangesDTO;
 import itau.case_backend.domain.dtos.UserDTO;
 import itau.case_backend.domain.dtos.UserPartialUpdateDTO;
 import itau.case_backend.domain.entities.User;
+import itau.case_backend.domain.events.UserChangeEvent;
+import itau.case_backend.domain.events.UserChangeRingBuffer;
+import itau.case_backend.domain.events.UserChangeType;
+import itau.case_backend.domain.query.UserQuery;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -18,11 +28,13 @@ import static org.junit.jupiter.api.Assertions.*;
 public class UserServiceImplTest {
     private UserServiceImpl userService;
     private UserRepository userRepository;
+    private UserChangeRingBuffer changeEvents;
 
     @BeforeEach
     void setUp() {
         userRepository = new UserRepository();
-        userService = new UserServiceImpl(userRepository);
+        changeEvents = new UserChangeRingBuffer(64);
+        userService = new UserServiceImpl(userRepository, changeEvents);
     }
 
 
@@ -65,6 +77,51 @@ public class UserServiceImplTest {
 
     }
 
+    @Test
+    void When_DeadlineExpired_Expect_WriteSkippedAndNothingPublished() {
+        User existing = userService.createUser(new UserDTO("Alice", "alice@example.com", 25));
+        long published = changeEvents.nextSequence();
+
+        RequestDeadline.start(0);
+        try {
+            assertThrows(DeadlineExceededException.class,
+                    () -> userService.createUser(new UserDTO("Bob", "bob@example.com", 30)));
+            assertThrows(DeadlineExceededException.class,
+                    () -> userService.updateUser(existing.getId(), new UserDTO("Carol", "carol@example.com", 40)));
+            assertThrows(DeadlineExceededException.class, () -> userService.deleteUser(existing.getId()));
+        } finally {
+            RequestDeadline.clear();
+        }
+
+        assertEquals(1, userService.getAllUsers().size());
+        assertEquals("Alice", userService.getUserById(existing.getId()).getName());
+        assertEquals(published, changeEvents.nextSequence());
+    }
+
+    @Test
+    void When_CreatingUsersInBulk_Expect_AllCreatedAndPublished() {
+        List<User> users = userService.createUsers(List.of(
+                new UserDTO("Alice", "alice@example.com", 25),
+                new UserDTO("Bob", "bob@example.com", 30)));
+
+        assertEquals(2, users.size());
+        assertEquals(List.of("Alice", "Bob"), users.stream().map(User::getName).toList());
+        assertEquals(2, userService.getAllUsers().size());
+        assertEquals(2, changeEvents.nextSequence());
+    }
+
+    @Test
+    void When_BulkRepeatsEmail_Expect_NothingCreated() {
+        userService.createUser(new UserDTO("Alice", "alice@example.com", 25));
+
+        assertThrows(EmailAlreadyExistsException.class, () -> userService.createUsers(List.of(
+                new UserDTO("Bob", "bob@example.com", 30),
+                new UserDTO("Bob Again", "bob@example.com", 31))));
+        assertThrows(EmailAlreadyExistsException.class, () -> userService.createUsers(List.of(
+                new UserDTO("Alice Again", "alice@example.com", 30))));
+        assertEquals(1, userService.getAllUsers().size());
+    }
+
     @Test
     void When_CreatingUserWithExistingEmail_Expect_EmailAlreadyExistsException() {
         UserDTO userDTO = new UserDTO("John Doe", "john@example.com", 30);
@@ -73,7 +130,8 @@ public class UserServiceImplTest {
 
         UserDTO duplicateEmailDTO = new UserDTO("Jane Doe", "john@example.com", 25);
 
-        assertThrows(EmailAlreadyExistsException.class, () -> userService.createUser(duplicateEmailDTO));
+        EmailAlreadyExistsException exception = assertThrows(EmailAlreadyExistsException.class, () -> userService.createUser(duplicateEmailDTO));
+        assertEquals(0, exception.getStackTrace().length);
     }
 
     @Test
@@ -91,7 +149,9 @@ public class UserServiceImplTest {
 
     @Test
     void When_GettingUserByNonExistentId_Expect_UserNotFoundException() {
-        assertThrows(UserNotFoundException.class, () -> userService.getUserById(9999));
+        UserNotFoundException exception = assertThrows(UserNotFoundException.class, () -> userService.getUserById(9999));
+        assertEquals("Usuário com id 9999 não encontrado.", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
     }
 
     @Test
@@ -178,4 +238,112 @@ public class UserServiceImplTest {
         assertThrows(UserNotFoundException.class, () -> userService.deleteUser(9999));
     }
 
-}
\ No newline at end of file
+    @Test
+    void When_WritingUsers_Expect_ChangeEventsPublishedInOrder() {
+        User savedUser = userService.createUser(new UserDTO("Alice", "alice@example.com", 25));
+        userService.partialUpdateUser(savedUser.getId(), new UserPartialUpdateDTO(null, null, 26));
+        userService.deleteUser(savedUser.getId());
+
+        List<UserChangeEvent> events = new ArrayList<>();
+        int read = changeEvents.drainTo(0, events, 10);
+
+        assertEquals(3, read);
+        assertEquals(UserChangeType.CREATED, events.get(0).getType());
+        assertEquals(UserChangeType.UPDATED, events.get(1).getType());
+        assertEquals(26, events.get(1).getUser().getAge());
+        assertEquals(UserChangeType.DELETED, events.get(2).getType());
+        assertEquals(savedUser.getId(), events.get(2).getUser().getId());
+    }
+
+    @Test
+    void When_SameUserUpdatedConcurrently_Expect_EventsInVersionOrder() throws Exception {
+        CountDownLatch firstSaved = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        UserServiceImpl service = new UserServiceImpl(new UserRepository() {
+            @Override
+            public User saveUser(User user) {
+                User saved = super.saveUser(user);
+                if ("first-writer".equals(Thread.currentThread().getName())) {
+                    firstSaved.countDown();
+                    try {
+                        releaseFirst.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return saved;
+            }
+        }, changeEvents);
+        long id = service.createUser(new UserDTO("Alice", "alice@example.com", 25)).getId();
+
+        Thread first = new Thread(() -> service.partialUpdateUser(id, new UserPartialUpdateDTO(null, null, 30)), "first-writer");
+        Thread second = new Thread(() -> service.partialUpdateUser(id, new UserPartialUpdateDTO(null, null, 40)), "second-writer");
+        first.start();
+        assertTrue(firstSaved.await(5, TimeUnit.SECONDS));
+        second.start();
+        second.join(200);
+        releaseFirst.countDown();
+        first.join();
+        second.join();
+
+        List<UserChangeEvent> events = new ArrayList<>();
+        changeEvents.drainTo(0, events, 10);
+        assertEquals(3, events.size());
+        assertEquals(30, events.get(1).getUser().getAge());
+        assertEquals(40, events.get(2).getUser().getAge());
+        assertEquals(40, service.getUserById(id).getAge());
+    }
+
+    @Test
+    void When_WriteFails_Expect_NoChangeEventPublished() {
+        assertThrows(UserNotFoundException.class, () -> userService.deleteUser(9999));
+
+        assertEquals(0, changeEvents.nextSequence());
+    }
+
+    @Test
+    void When_PartialUpdatingEmail_Expect_UserMovedToNewDomain() {
+        User savedUser = userService.createUser(new UserDTO("Alice", "alice@acme.com", 25));
+
+        userService.partialUpdateUser(savedUser.getId(), new UserPartialUpdateDTO(null, "alice@example.com", null));
+
+        assertEquals(0, userService.queryUsers(new UserQuery(null, "acme.com", null, null, 0, 10)).getTotal());
+        assertEquals(savedUser.getId(), userService.queryUsers(new UserQuery(null, "example.com", null, null, 0, 10)).getUsers().get(0).getId());
+    }
+
+    @Test
+    void When_ApplyingReplicatedSnapshotAndDelta_Expect_LeaderIdsKeptAndEventsPublished() {
+        userService.createUser(new UserDTO("Local", "local@example.com", 20));
+
+        userService.applyReplicatedChanges(new UserChangesDTO(5, true,
+                new ArrayList<>(List.of(new User(7, "Alice", "alice@example.com", 25))), List.of()));
+        userService.applyReplicatedChanges(new UserChangesDTO(6, false,
+                new ArrayList<>(List.of(new User(7, "Alice Cooper", "alice@example.com", 25))), List.of()));
+        userService.applyReplicatedChanges(new UserChangesDTO(7, false, new ArrayList<>(), List.of(7L, 99L)));
+
+        assertTrue(userService.getAllUsers().isEmpty());
+        List<UserChangeEvent> events = new ArrayList<>();
+        changeEvents.drainTo(0, events, 10);
+        assertEquals(List.of(UserChangeType.CREATED, UserChangeType.DELETED, UserChangeType.CREATED,
+                UserChangeType.UPDATED, UserChangeType.DELETED), events.stream().map(UserChangeEvent::getType).toList());
+        assertEquals(7, events.get(2).getUser().getId());
+        assertEquals("Alice Cooper", events.get(3).getUser().getName());
+    }
+
+    @Test
+    void When_ImportingUsersThatConflictWithLocalOnes_Expect_ConflictsRejectedAndLocalUsersKept() {
+        User local = userService.createUser(new UserDTO("Local", "local@example.com", 20));
+
+        List<Long> conflicts = userService.importUsers(List.of(
+                new User(local.getId(), "Transferred", "transferred@example.com", 30),
+                new User(50, "Other", "local@example.com", 40),
+                new User(51, "Moved", "moved@example.com", 50)));
+        List<Long> repeated = userService.importUsers(List.of(new User(51, "Moved", "moved@example.com", 50)));
+
+        assertEquals(List.of(local.getId(), 50L), conflicts);
+        assertTrue(repeated.isEmpty());
+        assertEquals("Local", userService.getUserById(local.getId()).getName());
+        assertEquals("Moved", userService.getUserById(51).getName());
+        assertEquals(2, userService.getAllUsers().size());
+    }
+}
@@ -0,0 +1,65 @@
+package itau.case_backend.domain.deadline;
+
+import itau.case_backend.config.exception.DeadlineExceededException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestDeadlineTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestDeadline.clear();
+    }
+
+    @Test
+    void When_NoDeadline_Expect_ChecksPass() {
+        RequestDeadline.check("test.none");
+
+        assertFalse(RequestDeadline.isExpired());
+        assertEquals(Long.MAX_VALUE, RequestDeadline.remainingMillis());
+        assertNull(RequestDeadline.current());
+    }
+
+    @Test
+    void When_DeadlinePending_Expect_RemainingTimeAndChecksPass() {
+        RequestDeadline.start(60_000);
+
+        RequestDeadline.check("test.pending");
+
+        assertFalse(RequestDeadline.isExpired());
+        assertTrue(RequestDeadline.remainingMillis() > 50_000);
+    }
+
+    @Test
+    void When_DeadlineExpired_Expect_OperationSkippedAndCounted() {
+        RequestDeadline.start(0);
+        DeadlineMetrics metrics = new DeadlineMetrics();
+
+        for (int i = 0; i < 2; i++) {
+            DeadlineExceededException exception = assertThrows(DeadlineExceededException.class, () -> RequestDeadline.check("test.expired"));
+            metrics.recordSkipped(exception.getOperation());
+        }
+
+        assertEquals(0, RequestDeadline.remainingMillis());
+        assertEquals(2L, metrics.snapshot().getSkippedByOperation().get("test.expired"));
+    }
+
+    @Test
+    void When_DeadlineRestoredOnAnotherThread_Expect_SameDeadline() throws Exception {
+        RequestDeadline.start(0);
+        Long deadline = RequestDeadline.current();
+        boolean[] expired = new boolean[1];
+
+        Thread thread = new Thread(() -> {
+            RequestDeadline.restore(deadline);
+            expired[0] = RequestDeadline.isExpired();
+            RequestDeadline.clear();
+        });
+        thread.start();
+        thread.join();
+
+        assertTrue(expired[0]);
+    }
+}
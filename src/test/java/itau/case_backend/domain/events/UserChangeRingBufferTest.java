@@ -0,0 +1,76 @@
+package itau.case_backend.domain.events;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import itau.case_backend.domain.entities.User;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserChangeRingBufferTest {
+
+    @Test
+    void When_CapacityIsNotPowerOfTwo_Expect_RoundedUp() {
+        UserChangeRingBuffer buffer = new UserChangeRingBuffer(5);
+
+        assertEquals(8, buffer.capacity());
+    }
+
+    @Test
+    void When_EventsPublished_Expect_DrainedInSequenceOrder() {
+        UserChangeRingBuffer buffer = new UserChangeRingBuffer(8);
+        buffer.publish(UserChangeType.CREATED, new User(1, "John Doe", "john@example.com", 30));
+        buffer.publish(UserChangeType.DELETED, new User(1, "John Doe", "john@example.com", 30));
+
+        List<UserChangeEvent> events = new ArrayList<>();
+        int read = buffer.drainTo(0, events, 10);
+
+        assertEquals(2, read);
+        assertEquals(0, events.get(0).getSequence());
+        assertEquals(UserChangeType.CREATED, events.get(0).getType());
+        assertEquals("john@example.com", events.get(0).getUser().getEmail());
+        assertEquals(1, events.get(1).getSequence());
+        assertEquals(UserChangeType.DELETED, events.get(1).getType());
+    }
+
+    @Test
+    void When_PublishedUserChangesLater_Expect_EventKeepsSnapshot() {
+        UserChangeRingBuffer buffer = new UserChangeRingBuffer(8);
+        User user = new User(1, "John Doe", "john@example.com", 30);
+        buffer.publish(UserChangeType.CREATED, user);
+        user.setName("John Smith");
+
+        List<UserChangeEvent> events = new ArrayList<>();
+        buffer.drainTo(0, events, 10);
+
+        assertEquals("John Doe", events.get(0).getUser().getName());
+    }
+
+    @Test
+    void When_ReaderFallsBehindCapacity_Expect_Lost() {
+        UserChangeRingBuffer buffer = new UserChangeRingBuffer(4);
+        for (int i = 1; i <= 6; i++) {
+            buffer.publish(UserChangeType.CREATED, new User(i, "User " + i, "user" + i + "@example.com", 20));
+        }
+
+        List<UserChangeEvent> events = new ArrayList<>();
+
+        assertEquals(UserChangeRingBuffer.LOST, buffer.drainTo(0, events, 10));
+        assertTrue(events.isEmpty());
+        assertEquals(2, buffer.oldestSequence());
+        assertEquals(4, buffer.drainTo(buffer.oldestSequence(), events, 10));
+    }
+
+    @Test
+    void When_ReaderIsUpToDate_Expect_NothingDrained() {
+        UserChangeRingBuffer buffer = new UserChangeRingBuffer(4);
+        buffer.publish(UserChangeType.CREATED, new User(1, "John Doe", "john@example.com", 30));
+
+        List<UserChangeEvent> events = new ArrayList<>();
+
+        assertEquals(0, buffer.drainTo(buffer.nextSequence(), events, 10));
+    }
+
+}
@@ -0,0 +1,124 @@
+package itau.case_backend.domain.query;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import itau.case_backend.adapters.output.UserRepository;
+import itau.case_backend.adapters.output.lsm.LsmUserRepository;
+import itau.case_backend.domain.entities.User;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UserQueryPlannerTest {
+    private UserRepository userRepository;
+    private UserQueryPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = new UserRepository();
+        planner = new UserQueryPlanner(userRepository);
+
+        for (int i = 0; i < 20; i++) {
+            userRepository.saveUser(new User(0, "User " + i, "user" + i + "@example.com", 20 + i % 10));
+        }
+        userRepository.saveUser(new User(0, "John Doe", "john@acme.com", 25));
+        userRepository.saveUser(new User(0, "Jane Doe", "jane@acme.com", 40));
+    }
+
+    @Test
+    void When_DomainMoreSelectiveThanAgeRange_Expect_DomainIndexChosen() {
+        UserQueryResult result = planner.execute(new UserQuery(null, "acme.com", 20, 30, 0, 10));
+
+        assertEquals(AccessPath.EMAIL_DOMAIN_INDEX, result.getPlan().getAccessPath());
+        assertEquals(2, result.getPlan().getRowsExamined());
+        assertEquals(1, result.getTotal());
+        assertEquals("John Doe", result.getUsers().get(0).getName());
+    }
+
+    @Test
+    void When_AgeRangeMoreSelectiveThanDomain_Expect_AgeIndexChosen() {
+        UserQueryResult result = planner.execute(new UserQuery(null, "example.com", 29, 29, 0, 10));
+
+        assertEquals(AccessPath.AGE_INDEX, result.getPlan().getAccessPath());
+        assertEquals(2, result.getPlan().getRowsExamined());
+        assertEquals(2, result.getTotal());
+    }
+
+    @Test
+    void When_SingleIndexedFilter_Expect_PaginationPushedToIndex() {
+        UserQueryResult result = planner.execute(new UserQuery(null, "example.com", null, null, 5, 3));
+
+        assertEquals(AccessPath.EMAIL_DOMAIN_INDEX, result.getPlan().getAccessPath());
+        assertEquals(3, result.getPlan().getRowsExamined());
+        assertEquals(20, result.getTotal());
+        assertEquals(List.of(6L, 7L, 8L), result.getUsers().stream().map(User::getId).toList());
+    }
+
+    @Test
+    void When_NamePrefixCombinedWithAgeRange_Expect_OrderedByAge() {
+        UserQueryResult result = planner.execute(new UserQuery("doe", null, 18, 50, 0, 10));
+
+        assertEquals(AccessPath.NAME_PREFIX_INDEX, result.getPlan().getAccessPath());
+        assertEquals(List.of("John Doe", "Jane Doe"), result.getUsers().stream().map(User::getName).toList());
+    }
+
+    @Test
+    void When_NoFilters_Expect_IdOrderedView() {
+        UserQueryResult result = planner.execute(new UserQuery(null, null, null, null, 0, 5));
+
+        assertEquals(AccessPath.SORTED_VIEW, result.getPlan().getAccessPath());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), result.getUsers().stream().map(User::getId).toList());
+        assertEquals(22, result.getTotal());
+        assertEquals(5, result.getUsers().size());
+    }
+
+    @Test
+    void When_SortingWithoutFilters_Expect_SortedViewPage() {
+        UserQueryResult result = planner.execute(new UserQuery(null, null, null, null, 0, 2, UserSort.AGE, true));
+
+        assertEquals(AccessPath.SORTED_VIEW, result.getPlan().getAccessPath());
+        assertEquals(2, result.getPlan().getRowsExamined());
+        assertEquals(22, result.getTotal());
+        assertEquals(List.of("Jane Doe", "User 19"), result.getUsers().stream().map(User::getName).toList());
+    }
+
+    @Test
+    void When_SortDiffersFromIndexOrder_Expect_MatchesSortedBeforePaging() {
+        UserQueryResult result = planner.execute(new UserQuery(null, "acme.com", null, null, 0, 1, UserSort.NAME, false));
+
+        assertEquals(AccessPath.EMAIL_DOMAIN_INDEX, result.getPlan().getAccessPath());
+        assertEquals(2, result.getPlan().getRowsExamined());
+        assertEquals(2, result.getTotal());
+        assertEquals("Jane Doe", result.getUsers().get(0).getName());
+    }
+
+    @Test
+    void When_BackendHasNoIndexes_Expect_StreamedFullScan(@TempDir Path directory) {
+        LsmUserRepository lsmRepository = new LsmUserRepository(directory.toString(), 512, 2, false);
+        try {
+            userRepository.findAllUsers().forEach(user -> lsmRepository.saveUser(new User(0, user.getName(), user.getEmail(), user.getAge())));
+            UserQueryResult result = new UserQueryPlanner(lsmRepository)
+                    .execute(new UserQuery(null, "example.com", 25, 29, 1, 2, UserSort.AGE, false));
+
+            assertEquals(AccessPath.FULL_SCAN, result.getPlan().getAccessPath());
+            assertEquals(22, result.getPlan().getEstimatedRows().get(AccessPath.AGE_INDEX));
+            assertEquals(22, result.getPlan().getRowsExamined());
+            assertEquals(10, result.getTotal());
+            assertEquals(List.of(25, 26), result.getUsers().stream().map(User::getAge).toList());
+        } finally {
+            lsmRepository.close();
+        }
+    }
+
+    @Test
+    void When_EstimatingNamePrefix_Expect_PostingSizesSummedWithoutUnion() {
+        userRepository.saveUser(new User(0, "Doe Doering", "doe@acme.com", 33));
+
+        assertEquals(3, userRepository.findUsersByNamePrefix("doe", 0, 0).getTotal());
+        assertEquals(4, userRepository.estimateUsersByNamePrefix("doe"));
+    }
+}